@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
+import com.amazonaws.services.ec2.AmazonEC2;
+import com.amazonaws.services.ec2.AmazonEC2Client;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.AmazonS3EncryptionClient;
+import com.amazonaws.services.s3.S3ClientOptions;
+import com.amazonaws.services.s3.model.CryptoConfiguration;
+import com.amazonaws.services.s3.model.EncryptionMaterials;
+import com.amazonaws.services.s3.model.StaticEncryptionMaterialsProvider;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.AmazonSQSClient;
+
+/**
+ * Creates the clients of the benchmarks, talking to a {@link StubServer}.
+ */
+public final class BenchmarkClients {
+
+    private static final AWSCredentials CREDENTIALS = new BasicAWSCredentials("akid", "skid");
+
+    private BenchmarkClients() {
+    }
+
+    /**
+     * Returns the configuration of the clients: failures aren't retried, so a
+     * broken stub fails the benchmark instead of slowing it down.
+     */
+    public static ClientConfiguration clientConfiguration() {
+        return new ClientConfiguration()
+                .withMaxErrorRetry(0)
+                .withMaxConnections(64);
+    }
+
+    public static AmazonDynamoDB dynamoDB(StubServer server) {
+        AmazonDynamoDBClient client = new AmazonDynamoDBClient(CREDENTIALS, clientConfiguration());
+        client.setEndpoint(server.getEndpoint());
+        return client;
+    }
+
+    public static AmazonS3Client s3(StubServer server) {
+        return configure(new AmazonS3Client(CREDENTIALS, clientConfiguration()), server);
+    }
+
+    /**
+     * Returns an encryption client encrypting with a fixed AES-256 key, so no
+     * request is made to KMS.
+     */
+    public static AmazonS3EncryptionClient s3Encryption(StubServer server, CryptoConfiguration cryptoConfig) {
+        EncryptionMaterials materials = new EncryptionMaterials(new SecretKeySpec(new byte[32], "AES"));
+        return configure(new AmazonS3EncryptionClient(CREDENTIALS,
+                new StaticEncryptionMaterialsProvider(materials), clientConfiguration(), cryptoConfig), server);
+    }
+
+    private static <T extends AmazonS3Client> T configure(T client, StubServer server) {
+        client.setEndpoint(server.getEndpoint());
+        client.setS3ClientOptions(S3ClientOptions.builder()
+                .setPathStyleAccess(true)
+                .disableChunkedEncoding()
+                .build());
+        return client;
+    }
+
+    public static AmazonEC2 ec2(StubServer server) {
+        AmazonEC2Client client = new AmazonEC2Client(CREDENTIALS, clientConfiguration());
+        client.setEndpoint(server.getEndpoint());
+        return client;
+    }
+
+    public static AmazonSQS sqs(StubServer server) {
+        AmazonSQSClient client = new AmazonSQSClient(CREDENTIALS, clientConfiguration());
+        client.setEndpoint(server.getEndpoint());
+        return client;
+    }
+}
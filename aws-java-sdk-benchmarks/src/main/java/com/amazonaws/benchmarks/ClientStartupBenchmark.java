@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.AmazonWebServiceClient;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.SdkBootstrap;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
+import com.amazonaws.services.ec2.AmazonEC2Client;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.sqs.AmazonSQSClient;
+
+/**
+ * Construction time of the clients. The first clients of a process are
+ * measured once per fork, in a fresh JVM, with and without
+ * {@link SdkBootstrap#preload}; the Nth client is measured once the process
+ * has already built clients, which is the cost of each of the many clients a
+ * service builds at boot.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClientStartupBenchmark {
+
+    private static final AWSCredentials CREDENTIALS = new BasicAWSCredentials("akid", "skid");
+
+    private static final Class<?>[] CLIENT_CLASSES = {
+            AmazonDynamoDBClient.class, AmazonS3Client.class, AmazonEC2Client.class, AmazonSQSClient.class
+    };
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public void firstClients() {
+        createClients();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public void firstClientsPreloaded() {
+        SdkBootstrap.preload(CLIENT_CLASSES);
+        createClients();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 2)
+    @Measurement(iterations = 10, time = 2)
+    @Fork(1)
+    public void nthClient() {
+        shutdown(new AmazonDynamoDBClient(CREDENTIALS, BenchmarkClients.clientConfiguration()));
+    }
+
+    private static void createClients() {
+        ClientConfiguration config = BenchmarkClients.clientConfiguration();
+        shutdown(new AmazonDynamoDBClient(CREDENTIALS, config));
+        shutdown(new AmazonS3Client(CREDENTIALS, config));
+        shutdown(new AmazonEC2Client(CREDENTIALS, config));
+        shutdown(new AmazonSQSClient(CREDENTIALS, config));
+    }
+
+    private static void shutdown(AmazonWebServiceClient client) {
+        client.shutdown();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+
+/**
+ * Full request/response cycles of the JSON protocol: marshalling, signing,
+ * the HTTP round trip, CRC32 validation and unmarshalling of the items.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class DynamoDBBenchmark {
+
+    private static final String CONTENT_TYPE = "application/x-amz-json-1.0";
+
+    @State(Scope.Benchmark)
+    public static class GetItemState {
+        private StubServer server;
+        private AmazonDynamoDB client;
+        private GetItemRequest request;
+
+        @Setup
+        public void setUp() throws IOException {
+            server = StubServer.start(StubResponse.fromPayload("dynamodb-get-item.json", CONTENT_TYPE).withCrc32());
+            client = BenchmarkClients.dynamoDB(server);
+            Map<String, AttributeValue> key = new HashMap<String, AttributeValue>();
+            key.put("customerId", new AttributeValue("customer-000000"));
+            key.put("orderId", new AttributeValue("order-00000001"));
+            request = new GetItemRequest("Orders", key).withConsistentRead(true);
+        }
+
+        @TearDown
+        public void tearDown() {
+            client.shutdown();
+            server.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class QueryState {
+        private StubServer server;
+        private AmazonDynamoDB client;
+        private QueryRequest request;
+
+        @Setup
+        public void setUp() throws IOException {
+            server = StubServer.start(StubResponse.fromPayload("dynamodb-query.json", CONTENT_TYPE).withCrc32());
+            client = BenchmarkClients.dynamoDB(server);
+            request = new QueryRequest("Orders")
+                    .withKeyConditions(Collections.singletonMap("customerId",
+                            new Condition().withComparisonOperator("EQ")
+                                    .withAttributeValueList(new AttributeValue("customer-000000"))))
+                    .withLimit(25);
+        }
+
+        @TearDown
+        public void tearDown() {
+            client.shutdown();
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public GetItemResult getItem(GetItemState state) {
+        return state.client.getItem(state.request);
+    }
+
+    @Benchmark
+    public QueryResult query(QueryState state) {
+        return state.client.query(state.request);
+    }
+}
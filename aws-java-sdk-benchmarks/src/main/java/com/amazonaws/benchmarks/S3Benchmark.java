@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectResult;
+
+/**
+ * Full request/response cycles of the REST-XML protocol: a listing parsed by
+ * the SAX based S3 unmarshallers, and an upload, which is signed and MD5
+ * checked over the payload.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class S3Benchmark {
+
+    private static final String BUCKET = "benchmark-bucket";
+
+    @State(Scope.Benchmark)
+    public static class ListObjectsState {
+        private StubServer server;
+        private AmazonS3Client client;
+        private ListObjectsRequest request;
+
+        @Setup
+        public void setUp() throws IOException {
+            server = StubServer.start(StubResponse.fromPayload("s3-list-objects.xml", "application/xml"));
+            client = BenchmarkClients.s3(server);
+            request = new ListObjectsRequest().withBucketName(BUCKET).withPrefix("logs/").withMaxKeys(100);
+        }
+
+        @TearDown
+        public void tearDown() {
+            client.shutdown();
+            server.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PutObjectState {
+        @Param({"1024", "1048576"})
+        public int objectSize;
+
+        private StubServer server;
+        private AmazonS3Client client;
+        private byte[] content;
+
+        @Setup
+        public void setUp() throws IOException {
+            server = StubServer.start(StubResponse.empty().withEtagFromRequestBody());
+            client = BenchmarkClients.s3(server);
+            content = new byte[objectSize];
+            new Random(42).nextBytes(content);
+        }
+
+        @TearDown
+        public void tearDown() {
+            client.shutdown();
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public ObjectListing listObjects(ListObjectsState state) {
+        return state.client.listObjects(state.request);
+    }
+
+    @Benchmark
+    public PutObjectResult putObject(PutObjectState state) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(state.content.length);
+        return state.client.putObject(BUCKET, "benchmark/object", new ByteArrayInputStream(state.content), metadata);
+    }
+}
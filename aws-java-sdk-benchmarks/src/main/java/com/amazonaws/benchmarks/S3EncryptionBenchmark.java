@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.services.s3.AmazonS3EncryptionClient;
+import com.amazonaws.services.s3.model.CryptoConfiguration;
+import com.amazonaws.services.s3.model.CryptoMode;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.S3Object;
+
+/**
+ * Uploads and downloads of a 16 MB object through the S3 encryption client,
+ * for each content encryption scheme and cipher buffer size; the throughput
+ * times the object size is the encryption or decryption rate.
+ * <p>
+ * {@code AesCbc} is the scheme of the {@link CryptoMode#EncryptionOnly} mode
+ * and {@code AesGcm} the one of the {@link CryptoMode#AuthenticatedEncryption}
+ * mode. {@code AesCtr} isn't used for uploads; it decrypts the ranged
+ * downloads of objects encrypted with {@code AesGcm}, so it is measured with a
+ * download of the whole object as a range. The authenticated encryption mode
+ * requires the Bouncy Castle provider.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class S3EncryptionBenchmark {
+
+    private static final String BUCKET = "benchmark-bucket";
+    private static final String KEY = "benchmark/encrypted-object";
+    private static final int OBJECT_SIZE = 16 * 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class PutObjectState {
+        @Param({"AesCbc", "AesGcm"})
+        public String scheme;
+
+        @Param({"2048", "16384", "65536"})
+        public int cipherBufferSize;
+
+        private StubServer server;
+        private AmazonS3EncryptionClient client;
+        private byte[] content;
+
+        @Setup
+        public void setUp() throws IOException {
+            server = StubServer.startObjectStore();
+            client = BenchmarkClients.s3Encryption(server, cryptoConfiguration(scheme, cipherBufferSize));
+            content = content();
+        }
+
+        @TearDown
+        public void tearDown() {
+            client.shutdown();
+            server.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GetObjectState {
+        @Param({"AesCbc", "AesGcm", "AesCtr"})
+        public String scheme;
+
+        @Param({"2048", "16384", "65536"})
+        public int cipherBufferSize;
+
+        private StubServer server;
+        private AmazonS3EncryptionClient client;
+        private GetObjectRequest request;
+        private byte[] buffer;
+
+        @Setup
+        public void setUp() throws IOException {
+            server = StubServer.startObjectStore();
+            client = BenchmarkClients.s3Encryption(server, cryptoConfiguration(scheme, cipherBufferSize));
+            client.putObject(BUCKET, KEY, new ByteArrayInputStream(content()), metadata());
+            request = new GetObjectRequest(BUCKET, KEY);
+            if ("AesCtr".equals(scheme)) {
+                request.setRange(0, OBJECT_SIZE - 1);
+            }
+            buffer = new byte[64 * 1024];
+        }
+
+        @TearDown
+        public void tearDown() {
+            client.shutdown();
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public PutObjectResult putObject(PutObjectState state) {
+        return state.client.putObject(BUCKET, KEY, new ByteArrayInputStream(state.content), metadata());
+    }
+
+    @Benchmark
+    public long getObject(GetObjectState state) throws IOException {
+        S3Object object = state.client.getObject(state.request);
+        InputStream in = object.getObjectContent();
+        try {
+            long total = 0;
+            for (int n; (n = in.read(state.buffer)) != -1;) {
+                total += n;
+            }
+            return total;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static CryptoConfiguration cryptoConfiguration(String scheme, int cipherBufferSize) {
+        CryptoMode mode = "AesCbc".equals(scheme) ? CryptoMode.EncryptionOnly : CryptoMode.AuthenticatedEncryption;
+        return new CryptoConfiguration(mode).withCipherBufferSize(cipherBufferSize);
+    }
+
+    private static byte[] content() {
+        byte[] content = new byte[OBJECT_SIZE];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    private static ObjectMetadata metadata() {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(OBJECT_SIZE);
+        return metadata;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.amazonaws.util.IOUtils;
+
+/**
+ * A recorded response replayed by a {@link StubServer}.
+ */
+public final class StubResponse {
+
+    private static final String PAYLOADS = "payloads/";
+
+    private final byte[] body;
+    private final Map<String, String> headers = new LinkedHashMap<String, String>();
+    private int statusCode = 200;
+    private boolean etagFromRequestBody;
+
+    private StubResponse(byte[] body) {
+        this.body = body;
+        headers.put("x-amzn-RequestId", "b3ae8d4c-6a01-4b0a-9d32-4a2e3b6c8f10");
+    }
+
+    /**
+     * Returns a response with the content of a recorded payload of this
+     * package as its body.
+     *
+     * @param payload
+     *            The file name of the payload, in the payloads directory.
+     * @param contentType
+     *            The content type of the payload.
+     */
+    public static StubResponse fromPayload(String payload, String contentType) throws IOException {
+        InputStream in = StubResponse.class.getResourceAsStream(PAYLOADS + payload);
+        if (in == null) {
+            throw new IllegalArgumentException("No such payload: " + payload);
+        }
+        try {
+            return new StubResponse(IOUtils.toByteArray(in)).withHeader("Content-Type", contentType);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Returns a response without body.
+     */
+    public static StubResponse empty() {
+        return new StubResponse(new byte[0]);
+    }
+
+    public StubResponse withStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+        return this;
+    }
+
+    public StubResponse withHeader(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Adds the CRC32 checksum of the body, which the DynamoDB client verifies.
+     */
+    public StubResponse withCrc32() {
+        CRC32 crc32 = new CRC32();
+        crc32.update(body);
+        return withHeader("x-amz-crc32", String.valueOf(crc32.getValue()));
+    }
+
+    /**
+     * Replies with the MD5 of the request body as ETag, which the S3 client
+     * verifies on uploads.
+     */
+    public StubResponse withEtagFromRequestBody() {
+        this.etagFromRequestBody = true;
+        return this;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    boolean isEtagFromRequestBody() {
+        return etagFromRequestBody;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.Md5Utils;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An HTTP server on the loopback interface that replies to every request with
+ * the same recorded response, so a benchmark measures the client rather than
+ * the network or the service.
+ */
+public final class StubServer {
+
+    private static final int HANDLER_THREADS = 16;
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private StubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server on an ephemeral port replying with the given response.
+     */
+    public static StubServer start(final StubResponse response) throws IOException {
+        return start(new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    reply(exchange, response);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Starts a server on an ephemeral port storing a single object: a PUT
+     * request replaces the object and its user metadata, and a GET request,
+     * ranged or not, reads them back.
+     */
+    public static StubServer startObjectStore() throws IOException {
+        final StoredObject object = new StoredObject();
+        return start(new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    if ("PUT".equals(exchange.getRequestMethod())) {
+                        object.put(exchange);
+                    } else {
+                        object.get(exchange);
+                    }
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+    }
+
+    private static StubServer start(HttpHandler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", handler);
+        ExecutorService executor = Executors.newFixedThreadPool(HANDLER_THREADS);
+        server.setExecutor(executor);
+        server.start();
+        return new StubServer(server, executor);
+    }
+
+    /**
+     * Returns the endpoint to configure a client with.
+     */
+    public String getEndpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void reply(HttpExchange exchange, StubResponse response) throws IOException {
+        final byte[] requestBody = IOUtils.toByteArray(exchange.getRequestBody());
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            exchange.getResponseHeaders().set(header.getKey(), header.getValue());
+        }
+        if (response.isEtagFromRequestBody()) {
+            exchange.getResponseHeaders().set("ETag", "\"" + BinaryUtils.toHex(Md5Utils.computeMD5Hash(requestBody)) + "\"");
+        }
+        final byte[] body = response.getBody();
+        exchange.sendResponseHeaders(response.getStatusCode(), body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            OutputStream out = exchange.getResponseBody();
+            out.write(body);
+            out.flush();
+        }
+    }
+
+    /**
+     * The object of an object store server.
+     */
+    private static final class StoredObject {
+        private static final String USER_METADATA_PREFIX = "x-amz-meta-";
+
+        private volatile byte[] content = new byte[0];
+        private volatile Headers metadata = new Headers();
+
+        private void put(HttpExchange exchange) throws IOException {
+            final byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+            final Headers userMetadata = new Headers();
+            for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+                if (header.getKey().toLowerCase().startsWith(USER_METADATA_PREFIX)) {
+                    userMetadata.put(header.getKey(), header.getValue());
+                }
+            }
+            content = body;
+            metadata = userMetadata;
+            exchange.getResponseHeaders().set("ETag", "\"" + BinaryUtils.toHex(Md5Utils.computeMD5Hash(body)) + "\"");
+            exchange.sendResponseHeaders(200, -1);
+        }
+
+        private void get(HttpExchange exchange) throws IOException {
+            IOUtils.toByteArray(exchange.getRequestBody());
+            final byte[] body = content;
+            exchange.getResponseHeaders().putAll(metadata);
+            int from = 0;
+            int to = body.length - 1;
+            int statusCode = 200;
+            final String range = exchange.getRequestHeaders().getFirst("Range");
+            if (range != null) {
+                Matcher matcher = RANGE.matcher(range);
+                if (matcher.matches()) {
+                    from = Integer.parseInt(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        to = (int) Math.min(Long.parseLong(matcher.group(2)), body.length - 1);
+                    }
+                    statusCode = 206;
+                    exchange.getResponseHeaders().set("Content-Range",
+                            "bytes " + from + "-" + to + "/" + body.length);
+                }
+            }
+            final int length = Math.max(to - from + 1, 0);
+            exchange.sendResponseHeaders(statusCode, length == 0 ? -1 : length);
+            if (length > 0) {
+                OutputStream out = exchange.getResponseBody();
+                out.write(body, from, length);
+                out.flush();
+            }
+        }
+    }
+}
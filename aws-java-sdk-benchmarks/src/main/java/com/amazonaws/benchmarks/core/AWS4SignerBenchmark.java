@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks.core;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.auth.AWS4Signer;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.auth.internal.SignerKey;
+import com.amazonaws.http.HttpMethodName;
+import com.amazonaws.internal.ConcurrentFIFOCache;
+import com.amazonaws.internal.FIFOCache;
+import com.amazonaws.util.StringUtils;
+
+/**
+ * Signing of a small JSON request with a signer shared by all the threads, as
+ * a client does; the contended run exercises the signing key cache. The
+ * lookup runs compare that cache with the synchronized, string keyed
+ * FIFOCache the signer used before.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class AWS4SignerBenchmark {
+
+    private static final byte[] CONTENT = ("{\"TableName\":\"Orders\",\"Key\":{\"customerId\":{\"S\":\"customer-000000\"},"
+            + "\"orderId\":{\"S\":\"order-00000001\"}},\"ConsistentRead\":true}").getBytes(StringUtils.UTF8);
+
+    @State(Scope.Benchmark)
+    public static class SignerState {
+        private final AWS4Signer signer = new AWS4Signer();
+        private final AWSCredentials credentials = new BasicAWSCredentials("akid", "skid");
+
+        @Setup
+        public void setUp() {
+            signer.setServiceName("dynamodb");
+            signer.setRegionName("us-east-1");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CacheState {
+        private final String secretKey = "skid";
+        private final String regionName = "us-east-1";
+        private final String serviceName = "dynamodb";
+        private final FIFOCache<SignerKey> fifoCache = new FIFOCache<SignerKey>(300);
+        private final ConcurrentFIFOCache<CacheKey, SignerKey> concurrentCache =
+                new ConcurrentFIFOCache<CacheKey, SignerKey>(300);
+
+        @Setup
+        public void setUp() {
+            SignerKey signerKey = new SignerKey(17000, new byte[32]);
+            fifoCache.add(fifoCacheKey(), signerKey);
+            concurrentCache.add(concurrentCacheKey(), signerKey);
+        }
+
+        /**
+         * The key the signer computed for its FIFOCache.
+         */
+        private String fifoCacheKey() {
+            return new StringBuilder(secretKey).append("-").append(regionName).append("-").append(serviceName)
+                    .toString();
+        }
+
+        private CacheKey concurrentCacheKey() {
+            return new CacheKey(secretKey, regionName, serviceName);
+        }
+    }
+
+    /**
+     * Same as the composite key the signer uses for its ConcurrentFIFOCache,
+     * which is private to it.
+     */
+    private static final class CacheKey {
+        private final String secretKey;
+        private final String regionName;
+        private final String serviceName;
+        private final int hashCode;
+
+        CacheKey(String secretKey, String regionName, String serviceName) {
+            this.secretKey = secretKey;
+            this.regionName = regionName;
+            this.serviceName = serviceName;
+            int hash = secretKey.hashCode();
+            hash = 31 * hash + regionName.hashCode();
+            hash = 31 * hash + serviceName.hashCode();
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof CacheKey)) return false;
+            CacheKey other = (CacheKey) obj;
+            return hashCode == other.hashCode
+                    && secretKey.equals(other.secretKey)
+                    && regionName.equals(other.regionName)
+                    && serviceName.equals(other.serviceName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RequestState {
+        private final DefaultRequest<Void> request = new DefaultRequest<Void>("AmazonDynamoDBv2");
+
+        @Setup
+        public void setUp() {
+            request.setEndpoint(URI.create("https://dynamodb.us-east-1.amazonaws.com"));
+            request.setHttpMethod(HttpMethodName.POST);
+            request.addHeader("Content-Type", "application/x-amz-json-1.0");
+            request.addHeader("X-Amz-Target", "DynamoDB_20120810.GetItem");
+            request.addHeader("Content-Length", String.valueOf(CONTENT.length));
+            request.setContent(new ByteArrayInputStream(CONTENT));
+        }
+    }
+
+    @Benchmark
+    public DefaultRequest<Void> sign(SignerState signer, RequestState request) {
+        signer.signer.sign(request.request, signer.credentials);
+        return request.request;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public DefaultRequest<Void> signContended(SignerState signer, RequestState request) {
+        return sign(signer, request);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public SignerKey signingKeyLookupFifoCache(CacheState cache) {
+        return cache.fifoCache.get(cache.fifoCacheKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public SignerKey signingKeyLookupConcurrentCache(CacheState cache) {
+        return cache.concurrentCache.get(cache.concurrentCacheKey());
+    }
+}
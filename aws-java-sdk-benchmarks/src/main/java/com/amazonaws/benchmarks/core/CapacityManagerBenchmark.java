@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.util.CapacityManager;
+
+/**
+ * Acquiring and releasing retry capacity, which every request of a client
+ * does, from many threads at once: a few, and as many as a client shared by a
+ * large pool of request threads sees.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CapacityManagerBenchmark {
+
+    private final CapacityManager capacityManager = new CapacityManager(100);
+
+    @Benchmark
+    @Threads(8)
+    public boolean acquireAndRelease() {
+        return acquireAndReleaseCapacity();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean acquireAndRelease64Threads() {
+        return acquireAndReleaseCapacity();
+    }
+
+    @Benchmark
+    @Threads(128)
+    public boolean acquireAndRelease128Threads() {
+        return acquireAndReleaseCapacity();
+    }
+
+    private boolean acquireAndReleaseCapacity() {
+        boolean acquired = capacityManager.acquire(5);
+        if (acquired) {
+            capacityManager.release(5);
+        }
+        return acquired;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.benchmarks.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.HttpGet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amazonaws.http.timers.HashedWheelTimer;
+import com.amazonaws.http.timers.request.HttpRequestAbortTaskTracker;
+import com.amazonaws.http.timers.request.HttpRequestTimer;
+
+/**
+ * The overhead of the request timeout on a request that completes in time:
+ * scheduling the abort task and canceling it, from many threads at once, on
+ * the per-client executor or on the shared timer wheel. The paced run starts
+ * timers at a fixed total rate of about 50,000 per second, and keeps a window
+ * of them pending as requests in flight would, rather than going flat out.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestTimerBenchmark {
+
+    private static final int REQUEST_TIMEOUT_MILLIS = 60000;
+    private static final int PACED_THREADS = 16;
+    private static final int PACED_REQUESTS_PER_SECOND = 50000;
+    /**
+     * About 20 ms worth of requests per thread at the paced rate.
+     */
+    private static final int PACED_IN_FLIGHT_PER_THREAD = 64;
+
+    @Param({"executor", "wheel"})
+    public String timer;
+
+    private HttpRequestTimer requestTimer;
+    private final HttpGet request = new HttpGet("http://localhost/");
+
+    @Setup
+    public void setUp() {
+        requestTimer = "wheel".equals(timer)
+                ? new HttpRequestTimer(HashedWheelTimer.getSharedTimer())
+                : new HttpRequestTimer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestTimer.shutdown();
+    }
+
+    /**
+     * The timers of the requests one thread has in flight in the paced run,
+     * and the time its next request is due.
+     */
+    @State(Scope.Thread)
+    public static class PacedState {
+        private final long intervalNanos = TimeUnit.SECONDS.toNanos(PACED_THREADS) / PACED_REQUESTS_PER_SECOND;
+        private final HttpRequestAbortTaskTracker[] inFlight =
+                new HttpRequestAbortTaskTracker[PACED_IN_FLIGHT_PER_THREAD];
+        private int next;
+        private long dueNanos = System.nanoTime();
+
+        /**
+         * Waits until the next request is due, outside of the measured time.
+         */
+        @Setup(Level.Invocation)
+        public void awaitNextRequest() {
+            long now;
+            while ((now = System.nanoTime()) < dueNanos) {
+                // Spin, parking would overshoot the interval
+            }
+            dueNanos = Math.max(dueNanos + intervalNanos, now);
+        }
+
+        @TearDown
+        public void tearDown() {
+            for (HttpRequestAbortTaskTracker tracker : inFlight) {
+                if (tracker != null) {
+                    tracker.cancelTask();
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public HttpRequestAbortTaskTracker startAndCancel() {
+        HttpRequestAbortTaskTracker tracker = requestTimer.startTimer(request, REQUEST_TIMEOUT_MILLIS);
+        tracker.cancelTask();
+        return tracker;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @Threads(PACED_THREADS)
+    public HttpRequestAbortTaskTracker startAndCancelPaced(PacedState paced) {
+        HttpRequestAbortTaskTracker tracker = requestTimer.startTimer(request, REQUEST_TIMEOUT_MILLIS);
+        HttpRequestAbortTaskTracker completed = paced.inFlight[paced.next];
+        if (completed != null) {
+            completed.cancelTask();
+        }
+        paced.inFlight[paced.next] = tracker;
+        paced.next = (paced.next + 1) % PACED_IN_FLIGHT_PER_THREAD;
+        return tracker;
+    }
+}
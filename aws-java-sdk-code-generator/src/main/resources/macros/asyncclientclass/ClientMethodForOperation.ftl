@@ -18,6 +18,12 @@ public ${operation.asyncFutureType} ${operation.methodName}Async(
     final ${operation.input.variableType} request,
     final ${operation.asyncHandlerType} asyncHandler) {
 
+<#if !((operation.inputShape.hasStreamingMember)!false) && !((operation.outputShape.hasStreamingMember)!false)>
+    if (client.isNonBlockingTransportEnabled()) {
+        return ${operation.methodName}NonBlocking(request, asyncHandler);
+    }
+
+</#if>
     return executorService.submit(new ${operation.asyncCallableType}() {
         @Override
         public ${operation.asyncReturnType} call() throws Exception {
@@ -44,4 +50,48 @@ public ${operation.asyncFutureType} ${operation.methodName}Async(
         }
     });
 }
+<#if !((operation.inputShape.hasStreamingMember)!false) && !((operation.outputShape.hasStreamingMember)!false)>
+
+private ${operation.asyncFutureType} ${operation.methodName}NonBlocking(
+    final ${operation.input.variableType} ${operation.input.variableName},
+    final ${operation.asyncHandlerType} asyncHandler) {
+
+    ExecutionContext executionContext = createExecutionContext(${operation.input.variableName});
+    AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
+    awsRequestMetrics.startEvent(Field.ClientExecuteTime);
+    Request<${operation.input.variableType}> request = null;
+
+    try {
+        awsRequestMetrics.startEvent(Field.RequestMarshallTime);
+        try {
+            request = <@RequestMarshallerCreation.content operation />.marshall(
+                super.beforeMarshalling(${operation.input.variableName}));
+            // Binds the request metrics to the current request.
+            request.setAWSRequestMetrics(awsRequestMetrics);
+        } finally {
+            awsRequestMetrics.endEvent(Field.RequestMarshallTime);
+        }
+    } catch (Exception ex) {
+        endClientExecution(awsRequestMetrics, request, null);
+        if (asyncHandler != null) {
+            asyncHandler.onError(ex);
+        }
+        return newFailedFuture(ex);
+    }
+
+  <#if operation.returnType??>
+    <@ResponseHandlerCreation.content operation, metadata, "new ${operation.syncReturnType}${metadata.unmarshallerClassSuffix}()", operation.returnType.returnType />
+  <#else>
+    <@ResponseHandlerCreation.content operation, metadata, "null", "Void" />
+  </#if>
+    ResponseCallback<${operation.asyncReturnType}> callback = newResponseCallback(
+            ${operation.input.variableName}, request, awsRequestMetrics, asyncHandler);
+
+  <#if operation.authenticated>
+    return invokeAsync(request, responseHandler, executionContext, executorService, callback);
+  <#else>
+    return anonymousInvokeAsync(request, responseHandler, executionContext, executorService, callback);
+  </#if>
+}
+</#if>
 </#macro>
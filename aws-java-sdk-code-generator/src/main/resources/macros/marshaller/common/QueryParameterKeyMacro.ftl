@@ -0,0 +1,14 @@
+<#-- Returns the Java expression of a query parameter key, given its path as the content of a string literal that
+     may concatenate the indexes or prefixes of the enclosing lists and maps, such as
+     Filter." + filtersListIndex + ".Name or " + filtersListPrefix + ".Name. Empty literals at either end aren't
+     concatenated. -->
+<#function key path>
+    <#local expression = "\"" + path + "\""/>
+    <#if expression?starts_with("\"\" + ")>
+        <#local expression = expression?substring(5)/>
+    </#if>
+    <#if expression?ends_with(" + \"\"")>
+        <#local expression = expression?substring(0, expression?length - 5)/>
+    </#if>
+    <#return expression/>
+</#function>
@@ -16,10 +16,10 @@
 
         <#if member.simple>
             <#if member.idempotencyToken>
-                request.addParameter("${marshallLocationName}", <@IdempotencyTokenMacro.content getMember member.variable.simpleType/>);
+                request.addParameter(${QueryParameterKeyMacro.key(marshallLocationName)}, <@IdempotencyTokenMacro.content getMember member.variable.simpleType/>);
             <#else>
                 if(${getMember}() != null) {
-                    request.addParameter("${marshallLocationName}", StringUtils.from${member.variable.simpleType}(${getMember}()));
+                    request.addParameter(${QueryParameterKeyMacro.key(marshallLocationName)}, StringUtils.from${member.variable.simpleType}(${getMember}()));
                 }
             </#if>
         <#elseif member.list>
@@ -27,6 +27,7 @@
             <#local listMemberType = listModel.memberType/>
             <#local memberVariableName = member.name?uncap_first/>
             <#local listIndex = memberVariableName  + "ListIndex"/>
+            <#local listPrefix = memberVariableName  + "ListPrefix"/>
             <#local listVariable = memberVariableName + "List"/>
             <#local loopVariable = listVariable + "Value"/>
 
@@ -43,17 +44,19 @@
                     <#if listModel.simple>
                          if (${loopVariable} != null) {
                             <#if listModel.memberAdditionalMarshallingPath?has_content>
-                                request.addParameter("${marshallLocationName}." + ${listIndex} + ".${listModel.memberAdditionalMarshallingPath}", StringUtils.from${listModel.memberType}(${loopVariable}));
+                                request.addParameter(${QueryParameterKeyMacro.key(marshallLocationName + ".\" + " + listIndex + " + \"." + listModel.memberAdditionalMarshallingPath)}, StringUtils.from${listModel.memberType}(${loopVariable}));
                             <#else>
-                                request.addParameter("${marshallLocationName}." + ${listIndex}, StringUtils.from${listModel.memberType}(${loopVariable}));
+                                request.addParameter(${QueryParameterKeyMacro.key(marshallLocationName + ".\" + " + listIndex + " + \"")}, StringUtils.from${listModel.memberType}(${loopVariable}));
                             </#if>
                          }
                     <#else>
+                        <#-- The key prefix of the list member is built once for all of its parameters -->
                         <#if listModel.memberAdditionalMarshallingPath?has_content>
-                            <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes marshallLocationName + ".\" + " + listIndex + " + \"."+listModel.memberAdditionalMarshallingPath+"\""/>
+                            String ${listPrefix} = ${QueryParameterKeyMacro.key(marshallLocationName + ".\" + " + listIndex + " + \"." + listModel.memberAdditionalMarshallingPath)};
                         <#else>
-                            <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes marshallLocationName + ".\" + " + listIndex + " + \""/>
+                            String ${listPrefix} = ${QueryParameterKeyMacro.key(marshallLocationName + ".\" + " + listIndex + " + \"")};
                         </#if>
+                        <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes "\" + " + listPrefix + " + \""/>
                     </#if>
                     ${listIndex}++;
                 }
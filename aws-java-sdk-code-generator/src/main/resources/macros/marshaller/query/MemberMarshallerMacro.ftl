@@ -13,16 +13,17 @@
         <#local parameterPath = contextPath + "." + parameterPath/>
     </#if>
     <#if member.idempotencyToken>
-        request.addParameter("${parameterPath}", <@IdempotencyTokenMacro.content getMember member.variable.simpleType/>);
+        request.addParameter(${QueryParameterKeyMacro.key(parameterPath)}, <@IdempotencyTokenMacro.content getMember member.variable.simpleType/>);
     <#else>
         if(${getMember}() != null) {
-            request.addParameter("${parameterPath}", StringUtils.from${variable.simpleType}(${getMember}()));
+            request.addParameter(${QueryParameterKeyMacro.key(parameterPath)}, StringUtils.from${variable.simpleType}(${getMember}()));
         }
     </#if>
 <#elseif member.list>
     <#local listModel = member.listModel />
     <#local memberVariableName = member.name?uncap_first/>
     <#local listIndex = memberVariableName  + "ListIndex"/>
+    <#local listPrefix = memberVariableName  + "ListPrefix"/>
     <#local listVariable = memberVariableName + "List"/>
     <#local loopVariable = listVariable + "Value"/>
 
@@ -60,7 +61,7 @@
         ${listModel.templateImplType} ${listVariable} = (${listModel.templateImplType})${getMember}();
         <#if listModel.sendEmptyQueryString>
             if (${listVariable}.isEmpty()) {
-                request.addParameter("${parameterRootPath}", "");
+                request.addParameter(${QueryParameterKeyMacro.key(parameterRootPath)}, "");
             }
         </#if>
         if (!${listVariable}.isEmpty() || !${listVariable}.isAutoConstruct()) {
@@ -70,7 +71,7 @@
         if (${listVariable} != null) {
             <#-- For query protocol, an empty list is serialized differently. -->
             if (${listVariable}.isEmpty()) {
-                request.addParameter("${parameterRootPath}", "");
+                request.addParameter(${QueryParameterKeyMacro.key(parameterRootPath)}, "");
             } else {
     </#if>
                 int ${listIndex} = 1;
@@ -78,10 +79,12 @@
                 for (${listModel.memberType} ${loopVariable} : ${listVariable}) {
                     <#if listModel.simple>
                     if (${loopVariable} != null) {
-                        request.addParameter("${parameterPath}." + ${listIndex}, StringUtils.from${listModel.simpleType}(${loopVariable}));
+                        request.addParameter(${QueryParameterKeyMacro.key(parameterPath + ".\" + " + listIndex + " + \"")}, StringUtils.from${listModel.simpleType}(${loopVariable}));
                     }
                     <#else>
-                    <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes parameterPath + ".\" + " + listIndex + " + \""/>
+                    <#-- The key prefix of the list member is built once for all of its parameters -->
+                    String ${listPrefix} = ${QueryParameterKeyMacro.key(parameterPath + ".\" + " + listIndex + " + \"")};
+                    <@MemberMarshallerMacro.content customConfig listModel.memberType loopVariable shapes "\" + " + listPrefix + " + \""/>
                     </#if>
                     ${listIndex}++;
                 }
@@ -102,6 +105,7 @@
     </#if>
 
     <#local listIndex = variable.variableName  + "ListIndex"/>
+    <#local entryPrefix = variable.variableName  + "EntryPrefix"/>
 
     ${mapModel.templateType} ${variable.variableName} = ${getMember}();
     <#if !customConfig.useAutoConstructMap>
@@ -109,16 +113,18 @@
     </#if>
             int ${listIndex} = 1;
             for (Map.Entry<${mapModel.keyType},${mapModel.valueType}> entry : ${variable.variableName}.entrySet()) {
+                <#-- The key prefix of the entry is built once for its key and value -->
+                String ${entryPrefix} = ${QueryParameterKeyMacro.key(parameterPath + ".\" + " + listIndex + " + \"")};
                 if (entry.getKey() != null) {
-                    request.addParameter("${parameterPath}." + ${listIndex} + ".${mapModel.keyLocationName}", StringUtils.from${mapModel.keyType}(entry.getKey()));
+                    request.addParameter(${entryPrefix} + ".${mapModel.keyLocationName}", StringUtils.from${mapModel.keyType}(entry.getKey()));
                 }
                 <#if mapModel.valueSimple>
                 if (entry.getValue() != null) {
-                    request.addParameter("${parameterPath}." + ${listIndex} + ".${mapModel.valueLocationName}", StringUtils.from${mapModel.valueModel.variable.simpleType}(entry.getValue()));
+                    request.addParameter(${entryPrefix} + ".${mapModel.valueLocationName}", StringUtils.from${mapModel.valueModel.variable.simpleType}(entry.getValue()));
                 }
                 <#else>
                 if (entry.getValue() != null) {
-                    <#local path = parameterPath + ".\" + " + listIndex + " + \"" + ".${mapModel.valueLocationName}"/>
+                    <#local path = "\" + " + entryPrefix + " + \"" + ".${mapModel.valueLocationName}"/>
                     <@MemberMarshallerMacro.content customConfig mapModel.valueType "entry.getValue()" shapes path/>
                 }
                 </#if>
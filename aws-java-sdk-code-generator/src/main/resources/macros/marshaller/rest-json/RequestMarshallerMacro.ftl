@@ -95,9 +95,8 @@ public class ${shapeName}Marshaller implements Marshaller<Request<${shapeName}>,
                         jsonGenerator.writeEndObject();
                     }
 
-                    byte[] content = jsonGenerator.getBytes();
-                    request.setContent(new ByteArrayInputStream(content));
-                    request.addHeader("Content-Length", Integer.toString(content.length));
+                    request.setContent(jsonGenerator.getContentStream());
+                    request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
                     if (!request.getHeaders().containsKey("Content-Type")) {
                         request.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
                     }
@@ -122,9 +121,8 @@ public class ${shapeName}Marshaller implements Marshaller<Request<${shapeName}>,
 
             jsonGenerator.writeEndObject();
 
-            byte[] content = jsonGenerator.getBytes();
-            request.setContent(new ByteArrayInputStream(content));
-            request.addHeader("Content-Length", Integer.toString(content.length));
+            request.setContent(jsonGenerator.getContentStream());
+            request.addHeader("Content-Length", Integer.toString(jsonGenerator.getContentLength()));
             if (!request.getHeaders().containsKey("Content-Type")) {
                 request.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
             }
@@ -1,39 +1,53 @@
-<#macro content shapeVarName memberModel >
-
-<#local unmarshallerLocationName = memberModel.http.unmarshallLocationName />
-<#if memberModel.http.additionalUnmarshallingPath?has_content>
-    <#local unmarshallerLocationName = unmarshallerLocationName + "/" + memberModel.http.additionalUnmarshallingPath />
-</#if>
+<#function expressionPath memberModel>
+    <#local unmarshallerLocationName = memberModel.http.unmarshallLocationName />
+    <#if memberModel.http.additionalUnmarshallingPath?has_content>
+        <#local unmarshallerLocationName = unmarshallerLocationName + "/" + memberModel.http.additionalUnmarshallingPath />
+    </#if>
 
-<#if memberModel.list>
-    <#if memberModel.http.flattened>
-        <#local listMemberPath = memberModel.listModel.memberLocationName!memberModel.name />
+    <#if memberModel.list>
+        <#if memberModel.http.flattened>
+            <#local listMemberPath = memberModel.listModel.memberLocationName!memberModel.name />
+        <#else>
+            <#local listMemberPath = unmarshallerLocationName + "/" + memberModel.listModel.memberLocationName!"member" />
+        </#if>
+        <#if memberModel.listModel.memberAdditionalUnmarshallingPath?has_content>
+            <#local listMemberPath = listMemberPath + "/" + memberModel.listModel.memberAdditionalUnmarshallingPath />
+        </#if>
+        <#return listMemberPath />
+    <#elseif memberModel.map && !memberModel.http.flattened>
+        <#return "${unmarshallerLocationName}/entry" />
     <#else>
-        <#local listMemberPath = unmarshallerLocationName + "/" + memberModel.listModel.memberLocationName!"member" />
+        <#return unmarshallerLocationName />
     </#if>
+</#function>
 
-    <#if memberModel.listModel.memberAdditionalUnmarshallingPath?has_content>
-        <#local listMemberPath = listMemberPath + "/" + memberModel.listModel.memberAdditionalUnmarshallingPath />
-    </#if>
-                if (context.testExpression("${listMemberPath}", targetDepth)) {
+<#-- Name of the static field holding the compiled expression for a member, e.g. ReservedInstancesId -> RESERVED_INSTANCES_ID_PATH -->
+<#function expressionFieldName memberModel>
+    <#return memberModel.name?replace("([a-z0-9])([A-Z])", "$1_$2", "r")?upper_case + "_PATH" />
+</#function>
+
+<#macro expressionField memberModel >
+    private static final StaxPathExpression ${expressionFieldName(memberModel)} = StaxPathExpression.compile("${expressionPath(memberModel)}");
+</#macro>
+
+<#macro content shapeVarName memberModel >
+
+<#local pathField = expressionFieldName(memberModel) />
+<#if memberModel.list>
+                if (context.testExpression(${pathField}, targetDepth)) {
                     ${shapeVarName}.with${memberModel.name}(${memberModel.listModel.simpleType}StaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
 
 <#elseif memberModel.map>
-    <#local mapEntryPath = unmarshallerLocationName />
-
-    <#if !memberModel.http.flattened>
-        <#local mapEntryPath = "${unmarshallerLocationName}/entry" />
-    </#if>
-                if (context.testExpression("${mapEntryPath}", targetDepth)) {
+                if (context.testExpression(${pathField}, targetDepth)) {
                     Entry<${memberModel.mapModel.keyType}, ${memberModel.mapModel.valueType}> entry = ${memberModel.name}MapEntryUnmarshaller.getInstance().unmarshall(context);
                     ${shapeVarName}.add${memberModel.name}Entry(entry.getKey(), entry.getValue());
                     continue;
                 }
 
 <#else>
-                if (context.testExpression("${unmarshallerLocationName}", targetDepth)) {
+                if (context.testExpression(${pathField}, targetDepth)) {
                     ${shapeVarName}.set${memberModel.name}(${memberModel.variable.simpleType}StaxUnmarshaller.getInstance().unmarshall(context));
                     continue;
                 }
@@ -2,6 +2,13 @@
 package ${metadata.packageName};
 
 import ${metadata.packageName}.model.*;
+import ${metadata.packageName}.model.transform.*;
+import com.amazonaws.*;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.http.*;
+import com.amazonaws.protocol.json.*;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
 import com.amazonaws.annotation.ThreadSafe;
 
 /**
@@ -231,6 +238,51 @@ public class ${metadata.asyncClient} extends ${metadata.syncClient}
     <@AdditionalClientMethodsMacro.content .data_model />
   </#if>
 
+    /**
+     * Returns the callback of a request executed through the non-blocking
+     * transport, which ends the client execution and notifies the async
+     * handler, if any.
+     */
+    private <X, Y extends AmazonWebServiceRequest> ResponseCallback<X> newResponseCallback(
+            final Y originalRequest, final Request<Y> request,
+            final AWSRequestMetrics awsRequestMetrics,
+            final AsyncHandler<Y, X> asyncHandler) {
+
+        return new ResponseCallback<X>() {
+            @Override
+            public void onResponse(Response<X> response) {
+                endClientExecution(awsRequestMetrics, request, response);
+                if (asyncHandler != null) {
+                    asyncHandler.onSuccess(originalRequest, response.getAwsResponse());
+                }
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                endClientExecution(awsRequestMetrics, request, null);
+                if (asyncHandler != null) {
+                    asyncHandler.onError(exception);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns an already completed future failed with the given exception,
+     * for requests which can't be marshalled.
+     */
+    private static <X> java.util.concurrent.Future<X> newFailedFuture(final Exception exception) {
+        java.util.concurrent.FutureTask<X> future = new java.util.concurrent.FutureTask<X>(
+                new java.util.concurrent.Callable<X>() {
+                    @Override
+                    public X call() throws Exception {
+                        throw exception;
+                    }
+                });
+        future.run();
+        return future;
+    }
+
     /**
      * Shuts down the client, releasing all managed resources. This includes
      * forcibly terminating all pending asynchronous service calls. Clients who
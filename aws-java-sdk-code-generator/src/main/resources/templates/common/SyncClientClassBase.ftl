@@ -288,4 +288,49 @@ public class ${metadata.syncClient} extends AmazonWebServiceClient implements ${
                 errorResponseHandler, executionContext);
     }
 
+    /**
+     * Invoke with authentication through the non-blocking transport of the http client.
+     * Credentials are required and may be overriden at the request level.
+     **/
+    <X, Y extends AmazonWebServiceRequest> java.util.concurrent.Future<X> invokeAsync(Request<Y> request,
+            HttpResponseHandler<AmazonWebServiceResponse<X>> responseHandler,
+            ExecutionContext executionContext, java.util.concurrent.Executor executor,
+            ResponseCallback<X> callback) {
+
+        executionContext.setCredentialsProvider(CredentialUtils.getCredentialsProvider
+            (request.getOriginalRequest(), awsCredentialsProvider));
+
+        return doInvokeAsync(request, responseHandler, executionContext, executor, callback);
+    }
+
+    /**
+     * Invoke with no authentication through the non-blocking transport of the http client.
+     * Credentials are not required and any credentials set on the client or request will be
+     * ignored for this operation.
+     **/
+    <X, Y extends AmazonWebServiceRequest> java.util.concurrent.Future<X> anonymousInvokeAsync(Request<Y> request,
+            HttpResponseHandler<AmazonWebServiceResponse<X>> responseHandler,
+            ExecutionContext executionContext, java.util.concurrent.Executor executor,
+            ResponseCallback<X> callback) {
+
+        return doInvokeAsync(request, responseHandler, executionContext, executor, callback);
+    }
+
+    /**
+     * Invoke the request using the non-blocking transport of the http client. Assumes credentials
+     * (or lack thereof) have been configured in the ExecutionContext beforehand.
+     **/
+    private <X, Y extends AmazonWebServiceRequest> java.util.concurrent.Future<X> doInvokeAsync(Request<Y> request,
+            HttpResponseHandler<AmazonWebServiceResponse<X>> responseHandler,
+            ExecutionContext executionContext, java.util.concurrent.Executor executor,
+            ResponseCallback<X> callback) {
+        request.setEndpoint(endpoint);
+        request.setTimeOffset(timeOffset);
+
+        <@ClientInvokeMethodErrorResponseHandlerCreation.content metadata customizationConfig />
+
+        return client.executeAsync(request, responseHandler,
+                errorResponseHandler, executionContext, executor, callback);
+    }
+
 }
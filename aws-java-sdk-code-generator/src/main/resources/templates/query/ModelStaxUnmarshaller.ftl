@@ -13,6 +13,7 @@ import ${metadata.packageName}.model.*;
 import com.amazonaws.transform.Unmarshaller;
 import com.amazonaws.transform.MapEntry;
 import com.amazonaws.transform.StaxUnmarshallerContext;
+import com.amazonaws.transform.StaxPathExpression;
 import com.amazonaws.transform.SimpleTypeStaxUnmarshallers.*;
 
 
@@ -21,6 +22,14 @@ import com.amazonaws.transform.SimpleTypeStaxUnmarshallers.*;
  */
 public class ${shape.shapeName}StaxUnmarshaller implements Unmarshaller<${shape.shapeName}, StaxUnmarshallerContext> {
 
+<#if shape.members?has_content && !shape.customization.artificialResultWrapper?has_content>
+<#list shape.members as memberModel>
+    <#if !memberModel.http.isHeader() && !memberModel.http.isStatusCode() >
+        <@MemberUnmarshallerInvocationMacro.expressionField memberModel />
+    </#if>
+</#list>
+</#if>
+
 <#if shape.members?has_content>
 <#list shape.members as memberModel>
     <#if memberModel.map>
@@ -25,6 +25,7 @@ import com.amazonaws.http.ExecutionContext;
 import com.amazonaws.internal.DefaultServiceEndpointBuilder;
 import com.amazonaws.log.CommonsLogFactory;
 import com.amazonaws.metrics.AwsSdkMetrics;
+import com.amazonaws.metrics.RequestLatencyHistograms;
 import com.amazonaws.metrics.RequestMetricCollector;
 import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
@@ -328,6 +329,28 @@ public abstract class AmazonWebServiceClient {
         this.setRegion(Region.getRegion(region));
     }
 
+    /**
+     * Opens connections to the endpoint of this client, TCP and TLS handshakes
+     * included, until the given number of connections is open, so the first
+     * requests don't pay for connecting. Typically called once the client is
+     * created and its endpoint or region set.
+     * <p>
+     * If {@link ClientConfiguration#getMinWarmConnections()} is set, that many
+     * connections are kept open to the endpoint from then on, instead of
+     * letting the idle connection reaper close all of them.
+     *
+     * @param connections
+     *            The number of connections to open, capped by the maximum
+     *            number of connections.
+     * @return The number of connections open to the endpoint; zero if a proxy
+     *         is configured, as connections aren't warmed up through a proxy.
+     * @throws AmazonClientException
+     *             If a connection fails to open.
+     */
+    public int warmUpConnections(int connections) {
+        return client.warmUpConnections(endpoint, connections);
+    }
+
     /**
      * Shuts down this client object, releasing any resources that might be held
      * open. This is an optional method, and callers are not expected to call
@@ -445,11 +468,12 @@ public abstract class AmazonWebServiceClient {
 
     /**
      * Returns true if request metric collection is enabled at the service
-     * client or AWS SDK level request; false otherwise.
+     * client or AWS SDK level request, including for the latency histograms;
+     * false otherwise.
      */
     private boolean isRMCEnabledAtClientOrSdkLevel() {
         RequestMetricCollector c = requestMetricCollector();
-        return c != null && c.isEnabled();
+        return (c != null && c.isEnabled()) || AwsSdkMetrics.isLatencyHistogramsEnabled();
     }
 
     /**
@@ -551,6 +575,10 @@ public abstract class AmazonWebServiceClient {
             awsRequestMetrics.getTimingInfo().endTiming();
             RequestMetricCollector c = findRequestMetricCollector(request);
             c.collectMetrics(request, response);
+            RequestLatencyHistograms histograms = AwsSdkMetrics.getLatencyHistograms();
+            if (histograms != null) {
+                histograms.collect(request);
+            }
             awsRequestMetrics.log();
         }
     }
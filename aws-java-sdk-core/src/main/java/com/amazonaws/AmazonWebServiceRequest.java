@@ -80,6 +80,8 @@ public abstract class AmazonWebServiceRequest implements Cloneable, ReadLimitInf
 
     private Integer sdkClientExecutionTimeout = null;
 
+    private Boolean sdkHedgingEnabled = null;
+
     /**
      * Sets the optional credentials to use for this request, overriding the default credentials set
      * at the client level.
@@ -329,9 +331,8 @@ public abstract class AmazonWebServiceRequest implements Cloneable, ReadLimitInf
      * Returns the amount of time to wait (in milliseconds) for the request to complete before
      * giving up and timing out. A non-positive value disables this feature.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The request timeout feature doesn't have strict guarantees on how quickly a request is
@@ -357,9 +358,8 @@ public abstract class AmazonWebServiceRequest implements Cloneable, ReadLimitInf
      * Sets the amount of time to wait (in milliseconds) for the request to complete before giving
      * up and timing out. A non-positive value disables this feature.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The request timeout feature doesn't have strict guarantees on how quickly a request is
@@ -388,9 +388,8 @@ public abstract class AmazonWebServiceRequest implements Cloneable, ReadLimitInf
      * up and timing out. A non-positive value disables this feature. Returns the updated
      * AmazonWebServiceRequest object so that additional method calls may be chained together.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The request timeout feature doesn't have strict guarantees on how quickly a request is
@@ -423,9 +422,8 @@ public abstract class AmazonWebServiceRequest implements Cloneable, ReadLimitInf
      * an API call. This timeout covers the entire client execution except for marshalling. This
      * includes request handler execution, all HTTP request including retries, unmarshalling, etc.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The client execution timeout feature doesn't have strict guarantees on how quickly a request
@@ -458,9 +456,8 @@ public abstract class AmazonWebServiceRequest implements Cloneable, ReadLimitInf
      * an API call. This timeout covers the entire client execution except for marshalling. This
      * includes request handler execution, all HTTP request including retries, unmarshalling, etc.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The client execution timeout feature doesn't have strict guarantees on how quickly a request
@@ -494,9 +491,8 @@ public abstract class AmazonWebServiceRequest implements Cloneable, ReadLimitInf
      * an API call. This timeout covers the entire client execution except for marshalling. This
      * includes request handler execution, all HTTP request including retries, unmarshalling, etc.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The client execution timeout feature doesn't have strict guarantees on how quickly a request
@@ -529,6 +525,51 @@ public abstract class AmazonWebServiceRequest implements Cloneable, ReadLimitInf
         return t;
     }
 
+    /**
+     * Returns whether this request is sent with hedging, overriding the hedged request types of
+     * the client configuration.
+     *
+     * @return True or false to turn hedging on or off for this request; or null to hedge it if
+     *         its type is one of the hedged request types of the client configuration.
+     * @see ClientConfiguration#setHedgedRequestTypes(java.util.Collection)
+     */
+    public Boolean getSdkHedgingEnabled() {
+        return sdkHedgingEnabled;
+    }
+
+    /**
+     * Sets whether this request is sent with hedging, overriding the hedged request types of the
+     * client configuration. A hedged request is sent a second time when the first attempt takes
+     * longer than the hedging percentile of the recent latencies of the operation, and the first
+     * response received is used. Only idempotent requests should be hedged.
+     *
+     * @param sdkHedgingEnabled
+     *            True or false to turn hedging on or off for this request; or null to hedge it
+     *            if its type is one of the hedged request types of the client configuration.
+     * @see ClientConfiguration#setHedgedRequestTypes(java.util.Collection)
+     */
+    public void setSdkHedgingEnabled(Boolean sdkHedgingEnabled) {
+        this.sdkHedgingEnabled = sdkHedgingEnabled;
+    }
+
+    /**
+     * Sets whether this request is sent with hedging, overriding the hedged request types of the
+     * client configuration. Returns the updated AmazonWebServiceRequest object so that
+     * additional method calls may be chained together.
+     *
+     * @param sdkHedgingEnabled
+     *            True or false to turn hedging on or off for this request; or null to hedge it
+     *            if its type is one of the hedged request types of the client configuration.
+     * @return The updated {@link AmazonWebServiceRequest} object.
+     * @see #setSdkHedgingEnabled(Boolean)
+     */
+    public <T extends AmazonWebServiceRequest> T withSdkHedgingEnabled(Boolean sdkHedgingEnabled) {
+        setSdkHedgingEnabled(sdkHedgingEnabled);
+        @SuppressWarnings("unchecked")
+        T t = (T) this;
+        return t;
+    }
+
     /**
      * Creates a shallow clone of this request. Explicitly does <em>not</em> clone the deep
      * structure of the request object.
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.Security;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DNS resolver that caches the addresses of the hosts it resolves, so new
+ * connections don't wait on the resolver, and spreads the connections across
+ * all the addresses of a host.
+ * <p>
+ * The addresses of a host are resolved with the delegate resolver the first
+ * time the host is resolved, and are then refreshed in the background before
+ * their time to live runs out, for as long as the host keeps being resolved.
+ * Each resolution returns all the addresses, starting with the next one in
+ * round-robin order, so that successive connections are opened to different
+ * addresses. Addresses a connection couldn't be opened to are reported with
+ * {@link #reportFailure(InetAddress)} and are returned last for the failure
+ * penalty time.
+ * <p>
+ * Use it by setting it with
+ * {@link ClientConfiguration#setDnsResolver(DnsResolver)}; it can be shared by
+ * several clients. Connections are reported automatically by the clients it is
+ * set on. The JVM caches the addresses it resolves too, for the time set by
+ * the {@code networkaddress.cache.ttl} security property, so the time to live
+ * of this resolver shouldn't be shorter than that one.
+ */
+public class CachingDnsResolver implements DnsResolver {
+
+    private static final Log log = LogFactory.getLog(CachingDnsResolver.class);
+
+    /**
+     * The default time to live, in milliseconds, of the addresses of a host;
+     * the one of the JVM, or 30 seconds if it caches addresses forever.
+     */
+    public static final long DEFAULT_TTL_MILLIS = defaultTtlMillis();
+
+    /**
+     * The default time, in milliseconds, an address that failed is returned
+     * last.
+     */
+    public static final long DEFAULT_FAILURE_PENALTY_MILLIS = 30 * 1000;
+
+    /**
+     * Hosts which haven't been resolved for this many times their time to
+     * live are no longer refreshed, and are removed from the cache.
+     */
+    private static final int IDLE_TTL_COUNT = 10;
+
+    private final DnsResolver delegate;
+    private final long ttlMillis;
+    private final long failurePenaltyMillis;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final ConcurrentMap<InetAddress, Long> penalizedAddresses = new ConcurrentHashMap<InetAddress, Long>();
+
+    /**
+     * Refreshes the cached addresses; started when the first host is resolved.
+     */
+    private ScheduledExecutorService refresher;
+    private boolean shutdown;
+
+    /**
+     * Creates a resolver caching the addresses of the
+     * {@link SystemDefaultDnsResolver} with the default time to live and
+     * failure penalty.
+     */
+    public CachingDnsResolver() {
+        this(new SystemDefaultDnsResolver(), DEFAULT_TTL_MILLIS, DEFAULT_FAILURE_PENALTY_MILLIS);
+    }
+
+    /**
+     * @param delegate
+     *            The resolver the addresses are resolved with.
+     * @param ttlMillis
+     *            The time, in milliseconds, the addresses of a host are
+     *            cached for before they are resolved again.
+     * @param failurePenaltyMillis
+     *            The time, in milliseconds, an address that failed is
+     *            returned last.
+     */
+    public CachingDnsResolver(DnsResolver delegate, long ttlMillis, long failurePenaltyMillis) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("The time to live must be positive");
+        }
+        if (failurePenaltyMillis < 0) {
+            throw new IllegalArgumentException("The failure penalty can't be negative");
+        }
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.failurePenaltyMillis = failurePenaltyMillis;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        final long now = System.currentTimeMillis();
+        Entry entry = entries.get(host);
+        if (entry == null || now >= entry.expiresAt) {
+            entry = resolveNow(host, entry, now);
+        }
+        entry.lastResolvedAt = now;
+        return order(entry, now);
+    }
+
+    /**
+     * Reports that a connection couldn't be opened to the given address, which
+     * is then returned after the other addresses of its host for the failure
+     * penalty time.
+     */
+    public void reportFailure(InetAddress address) {
+        if (address != null && failurePenaltyMillis > 0) {
+            penalizedAddresses.put(address, System.currentTimeMillis() + failurePenaltyMillis);
+            if (log.isDebugEnabled()) {
+                log.debug("Penalizing address " + address + " for " + failurePenaltyMillis + " ms");
+            }
+        }
+    }
+
+    /**
+     * Stops refreshing the cached addresses in the background. Hosts are then
+     * resolved again when their time to live runs out.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    /**
+     * Resolves the addresses of the given host with the delegate resolver, and
+     * caches them. If they can't be resolved, the expired addresses are
+     * returned instead, if any, and cached again for a quarter of the time to
+     * live so the host isn't resolved again on every call while resolution
+     * fails.
+     */
+    private Entry resolveNow(String host, Entry expired, long now) throws UnknownHostException {
+        final InetAddress[] addresses;
+        try {
+            addresses = delegate.resolve(host);
+        } catch (UnknownHostException e) {
+            if (expired == null) {
+                throw e;
+            }
+            log.debug("Unable to resolve " + host + ", using the expired addresses", e);
+            final Entry retained = new Entry(expired.addresses, expired.lastResolvedAt,
+                    now + Math.max(ttlMillis / 4, 1));
+            if (entries.replace(host, expired, retained)) {
+                return retained;
+            }
+            // Resolved by another thread or the refresher meanwhile
+            final Entry current = entries.get(host);
+            return (current != null) ? current : expired;
+        }
+        if (addresses == null || addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+        final Entry entry = new Entry(addresses, now, now + ttlMillis);
+        entries.put(host, entry);
+        startRefresher();
+        return entry;
+    }
+
+    /**
+     * Returns the addresses of the given entry starting with the next one in
+     * round-robin order, with the penalized addresses last.
+     */
+    private InetAddress[] order(Entry entry, long now) {
+        final InetAddress[] addresses = entry.addresses;
+        final int length = addresses.length;
+        final InetAddress[] ordered = new InetAddress[length];
+        final int start = (entry.next.getAndIncrement() & Integer.MAX_VALUE) % length;
+        int head = 0;
+        int tail = length;
+        for (int i = 0; i < length; i++) {
+            InetAddress address = addresses[(start + i) % length];
+            if (isPenalized(address, now)) {
+                ordered[--tail] = address;
+            } else {
+                ordered[head++] = address;
+            }
+        }
+        // The penalized addresses were added from the end
+        reverse(ordered, tail, length);
+        return ordered;
+    }
+
+    private boolean isPenalized(InetAddress address, long now) {
+        final Long penalizedUntil = penalizedAddresses.get(address);
+        if (penalizedUntil == null) {
+            return false;
+        }
+        if (now < penalizedUntil) {
+            return true;
+        }
+        penalizedAddresses.remove(address, penalizedUntil);
+        return false;
+    }
+
+    private static void reverse(InetAddress[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            InetAddress tmp = a[i];
+            a[i] = a[j];
+            a[j] = tmp;
+        }
+    }
+
+    /**
+     * Refreshes the addresses of the hosts which expire within the next
+     * quarter of the time to live, and removes the hosts which are no longer
+     * resolved.
+     */
+    void refresh() {
+        final long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Entry> e = it.next();
+            Entry entry = e.getValue();
+            if (now - entry.lastResolvedAt > IDLE_TTL_COUNT * ttlMillis) {
+                it.remove();
+            } else if (entry.expiresAt - now <= ttlMillis / 4) {
+                try {
+                    InetAddress[] addresses = delegate.resolve(e.getKey());
+                    if (addresses != null && addresses.length > 0) {
+                        Entry refreshed = new Entry(addresses, entry.lastResolvedAt,
+                                System.currentTimeMillis() + ttlMillis);
+                        entries.replace(e.getKey(), entry, refreshed);
+                    }
+                } catch (Exception ex) {
+                    // The host is resolved again once the addresses expire
+                    log.debug("Unable to refresh the addresses of " + e.getKey(), ex);
+                }
+            }
+        }
+        for (Iterator<Long> it = penalizedAddresses.values().iterator(); it.hasNext();) {
+            if (it.next() <= now) {
+                it.remove();
+            }
+        }
+    }
+
+    private synchronized void startRefresher() {
+        if (refresher != null || shutdown) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "java-sdk-dns-refresher");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        final long period = Math.max(ttlMillis / 4, 1);
+        refresher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                refresh();
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static long defaultTtlMillis() {
+        try {
+            String ttl = Security.getProperty("networkaddress.cache.ttl");
+            if (ttl != null && Integer.parseInt(ttl.trim()) > 0) {
+                return Integer.parseInt(ttl.trim()) * 1000L;
+            }
+        } catch (RuntimeException ignored) {
+            // Use the default of the JVM below
+        }
+        return 30 * 1000;
+    }
+
+    /**
+     * The cached addresses of a host.
+     */
+    private static final class Entry {
+        private final InetAddress[] addresses;
+        private final long expiresAt;
+        private final AtomicInteger next = new AtomicInteger();
+        private volatile long lastResolvedAt;
+
+        private Entry(InetAddress[] addresses, long lastResolvedAt, long expiresAt) {
+            this.addresses = addresses.clone();
+            this.lastResolvedAt = lastResolvedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
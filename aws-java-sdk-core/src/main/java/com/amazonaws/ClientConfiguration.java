@@ -22,6 +22,13 @@ import org.apache.http.annotation.NotThreadSafe;
 
 import java.net.InetAddress;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Client configuration options such as proxy settings, user agent string, max retry attempts, etc.
@@ -75,11 +82,29 @@ public class ClientConfiguration {
      */
     public static final boolean DEFAULT_USE_REAPER = true;
 
+    /**
+     * The default minimum number of warm connections kept open to an endpoint;
+     * none, so the {@link IdleConnectionReaper} closes all idle connections.
+     */
+    public static final int DEFAULT_MIN_WARM_CONNECTIONS = 0;
+
     /**
      * The default on whether to use gzip compression.
      */
     public static final boolean DEFAULT_USE_GZIP = false;
 
+    /**
+     * The default on whether to send requests of asynchronous clients through the non-blocking
+     * transport.
+     */
+    public static final boolean DEFAULT_USE_NON_BLOCKING_TRANSPORT = false;
+
+    /**
+     * The default on whether to enforce the request and client execution timeouts with the timer
+     * shared by all clients.
+     */
+    public static final boolean DEFAULT_USE_SHARED_TIMEOUT_TIMER = false;
+
     /**
      * The default expiration time (in milliseconds) for a connection in the connection pool.
      */
@@ -95,16 +120,42 @@ public class ClientConfiguration {
      */
     public static final boolean DEFAULT_TCP_KEEP_ALIVE = false;
 
+    /**
+     * The default number of TLS sessions cached for resumption; the JVM default is used.
+     */
+    public static final int DEFAULT_TLS_SESSION_CACHE_SIZE = -1;
+
+    /**
+     * The default time (in seconds) a cached TLS session can be resumed for; the JVM default is
+     * used.
+     */
+    public static final int DEFAULT_TLS_SESSION_TIMEOUT = -1;
+
     /**
      * The default on whether to throttle retries.
      */
     public static final boolean DEFAULT_THROTTLE_RETRIES = false;
 
+    /**
+     * The default on whether to limit the send rate adaptively to throttling.
+     */
+    public static final boolean DEFAULT_USE_ADAPTIVE_RATE_LIMITING = false;
+
+    /**
+     * The default percentile of the latency of an operation after which a hedged request is sent.
+     */
+    public static final double DEFAULT_HEDGING_PERCENTILE = 95;
+
     /**
      * The default response metadata cache size.
      */
     public static final int DEFAULT_RESPONSE_METADATA_CACHE_SIZE = 50;
 
+    /**
+     * The default on whether to cache response metadata.
+     */
+    public static final boolean DEFAULT_CACHE_RESPONSE_METADATA = true;
+
     /** The HTTP user agent header passed with all HTTP requests. */
     private String userAgent = DEFAULT_USER_AGENT;
 
@@ -182,6 +233,13 @@ public class ClientConfiguration {
 
     private boolean throttleRetries = DEFAULT_THROTTLE_RETRIES;
 
+    private boolean useAdaptiveRateLimiting = DEFAULT_USE_ADAPTIVE_RATE_LIMITING;
+
+    private final Set<Class<? extends AmazonWebServiceRequest>> hedgedRequestTypes =
+            new HashSet<Class<? extends AmazonWebServiceRequest>>();
+
+    private double hedgingPercentile = DEFAULT_HEDGING_PERCENTILE;
+
     /**
      * Optional size hint (in bytes) for the low level TCP send buffer. This is an advanced option
      * for advanced users who want to tune low level TCP parameters to try and squeeze out more
@@ -203,11 +261,29 @@ public class ClientConfiguration {
      */
     private boolean useReaper = DEFAULT_USE_REAPER;
 
+    /**
+     * The minimum number of connections kept open to each endpoint warmed up
+     * with {@link AmazonWebServiceClient#warmUpConnections(int)}.
+     */
+    private int minWarmConnections = DEFAULT_MIN_WARM_CONNECTIONS;
+
     /**
      * Optional whether to use gzip compression when making HTTP requests.
      */
     private boolean useGzip = DEFAULT_USE_GZIP;
 
+    /**
+     * Optional whether asynchronous clients send their requests through a non-blocking HTTP
+     * transport instead of running the blocking call on a thread of their executor service.
+     */
+    private boolean useNonBlockingTransport = DEFAULT_USE_NON_BLOCKING_TRANSPORT;
+
+    /**
+     * Optional whether the request and client execution timeouts are enforced by the hashed wheel
+     * timer shared by all clients instead of thread pools owned by the client.
+     */
+    private boolean useSharedTimeoutTimer = DEFAULT_USE_SHARED_TIMEOUT_TIMER;
+
     /**
      * Optional override to control which signature algorithm should be used to sign requests to the
      * service. If not explicitly set, the client will determine the algorithm to use by inspecting
@@ -245,6 +321,11 @@ public class ClientConfiguration {
      */
     private int responseMetadataCacheSize = DEFAULT_RESPONSE_METADATA_CACHE_SIZE;
 
+    /**
+     * Optional override to disable the response metadata cache.
+     */
+    private boolean cacheResponseMetadata = DEFAULT_CACHE_RESPONSE_METADATA;
+
     /**
      * The DNS Resolver to resolve IP addresses of Amazon Web Services.
      */
@@ -256,6 +337,23 @@ public class ClientConfiguration {
      */
     private SecureRandom secureRandom;
 
+    /**
+     * The number of TLS sessions cached by the client so that new connections resume them
+     * instead of performing a full handshake.
+     */
+    private int tlsSessionCacheSize = DEFAULT_TLS_SESSION_CACHE_SIZE;
+
+    /**
+     * The time (in seconds) a cached TLS session can be resumed for.
+     */
+    private int tlsSessionTimeout = DEFAULT_TLS_SESSION_TIMEOUT;
+
+    /**
+     * The cipher suites preferred in the TLS handshake, in descending order of preference; null
+     * to keep the order of the JVM.
+     */
+    private List<String> tlsCipherSuites;
+
     /**
      * Optional override to enable/disable support for HTTP/1.1 handshake utilizing EXPECT:
      * 100-Continue. The default value is true.
@@ -283,6 +381,9 @@ public class ClientConfiguration {
         this.maxErrorRetry = other.maxErrorRetry;
         this.retryPolicy = other.retryPolicy;
         this.throttleRetries = other.throttleRetries;
+        this.useAdaptiveRateLimiting = other.useAdaptiveRateLimiting;
+        this.hedgedRequestTypes.addAll(other.hedgedRequestTypes);
+        this.hedgingPercentile = other.hedgingPercentile;
         this.localAddress = other.localAddress;
         this.protocol = other.protocol;
         this.proxyDomain = other.proxyDomain;
@@ -298,12 +399,19 @@ public class ClientConfiguration {
         this.clientExecutionTimeout = other.clientExecutionTimeout;
         this.userAgent = other.userAgent;
         this.useReaper = other.useReaper;
+        this.minWarmConnections = other.minWarmConnections;
         this.useGzip = other.useGzip;
+        this.useNonBlockingTransport = other.useNonBlockingTransport;
+        this.useSharedTimeoutTimer = other.useSharedTimeoutTimer;
         this.socketReceiveBufferSizeHint = other.socketReceiveBufferSizeHint;
         this.socketSendBufferSizeHint = other.socketSendBufferSizeHint;
         this.signerOverride = other.signerOverride;
         this.responseMetadataCacheSize = other.responseMetadataCacheSize;
+        this.cacheResponseMetadata = other.cacheResponseMetadata;
         this.dnsResolver = other.dnsResolver;
+        this.tlsSessionCacheSize = other.tlsSessionCacheSize;
+        this.tlsSessionTimeout = other.tlsSessionTimeout;
+        this.tlsCipherSuites = other.tlsCipherSuites;
         this.useExpectContinue = other.useExpectContinue;
         this.apacheHttpClientConfig = new ApacheHttpClientConfig(other.apacheHttpClientConfig);
     }
@@ -935,9 +1043,8 @@ public class ClientConfiguration {
      * Returns the amount of time to wait (in milliseconds) for the request to complete before
      * giving up and timing out. A non-positive value disables this feature.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The request timeout feature doesn't have strict guarantees on how quickly a request is
@@ -962,9 +1069,8 @@ public class ClientConfiguration {
      * Sets the amount of time to wait (in milliseconds) for the request to complete before giving
      * up and timing out. A non-positive value disables this feature.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The request timeout feature doesn't have strict guarantees on how quickly a request is
@@ -992,9 +1098,8 @@ public class ClientConfiguration {
      * up and timing out. A non-positive value disables this feature. Returns the updated
      * ClientConfiguration object so that additional method calls may be chained together.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The request timeout feature doesn't have strict guarantees on how quickly a request is
@@ -1024,9 +1129,8 @@ public class ClientConfiguration {
      * an API call. This timeout covers the entire client execution except for marshalling. This
      * includes request handler execution, all HTTP request including retries, unmarshalling, etc.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The client execution timeout feature doesn't have strict guarantees on how quickly a request
@@ -1058,9 +1162,8 @@ public class ClientConfiguration {
      * an API call. This timeout covers the entire client execution except for marshalling. This
      * includes request handler execution, all HTTP request including retries, unmarshalling, etc.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The client execution timeout feature doesn't have strict guarantees on how quickly a request
@@ -1093,9 +1196,8 @@ public class ClientConfiguration {
      * an API call. This timeout covers the entire client execution except for marshalling. This
      * includes request handler execution, all HTTP request including retries, unmarshalling, etc.
      * <p>
-     * This feature requires buffering the entire response (for non-streaming APIs) into memory to
-     * enforce a hard timeout when reading the response. For APIs that return large responses this
-     * could be expensive.
+     * The timeout also covers reading and unmarshalling the response, which is parsed directly
+     * off the connection rather than buffered into memory first.
      * <p>
      * <p>
      * The client execution timeout feature doesn't have strict guarantees on how quickly a request
@@ -1157,6 +1259,52 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns the minimum number of connections kept open to each endpoint
+     * warmed up with {@link AmazonWebServiceClient#warmUpConnections(int)}.
+     *
+     * @return The minimum number of warm connections per endpoint.
+     */
+    public int getMinWarmConnections() {
+        return minWarmConnections;
+    }
+
+    /**
+     * Sets the minimum number of connections kept open to each endpoint warmed
+     * up with {@link AmazonWebServiceClient#warmUpConnections(int)}. Every time
+     * the {@link IdleConnectionReaper} closes idle connections, it opens new
+     * ones to the endpoint, handshake included, until this many are open, so
+     * requests after an idle period don't pay for connecting. Has no effect
+     * when the reaper isn't used, and is capped by the maximum number of
+     * connections.
+     *
+     * @param minWarmConnections
+     *            The minimum number of warm connections per endpoint; zero to
+     *            let the reaper close all idle connections.
+     * @see #setUseReaper(boolean)
+     */
+    public void setMinWarmConnections(int minWarmConnections) {
+        if (minWarmConnections < 0) {
+            throw new IllegalArgumentException("The minimum number of warm connections can't be negative");
+        }
+        this.minWarmConnections = minWarmConnections;
+    }
+
+    /**
+     * Sets the minimum number of connections kept open to each endpoint warmed
+     * up with {@link AmazonWebServiceClient#warmUpConnections(int)}, and
+     * returns the updated ClientConfiguration object.
+     *
+     * @param minWarmConnections
+     *            The minimum number of warm connections per endpoint.
+     * @return The updated ClientConfiguration object.
+     * @see #setMinWarmConnections(int)
+     */
+    public ClientConfiguration withMinWarmConnections(int minWarmConnections) {
+        setMinWarmConnections(minWarmConnections);
+        return this;
+    }
+
     /**
      * Returns whether retry throttling will be used.
      * <p>
@@ -1232,6 +1380,150 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Checks if the client limits its send rate adaptively to throttling by the service.
+     *
+     * @return true if adaptive rate limiting will be used
+     */
+    public boolean useAdaptiveRateLimiting() {
+        return useAdaptiveRateLimiting;
+    }
+
+    /**
+     * Sets whether the client should limit its send rate adaptively to throttling by the
+     * service.
+     * <p>
+     * Once a request is throttled, the client delays sending further requests, including
+     * retries, to a rate lower than the one it was throttled at. Each successful response then
+     * raises that rate a little, and each new throttling event lowers it again, so the client
+     * converges on the rate the service sustains rather than repeatedly exceeding it. The
+     * current rate is captured as the {@code RateLimiterSendRate} request metric. The rate is
+     * shared by all the operations of the client.
+     * </p>
+     *
+     * @param use
+     *            true if adaptive rate limiting should be used
+     */
+    public void setUseAdaptiveRateLimiting(boolean use) {
+        this.useAdaptiveRateLimiting = use;
+    }
+
+    /**
+     * Sets whether the client should limit its send rate adaptively to throttling by the
+     * service.
+     *
+     * @param use
+     *            true if adaptive rate limiting should be used
+     * @return The updated ClientConfiguration object.
+     * @see #setUseAdaptiveRateLimiting(boolean)
+     */
+    public ClientConfiguration withAdaptiveRateLimiting(boolean use) {
+        setUseAdaptiveRateLimiting(use);
+        return this;
+    }
+
+    /**
+     * Returns the types of the requests sent with hedging.
+     *
+     * @return The request types of the operations sent with hedging; empty by default.
+     * @see #setHedgedRequestTypes(Collection)
+     */
+    public Set<Class<? extends AmazonWebServiceRequest>> getHedgedRequestTypes() {
+        return Collections.unmodifiableSet(hedgedRequestTypes);
+    }
+
+    /**
+     * Sets the types of the requests to send with hedging, that is the operations for which the
+     * client sends a second, hedged request when the first one takes longer than the
+     * {@link #getHedgingPercentile() hedging percentile} of the recent latencies of the
+     * operation. The first response received is used and the other request is aborted, which
+     * cuts the tail latency of the operation at the cost of a few more requests.
+     * <p>
+     * Only idempotent read operations, such as DynamoDB GetItem or S3 GetObject, should be
+     * hedged, since both requests may reach the service. Hedging can also be turned on or off
+     * for a single request with {@link AmazonWebServiceRequest#setSdkHedgingEnabled(Boolean)}.
+     * Each hedged request consumes retry capacity when throttled retries are enabled, so
+     * hedging stops while the service is failing. The number of hedged requests, and of those
+     * which responded first, are captured as the {@code HedgedRequestCount} and
+     * {@code HedgedRequestWinCount} request metrics.
+     * </p>
+     * <p>
+     * <b>Note:</b> Hedging isn't supported by the non-blocking transport.
+     * </p>
+     *
+     * @param types
+     *            The request types of the operations to send with hedging.
+     */
+    public void setHedgedRequestTypes(Collection<Class<? extends AmazonWebServiceRequest>> types) {
+        this.hedgedRequestTypes.clear();
+        if (types != null) {
+            this.hedgedRequestTypes.addAll(types);
+        }
+    }
+
+    /**
+     * Sets the types of the requests to send with hedging.
+     *
+     * @param types
+     *            The request types of the operations to send with hedging; each must be a
+     *            subclass of {@link AmazonWebServiceRequest}.
+     * @return The updated ClientConfiguration object.
+     * @see #setHedgedRequestTypes(Collection)
+     */
+    public ClientConfiguration withHedgedRequestTypes(Class<?>... types) {
+        Set<Class<? extends AmazonWebServiceRequest>> requestTypes =
+                new HashSet<Class<? extends AmazonWebServiceRequest>>();
+        for (Class<?> type : types) {
+            if (!AmazonWebServiceRequest.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(type + " isn't a request type");
+            }
+            requestTypes.add(type.asSubclass(AmazonWebServiceRequest.class));
+        }
+        setHedgedRequestTypes(requestTypes);
+        return this;
+    }
+
+    /**
+     * Returns the percentile of the recent latencies of an operation after which a hedged
+     * request is sent.
+     *
+     * @return The hedging percentile.
+     * @see #setHedgedRequestTypes(Collection)
+     */
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * Sets the percentile of the recent latencies of an operation after which a hedged request
+     * is sent; 95 by default, so about one request in twenty is hedged. No request is hedged
+     * until the client has measured a few latencies of the operation.
+     *
+     * @param hedgingPercentile
+     *            The hedging percentile, between 0 exclusive and 100 exclusive.
+     * @see #setHedgedRequestTypes(Collection)
+     */
+    public void setHedgingPercentile(double hedgingPercentile) {
+        if (hedgingPercentile <= 0 || hedgingPercentile >= 100) {
+            throw new IllegalArgumentException("The hedging percentile must be in (0, 100): " + hedgingPercentile);
+        }
+        this.hedgingPercentile = hedgingPercentile;
+    }
+
+    /**
+     * Sets the percentile of the recent latencies of an operation after which a hedged request
+     * is sent.
+     *
+     * @param hedgingPercentile
+     *            The hedging percentile, between 0 exclusive and 100 exclusive.
+     * @return The updated ClientConfiguration object.
+     * @see #setHedgingPercentile(double)
+     */
+    public ClientConfiguration withHedgingPercentile(double hedgingPercentile) {
+        setHedgingPercentile(hedgingPercentile);
+        return this;
+    }
+
     /**
      * Checks if gzip compression is used
      *
@@ -1263,6 +1555,86 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Checks if asynchronous clients send their requests through the non-blocking transport.
+     *
+     * @return if the non-blocking transport is used
+     */
+    public boolean useNonBlockingTransport() {
+        return useNonBlockingTransport;
+    }
+
+    /**
+     * Sets whether asynchronous clients should send their requests through a non-blocking HTTP
+     * transport. When enabled, a request in flight doesn't occupy a thread of the client's executor
+     * service while waiting for the service to respond; the executor is only used for signing,
+     * unmarshalling and invoking callbacks. Operations with streaming request or response payloads
+     * always use the blocking transport.
+     * <p>
+     * The non-blocking transport requires the optional
+     * {@code org.apache.httpcomponents:httpasyncclient} dependency on the classpath.
+     *
+     * @param use
+     *            whether the non-blocking transport should be used
+     */
+    public void setUseNonBlockingTransport(boolean use) {
+        this.useNonBlockingTransport = use;
+    }
+
+    /**
+     * Sets whether asynchronous clients should send their requests through a non-blocking HTTP
+     * transport.
+     *
+     * @param use
+     *            whether the non-blocking transport should be used
+     * @return The updated ClientConfiguration object.
+     * @see #setUseNonBlockingTransport(boolean)
+     */
+    public ClientConfiguration withNonBlockingTransport(boolean use) {
+        setUseNonBlockingTransport(use);
+        return this;
+    }
+
+    /**
+     * Checks if the request and client execution timeouts are enforced by the timer shared by all
+     * clients.
+     *
+     * @return if the shared timeout timer is used
+     */
+    public boolean useSharedTimeoutTimer() {
+        return useSharedTimeoutTimer;
+    }
+
+    /**
+     * Sets whether the request and client execution timeouts should be enforced by a hashed wheel
+     * timer shared by all clients, instead of thread pools owned by each client. Scheduling and
+     * canceling a timeout on the shared timer takes constant time and never contends on a lock,
+     * which lowers the overhead of the timeouts at high request rates, at the cost of timeouts
+     * firing up to 10 milliseconds late.
+     *
+     * @param use
+     *            whether the shared timeout timer should be used
+     * @see #setRequestTimeout(int)
+     * @see #setClientExecutionTimeout(int)
+     */
+    public void setUseSharedTimeoutTimer(boolean use) {
+        this.useSharedTimeoutTimer = use;
+    }
+
+    /**
+     * Sets whether the request and client execution timeouts should be enforced by a hashed wheel
+     * timer shared by all clients.
+     *
+     * @param use
+     *            whether the shared timeout timer should be used
+     * @return The updated ClientConfiguration object.
+     * @see #setUseSharedTimeoutTimer(boolean)
+     */
+    public ClientConfiguration withSharedTimeoutTimer(boolean use) {
+        setUseSharedTimeoutTimer(use);
+        return this;
+    }
+
     /**
      * Returns the optional size hints (in bytes) for the low level TCP send and receive buffers.
      * This is an advanced option for advanced users who want to tune low level TCP parameters to
@@ -1641,6 +2013,9 @@ public class ClientConfiguration {
 
     /**
      * Sets the DNS Resolver that should be used to for resolving AWS IP addresses.
+     * <p>
+     * A {@link CachingDnsResolver} removes the resolution from the path of new
+     * connections, and spreads them across all the addresses of an endpoint.
      */
     public void setDnsResolver(final DnsResolver resolver) {
         if (resolver == null) {
@@ -1690,6 +2065,43 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns whether the client caches the response metadata of recently
+     * executed requests, for the <code>getCachedResponseMetadata</code> method
+     * of the service clients. By default, it is set to {@value #DEFAULT_CACHE_RESPONSE_METADATA}.
+     */
+    public boolean getCacheResponseMetadata() {
+        return cacheResponseMetadata;
+    }
+
+    /**
+     * Sets whether the client caches the response metadata of recently
+     * executed requests. Clients that never read the response metadata can
+     * disable the cache to save adding an entry for every response. By
+     * default, it is set to {@value #DEFAULT_CACHE_RESPONSE_METADATA}.
+     *
+     * @param shouldCache
+     *            true if the response metadata should be cached.
+     */
+    public void setCacheResponseMetadata(boolean shouldCache) {
+        this.cacheResponseMetadata = shouldCache;
+    }
+
+    /**
+     * Sets whether the client caches the response metadata of recently
+     * executed requests. Clients that never read the response metadata can
+     * disable the cache to save adding an entry for every response. By
+     * default, it is set to {@value #DEFAULT_CACHE_RESPONSE_METADATA}.
+     *
+     * @param shouldCache
+     *            true if the response metadata should be cached.
+     * @return The updated ClientConfiguration object.
+     */
+    public ClientConfiguration withCacheResponseMetadata(boolean shouldCache) {
+        setCacheResponseMetadata(shouldCache);
+        return this;
+    }
+
     /**
      * Returns a non-null object that can be used to specify Apache HTTP client specific custom
      * configurations.
@@ -1725,6 +2137,140 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns the number of TLS sessions cached by the client for resumption.
+     *
+     * @return The size of the TLS session cache; {@value #DEFAULT_TLS_SESSION_CACHE_SIZE} if the
+     *         JVM default is used.
+     * @see #setTlsSessionCacheSize(int)
+     */
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    /**
+     * Sets the number of TLS sessions cached by the client. A new connection to an endpoint
+     * resumes a cached session of the endpoint, either by its session ID or by its session
+     * ticket, with an abbreviated handshake that skips the key exchange and the certificate
+     * verification. Clients opening many connections, for example during a scale out, should
+     * cache at least as many sessions as they have endpoints. Session tickets are used when the
+     * JVM enables them, which is controlled by the
+     * {@code jdk.tls.client.enableSessionTicketExtension} system property.
+     * <p>
+     * The number of handshakes, and of those which resumed a session, are captured as the
+     * {@code HttpClientTlsHandshakeTime} and {@code HttpClientTlsSessionResumedCount} request
+     * metrics.
+     * </p>
+     *
+     * @param tlsSessionCacheSize
+     *            The size of the TLS session cache; zero for no limit, or
+     *            {@value #DEFAULT_TLS_SESSION_CACHE_SIZE} to use the JVM default.
+     * @see #setTlsSessionTimeout(int)
+     */
+    public void setTlsSessionCacheSize(int tlsSessionCacheSize) {
+        if (tlsSessionCacheSize < DEFAULT_TLS_SESSION_CACHE_SIZE) {
+            throw new IllegalArgumentException("The TLS session cache size can't be negative");
+        }
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+    }
+
+    /**
+     * Sets the number of TLS sessions cached by the client, and returns the updated
+     * ClientConfiguration object.
+     *
+     * @param tlsSessionCacheSize
+     *            The size of the TLS session cache.
+     * @return The updated ClientConfiguration object.
+     * @see #setTlsSessionCacheSize(int)
+     */
+    public ClientConfiguration withTlsSessionCacheSize(int tlsSessionCacheSize) {
+        setTlsSessionCacheSize(tlsSessionCacheSize);
+        return this;
+    }
+
+    /**
+     * Returns the time (in seconds) a cached TLS session can be resumed for.
+     *
+     * @return The TLS session timeout in seconds; {@value #DEFAULT_TLS_SESSION_TIMEOUT} if the JVM
+     *         default is used.
+     * @see #setTlsSessionTimeout(int)
+     */
+    public int getTlsSessionTimeout() {
+        return tlsSessionTimeout;
+    }
+
+    /**
+     * Sets the time (in seconds) a cached TLS session can be resumed for, after which new
+     * connections perform a full handshake again.
+     *
+     * @param tlsSessionTimeout
+     *            The TLS session timeout in seconds; zero for no limit, or
+     *            {@value #DEFAULT_TLS_SESSION_TIMEOUT} to use the JVM default.
+     * @see #setTlsSessionCacheSize(int)
+     */
+    public void setTlsSessionTimeout(int tlsSessionTimeout) {
+        if (tlsSessionTimeout < DEFAULT_TLS_SESSION_TIMEOUT) {
+            throw new IllegalArgumentException("The TLS session timeout can't be negative");
+        }
+        this.tlsSessionTimeout = tlsSessionTimeout;
+    }
+
+    /**
+     * Sets the time (in seconds) a cached TLS session can be resumed for, and returns the updated
+     * ClientConfiguration object.
+     *
+     * @param tlsSessionTimeout
+     *            The TLS session timeout in seconds.
+     * @return The updated ClientConfiguration object.
+     * @see #setTlsSessionTimeout(int)
+     */
+    public ClientConfiguration withTlsSessionTimeout(int tlsSessionTimeout) {
+        setTlsSessionTimeout(tlsSessionTimeout);
+        return this;
+    }
+
+    /**
+     * Returns the cipher suites preferred in the TLS handshake.
+     *
+     * @return The preferred cipher suites, in descending order of preference; null if the order
+     *         of the JVM is kept.
+     * @see #setTlsCipherSuites(Collection)
+     */
+    public List<String> getTlsCipherSuites() {
+        return tlsCipherSuites;
+    }
+
+    /**
+     * Sets the cipher suites preferred in the TLS handshake, in descending order of preference.
+     * The preferred suites supported by the JVM are offered first, followed by the other suites
+     * enabled by default. {@link com.amazonaws.http.conn.ssl.TLSCipherSuites#AES_GCM_PREFERRED}
+     * favors the AES-GCM suites, which are the cheapest to run on processors with AES
+     * instructions.
+     *
+     * @param tlsCipherSuites
+     *            The preferred cipher suites, by their JSSE standard names; null to keep the
+     *            order of the JVM.
+     */
+    public void setTlsCipherSuites(Collection<String> tlsCipherSuites) {
+        this.tlsCipherSuites = tlsCipherSuites == null
+                ? null
+                : Collections.unmodifiableList(new ArrayList<String>(tlsCipherSuites));
+    }
+
+    /**
+     * Sets the cipher suites preferred in the TLS handshake, and returns the updated
+     * ClientConfiguration object.
+     *
+     * @param tlsCipherSuites
+     *            The preferred cipher suites, in descending order of preference.
+     * @return The updated ClientConfiguration object.
+     * @see #setTlsCipherSuites(Collection)
+     */
+    public ClientConfiguration withTlsCipherSuites(String... tlsCipherSuites) {
+        setTlsCipherSuites(tlsCipherSuites == null ? null : Arrays.asList(tlsCipherSuites));
+        return this;
+    }
+
     /**
      * Returns the use expect continue flag
      */
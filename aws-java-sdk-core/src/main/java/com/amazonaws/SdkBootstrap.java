@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws;
+
+import com.amazonaws.auth.SignerFactory;
+import com.amazonaws.handlers.HandlerChainFactory;
+import com.amazonaws.internal.SdkSSLContext;
+import com.amazonaws.internal.config.InternalConfig;
+import com.amazonaws.regions.RegionUtils;
+import com.amazonaws.util.VersionInfoUtils;
+import com.amazonaws.util.json.Jackson;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Loads the process-wide state the clients are built from ahead of their
+ * construction, so that services creating many clients at boot don't pay for
+ * it client after client.
+ * <p>
+ * The first client created in a process otherwise loads, one after the other,
+ * the SDK internal configuration, the region and endpoint metadata, the JSON
+ * mapper, the signer classes and the TLS provider, and every client reads the
+ * request handler chains of its service from the classpath. {@link #preload}
+ * loads all of them concurrently, along with the given client classes and
+ * their request handler chains. Everything it loads is cached for the life of
+ * the process, so clients created afterwards don't load it again.
+ *
+ * <pre>
+ * SdkBootstrap.preload(AmazonDynamoDBClient.class, AmazonS3Client.class, AmazonSQSClient.class);
+ * </pre>
+ */
+public final class SdkBootstrap {
+
+    private static final Log log = LogFactory.getLog(SdkBootstrap.class);
+
+    private SdkBootstrap() {
+    }
+
+    /**
+     * Concurrently loads the state shared by all the clients, the given client
+     * classes and the request handler chains of their services, and returns
+     * once everything is loaded.
+     *
+     * @param clientClasses
+     *            The classes of the clients that will be created, such as
+     *            {@code AmazonDynamoDBClient.class}; may be empty.
+     * @throws AmazonClientException
+     *             if any of them can't be loaded, in which case creating the
+     *             clients would fail as well.
+     */
+    public static void preload(Class<?>... clientClasses) {
+        final long start = System.nanoTime();
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() {
+                InternalConfig.Factory.getInternalConfig();
+                return null;
+            }
+        });
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() {
+                RegionUtils.getRegionMetadata();
+                return null;
+            }
+        });
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() {
+                Jackson.getObjectMapper();
+                VersionInfoUtils.getUserAgent();
+                return null;
+            }
+        });
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() {
+                for (String signerType : SignerFactory.getSignerTypes()) {
+                    SignerFactory.getSignerByTypeAndService(signerType, null);
+                }
+                return null;
+            }
+        });
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() {
+                SdkSSLContext.getPreferredSSLContext(new SecureRandom());
+                return null;
+            }
+        });
+        if (clientClasses != null) {
+            for (final Class<?> clientClass : clientClasses) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws ClassNotFoundException {
+                        preloadClient(clientClass);
+                        return null;
+                    }
+                });
+            }
+        }
+        runConcurrently(tasks);
+        if (log.isDebugEnabled()) {
+            log.debug("Preloaded the SDK in " + (System.nanoTime() - start) / 1000000 + " ms");
+        }
+    }
+
+    /**
+     * Initializes the given client class, and reads and instantiates the
+     * request handler chains of its service, which are then cached.
+     */
+    private static void preloadClient(Class<?> clientClass) throws ClassNotFoundException {
+        Class.forName(clientClass.getName(), true, clientClass.getClassLoader());
+        String packagePath = "/" + clientClass.getPackage().getName().replace('.', '/');
+        HandlerChainFactory chainFactory = new HandlerChainFactory();
+        chainFactory.newRequestHandlerChain(packagePath + "/request.handlers");
+        chainFactory.newRequestHandler2Chain(packagePath + "/request.handler2s");
+    }
+
+    private static void runConcurrently(List<Callable<Void>> tasks) {
+        final int threads = Math.min(tasks.size(), Math.max(Runtime.getRuntime().availableProcessors(), 2));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "java-sdk-bootstrap");
+                t.setDaemon(true);
+                t.setContextClassLoader(Thread.currentThread().getContextClassLoader());
+                return t;
+            }
+        });
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AbortedException("Interrupted while preloading the SDK", e);
+        } catch (ExecutionException e) {
+            throw new AmazonClientException("Unable to preload the SDK: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -20,7 +20,7 @@ import com.amazonaws.SignableRequest;
 import com.amazonaws.auth.internal.AWS4SignerRequestParams;
 import com.amazonaws.auth.internal.AWS4SignerUtils;
 import com.amazonaws.auth.internal.SignerKey;
-import com.amazonaws.internal.FIFOCache;
+import com.amazonaws.internal.ConcurrentFIFOCache;
 import com.amazonaws.log.InternalLogApi;
 import com.amazonaws.log.InternalLogFactory;
 import com.amazonaws.util.BinaryUtils;
@@ -45,9 +45,23 @@ public class AWS4Signer extends AbstractAWSSigner implements
 
     protected static final InternalLogApi log = InternalLogFactory.getLog(AWS4Signer.class);
     private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FIFOCache<SignerKey> signerCache = new FIFOCache<SignerKey>(SIGNER_CACHE_MAX_SIZE);
+    private static final ConcurrentFIFOCache<SigningKeyCacheKey, SignerKey> signerCache =
+            new ConcurrentFIFOCache<SigningKeyCacheKey, SignerKey>(SIGNER_CACHE_MAX_SIZE);
     private static final List<String> listOfHeadersToIgnoreInLowerCase = Arrays.asList("connection");
 
+    /**
+     * Lower case names of the headers present on nearly every request, so the
+     * canonical request doesn't have to lower case them each time.
+     */
+    private static final Map<String, String> lowerCaseHeaderNames = new HashMap<String, String>();
+    static {
+        for (String header : new String[] { HOST, X_AMZ_DATE, X_AMZ_SECURITY_TOKEN, X_AMZ_CONTENT_SHA256,
+                "Content-Type", "Content-Length", "Content-MD5", "X-Amz-Target", "User-Agent",
+                "amz-sdk-invocation-id", "amz-sdk-retry" }) {
+            lowerCaseHeaderNames.put(header, StringUtils.lowerCase(header));
+        }
+    }
+
     /**
      * Service name override for use when the endpoint can't be used to
      * determine the service name.
@@ -320,8 +334,10 @@ public class AWS4Signer extends AbstractAWSSigner implements
     private final byte[] deriveSigningKey(AWSCredentials credentials,
             AWS4SignerRequestParams signerRequestParams) {
 
-        final String cacheKey = computeSigningCacheKeyName(credentials,
-                signerRequestParams);
+        final SigningKeyCacheKey cacheKey = new SigningKeyCacheKey(
+                credentials.getAWSSecretKey(),
+                signerRequestParams.getRegionName(),
+                signerRequestParams.getServiceName());
         final long daysSinceEpochSigningDate = DateUtils
                 .numberOfDaysSinceEpoch(signerRequestParams
                         .getSigningDateTimeMilli());
@@ -348,17 +364,43 @@ public class AWS4Signer extends AbstractAWSSigner implements
     }
 
     /**
-     * Computes the name to be used to reference the signing key in the cache.
+     * Composite key used to reference the signing key in the cache.
      */
-    private final String computeSigningCacheKeyName(AWSCredentials credentials,
-            AWS4SignerRequestParams signerRequestParams) {
-        final StringBuilder hashKeyBuilder = new StringBuilder(
-                credentials.getAWSSecretKey());
+    private static final class SigningKeyCacheKey {
+        private final String secretKey;
+        private final String regionName;
+        private final String serviceName;
+        private final int hashCode;
+
+        SigningKeyCacheKey(String secretKey, String regionName, String serviceName) {
+            this.secretKey = secretKey;
+            this.regionName = regionName;
+            this.serviceName = serviceName;
+            int hash = (secretKey == null) ? 0 : secretKey.hashCode();
+            hash = 31 * hash + ((regionName == null) ? 0 : regionName.hashCode());
+            hash = 31 * hash + ((serviceName == null) ? 0 : serviceName.hashCode());
+            this.hashCode = hash;
+        }
 
-        return hashKeyBuilder.append("-")
-                .append(signerRequestParams.getRegionName())
-                .append("-")
-                .append(signerRequestParams.getServiceName()).toString();
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof SigningKeyCacheKey)) return false;
+            SigningKeyCacheKey other = (SigningKeyCacheKey) obj;
+            return hashCode == other.hashCode
+                    && equals(secretKey, other.secretKey)
+                    && equals(regionName, other.regionName)
+                    && equals(serviceName, other.serviceName);
+        }
+
+        private static boolean equals(String a, String b) {
+            return (a == null) ? b == null : a.equals(b);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 
     /**
@@ -438,7 +480,7 @@ public class AWS4Signer extends AbstractAWSSigner implements
             if (shouldExcludeHeaderFromSigning(header)) {
                 continue;
             }
-            String key = StringUtils.lowerCase(header);
+            String key = lowerCaseHeaderName(header);
             String value = requestHeaders.get(header);
 
             StringUtils.appendCompactedString(buffer, key);
@@ -465,14 +507,24 @@ public class AWS4Signer extends AbstractAWSSigner implements
             }
             if (buffer.length() > 0)
                 buffer.append(";");
-            buffer.append(StringUtils.lowerCase(header));
+            buffer.append(lowerCaseHeaderName(header));
         }
 
         return buffer.toString();
     }
 
+    private static String lowerCaseHeaderName(String header) {
+        String lowerCase = lowerCaseHeaderNames.get(header);
+        return (lowerCase != null) ? lowerCase : StringUtils.lowerCase(header);
+    }
+
     protected boolean shouldExcludeHeaderFromSigning(String header) {
-        return listOfHeadersToIgnoreInLowerCase.contains(header.toLowerCase());
+        for (String ignored : listOfHeadersToIgnoreInLowerCase) {
+            if (ignored.equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     protected void addHostHeader(SignableRequest<?> request) {
@@ -14,7 +14,11 @@
  */
 package com.amazonaws.auth;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.amazonaws.internal.config.InternalConfig;
@@ -31,6 +35,14 @@ public final class SignerFactory {
     private static final Map<String, Class<? extends Signer>> SIGNERS
         = new ConcurrentHashMap<String, Class<? extends Signer>>();
 
+    /**
+     * The no-arg constructors of the signer classes. Signers are configured
+     * per client, and so can't be shared, but their constructors are looked up
+     * once.
+     */
+    private static final Map<Class<? extends Signer>, Constructor<? extends Signer>> CONSTRUCTORS
+        = new ConcurrentHashMap<Class<? extends Signer>, Constructor<? extends Signer>>();
+
     static {
         // Register the standard signer types.
         SIGNERS.put(QUERY_STRING_SIGNER, QueryStringSigner.class);
@@ -65,6 +77,13 @@ public final class SignerFactory {
         SIGNERS.put(signerType, signerClass);
     }
 
+    /**
+     * Returns the registered signer types.
+     */
+    public static Set<String> getSignerTypes() {
+        return Collections.unmodifiableSet(SIGNERS.keySet());
+    }
+
     /**
      * Returns a non-null signer for the specified service and region according
      * to the internal configuration which provides a basic default algorithm
@@ -118,7 +137,7 @@ public final class SignerFactory {
             throw new IllegalArgumentException("unknown signer type: " + signerType);
         Signer signer;
         try {
-            signer = signerClass.newInstance();
+            signer = getConstructor(signerClass).newInstance();
         } catch (InstantiationException ex) {
             throw new IllegalStateException(
                 "Cannot create an instance of " + signerClass.getName(),
@@ -127,6 +146,10 @@ public final class SignerFactory {
             throw new IllegalStateException(
                 "Cannot create an instance of " + signerClass.getName(),
                 ex);
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException(
+                "Cannot create an instance of " + signerClass.getName(),
+                ex.getCause());
         }
 
         if (signer instanceof ServiceAwareSigner) {
@@ -134,4 +157,19 @@ public final class SignerFactory {
         }
         return signer;
     }
+
+    private static Constructor<? extends Signer> getConstructor(Class<? extends Signer> signerClass)
+            throws InstantiationException {
+        Constructor<? extends Signer> constructor = CONSTRUCTORS.get(signerClass);
+        if (constructor == null) {
+            try {
+                constructor = signerClass.getConstructor();
+            } catch (NoSuchMethodException ex) {
+                throw new InstantiationException(
+                    signerClass.getName() + " has no public no-arg constructor");
+            }
+            CONSTRUCTORS.put(signerClass, constructor);
+        }
+        return constructor;
+    }
 }
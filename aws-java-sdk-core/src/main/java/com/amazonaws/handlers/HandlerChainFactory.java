@@ -19,7 +19,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.util.ClassLoaderHelper;
@@ -30,6 +33,14 @@ import com.amazonaws.util.StringUtils;
  */
 public class HandlerChainFactory {
 
+    /**
+     * The request handler class names listed in each classpath resource, so
+     * that the resource of a service is read once no matter how many clients
+     * of the service are created.
+     */
+    private static final ConcurrentMap<String, List<String>> HANDLER_CLASS_NAMES =
+            new ConcurrentHashMap<String, List<String>>();
+
     /**
      * For backward compatibility, constructs a new request handler chain
      * adapted to {@link RequestHandler2} by analyzing the specified classpath
@@ -63,20 +74,9 @@ public class HandlerChainFactory {
 
     private List<RequestHandler2> createRequestHandlerChain(String resource, Class<?> handlerApiClass) {
         List<RequestHandler2> handlers = new ArrayList<RequestHandler2>();
-        BufferedReader reader = null;
 
         try {
-            InputStream input = getClass().getResourceAsStream(resource);
-            if (input == null) return handlers;
-
-            reader = new BufferedReader(new InputStreamReader(input, StringUtils.UTF8));
-            while (true) {
-                String requestHandlerClassName = reader.readLine();
-                if (requestHandlerClassName == null)
-                    break;
-                requestHandlerClassName = requestHandlerClassName.trim();
-                if (requestHandlerClassName.equals(""))
-                    continue;
+            for (String requestHandlerClassName : getHandlerClassNames(resource)) {
                 Class<?> requestHandlerClass = ClassLoaderHelper.loadClass(
                     requestHandlerClassName,
                     handlerApiClass, getClass());
@@ -103,14 +103,48 @@ public class HandlerChainFactory {
         } catch (Exception e) {
             throw new AmazonClientException("Unable to instantiate request handler chain for client: "
                     + e.getMessage(), e);
+        }
+        return handlers;
+    }
+
+    /**
+     * Returns the request handler class names listed in the specified
+     * classpath resource, reading the resource the first time only.
+     */
+    private List<String> getHandlerClassNames(String resource) throws IOException {
+        List<String> classNames = HANDLER_CLASS_NAMES.get(resource);
+        if (classNames == null) {
+            classNames = readHandlerClassNames(resource);
+            List<String> existing = HANDLER_CLASS_NAMES.putIfAbsent(resource, classNames);
+            if (existing != null) {
+                classNames = existing;
+            }
+        }
+        return classNames;
+    }
+
+    private List<String> readHandlerClassNames(String resource) throws IOException {
+        InputStream input = getClass().getResourceAsStream(resource);
+        if (input == null) return Collections.emptyList();
+
+        List<String> classNames = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StringUtils.UTF8));
+        try {
+            while (true) {
+                String requestHandlerClassName = reader.readLine();
+                if (requestHandlerClassName == null)
+                    break;
+                requestHandlerClassName = requestHandlerClassName.trim();
+                if (requestHandlerClassName.equals(""))
+                    continue;
+                classNames.add(requestHandlerClassName);
+            }
         } finally {
             try {
-                if (reader != null) {
-                    reader.close();
-                }
+                reader.close();
             } catch (IOException e) {
             }
         }
-        return handlers;
+        return Collections.unmodifiableList(classNames);
     }
 }
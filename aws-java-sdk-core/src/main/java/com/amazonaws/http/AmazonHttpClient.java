@@ -37,16 +37,20 @@ import com.amazonaws.event.ProgressInputStream;
 import com.amazonaws.event.ProgressListener;
 import com.amazonaws.handlers.CredentialsRequestHandler;
 import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.http.apache.client.impl.ApacheAsyncHttpClientFactory;
 import com.amazonaws.http.apache.client.impl.ApacheHttpClientFactory;
 import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
 import com.amazonaws.http.apache.request.impl.ApacheHttpRequestFactory;
 import com.amazonaws.http.apache.utils.ApacheUtils;
 import com.amazonaws.http.client.HttpClientFactory;
+import com.amazonaws.http.conn.ConnectionPoolWarmer;
 import com.amazonaws.http.exception.HttpRequestTimeoutException;
 import com.amazonaws.http.request.HttpRequestFactory;
 import com.amazonaws.http.settings.HttpClientSettings;
 import com.amazonaws.http.timers.client.ClientExecutionTimeoutException;
 import com.amazonaws.http.timers.client.ClientExecutionTimer;
+import com.amazonaws.http.timers.HashedWheelTimer;
+import com.amazonaws.http.timers.TimeoutThreadPoolBuilder;
 import com.amazonaws.http.timers.client.SdkInterruptedException;
 import com.amazonaws.http.timers.request.HttpRequestAbortTaskTracker;
 import com.amazonaws.http.timers.request.HttpRequestTimer;
@@ -62,12 +66,14 @@ import com.amazonaws.retry.internal.AuthErrorRetryStrategy;
 import com.amazonaws.retry.internal.AuthRetryParameters;
 import com.amazonaws.util.AWSRequestMetrics;
 import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.AdaptiveRateLimiter;
 import com.amazonaws.util.CapacityManager;
 import com.amazonaws.util.CollectionUtils;
 import com.amazonaws.util.CountingInputStream;
 import com.amazonaws.util.DateUtils;
 import com.amazonaws.util.FakeIOException;
 import com.amazonaws.util.ImmutableMapParameter;
+import com.amazonaws.util.LatencyTracker;
 import com.amazonaws.util.ResponseMetadataCache;
 import com.amazonaws.util.TimingInfo;
 import com.amazonaws.util.UnreliableFilterInputStream;
@@ -81,7 +87,8 @@ import org.apache.http.StatusLine;
 import org.apache.http.annotation.ThreadSafe;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
-import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.pool.ConnPoolControl;
 
 import java.io.BufferedInputStream;
@@ -93,11 +100,28 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.amazonaws.SDKGlobalConfiguration.PROFILING_SYSTEM_PROPERTY;
 import static com.amazonaws.event.SDKProgressPublisher.publishProgress;
@@ -173,6 +197,25 @@ public class AmazonHttpClient {
      * Internal client for sending HTTP requests
      */
     private ConnectionManagerAwareHttpClient httpClient;
+    /**
+     * Internal client for sending HTTP requests without blocking a thread; or null if the non-blocking transport isn't
+     * enabled on the client configuration.
+     */
+    private final CloseableHttpAsyncClient httpAsyncClient;
+    /**
+     * Schedules retries and enforces timeouts of the requests sent through the non-blocking transport; or null if it
+     * isn't enabled.
+     */
+    private final ScheduledExecutorService nonBlockingScheduler;
+    /**
+     * The executions of the non-blocking transport that haven't completed yet, failed when the client is shut down.
+     */
+    private final Set<NonBlockingExecution<?>> pendingExecutions =
+            Collections.newSetFromMap(new ConcurrentHashMap<NonBlockingExecution<?>, Boolean>());
+    /**
+     * Whether {@link #shutdown()} has been called.
+     */
+    private volatile boolean isShutdown;
     /**
      * Client configuration options, such as proxy httpClientSettings, max retries, etc.
      */
@@ -183,7 +226,8 @@ public class AmazonHttpClient {
      */
     private final HttpClientSettings httpClientSettings;
     /**
-     * Cache of metadata for recently executed requests for diagnostic purposes
+     * Cache of metadata for recently executed requests for diagnostic purposes,
+     * or null if disabled
      */
     private final ResponseMetadataCache responseMetadataCache;
     /**
@@ -194,6 +238,32 @@ public class AmazonHttpClient {
     /** Retry capacity manager, used to manage throttled retry resource */
     private final CapacityManager retryCapacity;
 
+    /**
+     * Limits the send rate adaptively to throttling by the service; null when disabled.
+     */
+    private final AdaptiveRateLimiter rateLimiter;
+
+    /**
+     * The request types of the operations sent with hedging, unless overridden by the request.
+     */
+    private final Set<Class<? extends AmazonWebServiceRequest>> hedgedRequestTypes;
+
+    /**
+     * The recent latencies of the operations sent with hedging, by request type.
+     */
+    private final ConcurrentMap<Class<?>, LatencyTracker> hedgingLatencies =
+            new ConcurrentHashMap<Class<?>, LatencyTracker>();
+
+    /**
+     * Sends the hedged requests; created on the first hedged request.
+     */
+    private ScheduledThreadPoolExecutor hedgingExecutor;
+
+    /**
+     * Opens the connections of the pool ahead of requests; created on the first warm-up.
+     */
+    private ConnectionPoolWarmer connectionPoolWarmer;
+
     /**
      * Timer to enforce timeouts on the whole execution of the request (request handlers, retries, backoff strategy,
      * unmarshalling, etc)
@@ -271,16 +341,39 @@ public class AmazonHttpClient {
         this.config = clientConfig;
         this.httpClientSettings = httpClientSettings;
         this.requestMetricCollector = requestMetricCollector;
-        this.responseMetadataCache = new ResponseMetadataCache(clientConfig
-                .getResponseMetadataCacheSize());
-        this.httpRequestTimer = new HttpRequestTimer();
-        this.clientExecutionTimer = new ClientExecutionTimer();
+        this.responseMetadataCache = clientConfig.getCacheResponseMetadata()
+                ? new ResponseMetadataCache(clientConfig.getResponseMetadataCacheSize())
+                : null;
+        final HashedWheelTimer wheelTimer = clientConfig.useSharedTimeoutTimer()
+                ? HashedWheelTimer.getSharedTimer() : null;
+        this.httpRequestTimer = new HttpRequestTimer(wheelTimer);
+        this.clientExecutionTimer = new ClientExecutionTimer(wheelTimer);
 
         // When enabled, total retry capacity is computed based on retry cost
         // and desired number of retries.
         int throttledRetryMaxCapacity = clientConfig.useThrottledRetries()
                 ? THROTTLED_RETRY_COST * THROTTLED_RETRIES : -1;
         this.retryCapacity = new CapacityManager(throttledRetryMaxCapacity);
+        this.rateLimiter = clientConfig.useAdaptiveRateLimiting() ? new AdaptiveRateLimiter() : null;
+        this.hedgedRequestTypes = new HashSet<Class<? extends AmazonWebServiceRequest>>(
+                clientConfig.getHedgedRequestTypes());
+
+        if (clientConfig.useNonBlockingTransport()) {
+            this.httpAsyncClient = createHttpAsyncClient(httpClientSettings);
+            this.nonBlockingScheduler = TimeoutThreadPoolBuilder.buildDefaultTimeoutThreadPool();
+        } else {
+            this.httpAsyncClient = null;
+            this.nonBlockingScheduler = null;
+        }
+    }
+
+    private static CloseableHttpAsyncClient createHttpAsyncClient(HttpClientSettings httpClientSettings) {
+        try {
+            return new ApacheAsyncHttpClientFactory().create(httpClientSettings);
+        } catch (NoClassDefFoundError e) {
+            throw new AmazonClientException("The non-blocking transport requires the "
+                    + "org.apache.httpcomponents:httpasyncclient library on the classpath", e);
+        }
     }
 
     /**
@@ -336,7 +429,7 @@ public class AmazonHttpClient {
      * available for the request.
      */
     public ResponseMetadata getResponseMetadataForRequest(AmazonWebServiceRequest request) {
-        return responseMetadataCache.get(request);
+        return responseMetadataCache == null ? null : responseMetadataCache.get(request);
     }
 
     /**
@@ -364,6 +457,51 @@ public class AmazonHttpClient {
         }
     }
 
+    /**
+     * Returns true if requests can be executed through the non-blocking transport, as enabled by {@link
+     * ClientConfiguration#setUseNonBlockingTransport(boolean)}.
+     */
+    public boolean isNonBlockingTransportEnabled() {
+        return httpAsyncClient != null;
+    }
+
+    /**
+     * Executes the request through the non-blocking transport. No thread is held while the request is in flight or
+     * waiting to be retried; signing, unmarshalling, request handlers and the callback run on the given executor.
+     * Retries, the request timeout and the client execution timeout behave the same as with {@link #execute(Request,
+     * HttpResponseHandler, HttpResponseHandler, ExecutionContext)}.
+     * <p>
+     * The response content is read into memory before it is handled, so this method isn't suitable for operations with
+     * streaming responses.
+     *
+     * @param request              The AmazonWebServices request to send to the remote server
+     * @param responseHandler      A response handler to accept a successful response from the remote server
+     * @param errorResponseHandler A response handler to accept an unsuccessful response from the remote server
+     * @param executionContext     Additional information about the context of this web service call
+     * @param executor             The executor running the CPU bound parts of the execution
+     * @param callback             Notified of the outcome of the execution before the returned future completes
+     * @return A future of the unmarshalled result.
+     * @throws IllegalStateException If the non-blocking transport isn't enabled.
+     */
+    public <T> Future<T> executeAsync(Request<?> request,
+                                      HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+                                      HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+                                      ExecutionContext executionContext,
+                                      Executor executor,
+                                      ResponseCallback<T> callback) {
+        if (executionContext == null) {
+            throw new AmazonClientException("Internal SDK Error: No execution context parameter specified.");
+        }
+        if (!isNonBlockingTransportEnabled()) {
+            throw new IllegalStateException("The non-blocking transport isn't enabled on the client configuration");
+        }
+        NonBlockingExecution<T> execution = new NonBlockingExecution<T>(request,
+                getNonNullResponseHandler(responseHandler), getNonNullResponseHandler(errorResponseHandler),
+                executionContext, executor, callback);
+        execution.start();
+        return execution;
+    }
+
     /**
      * Ensures the response handler is not null. If it is this method returns a dummy response handler.
      *
@@ -416,24 +554,8 @@ public class AmazonHttpClient {
                                       HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
                                       HttpResponseHandler<AmazonServiceException> errorResponseHandler,
                                       ExecutionContext executionContext) throws InterruptedException {
-        final List<RequestHandler2> requestHandler2s = requestHandler2s(request, executionContext);
-
-        AmazonWebServiceRequest awsreq = request.getOriginalRequest();
-
-        setSdkTransactionId(request);
-        setUserAgent(request);
-
-        ProgressListener listener = awsreq.getGeneralProgressListener();
-        // add custom headers
-        Map<String, String> customHeaders = awsreq.getCustomRequestHeaders();
-        if (customHeaders != null) {
-            request.getHeaders().putAll(customHeaders);
-        }
-        // add custom query parameters
-        Map<String, List<String>> customQueryParams = awsreq.getCustomQueryParameters();
-        if (customQueryParams != null) {
-            mergeQueryParameters(request, customQueryParams);
-        }
+        final List<RequestHandler2> requestHandler2s = beforeExecution(request, executionContext);
+        final ProgressListener listener = request.getOriginalRequest().getGeneralProgressListener();
         final AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
         Response<T> response = null;
         final InputStream origContent = request.getContent();
@@ -461,6 +583,33 @@ public class AmazonHttpClient {
         }
     }
 
+    /**
+     * Runs the request handlers and adds the SDK and custom headers and query parameters to the request, before its
+     * first attempt.
+     *
+     * @return The request handlers of the execution.
+     */
+    private List<RequestHandler2> beforeExecution(Request<?> request, ExecutionContext executionContext) {
+        final List<RequestHandler2> requestHandler2s = requestHandler2s(request, executionContext);
+
+        AmazonWebServiceRequest awsreq = request.getOriginalRequest();
+
+        setSdkTransactionId(request);
+        setUserAgent(request);
+
+        // add custom headers
+        Map<String, String> customHeaders = awsreq.getCustomRequestHeaders();
+        if (customHeaders != null) {
+            request.getHeaders().putAll(customHeaders);
+        }
+        // add custom query parameters
+        Map<String, List<String>> customQueryParams = awsreq.getCustomQueryParameters();
+        if (customQueryParams != null) {
+            mergeQueryParameters(request, customQueryParams);
+        }
+        return requestHandler2s;
+    }
+
     /**
      * Determine if an interrupted exception is caused by the client execution timer interrupting the current thread or
      * some other task interrupting the thread for another purpose.
@@ -662,35 +811,8 @@ public class AmazonHttpClient {
         }
         while (true) {
             checkInterrupted();
-            if (originalContent instanceof BufferedInputStream && originalContent.markSupported()) {
-                // Mark everytime for BufferedInputStream, since the marker could
-                // have been invalidated
-                AmazonWebServiceRequest awsreq = request.getOriginalRequest();
-                final int readLimit = awsreq.getRequestClientOptions().getReadLimit();
-                originalContent.mark(readLimit);
-            }
-            execOneParams.initPerRetry();
-            if (execOneParams.redirectedURI != null) {
-                /*
-                 * [scheme:][//authority][path][?query][#fragment]
-                 */
-                String scheme = execOneParams.redirectedURI.getScheme();
-                String beforeAuthority = scheme == null ? "" : scheme + "://";
-                String authority = execOneParams.redirectedURI.getAuthority();
-                String path = execOneParams.redirectedURI.getPath();
-
-                request.setEndpoint(URI.create(beforeAuthority + authority));
-                request.setResourcePath(path);
-            }
-            if (execOneParams.authRetryParam != null) {
-                request.setEndpoint(execOneParams.authRetryParam.getEndpointForRetry());
-            }
-            awsRequestMetrics.setCounter(Field.RequestCount, execOneParams.requestCount);
-            if (execOneParams.isRetry()) {
-                request.setParameters(originalParameters);
-                request.setHeaders(originalHeaders);
-                request.setContent(originalContent);
-            }
+            beginAttempt(request, awsRequestMetrics, execOneParams, originalParameters, originalHeaders,
+                    originalContent);
             try {
                 Response<T> response = executeOneRequest(request, responseHandler, errorResponseHandler,
                         executionContext, awsRequestMetrics, execOneParams, requestHandlers);
@@ -698,13 +820,7 @@ public class AmazonHttpClient {
                     return response;
                 }
             } catch (IOException ioe) {
-                if (log.isInfoEnabled()) {
-                    log.info("Unable to execute HTTP request: " + ioe.getMessage(), ioe);
-                }
-                captureExceptionMetrics(ioe, awsRequestMetrics);
-                awsRequestMetrics.addProperty(Field.AWSRequestID, null);
-                AmazonClientException ace = new AmazonClientException(
-                        "Unable to execute HTTP request: " + ioe.getMessage(), ioe);
+                AmazonClientException ace = toClientException(ioe, awsRequestMetrics);
                 if (!shouldRetry(request.getOriginalRequest(), execOneParams, ace,
                         executionContext)) {
                     throw lastReset(ace, request);
@@ -738,6 +854,60 @@ public class AmazonHttpClient {
         } /* end while (true) */
     }
 
+    /**
+     * Resets the request to its original state and applies any redirection or authentication retry parameters of the
+     * previous attempt, before each attempt of the request.
+     */
+    private void beginAttempt(final Request<?> request,
+                              final AWSRequestMetrics awsRequestMetrics,
+                              final ExecOneRequestParams execOneParams,
+                              final Map<String, List<String>> originalParameters,
+                              final Map<String, String> originalHeaders,
+                              final InputStream originalContent) {
+        if (originalContent instanceof BufferedInputStream && originalContent.markSupported()) {
+            // Mark everytime for BufferedInputStream, since the marker could
+            // have been invalidated
+            AmazonWebServiceRequest awsreq = request.getOriginalRequest();
+            final int readLimit = awsreq.getRequestClientOptions().getReadLimit();
+            originalContent.mark(readLimit);
+        }
+        execOneParams.initPerRetry();
+        if (execOneParams.redirectedURI != null) {
+            /*
+             * [scheme:][//authority][path][?query][#fragment]
+             */
+            String scheme = execOneParams.redirectedURI.getScheme();
+            String beforeAuthority = scheme == null ? "" : scheme + "://";
+            String authority = execOneParams.redirectedURI.getAuthority();
+            String path = execOneParams.redirectedURI.getPath();
+
+            request.setEndpoint(URI.create(beforeAuthority + authority));
+            request.setResourcePath(path);
+        }
+        if (execOneParams.authRetryParam != null) {
+            request.setEndpoint(execOneParams.authRetryParam.getEndpointForRetry());
+        }
+        awsRequestMetrics.setCounter(Field.RequestCount, execOneParams.requestCount);
+        if (execOneParams.isRetry()) {
+            request.setParameters(originalParameters);
+            request.setHeaders(originalHeaders);
+            request.setContent(originalContent);
+        }
+    }
+
+    /**
+     * Logs and records the metrics of a failure to execute the HTTP request, and wraps it into the exception to retry
+     * on or throw.
+     */
+    private AmazonClientException toClientException(IOException ioe, AWSRequestMetrics awsRequestMetrics) {
+        if (log.isInfoEnabled()) {
+            log.info("Unable to execute HTTP request: " + ioe.getMessage(), ioe);
+        }
+        captureExceptionMetrics(ioe, awsRequestMetrics);
+        awsRequestMetrics.addProperty(Field.AWSRequestID, null);
+        return new AmazonClientException("Unable to execute HTTP request: " + ioe.getMessage(), ioe);
+    }
+
     /**
      * Used to perform a last reset on the content input stream (if mark-supported); this is so that, for backward
      * compatibility reason, any "blind" retry (ie without calling reset) by user of this library with the same input
@@ -804,8 +974,96 @@ public class AmazonHttpClient {
         if (execOneParams.isRetry()) {
             pauseBeforeRetry(request, awsRequestMetrics, execOneParams, listener);
         }
-        updateRetryHeaderInfo(request, execOneParams);
+        waitForRateLimiter(awsRequestMetrics);
+        signAndCreateHttpRequest(request, execContext, awsRequestMetrics, execOneParams, credentials);
+
+        captureConnectionPoolMetrics(awsRequestMetrics);
+
+        final HttpClientContext localRequestContext = beforeHttpRequest(awsRequestMetrics, execOneParams, listener);
+
+        /////////// Send HTTP request ////////////
+        execContext.getClientExecutionTrackerTask().setCurrentHttpRequest(execOneParams.apacheRequest);
+        final boolean isHeaderReqIdAvail;
+        final int requestTimeout = getRequestTimeout(awsreq);
+        final long requestStartNanos = System.nanoTime();
+        HttpRequestAbortTaskTracker requestAbortTaskTracker = httpRequestTimer
+                .startTimer(execOneParams.apacheRequest, requestTimeout);
+
+        /*
+         * The request timer keeps running while the response is unmarshalled, so the timeouts
+         * also cover a slow response body, which is parsed directly off the connection rather
+         * than buffered in memory first.
+         */
+        try {
+            try {
+                final HttpRequestBase sentRequest = execOneParams.apacheRequest;
+                execOneParams.apacheResponse = sendRequest(request, execContext, awsRequestMetrics, execOneParams,
+                        localRequestContext);
+                if (execOneParams.apacheRequest != sentRequest) {
+                    // The hedged request won, so the request timer aborts it for the rest of the request timeout
+                    requestAbortTaskTracker.cancelTask();
+                    requestAbortTaskTracker = httpRequestTimer.startTimer(execOneParams.apacheRequest,
+                            remainingRequestTimeout(requestTimeout, requestStartNanos));
+                }
+                isHeaderReqIdAvail = logHeaderRequestId(execOneParams.apacheResponse);
+            } finally {
+                awsRequestMetrics.endEvent(Field.HttpRequestTime);
+            }
+            return handleHttpResponse(request, responseHandler, errorResponseHandler, execContext,
+                    awsRequestMetrics, execOneParams, requestHandlers, isHeaderReqIdAvail);
+        } catch (IOException ioe) {
+            checkRequestAborted(execContext, requestAbortTaskTracker, ioe);
+            throw ioe;
+        } catch (AmazonServiceException ase) {
+            throw ase;
+        } catch (AmazonClientException ace) {
+            // The unmarshallers report reading an aborted response as a client exception
+            checkRequestAborted(execContext, requestAbortTaskTracker, ace);
+            throw ace;
+        } finally {
+            requestAbortTaskTracker.cancelTask();
+        }
+    }
+
+    /**
+     * Returns the time left of the given request timeout, started at the given time; at least one millisecond so the
+     * timeout stays enabled. A disabled timeout stays disabled.
+     */
+    private static int remainingRequestTimeout(final int requestTimeout, final long requestStartNanos) {
+        if (requestTimeout <= 0) {
+            return requestTimeout;
+        }
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartNanos);
+        return (int) Math.max(1, requestTimeout - elapsedMillis);
+    }
+
+    /**
+     * Determine if a failure to send the request or read its response was caused by one of the timers aborting the
+     * request. Client execution timeouts take precedence as they are not retryable.
+     *
+     * @throws InterruptedException        If the client execution timer expired
+     * @throws HttpRequestTimeoutException If the request timer aborted the request
+     */
+    private void checkRequestAborted(final ExecutionContext execContext,
+                                     final HttpRequestAbortTaskTracker requestAbortTaskTracker,
+                                     final Exception cause) throws InterruptedException, HttpRequestTimeoutException {
+        if (execContext.getClientExecutionTrackerTask().hasTimeoutExpired()) {
+            throw new InterruptedException();
+        } else if (requestAbortTaskTracker.httpRequestAborted()) {
+            throw new HttpRequestTimeoutException(cause);
+        }
+    }
 
+    /**
+     * Signs the request, if a signer was provided, and creates the apache request to send for the current attempt.
+     */
+    private void signAndCreateHttpRequest(final Request<?> request,
+                                          final ExecutionContext execContext,
+                                          final AWSRequestMetrics awsRequestMetrics,
+                                          final ExecOneRequestParams execOneParams,
+                                          final AWSCredentials credentials)
+            throws IOException, InterruptedException {
+        updateRetryHeaderInfo(request, execOneParams);
         // Sign the request if a signer was provided
         execOneParams.newSigner(request, execContext);
         if (execOneParams.signer != null && credentials != null) {
@@ -830,9 +1088,14 @@ public class AmazonHttpClient {
 
         checkInterrupted();
         execOneParams.newApacheRequest(httpRequestFactory, request, httpClientSettings);
+    }
 
-        captureConnectionPoolMetrics(awsRequestMetrics);
-
+    /**
+     * Creates the HTTP context of the current attempt and records its start, right before the apache request is sent.
+     */
+    private HttpClientContext beforeHttpRequest(final AWSRequestMetrics awsRequestMetrics,
+                                                final ExecOneRequestParams execOneParams,
+                                                final ProgressListener listener) {
         final HttpClientContext localRequestContext =
                 ApacheUtils.newClientContext(httpClientSettings, ImmutableMapParameter.of
                         (AWSRequestMetrics.class.getSimpleName(), awsRequestMetrics));
@@ -841,35 +1104,116 @@ public class AmazonHttpClient {
         publishProgress(listener, ProgressEventType.HTTP_REQUEST_STARTED_EVENT);
         awsRequestMetrics.startEvent(Field.HttpRequestTime);
         awsRequestMetrics.setCounter(Field.RetryCapacityConsumed, retryCapacity.consumedCapacity());
+        final int availableRetryCapacity = retryCapacity.availableCapacity();
+        if (availableRetryCapacity >= 0) {
+            awsRequestMetrics.setCounter(Field.RetryCapacityAvailable, availableRetryCapacity);
+        }
+        if (rateLimiter != null) {
+            final double sendRate = rateLimiter.getFillRate();
+            if (sendRate >= 0) {
+                awsRequestMetrics.setCounter(Field.RateLimiterSendRate, (long) Math.ceil(sendRate));
+            }
+        }
+        execOneParams.sentNanos = System.nanoTime();
+        return localRequestContext;
+    }
 
-        /////////// Send HTTP request ////////////
-        execContext.getClientExecutionTrackerTask().setCurrentHttpRequest(execOneParams.apacheRequest);
-        final boolean isHeaderReqIdAvail;
-        final HttpRequestAbortTaskTracker requestAbortTaskTracker = httpRequestTimer
-                .startTimer(execOneParams.apacheRequest, getRequestTimeout(awsreq));
+    /**
+     * Sends the apache request of the current attempt, racing it against a hedged request if hedging is enabled
+     * for the request and the attempt takes longer than the hedging percentile of the operation.
+     */
+    private org.apache.http.HttpResponse sendRequest(final Request<?> request,
+                                                     final ExecutionContext execContext,
+                                                     final AWSRequestMetrics awsRequestMetrics,
+                                                     final ExecOneRequestParams execOneParams,
+                                                     final HttpClientContext localRequestContext)
+            throws IOException {
+        final LatencyTracker latencies = getHedgingLatencies(request.getOriginalRequest());
+        if (latencies == null) {
+            return httpClient.execute(execOneParams.apacheRequest, localRequestContext);
+        }
+        final long startNanos = System.nanoTime();
+        final long hedgeDelayNanos = latencies.getPercentile(config.getHedgingPercentile());
+        final HttpRequestBase hedge = (hedgeDelayNanos < 0) ? null : HedgedRequest.copyOf(execOneParams.apacheRequest);
+        if (hedge == null) {
+            final org.apache.http.HttpResponse response = httpClient.execute(execOneParams.apacheRequest,
+                    localRequestContext);
+            latencies.record(System.nanoTime() - startNanos);
+            return response;
+        }
 
-        try {
-            execOneParams.apacheResponse = httpClient.execute(execOneParams.apacheRequest, localRequestContext);
-            if (shouldBufferHttpEntity(responseHandler.needsConnectionLeftOpen(), execContext, execOneParams,
-                    requestAbortTaskTracker)) {
-                execOneParams.apacheResponse
-                        .setEntity(new BufferedHttpEntity(execOneParams.apacheResponse.getEntity()));
-            }
-            isHeaderReqIdAvail = logHeaderRequestId(execOneParams.apacheResponse);
-        } catch (IOException ioe) {
-            // Client execution timeouts take precedence as it's not retryable
-            if (execContext.getClientExecutionTrackerTask().hasTimeoutExpired()) {
-                throw new InterruptedException();
-            } else if (requestAbortTaskTracker.httpRequestAborted()) {
-                throw new HttpRequestTimeoutException(ioe);
-            } else {
-                throw ioe;
+        final HedgedRequest hedgedRequest = new HedgedRequest(httpClient, execOneParams.apacheRequest, hedge,
+                ApacheUtils.newClientContext(httpClientSettings, null), retryCapacity, THROTTLED_RETRY_COST);
+        final org.apache.http.HttpResponse response = hedgedRequest.execute(getHedgingExecutor(), hedgeDelayNanos,
+                localRequestContext);
+        latencies.record(System.nanoTime() - startNanos);
+        if (hedgedRequest.isHedgeSent()) {
+            awsRequestMetrics.incrementCounter(Field.HedgedRequestCount);
+        }
+        if (hedgedRequest.isHedgeWinner()) {
+            awsRequestMetrics.incrementCounter(Field.HedgedRequestWinCount);
+            // The response is read from the hedged request, which the client execution timer aborts from now on
+            execOneParams.apacheRequest = hedgedRequest.getHedge();
+            execContext.getClientExecutionTrackerTask().setCurrentHttpRequest(hedgedRequest.getHedge());
+        }
+        return response;
+    }
+
+    /**
+     * Returns the recent latencies of the operation of the given request if it is sent with hedging; or null if it
+     * isn't.
+     */
+    private LatencyTracker getHedgingLatencies(final AmazonWebServiceRequest originalRequest) {
+        final Class<? extends AmazonWebServiceRequest> requestType = originalRequest.getClass();
+        final Boolean hedgingEnabled = originalRequest.getSdkHedgingEnabled();
+        if (hedgingEnabled == null ? !hedgedRequestTypes.contains(requestType) : !hedgingEnabled) {
+            return null;
+        }
+        LatencyTracker latencies = hedgingLatencies.get(requestType);
+        if (latencies == null) {
+            final LatencyTracker newLatencies = new LatencyTracker();
+            latencies = hedgingLatencies.putIfAbsent(requestType, newLatencies);
+            if (latencies == null) {
+                latencies = newLatencies;
             }
-        } finally {
-            requestAbortTaskTracker.cancelTask();
-            awsRequestMetrics.endEvent(Field.HttpRequestTime);
         }
+        return latencies;
+    }
+
+    /**
+     * Returns the executor of the hedged requests, creating it on the first hedged request. It grows up to one
+     * thread per connection, since a hedged request holds its thread until it completes.
+     */
+    private synchronized ScheduledExecutorService getHedgingExecutor() {
+        if (hedgingExecutor == null) {
+            hedgingExecutor = new ScheduledThreadPoolExecutor(config.getMaxConnections(), new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "java-sdk-hedged-request");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            hedgingExecutor.setKeepAliveTime(60, TimeUnit.SECONDS);
+            hedgingExecutor.allowCoreThreadTimeOut(true);
+        }
+        return hedgingExecutor;
+    }
 
+    /**
+     * Handles the apache response of the current attempt. Returns the response if the request succeeded; or null for
+     * retry. Throws the service exception if the request failed and shouldn't be retried.
+     */
+    private <T> Response<T> handleHttpResponse(final Request<?> request,
+                                               final HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+                                               final HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+                                               final ExecutionContext execContext,
+                                               final AWSRequestMetrics awsRequestMetrics,
+                                               final ExecOneRequestParams execOneParams,
+                                               final List<RequestHandler2> requestHandlers,
+                                               final boolean isHeaderReqIdAvail)
+            throws IOException, InterruptedException {
+        final ProgressListener listener = request.getOriginalRequest().getGeneralProgressListener();
         publishProgress(listener, ProgressEventType.HTTP_REQUEST_COMPLETED_EVENT);
         final StatusLine statusLine = execOneParams.apacheResponse.getStatusLine();
         final int statusCode = statusLine == null ? -1 : statusLine.getStatusCode();
@@ -895,6 +1239,9 @@ public class AmazonHttpClient {
             } else {
                 retryCapacity.release();
             }
+            if (rateLimiter != null) {
+                rateLimiter.onSuccess();
+            }
             return new Response<T>(response, httpResponse);
         }
         if (isTemporaryRedirect(execOneParams.apacheResponse)) {
@@ -919,6 +1266,9 @@ public class AmazonHttpClient {
         awsRequestMetrics.addPropertyWith(Field.AWSRequestID, ase.getRequestId())
                 .addPropertyWith(Field.AWSErrorCode, ase.getErrorCode())
                 .addPropertyWith(Field.StatusCode, ase.getStatusCode());
+        if (rateLimiter != null && RetryUtils.isThrottlingException(ase)) {
+            rateLimiter.onThrottle(execOneParams.sentNanos);
+        }
         // Check whether we should internally retry the auth error
         execOneParams.authRetryParam = null;
         AuthErrorRetryStrategy authRetry = execContext.getAuthErrorRetryStrategy();
@@ -971,17 +1321,6 @@ public class AmazonHttpClient {
         }
     }
 
-    /**
-     * @return True if the {@link HttpEntity} should be wrapped in a {@link BufferedHttpEntity}
-     */
-    private boolean shouldBufferHttpEntity(final boolean needsConnectionLeftOpen,
-                                           final ExecutionContext execContext,
-                                           ExecOneRequestParams execParams,
-                                           final HttpRequestAbortTaskTracker requestAbortTaskTracker) {
-        return (execContext.getClientExecutionTrackerTask().isEnabled() || requestAbortTaskTracker.isEnabled())
-                && !needsConnectionLeftOpen && execParams.apacheResponse.getEntity() != null;
-    }
-
     /**
      * Used to log the "x-amzn-RequestId" header at DEBUG level, if any, from the response. This method assumes the
      * apache httpClientSettings request/response has just been successfully executed. The request id is logged using the
@@ -1099,6 +1438,41 @@ public class AmazonHttpClient {
         request.addHeader(HEADER_SDK_RETRY_INFO, headerValue);
     }
 
+    /**
+     * Opens connections to the given endpoint, TCP and TLS handshakes included, until the given number of connections
+     * is open in the pool, so the requests that follow don't pay for connecting. If a minimum number of warm
+     * connections is configured, the endpoint is kept warm from then on.
+     *
+     * @param endpoint    The endpoint to connect to.
+     * @param connections The number of connections to open, capped by the maximum number of connections.
+     * @return The number of connections open to the endpoint; zero if a proxy is configured, as connections aren't
+     * warmed up through a proxy.
+     * @throws AmazonClientException If a connection fails to open.
+     * @see ClientConfiguration#setMinWarmConnections(int)
+     */
+    public int warmUpConnections(URI endpoint, int connections) {
+        try {
+            return getConnectionPoolWarmer().warmUp(endpoint, connections);
+        } catch (IOException ioe) {
+            throw new AmazonClientException("Unable to warm up connections to " + endpoint + ": " + ioe.getMessage(),
+                    ioe);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new AbortedException(ie);
+        }
+    }
+
+    private synchronized ConnectionPoolWarmer getConnectionPoolWarmer() {
+        if (connectionPoolWarmer == null) {
+            connectionPoolWarmer = new ConnectionPoolWarmer(httpClient.getHttpClientConnectionManager(),
+                    httpClientSettings);
+            if (httpClientSettings.getMinWarmConnections() > 0 && httpClientSettings.useReaper()) {
+                IdleConnectionReaper.registerConnectionPoolWarmer(connectionPoolWarmer);
+            }
+        }
+        return connectionPoolWarmer;
+    }
+
     /**
      * Shuts down this HTTP client object, releasing any resources that might be held open. This is an optional method,
      * and callers are not expected to call it, but can if they want to explicitly release any open resources. Once a
@@ -1107,9 +1481,22 @@ public class AmazonHttpClient {
     public void shutdown() {
         clientExecutionTimer.shutdown();
         httpRequestTimer.shutdown();
+        synchronized (this) {
+            if (hedgingExecutor != null) {
+                hedgingExecutor.shutdownNow();
+            }
+        }
         IdleConnectionReaper.removeConnectionManager(httpClient
                 .getHttpClientConnectionManager());
         httpClient.getHttpClientConnectionManager().shutdown();
+        if (httpAsyncClient != null) {
+            isShutdown = true;
+            nonBlockingScheduler.shutdownNow();
+            closeQuietly(httpAsyncClient, log);
+            for (NonBlockingExecution<?> execution : pendingExecutions) {
+                execution.failOnShutdown();
+            }
+        }
     }
 
     /**
@@ -1255,10 +1642,12 @@ public class AmazonHttpClient {
                 throw new RuntimeException("Unable to unmarshall response metadata. Response Code: "
                         + httpResponse.getStatusCode() + ", Response Text: " + httpResponse.getStatusText());
 
-            AmazonWebServiceRequest userRequest = request.getOriginalRequest();
-            if (userRequest.getCloneRoot() != null)
-                userRequest = userRequest.getCloneRoot();
-            responseMetadataCache.add(userRequest, awsResponse.getResponseMetadata());
+            if (responseMetadataCache != null) {
+                AmazonWebServiceRequest userRequest = request.getOriginalRequest();
+                if (userRequest.getCloneRoot() != null)
+                    userRequest = userRequest.getCloneRoot();
+                responseMetadataCache.add(userRequest, awsResponse.getResponseMetadata());
+            }
             final String awsRequestId = awsResponse.getRequestId();
 
             if (requestLog.isDebugEnabled()) {
@@ -1412,8 +1801,8 @@ public class AmazonHttpClient {
             // don't pause if the retry was not due to a redirection
             // ie when retried exception is null
             if (execOneParams.retriedException != null) {
-                doPauseBeforeRetry(request.getOriginalRequest(), execOneParams.retriedException,
-                        execOneParams.requestCount, config.getRetryPolicy(), execOneParams);
+                Thread.sleep(computeDelayBeforeRetry(request.getOriginalRequest(), execOneParams.retriedException,
+                        execOneParams.requestCount, config.getRetryPolicy(), execOneParams));
             }
         } finally {
             awsRequestMetrics.endEvent(Field.RetryPauseTime);
@@ -1421,18 +1810,34 @@ public class AmazonHttpClient {
     }
 
     /**
-     * Sleep for a period of time on failed request to avoid flooding a service with retries.
+     * Waits until the adaptive rate limiter, if enabled, allows sending the next attempt.
+     */
+    private void waitForRateLimiter(final AWSRequestMetrics awsRequestMetrics) throws InterruptedException {
+        final long delayNanos = (rateLimiter == null) ? 0 : rateLimiter.acquire();
+        if (delayNanos > 0) {
+            awsRequestMetrics.startEvent(Field.RateLimiterWaitTime);
+            try {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            } finally {
+                awsRequestMetrics.endEvent(Field.RateLimiterWaitTime);
+            }
+        }
+    }
+
+    /**
+     * Computes the period of time to wait on failed request to avoid flooding a service with retries.
      *
      * @param originalRequest   The original service request that is being executed.
      * @param previousException Exception information for the previous attempt, if any.
      * @param requestCount      current request count (including the next attempt after the delay)
      * @param retryPolicy       The retry policy configured in this httpClientSettings client.
+     * @return The delay in milliseconds before the next attempt.
      */
-    private void doPauseBeforeRetry(AmazonWebServiceRequest originalRequest,
-                                    AmazonClientException previousException,
-                                    int requestCount,
-                                    RetryPolicy retryPolicy,
-                                    ExecOneRequestParams execOneParams) throws InterruptedException {
+    private long computeDelayBeforeRetry(AmazonWebServiceRequest originalRequest,
+                                         AmazonClientException previousException,
+                                         int requestCount,
+                                         RetryPolicy retryPolicy,
+                                         ExecOneRequestParams execOneParams) {
         final int retries = requestCount // including next attempt
                 - 1 // number of attempted requests
                 - 1; // number of attempted retries
@@ -1443,8 +1848,7 @@ public class AmazonHttpClient {
         if (log.isDebugEnabled()) {
             log.debug("Retriable error detected, " + "will retry in " + delay + "ms, attempt number: " + retries);
         }
-
-        Thread.sleep(delay);
+        return delay;
     }
 
     // SWF: Signature not yet current: 20140819T173921Z is still later than 20140819T173829Z
@@ -1549,6 +1953,450 @@ public class AmazonHttpClient {
 
     }
 
+    /**
+     * The state machine of a request executed through the non-blocking transport. Each step runs on the executor of
+     * the execution and ends by either sending the apache request, scheduling the next attempt, or completing the
+     * execution; the I/O dispatcher threads of the transport and the scheduler threads only hand steps over to the
+     * executor.
+     */
+    private final class NonBlockingExecution<T> implements Future<T>, FutureCallback<org.apache.http.HttpResponse> {
+        private final Request<?> request;
+        private final HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler;
+        private final HttpResponseHandler<AmazonServiceException> errorResponseHandler;
+        private final ExecutionContext executionContext;
+        private final Executor executor;
+        private final ResponseCallback<T> callback;
+        private final AWSRequestMetrics awsRequestMetrics;
+        private final ProgressListener listener;
+        private final ExecOneRequestParams execOneParams = new ExecOneRequestParams();
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final CountDownLatch completion = new CountDownLatch(1);
+        private volatile T result;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+
+        private List<RequestHandler2> requestHandlers = Collections.emptyList();
+        private final InputStream origContent;
+        private InputStream toBeClosed;
+        private Map<String, List<String>> originalParameters;
+        private Map<String, String> originalHeaders;
+        private InputStream originalContent;
+
+        private volatile Future<org.apache.http.HttpResponse> inFlight;
+        private volatile ScheduledFuture<?> requestTimeoutTask;
+        private volatile ScheduledFuture<?> executionTimeoutTask;
+        private volatile boolean requestTimedOut;
+
+        NonBlockingExecution(Request<?> request,
+                             HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+                             HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+                             ExecutionContext executionContext,
+                             Executor executor,
+                             ResponseCallback<T> callback) {
+            this.request = request;
+            this.responseHandler = responseHandler;
+            this.errorResponseHandler = errorResponseHandler;
+            this.executionContext = executionContext;
+            this.executor = executor;
+            this.callback = callback;
+            this.awsRequestMetrics = executionContext.getAwsRequestMetrics();
+            this.listener = request.getOriginalRequest().getGeneralProgressListener();
+            this.origContent = request.getContent();
+        }
+
+        void start() {
+            pendingExecutions.add(this);
+            if (isShutdown) {
+                // The pending executions may have been failed before this one was added
+                failOnShutdown();
+                return;
+            }
+            final int clientExecutionTimeout = getClientExecutionTimeout(request.getOriginalRequest());
+            if (clientExecutionTimeout > 0) {
+                executionTimeoutTask = nonBlockingScheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        abortInFlight();
+                        dispatch(new Runnable() {
+                            @Override
+                            public void run() {
+                                fail(new ClientExecutionTimeoutException());
+                            }
+                        });
+                    }
+                }, clientExecutionTimeout, TimeUnit.MILLISECONDS);
+            }
+            dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    begin();
+                }
+            });
+        }
+
+        /**
+         * Runs the request handlers and prepares the request content, as done by {@link #doExecute} and {@link
+         * #executeHelper} before the first attempt.
+         */
+        private void begin() {
+            try {
+                requestHandlers = beforeExecution(request, executionContext);
+                toBeClosed = beforeRequest(request);
+                request.setContent((toBeClosed == null) ? null
+                        : ReleasableInputStream.wrap(toBeClosed).disableClose());
+                publishProgress(listener, ProgressEventType.CLIENT_REQUEST_STARTED_EVENT);
+
+                awsRequestMetrics.addPropertyWith(Field.ServiceName, request.getServiceName())
+                        .addPropertyWith(Field.ServiceEndpoint, request.getEndpoint());
+                originalParameters = new LinkedHashMap<String, List<String>>(request.getParameters());
+                originalHeaders = new HashMap<String, String>(request.getHeaders());
+                originalContent = request.getContent();
+                if (originalContent != null && originalContent.markSupported()
+                        && !(originalContent instanceof BufferedInputStream)) {
+                    originalContent.mark(request.getOriginalRequest().getRequestClientOptions().getReadLimit());
+                }
+            } catch (Throwable t) {
+                fail(captureExceptionMetrics(t, awsRequestMetrics));
+                return;
+            }
+            attempt();
+        }
+
+        /**
+         * Starts the next attempt once the adaptive rate limiter, if enabled, allows sending it; the delay is
+         * scheduled instead of slept like {@link #waitForRateLimiter}.
+         */
+        private void attempt() {
+            if (isDone()) {
+                return;
+            }
+            final long delayNanos = (rateLimiter == null) ? 0 : rateLimiter.acquire();
+            if (delayNanos <= 0) {
+                send();
+                return;
+            }
+            awsRequestMetrics.startEvent(Field.RateLimiterWaitTime);
+            nonBlockingScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    dispatch(new Runnable() {
+                        @Override
+                        public void run() {
+                            awsRequestMetrics.endEvent(Field.RateLimiterWaitTime);
+                            send();
+                        }
+                    });
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Signs and sends one attempt of the request, as done by {@link #executeOneRequest} up to sending it.
+         */
+        private void send() {
+            if (isDone()) {
+                return;
+            }
+            try {
+                beginAttempt(request, awsRequestMetrics, execOneParams, originalParameters, originalHeaders,
+                        originalContent);
+                if (execOneParams.isRetry()) {
+                    resetRequestInputStream(request);
+                }
+                if (requestLog.isDebugEnabled()) {
+                    requestLog.debug("Sending Request: " + request);
+                }
+                final AWSCredentials credentials = getCredentialsFromContext(executionContext, awsRequestMetrics);
+                signAndCreateHttpRequest(request, executionContext, awsRequestMetrics, execOneParams, credentials);
+                final HttpClientContext localRequestContext = beforeHttpRequest(awsRequestMetrics, execOneParams,
+                        listener);
+
+                requestTimedOut = false;
+                final int requestTimeout = getRequestTimeout(request.getOriginalRequest());
+                if (requestTimeout > 0) {
+                    requestTimeoutTask = nonBlockingScheduler.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            requestTimedOut = true;
+                            abortInFlight();
+                        }
+                    }, requestTimeout, TimeUnit.MILLISECONDS);
+                }
+                inFlight = httpAsyncClient.execute(execOneParams.apacheRequest, localRequestContext, this);
+                if (requestTimedOut || isDone()) {
+                    // The abort may have happened before the request was in flight
+                    abortInFlight();
+                }
+            } catch (IOException ioe) {
+                retryOrFail(ioe);
+            } catch (Throwable t) {
+                fail(lastReset(captureExceptionMetrics(t, awsRequestMetrics), request));
+            }
+        }
+
+        @Override
+        public void completed(final org.apache.http.HttpResponse apacheResponse) {
+            dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    endHttpRequest();
+                    handle(apacheResponse);
+                }
+            });
+        }
+
+        @Override
+        public void failed(final Exception ex) {
+            dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    endHttpRequest();
+                    IOException ioe = (ex instanceof IOException) ? (IOException) ex
+                            : new IOException(ex.getMessage(), ex);
+                    retryOrFail(requestTimedOut ? new HttpRequestTimeoutException(ioe) : ioe);
+                }
+            });
+        }
+
+        @Override
+        public void cancelled() {
+            dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    endHttpRequest();
+                    if (requestTimedOut) {
+                        retryOrFail(new HttpRequestTimeoutException(
+                                "Request did not complete before the request timeout configuration."));
+                    } else if (isShutdown) {
+                        fail(newShutdownException());
+                    } else {
+                        // Unless the execution was cancelled or timed out, and is already completed
+                        fail(new AmazonClientException("The HTTP request was cancelled"));
+                    }
+                }
+            });
+        }
+
+        /**
+         * Fails the execution because the client has been shut down. Runs on the calling thread since the executor
+         * of the execution may not accept more tasks.
+         */
+        void failOnShutdown() {
+            abortInFlight();
+            fail(newShutdownException());
+        }
+
+        private AmazonClientException newShutdownException() {
+            return new AmazonClientException("Unable to complete the request: the client has been shut down");
+        }
+
+        private void endHttpRequest() {
+            final ScheduledFuture<?> task = requestTimeoutTask;
+            if (task != null) {
+                task.cancel(false);
+            }
+            inFlight = null;
+            awsRequestMetrics.endEvent(Field.HttpRequestTime);
+        }
+
+        /**
+         * Handles the response of an attempt, as done by {@link #executeOneRequest} once it is received.
+         */
+        private void handle(org.apache.http.HttpResponse apacheResponse) {
+            if (isDone()) {
+                return;
+            }
+            try {
+                execOneParams.apacheResponse = apacheResponse;
+                final boolean isHeaderReqIdAvail = logHeaderRequestId(apacheResponse);
+                final Response<T> response = handleHttpResponse(request, responseHandler, errorResponseHandler,
+                        executionContext, awsRequestMetrics, execOneParams, requestHandlers, isHeaderReqIdAvail);
+                if (response == null) {
+                    scheduleRetry();
+                } else {
+                    succeed(response);
+                }
+            } catch (IOException ioe) {
+                retryOrFail(ioe);
+            } catch (Throwable t) {
+                fail(lastReset(captureExceptionMetrics(t, awsRequestMetrics), request));
+            }
+        }
+
+        private void retryOrFail(IOException ioe) {
+            if (isDone()) {
+                return;
+            }
+            try {
+                final AmazonClientException ace = toClientException(ioe, awsRequestMetrics);
+                if (!shouldRetry(request.getOriginalRequest(), execOneParams, ace, executionContext)) {
+                    fail(lastReset(ace, request));
+                    return;
+                }
+                // Cache the retryable exception
+                execOneParams.retriedException = ace;
+                scheduleRetry();
+            } catch (Throwable t) {
+                fail(lastReset(captureExceptionMetrics(t, awsRequestMetrics), request));
+            }
+        }
+
+        /**
+         * Schedules the next attempt after the delay of the retry policy, instead of sleeping like {@link
+         * #pauseBeforeRetry}.
+         */
+        private void scheduleRetry() {
+            publishProgress(listener, ProgressEventType.CLIENT_REQUEST_RETRY_EVENT);
+            awsRequestMetrics.startEvent(Field.RetryPauseTime);
+            // don't pause if the retry was not due to a redirection
+            // ie when retried exception is null
+            final long delay = (execOneParams.retriedException == null) ? 0
+                    : computeDelayBeforeRetry(request.getOriginalRequest(), execOneParams.retriedException,
+                            execOneParams.requestCount + 1, config.getRetryPolicy(), execOneParams);
+            final Runnable nextAttempt = new Runnable() {
+                @Override
+                public void run() {
+                    awsRequestMetrics.endEvent(Field.RetryPauseTime);
+                    attempt();
+                }
+            };
+            if (delay <= 0) {
+                nextAttempt.run();
+            } else {
+                nonBlockingScheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        dispatch(nextAttempt);
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void succeed(Response<T> response) {
+            try {
+                publishProgress(listener, ProgressEventType.CLIENT_REQUEST_SUCCESS_EVENT);
+                TimingInfo timingInfo = awsRequestMetrics.getTimingInfo().endTiming();
+                afterResponse(request, requestHandlers, response, timingInfo);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            complete(response, null);
+        }
+
+        private void fail(Throwable t) {
+            if (isDone()) {
+                return;
+            }
+            if (t instanceof AmazonClientException) {
+                publishProgress(listener, ProgressEventType.CLIENT_REQUEST_FAILED_EVENT);
+                try {
+                    afterError(request, null, requestHandlers, (AmazonClientException) t);
+                } catch (Exception e) {
+                    log.warn("Request handler failed after request error", e);
+                }
+            }
+            complete(null, t);
+        }
+
+        private void complete(Response<T> response, Throwable t) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            pendingExecutions.remove(this);
+            final ScheduledFuture<?> task = executionTimeoutTask;
+            if (task != null) {
+                task.cancel(false);
+            }
+            // Always close so any progress tracking would get the final events propagated.
+            closeQuietly(toBeClosed, log);
+            request.setContent(origContent); // restore the original content
+
+            try {
+                if (t == null) {
+                    callback.onResponse(response);
+                    result = response.getAwsResponse();
+                } else {
+                    callback.onError((t instanceof Exception) ? (Exception) t : new AmazonClientException(t));
+                }
+            } catch (Throwable e) {
+                if (t == null) {
+                    t = e;
+                } else {
+                    log.warn("Response callback failed after request error", e);
+                }
+            }
+            failure = t;
+            completion.countDown();
+        }
+
+        /**
+         * Hands the step over to the executor of the execution, failing the execution if it is no longer accepting
+         * tasks.
+         */
+        private void dispatch(Runnable step) {
+            try {
+                executor.execute(step);
+            } catch (RejectedExecutionException e) {
+                abortInFlight();
+                complete(null, new AmazonClientException("Unable to continue the request execution", e));
+            }
+        }
+
+        private void abortInFlight() {
+            final Future<org.apache.http.HttpResponse> future = inFlight;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (isDone()) {
+                return false;
+            }
+            cancelled = true;
+            abortInFlight();
+            fail(new AbortedException("The request execution was cancelled"));
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return completed.get();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            completion.await();
+            return getResult();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!completion.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return getResult();
+        }
+
+        private T getResult() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return result;
+        }
+    }
+
     /**
      * Stateful parameters that are used for executing a single httpClientSettings request.
      */
@@ -1570,6 +2418,10 @@ public class AmazonHttpClient {
          * reading any of the content until after a response is returned to the caller.
          */
         boolean leaveHttpConnectionOpen;
+        /**
+         * The {@link System#nanoTime()} the current attempt was sent at, for the adaptive rate limiter.
+         */
+        long sentNanos;
         private Signer signer; // cached
         private URI signerURI;
 
@@ -23,7 +23,7 @@ import com.amazonaws.http.timers.client.ClientExecutionAbortTrackerTask;
 import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.retry.internal.AuthErrorRetryStrategy;
 import com.amazonaws.util.AWSRequestMetrics;
-import com.amazonaws.util.AWSRequestMetricsFullSupport;
+import com.amazonaws.util.AWSRequestMetricsLightweightSupport;
 import org.apache.http.annotation.NotThreadSafe;
 
 import java.net.URI;
@@ -68,7 +68,7 @@ public class ExecutionContext {
     public ExecutionContext(List<RequestHandler2> requestHandler2s, boolean isMetricEnabled,
             AmazonWebServiceClient awsClient) {
         this.requestHandler2s = requestHandler2s;
-        awsRequestMetrics = isMetricEnabled ? new AWSRequestMetricsFullSupport() : new AWSRequestMetrics();
+        awsRequestMetrics = isMetricEnabled ? new AWSRequestMetricsLightweightSupport() : new AWSRequestMetrics();
         this.awsClient = awsClient;
     }
 
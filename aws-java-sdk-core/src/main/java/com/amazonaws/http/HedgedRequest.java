@@ -0,0 +1,309 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.util.CapacityManager;
+
+/**
+ * Races an attempt of a request against a copy of it, the hedged request, sent
+ * after a delay unless the attempt has completed by then. The first response
+ * received is returned and the other request is aborted.
+ * <p>
+ * The requests race until the response headers are received; the body of the
+ * winning response is then read by the caller like that of any attempt.
+ * <p>
+ * The hedged request sends the content of the attempt rather than a copy of
+ * it, so it is only sent once the attempt has written its content.
+ */
+@ThreadSafe
+final class HedgedRequest implements Runnable {
+
+    private static final Log log = LogFactory.getLog(HedgedRequest.class);
+
+    /**
+     * The largest content resent by a hedged request; requests with larger
+     * content aren't hedged.
+     */
+    static final int MAX_HEDGED_CONTENT_LENGTH = 64 * 1024;
+
+    private static final int PENDING = 0;
+    private static final int PRIMARY_WON = 1;
+    private static final int HEDGE_WON = 2;
+
+    private final HttpClient httpClient;
+    private final HttpRequestBase primary;
+    private final HttpRequestBase hedge;
+    private final HttpContext hedgeContext;
+    private final CapacityManager retryCapacity;
+    private final int hedgeCost;
+
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private volatile ScheduledFuture<?> scheduledHedge;
+    private volatile boolean hedgeSent;
+    private volatile HttpResponse hedgeResponse;
+
+    /**
+     * @param httpClient
+     *            The client to send both requests with.
+     * @param primary
+     *            The attempt of the request.
+     * @param hedge
+     *            The copy of the attempt, as returned by {@link #copyOf}.
+     * @param hedgeContext
+     *            The context to send the hedged request in.
+     * @param retryCapacity
+     *            The retry capacity the hedged request is accounted against;
+     *            it isn't sent if the capacity can't be acquired.
+     * @param hedgeCost
+     *            The capacity consumed by the hedged request.
+     */
+    HedgedRequest(HttpClient httpClient,
+                  HttpRequestBase primary,
+                  HttpRequestBase hedge,
+                  HttpContext hedgeContext,
+                  CapacityManager retryCapacity,
+                  int hedgeCost) {
+        this.httpClient = httpClient;
+        this.primary = primary;
+        this.hedge = hedge;
+        this.hedgeContext = hedgeContext;
+        this.retryCapacity = retryCapacity;
+        this.hedgeCost = hedgeCost;
+    }
+
+    /**
+     * Returns a copy of the given request to send as a hedged request, sharing
+     * its content; or null if the content can't be sent twice. The content of
+     * the given request is replaced with the shared one.
+     */
+    static HttpRequestBase copyOf(final HttpRequestBase original) {
+        final HttpEntity entity = (original instanceof HttpEntityEnclosingRequest)
+                ? ((HttpEntityEnclosingRequest) original).getEntity()
+                : null;
+        final HttpRequestBase copy;
+        if (entity == null) {
+            copy = new HttpRequestBase() {
+                @Override
+                public String getMethod() {
+                    return original.getMethod();
+                }
+            };
+        } else {
+            final long contentLength = entity.getContentLength();
+            if (!entity.isRepeatable() || contentLength < 0 || contentLength > MAX_HEDGED_CONTENT_LENGTH) {
+                return null;
+            }
+            final SharedEntity shared = new SharedEntity(entity);
+            ((HttpEntityEnclosingRequest) original).setEntity(shared);
+            final HttpEntityEnclosingRequestBase enclosingCopy = new HttpEntityEnclosingRequestBase() {
+                @Override
+                public String getMethod() {
+                    return original.getMethod();
+                }
+            };
+            enclosingCopy.setEntity(shared);
+            copy = enclosingCopy;
+        }
+        copy.setURI(original.getURI());
+        copy.setHeaders(original.getAllHeaders());
+        copy.setConfig(original.getConfig());
+        return copy;
+    }
+
+    /**
+     * Sends the attempt, and the hedged request on the given executor once the
+     * delay has elapsed, and returns the first response received.
+     *
+     * @param executor
+     *            The executor to send the hedged request on.
+     * @param delayNanos
+     *            The delay before sending the hedged request.
+     * @param context
+     *            The context to send the attempt in.
+     */
+    HttpResponse execute(ScheduledExecutorService executor, long delayNanos, HttpContext context)
+            throws IOException {
+        scheduledHedge = executor.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        final HttpResponse response;
+        try {
+            response = httpClient.execute(primary, context);
+        } catch (IOException e) {
+            // Thrown when the attempt is aborted by the hedged request winning
+            if (primaryWins()) {
+                throw e;
+            }
+            return hedgeResponse;
+        } catch (RuntimeException e) {
+            if (primaryWins()) {
+                throw e;
+            }
+            return hedgeResponse;
+        }
+        if (primaryWins()) {
+            return response;
+        }
+        primary.abort();
+        return hedgeResponse;
+    }
+
+    /**
+     * Sends the hedged request, unless the attempt has completed or is still
+     * writing its content, and aborts the attempt if the hedged request
+     * completes first. A failure of the hedged request is left to the attempt
+     * to report.
+     * <p>
+     * The retry capacity of the hedged request is released once it receives a
+     * response or is aborted by the attempt winning; like that of a failed
+     * retry, it stays consumed if the hedged request fails.
+     */
+    @Override
+    public void run() {
+        final SharedEntity content = sharedEntityOf(hedge);
+        if (state.get() != PENDING || (content != null && !content.isWritten())
+                || !retryCapacity.acquire(hedgeCost)) {
+            return;
+        }
+        hedgeSent = true;
+        final HttpResponse response;
+        try {
+            response = httpClient.execute(hedge, hedgeContext);
+        } catch (IOException e) {
+            hedgeFailed(e);
+            return;
+        } catch (RuntimeException e) {
+            hedgeFailed(e);
+            return;
+        }
+        retryCapacity.release(hedgeCost);
+        hedgeResponse = response;
+        if (state.compareAndSet(PENDING, HEDGE_WON)) {
+            primary.abort();
+        } else {
+            hedge.abort();
+        }
+    }
+
+    /**
+     * Releases the retry capacity of a hedged request aborted by the attempt
+     * winning, and logs the failure otherwise.
+     */
+    private void hedgeFailed(Exception e) {
+        if (state.get() == PRIMARY_WON) {
+            retryCapacity.release(hedgeCost);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Hedged request failed", e);
+        }
+    }
+
+    /**
+     * Returns the hedged request; its response was returned if it won.
+     */
+    HttpRequestBase getHedge() {
+        return hedge;
+    }
+
+    /**
+     * Returns true if the hedged request was sent.
+     */
+    boolean isHedgeSent() {
+        return hedgeSent;
+    }
+
+    /**
+     * Returns true if the response of the hedged request was received first.
+     */
+    boolean isHedgeWinner() {
+        return state.get() == HEDGE_WON;
+    }
+
+    /**
+     * Completes the race for the attempt, canceling the hedged request; or
+     * returns false if the hedged request already won. The shared content is
+     * released by the hedged request before returning, since it is reset by a
+     * retry of the attempt.
+     */
+    private boolean primaryWins() {
+        if (!state.compareAndSet(PENDING, PRIMARY_WON)) {
+            return false;
+        }
+        scheduledHedge.cancel(false);
+        hedge.abort();
+        final SharedEntity content = sharedEntityOf(hedge);
+        if (content != null) {
+            content.awaitWrite();
+        }
+        return true;
+    }
+
+    private static SharedEntity sharedEntityOf(HttpRequestBase request) {
+        return (request instanceof HttpEntityEnclosingRequest)
+                ? (SharedEntity) ((HttpEntityEnclosingRequest) request).getEntity()
+                : null;
+    }
+
+    /**
+     * The content of an attempt, shared with its hedged request. The content is
+     * written by one request at a time: the hedged request is only sent once
+     * the attempt has written it.
+     */
+    private static final class SharedEntity extends HttpEntityWrapper {
+
+        private volatile boolean written;
+
+        SharedEntity(HttpEntity entity) {
+            super(entity);
+        }
+
+        /**
+         * The wrapped entity is repeatable, so it resets its content when it is
+         * written again by the hedged request.
+         */
+        @Override
+        public synchronized void writeTo(OutputStream out) throws IOException {
+            super.writeTo(out);
+            written = true;
+        }
+
+        boolean isWritten() {
+            return written;
+        }
+
+        /**
+         * Waits for the content being written, if any, to be completely
+         * written or aborted.
+         */
+        synchronized void awaitWrite() {
+        }
+    }
+}
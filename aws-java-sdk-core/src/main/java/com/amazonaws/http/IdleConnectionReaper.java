@@ -15,6 +15,7 @@
 package com.amazonaws.http;
 
 import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.http.conn.ConnectionPoolWarmer;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -22,7 +23,15 @@ import org.apache.http.conn.HttpClientConnectionManager;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -42,6 +51,12 @@ import java.util.concurrent.TimeUnit;
  * cleaning up old/inactive HTTP connections, we'd see more IO exceptions when
  * stale connections (i.e. closed on the AWS side) are left in the connection
  * pool, and requests grab one of them to begin executing a request.
+ * <p/>
+ * The idle connections of a pool with a registered connection pool warmer are
+ * closed through the warmer, which keeps the minimum number of warm
+ * connections open. The warmers then reopen the warm connections closed by
+ * other means. They run on threads of their own, so a slow or unreachable
+ * endpoint doesn't hold up the reaping.
  */
 public final class IdleConnectionReaper extends Thread {
 
@@ -59,6 +74,12 @@ public final class IdleConnectionReaper extends Thread {
      */
     private static final ArrayList<HttpClientConnectionManager>
             connectionManagers = new ArrayList<HttpClientConnectionManager>();
+    /**
+     * The list of registered connection pool warmers, which keep a minimum
+     * number of connections open once idle connections have been closed.
+     */
+    private static final ArrayList<ConnectionPoolWarmer>
+            connectionPoolWarmers = new ArrayList<ConnectionPoolWarmer>();
     /**
      * Singleton instance of the connection reaper.
      */
@@ -68,6 +89,23 @@ public final class IdleConnectionReaper extends Thread {
      * flag is never set back to false.
      */
     private volatile boolean shuttingDown;
+    /**
+     * Runs the connection pool warmers, whose connects and handshakes block.
+     */
+    private final ExecutorService warmerExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "java-sdk-http-connection-warmer");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    /**
+     * The connection pool warmers still running since a previous period, which
+     * aren't run again until they complete.
+     */
+    private final Set<ConnectionPoolWarmer> runningWarmers =
+            Collections.newSetFromMap(new ConcurrentHashMap<ConnectionPoolWarmer, Boolean>());
 
     /**
      * Private constructor - singleton pattern.
@@ -100,11 +138,29 @@ public final class IdleConnectionReaper extends Thread {
      */
     public static synchronized boolean removeConnectionManager(HttpClientConnectionManager connectionManager) {
         boolean b = connectionManagers.remove(connectionManager);
+        for (Iterator<ConnectionPoolWarmer> it = connectionPoolWarmers.iterator(); it.hasNext();) {
+            if (it.next().getConnectionManager() == connectionManager)
+                it.remove();
+        }
         if (connectionManagers.isEmpty())
             shutdown();
         return b;
     }
 
+    /**
+     * Registers the given connection pool warmer with this reaper, to keep
+     * its connections warm once idle connections have been closed. The warmer
+     * is removed along with its connection manager.
+     *
+     * @return true if the connection pool warmer has been successfully
+     * registered; false if its connection manager isn't registered.
+     */
+    public static synchronized boolean registerConnectionPoolWarmer(ConnectionPoolWarmer connectionPoolWarmer) {
+        if (!connectionManagers.contains(connectionPoolWarmer.getConnectionManager()))
+            return false;
+        return connectionPoolWarmers.add(connectionPoolWarmer);
+    }
+
     @SdkTestInternalApi
     public static synchronized List<HttpClientConnectionManager> getRegisteredConnectionManagers() {
         return Collections.unmodifiableList(connectionManagers);
@@ -125,7 +181,9 @@ public final class IdleConnectionReaper extends Thread {
         if (instance != null) {
             instance.markShuttingDown();
             instance.interrupt();
+            instance.warmerExecutor.shutdownNow();
             connectionManagers.clear();
+            connectionPoolWarmers.clear();
             instance = null;
             return true;
         }
@@ -161,22 +219,64 @@ public final class IdleConnectionReaper extends Thread {
                 // removeConnectionManager are called while we're iterating (rather
                 // than block/lock while this loop executes).
                 List<HttpClientConnectionManager> connectionManagers = null;
+                List<ConnectionPoolWarmer> connectionPoolWarmers = null;
                 synchronized (IdleConnectionReaper.class) {
                     connectionManagers = (List<HttpClientConnectionManager>) IdleConnectionReaper.connectionManagers.clone();
+                    connectionPoolWarmers = (List<ConnectionPoolWarmer>) IdleConnectionReaper.connectionPoolWarmers.clone();
+                }
+                Map<HttpClientConnectionManager, ConnectionPoolWarmer> warmersByManager =
+                        new IdentityHashMap<HttpClientConnectionManager, ConnectionPoolWarmer>();
+                for (ConnectionPoolWarmer connectionPoolWarmer : connectionPoolWarmers) {
+                    warmersByManager.put(connectionPoolWarmer.getConnectionManager(), connectionPoolWarmer);
                 }
                 for (HttpClientConnectionManager connectionManager : connectionManagers) {
                     // When we release connections, the connection manager leaves them
                     // open so they can be reused.  We want to close out any idle
                     // connections so that they don't sit around in CLOSE_WAIT.
                     try {
-                        connectionManager.closeIdleConnections(60, TimeUnit.SECONDS);
+                        ConnectionPoolWarmer connectionPoolWarmer = warmersByManager.get(connectionManager);
+                        if (connectionPoolWarmer == null) {
+                            connectionManager.closeIdleConnections(60, TimeUnit.SECONDS);
+                        } else {
+                            connectionPoolWarmer.closeIdleConnections(60, TimeUnit.SECONDS);
+                        }
                     } catch (Exception t) {
                         log.warn("Unable to close idle connections", t);
                     }
                 }
+                for (ConnectionPoolWarmer connectionPoolWarmer : connectionPoolWarmers) {
+                    keepWarm(connectionPoolWarmer);
+                }
             } catch (Throwable t) {
                 log.debug("Reaper thread: ", t);
             }
         }
     }
+
+    /**
+     * Runs the given connection pool warmer on the warmer executor, unless it
+     * is still running since a previous period.
+     */
+    private void keepWarm(final ConnectionPoolWarmer connectionPoolWarmer) {
+        if (!runningWarmers.add(connectionPoolWarmer))
+            return;
+        try {
+            warmerExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        connectionPoolWarmer.keepWarm();
+                    } catch (Exception t) {
+                        log.warn("Unable to keep connections warm", t);
+                    } finally {
+                        runningWarmers.remove(connectionPoolWarmer);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected once the reaper is shut down
+            runningWarmers.remove(connectionPoolWarmer);
+            throw e;
+        }
+    }
 }
\ No newline at end of file
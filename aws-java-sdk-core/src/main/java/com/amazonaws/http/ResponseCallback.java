@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import com.amazonaws.Response;
+
+/**
+ * Receives the outcome of a request executed through the non-blocking
+ * transport of {@link AmazonHttpClient}. Exactly one of the methods is called,
+ * on a thread of the executor given to
+ * {@link AmazonHttpClient#executeAsync}, before the returned future completes.
+ *
+ * @param <T>
+ *            The type of the unmarshalled result.
+ */
+public interface ResponseCallback<T> {
+
+    /**
+     * Invoked with the unmarshalled response once the request succeeded.
+     * Throwing an exception from this method fails the returned future with
+     * that exception.
+     *
+     * @param response
+     *            The response, including the unmarshalled result.
+     */
+    public void onResponse(Response<T> response);
+
+    /**
+     * Invoked once the request failed, after all retries have been attempted.
+     *
+     * @param exception
+     *            The exception the execution failed with.
+     */
+    public void onError(Exception exception);
+}
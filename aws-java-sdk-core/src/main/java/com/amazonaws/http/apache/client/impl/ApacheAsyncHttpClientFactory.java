@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.apache.client.impl;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.SDKGlobalConfiguration;
+import com.amazonaws.http.AmazonHttpClient;
+import com.amazonaws.http.DelegatingDnsResolver;
+import com.amazonaws.http.apache.SdkProxyRoutePlanner;
+import com.amazonaws.http.apache.utils.ApacheUtils;
+import com.amazonaws.http.client.HttpClientFactory;
+import com.amazonaws.http.conn.SdkConnectionKeepAliveStrategy;
+import com.amazonaws.http.conn.ssl.TLSCipherSuites;
+import com.amazonaws.http.settings.HttpClientSettings;
+import com.amazonaws.internal.SdkSSLContext;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HttpContext;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory class that builds the non-blocking apache http client, based on
+ * the optional HttpAsyncClient library, from the settings. The connection
+ * pool, timeouts, proxy and SSL configuration mirror the ones of the blocking
+ * client built by {@link ApacheHttpClientFactory}.
+ * <p>
+ * The returned client is already started, and must be closed to release its
+ * I/O dispatcher threads.
+ */
+public class ApacheAsyncHttpClientFactory implements HttpClientFactory<CloseableHttpAsyncClient> {
+
+    private static final Log LOG = LogFactory.getLog(AmazonHttpClient.class);
+
+    /**
+     * Redirects are handled by {@link AmazonHttpClient} itself, as they
+     * require the request to be signed again.
+     */
+    private static final RedirectStrategy NO_REDIRECTS = new RedirectStrategy() {
+        @Override
+        public boolean isRedirected(HttpRequest request, HttpResponse response, HttpContext context) {
+            return false;
+        }
+
+        @Override
+        public HttpUriRequest getRedirect(HttpRequest request, HttpResponse response, HttpContext context) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Override
+    public CloseableHttpAsyncClient create(HttpClientSettings settings) {
+        final PoolingNHttpClientConnectionManager cm = createConnectionManager(settings);
+
+        final HttpAsyncClientBuilder builder = HttpAsyncClients.custom()
+                .setConnectionManager(cm)
+                .setRedirectStrategy(NO_REDIRECTS);
+
+        if (settings.getMaxIdleConnectionTime() > 0) {
+            builder.setKeepAliveStrategy(
+                    new SdkConnectionKeepAliveStrategy(settings.getMaxIdleConnectionTime()));
+        }
+
+        if (settings.getProxyHost() != null && settings.getProxyPort() > 0) {
+            LOG.info("Configuring Proxy. Proxy Host: " + settings.getProxyHost() + " " +
+                    "Proxy Port: " + settings.getProxyPort());
+
+            builder.setRoutePlanner(new SdkProxyRoutePlanner(
+                    settings.getProxyHost(), settings.getProxyPort(), settings.getNonProxyHosts()));
+
+            if (settings.getProxyUsername() != null && settings.getProxyPassword() != null) {
+                builder.setDefaultCredentialsProvider(ApacheUtils
+                        .newProxyCredentialsProvider(settings));
+            }
+        }
+
+        final CloseableHttpAsyncClient httpAsyncClient = builder.build();
+        httpAsyncClient.start();
+        return httpAsyncClient;
+    }
+
+    private PoolingNHttpClientConnectionManager createConnectionManager(HttpClientSettings settings) {
+        final DefaultConnectingIOReactor ioReactor;
+        try {
+            ioReactor = new DefaultConnectingIOReactor(buildIOReactorConfig(settings));
+        } catch (IOReactorException e) {
+            throw new AmazonClientException("Unable to create the non-blocking HTTP transport", e);
+        }
+
+        final PoolingNHttpClientConnectionManager cm = new PoolingNHttpClientConnectionManager(
+                ioReactor,
+                null,
+                createSessionStrategyRegistry(settings),
+                DefaultSchemePortResolver.INSTANCE,
+                new DelegatingDnsResolver(settings.getDnsResolver()),
+                settings.getConnectionPoolTTL(),
+                TimeUnit.MILLISECONDS);
+
+        cm.setDefaultMaxPerRoute(settings.getMaxConnections());
+        cm.setMaxTotal(settings.getMaxConnections());
+        return cm;
+    }
+
+    private IOReactorConfig buildIOReactorConfig(HttpClientSettings settings) {
+        final IOReactorConfig.Builder builder = IOReactorConfig.custom()
+                .setConnectTimeout(settings.getConnectionTimeout())
+                .setSoTimeout(settings.getSocketTimeout())
+                .setSoKeepAlive(settings.useTcpKeepAlive())
+                .setTcpNoDelay(true);
+
+        final int[] socketBufferSizes = settings.getSocketBufferSize();
+        if (socketBufferSizes[0] > 0) {
+            builder.setSndBufSize(socketBufferSizes[0]);
+        }
+        if (socketBufferSizes[1] > 0) {
+            builder.setRcvBufSize(socketBufferSizes[1]);
+        }
+        return builder.build();
+    }
+
+    private Registry<SchemeIOSessionStrategy> createSessionStrategyRegistry(HttpClientSettings settings) {
+        final SSLIOSessionStrategy sslStrategy;
+        if (SDKGlobalConfiguration.isCertCheckingDisabled()) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("SSL Certificate checking for endpoints has been " +
+                        "explicitly disabled.");
+            }
+            sslStrategy = new SSLIOSessionStrategy(createTrustingSSLContext(),
+                    SSLIOSessionStrategy.ALLOW_ALL_HOSTNAME_VERIFIER);
+        } else {
+            final SSLContext sslContext = SdkSSLContext.getPreferredSSLContext(settings.getSecureRandom(),
+                    settings.getTlsSessionCacheSize(), settings.getTlsSessionTimeout());
+            sslStrategy = new SSLIOSessionStrategy(sslContext, null,
+                    getCipherSuites(sslContext, settings.getTlsCipherSuites()),
+                    getHostNameVerifier(settings));
+        }
+
+        return RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", sslStrategy)
+                .build();
+    }
+
+    /**
+     * Returns the cipher suites to enable on the SSL engines, the preferred ones
+     * first; or null to keep the default ones in their default order.
+     */
+    private String[] getCipherSuites(SSLContext sslContext, List<String> preferredCipherSuites) {
+        if (preferredCipherSuites == null) {
+            return null;
+        }
+        return TLSCipherSuites.order(preferredCipherSuites,
+                sslContext.getSupportedSSLParameters().getCipherSuites(),
+                sslContext.getDefaultSSLParameters().getCipherSuites());
+    }
+
+    private HostnameVerifier getHostNameVerifier(HttpClientSettings settings) {
+        return settings.useBrowserCompatibleHostNameVerifier()
+                ? SSLConnectionSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER
+                : SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
+    }
+
+    private static SSLContext createTrustingSSLContext() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{
+                    new ApacheConnectionManagerFactory.TrustingX509TrustManager()}, null);
+            return context;
+        } catch (Exception e) {
+            throw new AmazonClientException("Unable to create SSL context: " + e.getMessage(), e);
+        }
+    }
+}
@@ -14,10 +14,12 @@
  */
 package com.amazonaws.http.apache.client.impl;
 
+import com.amazonaws.CachingDnsResolver;
 import com.amazonaws.SDKGlobalConfiguration;
 import com.amazonaws.http.AmazonHttpClient;
 import com.amazonaws.http.DelegatingDnsResolver;
 import com.amazonaws.http.client.ConnectionManagerFactory;
+import com.amazonaws.http.conn.FailedAddressReportingSocketFactory;
 import com.amazonaws.http.conn.ssl.SdkTLSSocketFactory;
 import com.amazonaws.http.settings.HttpClientSettings;
 import com.amazonaws.internal.SdkSSLContext;
@@ -66,7 +68,7 @@ public class ApacheConnectionManagerFactory implements
 
         final PoolingHttpClientConnectionManager cm = new
                 PoolingHttpClientConnectionManager(
-                createSocketFactoryRegistry(sslsf),
+                createSocketFactoryRegistry(sslsf, settings),
                 null,
                 DefaultSchemePortResolver.INSTANCE,
                 new DelegatingDnsResolver(settings.getDnsResolver()),
@@ -87,8 +89,10 @@ public class ApacheConnectionManagerFactory implements
         return sslsf != null
                 ? sslsf
                 : new SdkTLSSocketFactory(
-                SdkSSLContext.getPreferredSSLContext(settings.getSecureRandom()),
-                getHostNameVerifier(settings));
+                SdkSSLContext.getPreferredSSLContext(settings.getSecureRandom(),
+                        settings.getTlsSessionCacheSize(), settings.getTlsSessionTimeout()),
+                getHostNameVerifier(settings),
+                settings.getTlsCipherSuites());
     }
 
 
@@ -120,7 +124,8 @@ public class ApacheConnectionManagerFactory implements
                 : SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
     }
 
-    private Registry<ConnectionSocketFactory> createSocketFactoryRegistry(ConnectionSocketFactory sslSocketFactory) {
+    private Registry<ConnectionSocketFactory> createSocketFactoryRegistry(ConnectionSocketFactory sslSocketFactory,
+                                                                         HttpClientSettings settings) {
 
         /*
          * If SSL cert checking for endpoints has been explicitly disabled,
@@ -135,8 +140,20 @@ public class ApacheConnectionManagerFactory implements
             sslSocketFactory = new TrustingSocketFactory();
         }
 
+        ConnectionSocketFactory plainSocketFactory = PlainConnectionSocketFactory.getSocketFactory();
+
+        /*
+         * Report the addresses connections fail to, so that the caching
+         * resolver tries the other addresses of the host first.
+         */
+        if (settings.getDnsResolver() instanceof CachingDnsResolver) {
+            CachingDnsResolver resolver = (CachingDnsResolver) settings.getDnsResolver();
+            plainSocketFactory = FailedAddressReportingSocketFactory.wrap(plainSocketFactory, resolver);
+            sslSocketFactory = FailedAddressReportingSocketFactory.wrap(sslSocketFactory, resolver);
+        }
+
         return RegistryBuilder.<ConnectionSocketFactory>create()
-                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("http", plainSocketFactory)
                 .register("https", sslSocketFactory)
                 .build();
     }
@@ -196,7 +213,7 @@ public class ApacheConnectionManagerFactory implements
      * Simple implementation of X509TrustManager that trusts all certificates.
      * This class is only intended to be used for testing purposes.
      */
-    private static class TrustingX509TrustManager implements X509TrustManager {
+    static class TrustingX509TrustManager implements X509TrustManager {
         private static final X509Certificate[] X509_CERTIFICATES = new X509Certificate[0];
 
         @Override
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.http.settings.HttpClientSettings;
+
+/**
+ * Opens connections of a connection pool ahead of the requests that use them,
+ * so the requests don't pay for the TCP and TLS handshakes.
+ * <p>
+ * The routes warmed up are remembered when a minimum number of warm
+ * connections is configured. {@link #closeIdleConnections(long, TimeUnit)}
+ * then keeps that many connections to each of them open when closing idle
+ * connections, and {@link #keepWarm()} reopens the connections closed by other
+ * means, such as the service closing them or a failed request.
+ * Connections aren't warmed up through a proxy.
+ */
+@ThreadSafe
+public class ConnectionPoolWarmer {
+
+    private static final Log log = LogFactory.getLog(ConnectionPoolWarmer.class);
+
+    private final HttpClientConnectionManager connectionManager;
+    private final HttpClientSettings settings;
+    private final Set<HttpRoute> routesKeptWarm =
+            Collections.newSetFromMap(new ConcurrentHashMap<HttpRoute, Boolean>());
+
+    /**
+     * @param connectionManager
+     *            The connection manager whose pool is warmed up.
+     * @param settings
+     *            The settings the connection manager was created with.
+     */
+    public ConnectionPoolWarmer(HttpClientConnectionManager connectionManager, HttpClientSettings settings) {
+        this.connectionManager = connectionManager;
+        this.settings = settings;
+    }
+
+    /**
+     * Returns the connection manager whose pool is warmed up.
+     */
+    public HttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Opens connections to the given endpoint, handshake included, until the
+     * given number of connections is open; fewer if the pool can't hold as
+     * many.
+     *
+     * @param endpoint
+     *            The endpoint to connect to.
+     * @param connections
+     *            The number of connections to keep open.
+     * @return The number of connections open to the endpoint, leased or idle;
+     *         zero if a proxy is configured.
+     * @throws IOException
+     *             If a connection fails to open.
+     */
+    public int warmUp(URI endpoint, int connections) throws IOException, InterruptedException {
+        if (isProxyEnabled()) {
+            log.debug("Not warming up connections through a proxy");
+            return 0;
+        }
+        final HttpRoute route = routeOf(endpoint);
+        if (settings.getMinWarmConnections() > 0) {
+            routesKeptWarm.add(route);
+        }
+        return warmUp(route, connections);
+    }
+
+    /**
+     * Reopens connections to the routes warmed up so far until the configured
+     * minimum number of warm connections is open to each of them, as the
+     * connections kept open by {@link #closeIdleConnections(long, TimeUnit)}
+     * may still have been closed since. Failures
+     * are logged, and retried on the next call.
+     */
+    public void keepWarm() {
+        for (HttpRoute route : routesKeptWarm) {
+            try {
+                warmUp(route, settings.getMinWarmConnections());
+            } catch (IOException e) {
+                log.debug("Unable to keep connections warm to " + route, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes the connections of the pool idle for longer than the given time,
+     * like {@link HttpClientConnectionManager#closeIdleConnections(long,
+     * TimeUnit)}, except for up to the configured minimum number of warm
+     * connections to each of the routes warmed up so far. They are leased
+     * while the other idle connections are closed, and released back to the
+     * pool afterwards, idle from then on.
+     *
+     * @param idleTime
+     *            The idle time of the connections to close.
+     * @param unit
+     *            The unit of the idle time.
+     */
+    public void closeIdleConnections(long idleTime, TimeUnit unit) {
+        final List<HttpClientConnection> warmConnections = leaseWarmConnections();
+        try {
+            connectionManager.closeIdleConnections(idleTime, unit);
+        } finally {
+            release(warmConnections);
+        }
+    }
+
+    /**
+     * Leases the idle connections which keep the routes warmed up so far at
+     * the configured minimum number of open connections. Connections already
+     * leased count towards the minimum, and no connection is opened.
+     */
+    private List<HttpClientConnection> leaseWarmConnections() {
+        final List<HttpClientConnection> leases = new ArrayList<HttpClientConnection>();
+        for (HttpRoute route : routesKeptWarm) {
+            final PoolStats stats = statsOf(route);
+            if (stats == null) {
+                continue;
+            }
+            final int toLease = Math.min(settings.getMinWarmConnections() - stats.getLeased(), stats.getAvailable());
+            try {
+                for (int i = 0; i < toLease; i++) {
+                    final HttpClientConnection connection = connectionManager.requestConnection(route, null)
+                            .get(settings.getConnectionPoolRequestTimeout(), TimeUnit.MILLISECONDS);
+                    leases.add(connection);
+                    if (!connection.isOpen()) {
+                        // Leased by requests since, so the pool handed over a new connection
+                        break;
+                    }
+                }
+            } catch (ConnectionPoolTimeoutException e) {
+                // The pool is busy with requests, so its connections aren't idle
+            } catch (ExecutionException e) {
+                log.debug("Unable to lease the warm connections to " + route, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return leases;
+    }
+
+    private void release(List<HttpClientConnection> leases) {
+        for (HttpClientConnection connection : leases) {
+            connectionManager.releaseConnection(connection, null,
+                    settings.getMaxIdleConnectionTime(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private int warmUp(HttpRoute route, int connections) throws IOException, InterruptedException {
+        final int target = Math.min(connections, settings.getMaxConnections());
+        final PoolStats initialStats = statsOf(route);
+        final int leased = initialStats == null ? 0 : initialStats.getLeased();
+        final List<HttpClientConnection> leases = new ArrayList<HttpClientConnection>();
+        try {
+            // Idle connections are leased first, so only the missing ones are opened
+            for (int i = leased; i < target; i++) {
+                final HttpClientConnection connection;
+                try {
+                    connection = connectionManager.requestConnection(route, null)
+                            .get(settings.getConnectionPoolRequestTimeout(), TimeUnit.MILLISECONDS);
+                } catch (ConnectionPoolTimeoutException e) {
+                    // The pool is busy with requests, so its connections are open already
+                    break;
+                } catch (ExecutionException e) {
+                    throw new IOException("Unable to lease a connection to " + route, e.getCause());
+                }
+                leases.add(connection);
+                if (!connection.isOpen()) {
+                    final HttpClientContext context = HttpClientContext.create();
+                    connectionManager.connect(connection, route, settings.getConnectionTimeout(), context);
+                    connectionManager.routeComplete(connection, route, context);
+                    // Binds the buffers of the connection to its socket, which the stale
+                    // connection check of a connection never used otherwise fails without
+                    connection.flush();
+                }
+            }
+        } finally {
+            release(leases);
+        }
+        final PoolStats stats = statsOf(route);
+        return stats == null ? leased + leases.size() : stats.getLeased() + stats.getAvailable();
+    }
+
+    /**
+     * Returns the statistics of the pool of the given route; or null if the
+     * connection manager doesn't pool connections.
+     */
+    @SuppressWarnings("unchecked")
+    private PoolStats statsOf(HttpRoute route) {
+        return connectionManager instanceof ConnPoolControl
+                ? ((ConnPoolControl<HttpRoute>) connectionManager).getStats(route)
+                : null;
+    }
+
+    /**
+     * Returns the route of direct connections to the given endpoint, the same
+     * as the one planned for the requests to it.
+     */
+    private HttpRoute routeOf(URI endpoint) throws IOException {
+        HttpHost target = new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getScheme());
+        if (target.getPort() <= 0) {
+            target = new HttpHost(target.getHostName(), DefaultSchemePortResolver.INSTANCE.resolve(target),
+                    target.getSchemeName());
+        }
+        return new HttpRoute(target, settings.getLocalAddress(), "https".equalsIgnoreCase(target.getSchemeName()));
+    }
+
+    private boolean isProxyEnabled() {
+        return settings.getProxyHost() != null && settings.getProxyPort() > 0;
+    }
+}
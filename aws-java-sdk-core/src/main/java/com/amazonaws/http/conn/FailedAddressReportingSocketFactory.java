@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn;
+
+import com.amazonaws.CachingDnsResolver;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Socket factory that reports the addresses a connection couldn't be opened to
+ * to a {@link CachingDnsResolver}, so that the resolver returns them last and
+ * the next connections are opened to the other addresses of the host.
+ */
+public class FailedAddressReportingSocketFactory implements ConnectionSocketFactory {
+
+    private final ConnectionSocketFactory delegate;
+    private final CachingDnsResolver resolver;
+
+    FailedAddressReportingSocketFactory(ConnectionSocketFactory delegate, CachingDnsResolver resolver) {
+        this.delegate = delegate;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns a socket factory reporting the failed addresses of the given one
+     * to the given resolver; a layered one if the given one is layered.
+     */
+    public static ConnectionSocketFactory wrap(ConnectionSocketFactory delegate, CachingDnsResolver resolver) {
+        return delegate instanceof LayeredConnectionSocketFactory
+                ? new Layered((LayeredConnectionSocketFactory) delegate, resolver)
+                : new FailedAddressReportingSocketFactory(delegate, resolver);
+    }
+
+    @Override
+    public Socket createSocket(HttpContext context) throws IOException {
+        return delegate.createSocket(context);
+    }
+
+    @Override
+    public Socket connectSocket(int connectTimeout, Socket sock, HttpHost host, InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress, HttpContext context) throws IOException {
+        try {
+            return delegate.connectSocket(connectTimeout, sock, host, remoteAddress, localAddress, context);
+        } catch (IOException e) {
+            resolver.reportFailure(remoteAddress.getAddress());
+            throw e;
+        }
+    }
+
+    private static class Layered extends FailedAddressReportingSocketFactory
+            implements LayeredConnectionSocketFactory {
+
+        private final LayeredConnectionSocketFactory layeredDelegate;
+
+        private Layered(LayeredConnectionSocketFactory delegate, CachingDnsResolver resolver) {
+            super(delegate, resolver);
+            this.layeredDelegate = delegate;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+                throws IOException {
+            return layeredDelegate.createLayeredSocket(socket, target, port, context);
+        }
+    }
+}
@@ -19,6 +19,8 @@ import com.amazonaws.internal.SdkSSLMetricsSocket;
 import com.amazonaws.internal.SdkSSLSocket;
 import com.amazonaws.internal.SdkSocket;
 import com.amazonaws.metrics.AwsSdkMetrics;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
 import com.amazonaws.util.JavaVersionParser;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -42,7 +44,8 @@ import java.util.Enumeration;
 import java.util.List;
 
 /**
- * Used to enforce the preferred TLS protocol during SSL handshake.
+ * Used to enforce the preferred TLS protocol and cipher suites during SSL
+ * handshake, and to capture the handshake latency.
  */
 @ThreadSafe
 public class SdkTLSSocketFactory extends SSLConnectionSocketFactory {
@@ -51,8 +54,19 @@ public class SdkTLSSocketFactory extends SSLConnectionSocketFactory {
     private final SSLContext sslContext;
     private final MasterSecretValidators.MasterSecretValidator masterSecretValidator;
     private final ShouldClearSslSessionPredicate shouldClearSslSessionsPredicate;
+    private final List<String> preferredCipherSuites;
 
     public SdkTLSSocketFactory(final SSLContext sslContext, final HostnameVerifier hostnameVerifier) {
+        this(sslContext, hostnameVerifier, null);
+    }
+
+    /**
+     * @param preferredCipherSuites
+     *            The cipher suites to offer first, in descending order of
+     *            preference; or null to keep the order of the JVM.
+     */
+    public SdkTLSSocketFactory(final SSLContext sslContext, final HostnameVerifier hostnameVerifier,
+                               final List<String> preferredCipherSuites) {
         super(sslContext, hostnameVerifier);
         if (sslContext == null) {
             throw new IllegalArgumentException(
@@ -61,6 +75,7 @@ public class SdkTLSSocketFactory extends SSLConnectionSocketFactory {
         this.sslContext = sslContext;
         this.masterSecretValidator = MasterSecretValidators.getMasterSecretValidator();
         this.shouldClearSslSessionsPredicate = new ShouldClearSslSessionPredicate(JavaVersionParser.getCurrentJavaVersion());
+        this.preferredCipherSuites = preferredCipherSuites;
     }
 
     /**
@@ -102,6 +117,53 @@ public class SdkTLSSocketFactory extends SSLConnectionSocketFactory {
                 LOG.debug("TLS protocol enabled for SSL handshake: " + Arrays.toString(enabling));
             }
         }
+        if (preferredCipherSuites != null) {
+            String[] suites = TLSCipherSuites.order(preferredCipherSuites,
+                    socket.getSupportedCipherSuites(), socket.getEnabledCipherSuites());
+            if (suites != null) {
+                socket.setEnabledCipherSuites(suites);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("TLS cipher suites enabled for SSL handshake: " + Arrays.toString(suites));
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc} Captures the latency of the SSL handshake, and whether it
+     * resumed a cached session, in the request metrics.
+     */
+    @Override
+    public Socket createLayeredSocket(
+            final Socket socket,
+            final String target,
+            final int port,
+            final HttpContext context) throws IOException {
+        AWSRequestMetrics awsRequestMetrics = context == null ? null : (AWSRequestMetrics) context
+                .getAttribute(AWSRequestMetrics.class.getSimpleName());
+        if (awsRequestMetrics == null) {
+            return super.createLayeredSocket(socket, target, port, context);
+        }
+        final long handshakeStart = System.currentTimeMillis();
+        final Socket layeredSocket;
+        awsRequestMetrics.startEvent(Field.HttpClientTlsHandshakeTime);
+        try {
+            layeredSocket = super.createLayeredSocket(socket, target, port, context);
+        } finally {
+            awsRequestMetrics.endEvent(Field.HttpClientTlsHandshakeTime);
+        }
+        if (layeredSocket instanceof SSLSocket && isResumed(((SSLSocket) layeredSocket).getSession(), handshakeStart)) {
+            awsRequestMetrics.incrementCounter(Field.HttpClientTlsSessionResumedCount);
+        }
+        return layeredSocket;
+    }
+
+    /**
+     * Returns true if the given session was created before the handshake
+     * started, that is if the handshake resumed a cached session.
+     */
+    static boolean isResumed(SSLSession session, long handshakeStart) {
+        return session != null && session.isValid() && session.getCreationTime() < handshakeStart;
     }
 
     /**
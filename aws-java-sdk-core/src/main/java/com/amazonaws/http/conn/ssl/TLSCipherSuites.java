@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn.ssl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TLS cipher suites that can be preferred in the TLS handshake with
+ * {@link com.amazonaws.ClientConfiguration#setTlsCipherSuites(java.util.Collection)}.
+ * See <a href=
+ * "http://docs.oracle.com/javase/8/docs/technotes/guides/security/StandardNames.html#ciphersuites"
+ * >JSSE Standard Names</a>.
+ */
+public final class TLSCipherSuites {
+
+    /**
+     * The AES-GCM cipher suites, forward secret ones first. AES-GCM encrypts
+     * and authenticates in one pass and is accelerated by the AES and carry-less
+     * multiplication instructions of current processors, which makes it the
+     * cheapest choice for bulk transfers.
+     */
+    public static final List<String> AES_GCM_PREFERRED = Collections.unmodifiableList(Arrays.asList(
+            "TLS_AES_128_GCM_SHA256",
+            "TLS_AES_256_GCM_SHA384",
+            "TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256",
+            "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256",
+            "TLS_ECDHE_ECDSA_WITH_AES_256_GCM_SHA384",
+            "TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384",
+            "TLS_DHE_RSA_WITH_AES_128_GCM_SHA256",
+            "TLS_DHE_RSA_WITH_AES_256_GCM_SHA384",
+            "TLS_RSA_WITH_AES_128_GCM_SHA256",
+            "TLS_RSA_WITH_AES_256_GCM_SHA384"));
+
+    private TLSCipherSuites() {
+    }
+
+    /**
+     * Returns the cipher suites to enable: the preferred suites which are
+     * supported, in the given order, followed by the already enabled suites
+     * which aren't preferred; or null if there are none.
+     *
+     * @param preferred
+     *            The preferred cipher suites, in descending order of preference.
+     * @param supported
+     *            The cipher suites supported by the socket or engine.
+     * @param enabled
+     *            The cipher suites currently enabled on the socket or engine.
+     */
+    public static String[] order(List<String> preferred, String[] supported, String[] enabled) {
+        List<String> target = new ArrayList<String>();
+        if (preferred != null && supported != null) {
+            List<String> supportedList = Arrays.asList(supported);
+            for (String suite : preferred) {
+                if (supportedList.contains(suite) && !target.contains(suite)) {
+                    target.add(suite);
+                }
+            }
+        }
+        if (enabled != null) {
+            for (String suite : enabled) {
+                if (!target.contains(suite)) {
+                    target.add(suite);
+                }
+            }
+        }
+        return target.isEmpty() ? null : target.toArray(new String[target.size()]);
+    }
+}
@@ -23,6 +23,7 @@ import com.amazonaws.util.ValidationUtils;
 import java.net.InetAddress;
 import java.security.SecureRandom;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -87,6 +88,10 @@ public class HttpClientSettings {
         return config.useReaper();
     }
 
+    public int getMinWarmConnections() {
+        return config.getMinWarmConnections();
+    }
+
     public boolean useGzip() {
         return config.useGzip();
     }
@@ -115,6 +120,18 @@ public class HttpClientSettings {
         return config.getSecureRandom();
     }
 
+    public int getTlsSessionCacheSize() {
+        return config.getTlsSessionCacheSize();
+    }
+
+    public int getTlsSessionTimeout() {
+        return config.getTlsSessionTimeout();
+    }
+
+    public List<String> getTlsCipherSuites() {
+        return config.getTlsCipherSuites();
+    }
+
     public int getConnectionTimeout() {
         return config.getConnectionTimeout();
     }
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.timers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A timer for the request timeout and client execution timeout features that
+ * keeps its timeouts in a wheel of buckets, one per tick, instead of the heap
+ * ordered queue of a {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ * Scheduling and canceling a timeout are O(1) and never block: both only add
+ * the timeout to a concurrent queue, which the single ticker thread drains into
+ * (or out of) the wheel at the next tick.
+ * <p>
+ * Timeouts expire up to one tick late, and expired tasks run on the ticker
+ * thread, so they must be short; aborting a request or interrupting a thread
+ * is.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class HashedWheelTimer {
+
+    private static final Log LOG = LogFactory.getLog(HashedWheelTimer.class);
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    /**
+     * Maximum number of newly scheduled timeouts added to the wheel per tick,
+     * so a burst of scheduling can't delay the expiry of the current bucket
+     * indefinitely.
+     */
+    private static final int MAX_TIMEOUTS_ADDED_PER_TICK = 100000;
+
+    private static final class SharedTimerHolder {
+        static final HashedWheelTimer SHARED_TIMER = new HashedWheelTimer(DEFAULT_TICK_MILLIS,
+                DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<Timeout>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<Timeout>();
+    private final Thread ticker;
+    private final long startTime;
+
+    /** Number of ticks elapsed, only accessed by the ticker thread. */
+    private long tick;
+
+    /**
+     * @param tickMillis
+     *            The duration of a tick, which is the precision of the timer.
+     * @param ticksPerWheel
+     *            The number of buckets of the wheel, rounded up to a power of
+     *            two.
+     */
+    @SdkTestInternalApi
+    HashedWheelTimer(long tickMillis, int ticksPerWheel) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30: " + ticksPerWheel);
+        }
+        int wheelSize = Integer.highestOneBit(ticksPerWheel);
+        if (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.startTime = System.nanoTime();
+        this.ticker = new Thread(new Ticker(), "aws-sdk-timeout-timer");
+        ticker.setDaemon(true);
+        ticker.setPriority(Thread.MAX_PRIORITY);
+        ticker.start();
+    }
+
+    /**
+     * Returns the timer shared by all the clients; its ticker thread is a
+     * daemon thread started on first use.
+     */
+    public static HashedWheelTimer getSharedTimer() {
+        return SharedTimerHolder.SHARED_TIMER;
+    }
+
+    /**
+     * Schedules the task to run once the delay has elapsed.
+     *
+     * @param task
+     *            The task to run on the ticker thread.
+     * @param delayMillis
+     *            The delay after which the task is run.
+     * @return The timeout, which can be canceled to prevent the task from
+     *         running.
+     */
+    public Timeout newTimeout(Runnable task, long delayMillis) {
+        Timeout timeout = new Timeout(task,
+                System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delayMillis));
+        pendingTimeouts.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of timeouts scheduled and neither expired nor
+     * canceled, once the ticker thread has caught up with the last scheduled
+     * and canceled timeouts.
+     */
+    @SdkTestInternalApi
+    int getScheduledTimeoutCount() {
+        int count = 0;
+        for (Timeout timeout : pendingTimeouts) {
+            if (!timeout.isCancelled()) {
+                count++;
+            }
+        }
+        for (Bucket bucket : wheel) {
+            synchronized (bucket) {
+                count += bucket.size;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A task scheduled on the timer. Canceling it is O(1); the ticker thread
+     * removes it from the wheel at its next tick.
+     */
+    public final class Timeout extends FutureTask<Void> {
+        private final long deadline;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            super(task, null);
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                cancelledTimeouts.offer(this);
+            }
+        }
+    }
+
+    /**
+     * The timeouts expiring during one tick of the wheel, in a doubly linked
+     * list so a canceled timeout is removed in constant time. Only the ticker
+     * thread modifies a bucket; the lock only makes the size visible to
+     * {@link HashedWheelTimer#getScheduledTimeoutCount()}.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+        private int size;
+
+        synchronized void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+            size++;
+        }
+
+        synchronized Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            size--;
+            return next;
+        }
+
+        /**
+         * Runs the timeouts whose deadline has passed, and counts down the
+         * remaining rounds of the others.
+         */
+        void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    Timeout next = remove(timeout);
+                    timeout.run();
+                    timeout = next;
+                } else {
+                    if (timeout.remainingRounds > 0) {
+                        timeout.remainingRounds--;
+                    }
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+
+    private final class Ticker implements Runnable {
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    long deadline = waitForNextTick();
+                    removeCancelledTimeouts();
+                    addPendingTimeouts();
+                    wheel[(int) (tick & mask)].expireTimeouts(deadline);
+                    tick++;
+                } catch (Throwable t) {
+                    LOG.warn("Unexpected error in the timeout timer", t);
+                }
+            }
+        }
+
+        /**
+         * Sleeps until the end of the current tick and returns its deadline,
+         * relative to the start time of the timer.
+         */
+        private long waitForNextTick() {
+            long deadline = tickNanos * (tick + 1);
+            while (true) {
+                long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - (System.nanoTime() - startTime) + 999999);
+                if (sleepMillis <= 0) {
+                    return deadline;
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException ignored) {
+                    // The ticker thread is never interrupted on purpose, keep ticking
+                }
+            }
+        }
+
+        private void removeCancelledTimeouts() {
+            Timeout timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+
+        private void addPendingTimeouts() {
+            for (int i = 0; i < MAX_TIMEOUTS_ADDED_PER_TICK; i++) {
+                Timeout timeout = pendingTimeouts.poll();
+                if (timeout == null) {
+                    return;
+                }
+                if (timeout.isCancelled()) {
+                    continue;
+                }
+                long expiryTick = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+                // Timeouts already past their deadline expire at the current tick
+                wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@
  */
 package com.amazonaws.http.timers.client;
 
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 
 import org.apache.http.client.methods.HttpRequestBase;
@@ -28,9 +29,13 @@ import com.amazonaws.util.ValidationUtils;
 public class ClientExecutionAbortTrackerTaskImpl implements ClientExecutionAbortTrackerTask {
 
     private final ClientExecutionAbortTask task;
-    private final ScheduledFuture<?> future;
+    private final Future<?> future;
 
     public ClientExecutionAbortTrackerTaskImpl(final ClientExecutionAbortTask task, final ScheduledFuture<?> future) {
+        this(task, (Future<?>) future);
+    }
+
+    public ClientExecutionAbortTrackerTaskImpl(final ClientExecutionAbortTask task, final Future<?> future) {
         this.task = ValidationUtils.assertNotNull(task, "task");
         this.future = ValidationUtils.assertNotNull(future, "future");
     }
@@ -22,6 +22,7 @@ import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.annotation.SdkTestInternalApi;
 import com.amazonaws.annotation.ThreadSafe;
 import com.amazonaws.http.AmazonHttpClient;
+import com.amazonaws.http.timers.HashedWheelTimer;
 import com.amazonaws.http.timers.TimeoutThreadPoolBuilder;
 
 /**
@@ -35,6 +36,21 @@ public class ClientExecutionTimer {
 
     private volatile ScheduledThreadPoolExecutor executor;
 
+    private final HashedWheelTimer wheelTimer;
+
+    public ClientExecutionTimer() {
+        this(null);
+    }
+
+    /**
+     * @param wheelTimer
+     *            The timer to schedule the abort tasks on, instead of a thread pool owned by this
+     *            timer; may be null.
+     */
+    public ClientExecutionTimer(HashedWheelTimer wheelTimer) {
+        this.wheelTimer = wheelTimer;
+    }
+
     /**
      * Start the timer with the specified timeout and return a object that can be used to track the
      * state of the timer and cancel it if need be.
@@ -48,6 +64,10 @@ public class ClientExecutionTimer {
     public ClientExecutionAbortTrackerTask startTimer(int clientExecutionTimeoutMillis) {
         if (isTimeoutDisabled(clientExecutionTimeoutMillis)) {
             return NoOpClientExecutionAbortTrackerTask.INSTANCE;
+        } else if (wheelTimer != null) {
+            ClientExecutionAbortTask timerTask = new ClientExecutionAbortTaskImpl(Thread.currentThread());
+            return new ClientExecutionAbortTrackerTaskImpl(timerTask,
+                    wheelTimer.newTimeout(timerTask, clientExecutionTimeoutMillis));
         } else if (executor == null) {
             initializeExecutor();
         }
@@ -27,9 +27,13 @@ import com.amazonaws.util.ValidationUtils;
 public class HttpRequestAbortTaskTrackerImpl implements HttpRequestAbortTaskTracker {
 
     private final HttpRequestAbortTask task;
-    private final ScheduledFuture<?> future;
+    private final Future<?> future;
 
     public HttpRequestAbortTaskTrackerImpl(final HttpRequestAbortTask task, final ScheduledFuture<?> future) {
+        this(task, (Future<?>) future);
+    }
+
+    public HttpRequestAbortTaskTrackerImpl(final HttpRequestAbortTask task, final Future<?> future) {
         this.task = ValidationUtils.assertNotNull(task, "task");
         this.future = ValidationUtils.assertNotNull(future, "future");
     }
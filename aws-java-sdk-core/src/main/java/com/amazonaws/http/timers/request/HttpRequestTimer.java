@@ -23,6 +23,7 @@ import org.apache.http.client.methods.HttpRequestBase;
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.annotation.SdkTestInternalApi;
 import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.http.timers.HashedWheelTimer;
 import com.amazonaws.http.timers.TimeoutThreadPoolBuilder;
 
 /**
@@ -34,6 +35,21 @@ public class HttpRequestTimer {
 
     private volatile ScheduledThreadPoolExecutor executor;
 
+    private final HashedWheelTimer wheelTimer;
+
+    public HttpRequestTimer() {
+        this(null);
+    }
+
+    /**
+     * @param wheelTimer
+     *            The timer to schedule the abort tasks on, instead of a thread pool owned by this
+     *            timer; may be null.
+     */
+    public HttpRequestTimer(HashedWheelTimer wheelTimer) {
+        this.wheelTimer = wheelTimer;
+    }
+
     /**
      * Start the timer with the specified timeout and return a object that can be used to track the
      * state of the timer and cancel it if need be.
@@ -49,10 +65,13 @@ public class HttpRequestTimer {
     public HttpRequestAbortTaskTracker startTimer(final HttpRequestBase apacheRequest, final int requestTimeoutMillis) {
         if (isTimeoutDisabled(requestTimeoutMillis)) {
             return NoOpHttpRequestAbortTaskTracker.INSTANCE;
+        }
+        HttpRequestAbortTaskImpl timerTask = new HttpRequestAbortTaskImpl(apacheRequest);
+        if (wheelTimer != null) {
+            return new HttpRequestAbortTaskTrackerImpl(timerTask, wheelTimer.newTimeout(timerTask, requestTimeoutMillis));
         } else if (executor == null) {
             initializeExecutor();
         }
-        HttpRequestAbortTaskImpl timerTask = new HttpRequestAbortTaskImpl(apacheRequest);
         ScheduledFuture<?> timerTaskFuture = executor.schedule(timerTask, requestTimeoutMillis, TimeUnit.MILLISECONDS);
         return new HttpRequestAbortTaskTrackerImpl(timerTask, timerTaskFuture);
     }
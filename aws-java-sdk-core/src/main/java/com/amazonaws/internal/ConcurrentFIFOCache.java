@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A bounded cache that evicts its earliest added entries when full, like
+ * {@link FIFOCache}, but without any locking: reads are a plain
+ * {@link ConcurrentHashMap} lookup, and only the addition of a new key touches
+ * the insertion order queue.
+ * <p>
+ * Eviction order is exact for a single writer and approximate when writers
+ * race; the cache may briefly hold slightly more than its maximum number of
+ * entries while an addition is evicting.
+ *
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ */
+@ThreadSafe
+public final class ConcurrentFIFOCache<K, V> {
+    private final ConcurrentHashMap<K, V> map;
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<K>();
+    private final int maxSize;
+
+    /**
+     * @param maxSize
+     *            the maximum number of entries of the cache
+     */
+    public ConcurrentFIFOCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize " + maxSize
+                    + " must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<K, V>(maxSize * 4 / 3 + 1);
+    }
+
+    /**
+     * Adds an entry to the cache, evicting the earliest entries if necessary.
+     * Replacing the value of an existing key does not change its position in
+     * the eviction order.
+     */
+    public V add(K key, V value) {
+        V previous = map.put(key, value);
+        if (previous == null) {
+            insertionOrder.offer(key);
+            while (map.size() > maxSize) {
+                K eldest = insertionOrder.poll();
+                if (eldest == null) {
+                    break;
+                }
+                map.remove(eldest);
+            }
+        }
+        return previous;
+    }
+
+    /** Returns the value of the given key; or null of no such entry exists. */
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * Returns the current size of the cache.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the maximum size of the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
@@ -18,6 +18,7 @@ import org.apache.http.conn.ssl.SSLContexts;
 import org.apache.http.conn.ssl.SSLInitializationException;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -28,10 +29,37 @@ public class SdkSSLContext {
      * @see SSLContexts#createDefault()
      */
     public static final SSLContext getPreferredSSLContext(final SecureRandom secureRandom) {
+        return getPreferredSSLContext(secureRandom, -1, -1);
+    }
+
+    /**
+     * Returns the preferred SSL context, with its client session cache sized
+     * so that new connections resume cached TLS sessions.
+     *
+     * @param sessionCacheSize
+     *            The number of client sessions cached; zero for no limit, or
+     *            negative to keep the JVM default.
+     * @param sessionTimeout
+     *            The time, in seconds, a cached session can be resumed for;
+     *            zero for no limit, or negative to keep the JVM default.
+     * @see javax.net.ssl.SSLSessionContext
+     */
+    public static final SSLContext getPreferredSSLContext(final SecureRandom secureRandom,
+                                                          final int sessionCacheSize,
+                                                          final int sessionTimeout) {
         try {
             final SSLContext sslcontext = SSLContext.getInstance("TLS");
             // http://download.java.net/jdk9/docs/technotes/guides/security/jsse/JSSERefGuide.html
             sslcontext.init(null, null, secureRandom);
+            final SSLSessionContext sessionContext = sslcontext.getClientSessionContext();
+            if (sessionContext != null) {
+                if (sessionCacheSize >= 0) {
+                    sessionContext.setSessionCacheSize(sessionCacheSize);
+                }
+                if (sessionTimeout >= 0) {
+                    sessionContext.setSessionTimeout(sessionTimeout);
+                }
+            }
             return sslcontext;
         } catch (final NoSuchAlgorithmException ex) {
             throw new SSLInitializationException(ex.getMessage(), ex);
@@ -245,6 +245,11 @@ public enum AwsSdkMetrics {
      */
     private static volatile boolean httpSocketReadMetricEnabled;
 
+    /**
+     * The in-process latency histograms of requests; or null if disabled.
+     */
+    private static volatile RequestLatencyHistograms latencyHistograms;
+
     private static volatile Regions region;
     private static volatile Integer metricQueueSize;
     private static volatile Long queuePollTimeoutMilli;
@@ -593,6 +598,44 @@ public enum AwsSdkMetrics {
         return httpSocketReadMetricEnabled;
     }
 
+    /**
+     * Starts aggregating the latencies of the requests of all clients into
+     * histograms per service and operation, which are read via
+     * {@link #getLatencyHistograms()} or the admin MBean. Request metrics are
+     * captured for every request while enabled, even without a metric
+     * collector.
+     */
+    public static synchronized void enableLatencyHistograms() {
+        if (latencyHistograms == null) {
+            latencyHistograms = new RequestLatencyHistograms();
+        }
+    }
+
+    /**
+     * Stops aggregating the latencies of requests, discarding the histograms.
+     */
+    public static synchronized void disableLatencyHistograms() {
+        latencyHistograms = null;
+    }
+
+    /**
+     * Returns true if the latencies of requests are aggregated into
+     * histograms; false otherwise.
+     */
+    public static boolean isLatencyHistogramsEnabled() {
+        return latencyHistograms != null;
+    }
+
+    /**
+     * Returns the latency histograms of requests; or null if they are
+     * disabled.
+     *
+     * @see #enableLatencyHistograms()
+     */
+    public static RequestLatencyHistograms getLatencyHistograms() {
+        return latencyHistograms;
+    }
+
     /**
      * Starts the default AWS SDK metric collector, but
      * only if no metric collector is currently in use at the AWS SDK
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A histogram of latencies with a bounded relative error, in the style of an
+ * HDR histogram: values are counted into buckets whose width doubles with
+ * every power of two, each split into {@value #SUB_BUCKET_COUNT} sub-buckets,
+ * so a value is reported within about 1.6% of its recorded value.
+ * <p>
+ * Values are recorded without locking by incrementing the count of their
+ * bucket. A percentile is computed from the counts when it is asked for, and
+ * isn't an atomic snapshot of the values recorded concurrently.
+ */
+@ThreadSafe
+public class LatencyHistogram {
+
+    /** The number of sub-buckets each power of two is split into. */
+    static final int SUB_BUCKET_COUNT = 64;
+    private static final int SUB_BUCKET_BITS = 6;
+
+    /**
+     * The largest value tracked; larger values are counted as this value.
+     * With microseconds, this is about 19 hours.
+     */
+    public static final long MAX_TRACKABLE_VALUE = (1L << 36) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_TRACKABLE_VALUE) + 1);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value, counting negative values as zero.
+     */
+    public void record(long value) {
+        final long trackable = Math.min(Math.max(value, 0), MAX_TRACKABLE_VALUE);
+        counts.incrementAndGet(indexOf(trackable));
+        totalCount.incrementAndGet();
+        long currentMax;
+        while (trackable > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, trackable)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values recorded.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the largest value recorded; or zero if none has been recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value at the given percentile of the recorded values, as the
+     * highest value counted in the same bucket; or zero if no value has been
+     * recorded.
+     *
+     * @param percentile
+     *            The percentile, between 0 exclusive and 100 inclusive.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be in (0, 100]: " + percentile);
+        }
+        final int length = counts.length();
+        final long[] snapshot = new long[length];
+        long total = 0;
+        for (int i = 0; i < length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max((long) Math.ceil(percentile / 100 * total), 1);
+        long seen = 0;
+        for (int i = 0; i < length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount()
+                + ", p50=" + getValueAtPercentile(50)
+                + ", p99=" + getValueAtPercentile(99)
+                + ", p999=" + getValueAtPercentile(99.9)
+                + ", max=" + getMax();
+    }
+
+    /**
+     * Returns the index of the bucket of the given value: values below twice
+     * the sub-bucket count have a bucket each, and every power of two above
+     * is split into {@value #SUB_BUCKET_COUNT} buckets.
+     */
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the highest value counted in the bucket of the given index.
+     */
+    static long highestValueOf(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -16,8 +16,12 @@ package com.amazonaws.metrics;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import com.amazonaws.regions.Regions;
+import com.amazonaws.util.AWSRequestMetrics.Field;
 
 /**
  *  Administration of AwsSdkMetrics as an MBean.
@@ -144,4 +148,47 @@ public class MetricAdmin implements MetricAdminMBean {
     public void setSingleMetricNamespace(boolean singleMetricNamespace) {
         AwsSdkMetrics.setSingleMetricNamespace(singleMetricNamespace);
     }
+    @Override
+    public boolean isLatencyHistogramsEnabled() {
+        return AwsSdkMetrics.isLatencyHistogramsEnabled();
+    }
+    @Override
+    public void setLatencyHistogramsEnabled(boolean latencyHistogramsEnabled) {
+        if (latencyHistogramsEnabled)
+            AwsSdkMetrics.enableLatencyHistograms();
+        else
+            AwsSdkMetrics.disableLatencyHistograms();
+    }
+    @Override
+    public String[] getLatencyHistograms() {
+        RequestLatencyHistograms histograms = AwsSdkMetrics.getLatencyHistograms();
+        if (histograms == null)
+            return new String[0];
+        List<String> lines = new ArrayList<String>();
+        for (OperationLatencyHistograms operation : histograms.getOperationLatencyHistograms()) {
+            for (Field field : RequestLatencyHistograms.RECORDED_FIELDS) {
+                LatencyHistogram histogram = operation.getHistogram(field);
+                if (histogram.getCount() > 0) {
+                    lines.add(operation.getServiceName() + " " + operation.getOperationName() + " " + field
+                            + ": count=" + histogram.getCount()
+                            + ", p50=" + millisOf(histogram.getValueAtPercentile(50))
+                            + ", p99=" + millisOf(histogram.getValueAtPercentile(99))
+                            + ", p999=" + millisOf(histogram.getValueAtPercentile(99.9))
+                            + ", max=" + millisOf(histogram.getMax()));
+                }
+            }
+        }
+        Collections.sort(lines);
+        return lines.toArray(new String[lines.size()]);
+    }
+    @Override
+    public void resetLatencyHistograms() {
+        RequestLatencyHistograms histograms = AwsSdkMetrics.getLatencyHistograms();
+        if (histograms != null)
+            histograms.reset();
+    }
+
+    private static double millisOf(long micros) {
+        return micros / 1000.0;
+    }
 }
\ No newline at end of file
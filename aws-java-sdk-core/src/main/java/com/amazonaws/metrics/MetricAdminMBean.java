@@ -184,4 +184,28 @@ public interface MetricAdminMBean {
      * Used to set whether a single metric name space is to be used.
      */
     public void setSingleMetricNamespace(boolean singleMetricNamespace);
+
+    /**
+     * Returns true if the latencies of requests are aggregated into histograms
+     * per service and operation; false otherwise.
+     */
+    public boolean isLatencyHistogramsEnabled();
+
+    /**
+     * Used to set whether the latencies of requests are aggregated into
+     * histograms per service and operation.
+     */
+    public void setLatencyHistogramsEnabled(boolean latencyHistogramsEnabled);
+
+    /**
+     * Returns one line per service, operation and latency histogram, with the
+     * number of latencies recorded and their p50, p99, p999 and max in
+     * milliseconds; or an empty array if the latency histograms are disabled.
+     */
+    public String[] getLatencyHistograms();
+
+    /**
+     * Discards the latencies aggregated so far.
+     */
+    public void resetLatencyHistograms();
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.TimingInfo;
+
+/**
+ * The latency histograms of an operation of a service, one per field of
+ * {@link RequestLatencyHistograms#RECORDED_FIELDS}, in microseconds.
+ */
+@ThreadSafe
+public class OperationLatencyHistograms {
+    private final String serviceName;
+    private final String operationName;
+    private final LatencyHistogram[] histograms =
+            new LatencyHistogram[RequestLatencyHistograms.RECORDED_FIELDS.size()];
+
+    OperationLatencyHistograms(String serviceName, String operationName) {
+        this.serviceName = serviceName;
+        this.operationName = operationName;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the name of the service, as returned by
+     * {@link com.amazonaws.Request#getServiceName()}.
+     */
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    /**
+     * Returns the name of the operation, the simple name of its request class
+     * without the "Request" suffix.
+     */
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * Returns the histogram of the given field in microseconds; or null if the
+     * field isn't one of {@link RequestLatencyHistograms#RECORDED_FIELDS}.
+     */
+    public LatencyHistogram getHistogram(Field field) {
+        final int index = RequestLatencyHistograms.RECORDED_FIELDS.indexOf(field);
+        return index < 0 ? null : histograms[index];
+    }
+
+    /**
+     * Records the measurements of the recorded fields in the given timing info.
+     */
+    void record(TimingInfo timingInfo) {
+        for (int i = 0; i < histograms.length; i++) {
+            final List<TimingInfo> timings = timingInfo.getAllSubMeasurements(
+                    RequestLatencyHistograms.RECORDED_FIELDS.get(i).name());
+            if (timings == null) {
+                continue;
+            }
+            for (TimingInfo timing : timings) {
+                if (timing.isEndTimeKnown()) {
+                    histograms[i].record(TimeUnit.NANOSECONDS.toMicros(
+                            timing.getEndTimeNano() - timing.getStartTimeNano()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.Request;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+
+/**
+ * Aggregates the latencies of requests in process into
+ * {@link LatencyHistogram}s per service and operation, so their percentiles
+ * can be read without shipping every measurement to a metric collector.
+ *
+ * @see AwsSdkMetrics#enableLatencyHistograms()
+ */
+@ThreadSafe
+public class RequestLatencyHistograms {
+    /** The fields whose latencies are recorded. */
+    public static final List<Field> RECORDED_FIELDS = Collections.unmodifiableList(Arrays.asList(
+            Field.ClientExecuteTime,
+            Field.HttpRequestTime,
+            Field.RequestSigningTime,
+            Field.ResponseProcessingTime));
+
+    private static final String REQUEST_SUFFIX = "Request";
+
+    /* Keyed by service name, then by request class to avoid building the operation name per request. */
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, OperationLatencyHistograms>> histogramsByService =
+            new ConcurrentHashMap<String, ConcurrentMap<Class<?>, OperationLatencyHistograms>>();
+
+    /**
+     * Records the latencies measured by the metrics of the given completed
+     * request.
+     */
+    public void collect(Request<?> request) {
+        final AWSRequestMetrics metrics = request.getAWSRequestMetrics();
+        final String serviceName = request.getServiceName();
+        if (metrics == null || !metrics.isEnabled() || serviceName == null) {
+            return;
+        }
+        histogramsOf(serviceName, request.getOriginalRequest().getClass()).record(metrics.getTimingInfo());
+    }
+
+    /**
+     * Returns the latency histograms of every operation recorded so far.
+     */
+    public List<OperationLatencyHistograms> getOperationLatencyHistograms() {
+        final List<OperationLatencyHistograms> all = new ArrayList<OperationLatencyHistograms>();
+        for (ConcurrentMap<Class<?>, OperationLatencyHistograms> operations : histogramsByService.values()) {
+            all.addAll(operations.values());
+        }
+        return all;
+    }
+
+    /**
+     * Returns the latency histograms of the given operation of the given
+     * service; or null if none of its latencies has been recorded.
+     *
+     * @param serviceName
+     *            The service name, as returned by {@link Request#getServiceName()}.
+     * @param operationName
+     *            The operation name, such as "GetObject".
+     */
+    public OperationLatencyHistograms getOperationLatencyHistograms(String serviceName, String operationName) {
+        final ConcurrentMap<Class<?>, OperationLatencyHistograms> operations = histogramsByService.get(serviceName);
+        if (operations == null) {
+            return null;
+        }
+        for (OperationLatencyHistograms histograms : operations.values()) {
+            if (histograms.getOperationName().equals(operationName)) {
+                return histograms;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Discards all the latencies recorded so far.
+     */
+    public void reset() {
+        histogramsByService.clear();
+    }
+
+    private OperationLatencyHistograms histogramsOf(String serviceName, Class<?> requestClass) {
+        ConcurrentMap<Class<?>, OperationLatencyHistograms> operations = histogramsByService.get(serviceName);
+        if (operations == null) {
+            final ConcurrentMap<Class<?>, OperationLatencyHistograms> created =
+                    new ConcurrentHashMap<Class<?>, OperationLatencyHistograms>();
+            operations = histogramsByService.putIfAbsent(serviceName, created);
+            if (operations == null) {
+                operations = created;
+            }
+        }
+        OperationLatencyHistograms histograms = operations.get(requestClass);
+        if (histograms == null) {
+            final OperationLatencyHistograms created =
+                    new OperationLatencyHistograms(serviceName, operationNameOf(requestClass));
+            histograms = operations.putIfAbsent(requestClass, created);
+            if (histograms == null) {
+                histograms = created;
+            }
+        }
+        return histograms;
+    }
+
+    private static String operationNameOf(Class<?> requestClass) {
+        if (requestClass.isAnonymousClass() || requestClass == AmazonWebServiceRequest.class) {
+            return AmazonWebServiceRequest.class.getSimpleName();
+        }
+        final String name = requestClass.getSimpleName();
+        return name.endsWith(REQUEST_SUFFIX) && name.length() > REQUEST_SUFFIX.length()
+                ? name.substring(0, name.length() - REQUEST_SUFFIX.length())
+                : name;
+    }
+}
@@ -59,6 +59,12 @@
  * to get sent to AWS. Captured on a per request type level.</li>
  * <li>HttpClientReceiveResponseTime - Number of milliseconds taken for a physical response
  * to get received from AWS. Captured on a per request type level.</li>
+ * <li>HttpClientTlsHandshakeTime - Number of milliseconds taken for the SSL
+ * handshake of a new connection. Only recorded in the AWSRequestMetrics of a
+ * request, and not uploaded to Amazon CloudWatch.</li>
+ * <li>HttpClientTlsSessionResumedCount - Number of SSL handshakes which resumed
+ * a cached TLS session. Only recorded in the AWSRequestMetrics of a request,
+ * and not uploaded to Amazon CloudWatch.</li>
  * <li>HttpClientRetryCount - Number of retries per physical request. Captured on a per service 
  * client type level. </li>
  * <li>RequestCount - Number of logical requests. Captured on a per service 
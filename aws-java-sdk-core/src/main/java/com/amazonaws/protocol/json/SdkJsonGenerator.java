@@ -17,13 +17,14 @@ package com.amazonaws.protocol.json;
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.protocol.json.StructuredJsonGenerator;
-import com.amazonaws.util.BinaryUtils;
 import com.amazonaws.util.DateUtils;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -51,7 +52,7 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         }
     }
 
-    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    private final ContentOutputStream baos = new ContentOutputStream(DEFAULT_BUFFER_SIZE);
 
     private final JsonGenerator generator;
 
@@ -193,7 +194,14 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
     @Override
     public StructuredJsonGenerator writeValue(ByteBuffer bytes) {
         try {
-            generator.writeBinary(BinaryUtils.copyBytesFrom(bytes));
+            if (bytes.hasArray()) {
+                // Encode the caller's bytes in place rather than a copy of them
+                generator.writeBinary(bytes.array(), bytes.arrayOffset() + bytes.position(),
+                        bytes.remaining());
+            } else {
+                // Direct or read-only buffer, encoded in chunks through the generator's buffer
+                generator.writeBinary(new ByteBufferInputStream(bytes.duplicate()), bytes.remaining());
+            }
         } catch (IOException e) {
             throw new JsonGenerationException(e);
         }
@@ -255,6 +263,28 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         return baos.toByteArray();
     }
 
+    /**
+     * Get the JSON content as a stream that reads the generator's buffer in place, instead of the
+     * copy returned by {@link #getBytes()}. The stream supports mark and reset, so the request can
+     * be signed and retried from it.
+     *
+     * @return Stream of the UTF-8 encoded bytes that make up the generated JSON.
+     */
+    @Override
+    public InputStream getContentStream() {
+        close();
+        return baos.toInputStream();
+    }
+
+    /**
+     * @return The number of bytes of the generated JSON.
+     */
+    @Override
+    public int getContentLength() {
+        close();
+        return baos.size();
+    }
+
     @Override
     public String getContentType() {
         return contentType;
@@ -263,4 +293,45 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
     protected JsonGenerator getGenerator() {
         return generator;
     }
+
+    /**
+     * Output stream whose buffer can be read without copying it once the generator is closed.
+     */
+    private static final class ContentOutputStream extends ByteArrayOutputStream {
+
+        ContentOutputStream(int size) {
+            super(size);
+        }
+
+        ByteArrayInputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    /**
+     * Reads a ByteBuffer without an accessible array, from its position to its limit.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+    }
 }
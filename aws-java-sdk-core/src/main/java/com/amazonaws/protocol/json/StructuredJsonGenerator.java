@@ -19,6 +19,7 @@ package com.amazonaws.protocol.json;
 
 import com.amazonaws.annotation.SdkProtectedApi;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -64,5 +65,16 @@ public interface StructuredJsonGenerator {
 
     byte[] getBytes();
 
+    /**
+     * Returns the generated content as a stream over the generator's buffer, without copying it;
+     * the stream supports mark and reset.
+     */
+    InputStream getContentStream();
+
+    /**
+     * Returns the length in bytes of the generated content.
+     */
+    int getContentLength();
+
     String getContentType();
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2010-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pre-compiled form of the psuedo-xpath expressions understood by
+ * {@link StaxUnmarshallerContext#testExpression(String, int)}.
+ * <p>
+ * Expressions are split into their element and attribute names once, and the
+ * names are interned so that matching against the element names reported by
+ * the StAX parser is usually a reference comparison. Generated unmarshallers
+ * hold compiled expressions in static fields and test them through
+ * {@link StaxUnmarshallerContext#testExpression(StaxPathExpression, int)},
+ * which avoids the per-event string scanning and concatenation done by the
+ * string based overload.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class StaxPathExpression {
+
+    private static final String CURRENT_ELEMENT = ".";
+
+    private final String expression;
+
+    /** Element and attribute names, outermost first, without any '@' prefix. */
+    private final String[] names;
+
+    /** Whether the name at the same index refers to an attribute. */
+    private final boolean[] attributes;
+
+    /**
+     * The number of stack levels the expression adds to the starting depth it
+     * is tested at; attributes don't count as a new depth level.
+     */
+    private final int depthOffset;
+
+    private StaxPathExpression(String expression, String[] names, boolean[] attributes, int depthOffset) {
+        this.expression = expression;
+        this.names = names;
+        this.attributes = attributes;
+        this.depthOffset = depthOffset;
+    }
+
+    /**
+     * Compiles the specified psuedo-xpath expression, e.g.
+     * <code>"reservationSet/item"</code> or <code>"Grantee/@type"</code>.
+     *
+     * @param expression
+     *            The expression to compile.
+     * @return The compiled expression.
+     */
+    public static StaxPathExpression compile(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("expression must not be null");
+        }
+        if (CURRENT_ELEMENT.equals(expression)) {
+            return new StaxPathExpression(expression, new String[0], new boolean[0], 0);
+        }
+
+        List<String> segments = new ArrayList<String>();
+        int start = 0;
+        int index;
+        while ((index = expression.indexOf('/', start)) > -1) {
+            segments.add(expression.substring(start, index));
+            start = index + 1;
+        }
+        segments.add(expression.substring(start));
+
+        String[] names = new String[segments.size()];
+        boolean[] attributes = new boolean[segments.size()];
+        int depthOffset = 0;
+        for (int i = 0; i < names.length; i++) {
+            String segment = segments.get(i);
+            attributes[i] = segment.startsWith("@");
+            names[i] = (attributes[i] ? segment.substring(1) : segment).intern();
+            // Every '/' that isn't followed by an attribute is a new depth level
+            if (i > 0 && !attributes[i]) {
+                depthOffset++;
+            }
+        }
+        return new StaxPathExpression(expression, names, attributes, depthOffset);
+    }
+
+    /**
+     * Returns true if this expression matches the current element
+     * (<code>"."</code>), regardless of the document position.
+     */
+    boolean isCurrentElement() {
+        return names.length == 0;
+    }
+
+    /**
+     * Returns true if this expression matches the given document position.
+     *
+     * @param path
+     *            The element names currently open, outermost first.
+     * @param depth
+     *            The number of valid entries in <code>path</code>.
+     * @param attribute
+     *            The name of the attribute currently being visited, or null if
+     *            the current event isn't an attribute.
+     * @param startingStackDepth
+     *            The depth in the stack where the expression must start
+     *            matching.
+     */
+    boolean matches(String[] path, int depth, String attribute, int startingStackDepth) {
+        if (isCurrentElement()) return true;
+        if (startingStackDepth + depthOffset != depth) return false;
+
+        int position = depth - 1;
+        boolean attributePending = attribute != null;
+        for (int i = names.length - 1; i >= 0; i--) {
+            if (attributePending) {
+                if (!attributes[i] || !sameName(names[i], attribute)) return false;
+                attributePending = false;
+            } else {
+                if (attributes[i] || position < 0) return false;
+                if (!sameName(names[i], path[position--])) return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameName(String expected, String actual) {
+        return expected == actual || expected.equals(actual);
+    }
+
+    /**
+     * Returns the original, uncompiled expression.
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -41,7 +41,22 @@ public class StaxUnmarshallerContext {
     private final XMLEventReader eventReader;
 
     public final Stack<String> stack = new Stack<String>();
-    private String stackString = "";
+
+    /**
+     * Mirror of {@link #stack} that expressions are matched against without
+     * going through the synchronized {@link Stack} accessors.
+     */
+    private String[] path = new String[16];
+    private int depth;
+
+    /** The name of the attribute currently being visited, if any. */
+    private String currentAttribute;
+
+    /**
+     * Lazily built string form of the current position, only needed by
+     * {@link #testExpression(String)}.
+     */
+    private String stackString;
 
     private Map<String, String> metadata = new HashMap<String, String>();
     private List<MetadataExpression> metadataExpressions = new ArrayList<MetadataExpression>();
@@ -137,7 +152,7 @@ public class StaxUnmarshallerContext {
      *         document being parsed.
      */
     public int getCurrentDepth() {
-        return stack.size();
+        return depth;
     }
 
     /**
@@ -151,7 +166,7 @@ public class StaxUnmarshallerContext {
      */
     public boolean testExpression(String expression) {
         if (expression.equals(".")) return true;
-        return stackString.endsWith(expression);
+        return getStackString().endsWith(expression);
     }
 
     /**
@@ -179,9 +194,27 @@ public class StaxUnmarshallerContext {
             }
         }
 
-
         return (startingStackDepth == getCurrentDepth()
-                && stackString.endsWith("/" + expression));
+                && endsWith(expression));
+    }
+
+    /**
+     * Tests the specified pre-compiled expression against the current position
+     * in the XML document being parsed, and restricts the expression to
+     * matching at the specified stack depth. This is equivalent to, but
+     * considerably cheaper than, {@link #testExpression(String, int)}.
+     *
+     * @param expression
+     *            The compiled psuedo-xpath expression to test.
+     * @param startingStackDepth
+     *            The depth in the stack representing where the expression must
+     *            start matching in order for this method to return true.
+     *
+     * @return True if the specified expression matches the current position in
+     *         the XML document, starting from the specified depth.
+     */
+    public boolean testExpression(StaxPathExpression expression, int startingStackDepth) {
+        return expression.matches(path, depth, currentAttribute, startingStackDepth);
     }
 
     /**
@@ -220,7 +253,7 @@ public class StaxUnmarshallerContext {
             XMLEvent nextEvent = eventReader.peek();
             if (nextEvent != null && nextEvent.isCharacters()) {
                 for (MetadataExpression metadataExpression : metadataExpressions) {
-                    if (testExpression(metadataExpression.expression, metadataExpression.targetDepth)) {
+                    if (testExpression(metadataExpression.compiledExpression, metadataExpression.targetDepth)) {
                         metadata.put(metadataExpression.key, nextEvent.asCharacters().getData());
                     }
                 }
@@ -270,11 +303,13 @@ public class StaxUnmarshallerContext {
      */
     private static class MetadataExpression {
         public String expression;
+        public StaxPathExpression compiledExpression;
         public int targetDepth;
         public String key;
 
         public MetadataExpression(String expression, int targetDepth, String key) {
             this.expression = expression;
+            this.compiledExpression = StaxPathExpression.compile(expression);
             this.targetDepth = targetDepth;
             this.key = key;
         }
@@ -285,21 +320,70 @@ public class StaxUnmarshallerContext {
 
         if (event.isEndElement()) {
             stack.pop();
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
-            }
+            path[--depth] = null;
+            currentAttribute = null;
+            stackString = null;
         } else if (event.isStartElement()) {
-            stack.push(event.asStartElement().getName().getLocalPart());
-            stackString += "/" + event.asStartElement().getName().getLocalPart();
+            String name = event.asStartElement().getName().getLocalPart();
+            stack.push(name);
+            if (depth == path.length) {
+                String[] grown = new String[depth * 2];
+                System.arraycopy(path, 0, grown, 0, depth);
+                path = grown;
+            }
+            path[depth++] = name;
+            currentAttribute = null;
+            stackString = null;
         } else if (event.isAttribute()) {
             Attribute attribute = (Attribute)event;
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
+            currentAttribute = attribute.getName().getLocalPart();
+            stackString = null;
+        }
+    }
+
+    /**
+     * Returns true if the current position, in its "/a/b/@c" string form,
+     * ends with "/" + expression. Compares the expression against the element
+     * names in place rather than building the string form.
+     */
+    private boolean endsWith(String expression) {
+        int end = expression.length();
+        int position = depth - 1;
+        boolean attributePending = currentAttribute != null;
+        while (end >= 0) {
+            int start = expression.lastIndexOf('/', end - 1) + 1;
+            int nameStart = start;
+            String name;
+            if (attributePending) {
+                if (start == end || expression.charAt(start) != '@') return false;
+                nameStart++;
+                name = currentAttribute;
+                attributePending = false;
+            } else {
+                if (position < 0) return false;
+                name = path[position--];
+            }
+            if (end - nameStart != name.length()
+                    || !expression.regionMatches(nameStart, name, 0, name.length())) {
+                return false;
+            }
+            end = start - 1;
+        }
+        return true;
+    }
+
+    private String getStackString() {
+        if (stackString == null) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                builder.append('/').append(path[i]);
+            }
+            if (currentAttribute != null) {
+                builder.append("/@").append(currentAttribute);
             }
-            stackString += "/@" + attribute.getName().getLocalPart();
+            stackString = builder.toString();
         }
+        return stackString;
     }
 
 }
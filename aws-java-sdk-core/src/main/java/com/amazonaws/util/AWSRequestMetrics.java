@@ -33,9 +33,9 @@ import java.util.List;
  * reason. The other methods related to properties and counters in this class
  * are effectively no-ops.
  * <p>
- * This class is instantiated instead of {@link AWSRequestMetricsFullSupport}
- * when request metric collection is not required during a particular service
- * request/response cycle.
+ * This class is instantiated instead of
+ * {@link AWSRequestMetricsLightweightSupport} when request metric collection
+ * is not required during a particular service request/response cycle.
  */
 @NotThreadSafe
 public class AWSRequestMetrics {
@@ -92,6 +92,35 @@ public class AWSRequestMetrics {
          * Snapshot of currently consumed retry capacity.
          */
         RetryCapacityConsumed,
+        /**
+         * Snapshot of currently available retry capacity; not captured when
+         * throttled retries are disabled. Only recorded in the request
+         * metrics, and not uploaded to Amazon CloudWatch.
+         */
+        RetryCapacityAvailable,
+        /**
+         * Snapshot of the send rate, in requests per second, currently allowed
+         * by the adaptive rate limiter; not captured when the rate limiter is
+         * disabled or hasn't been throttled yet. Only recorded in the request
+         * metrics.
+         */
+        RateLimiterSendRate,
+        /**
+         * Number of milliseconds spent waiting on the adaptive rate limiter
+         * before sending a request. Only recorded in the request metrics.
+         */
+        RateLimiterWaitTime,
+        /**
+         * Number of hedged requests sent, in addition to the first attempt of a
+         * request, because it took longer than the hedging percentile. Only
+         * recorded in the request metrics.
+         */
+        HedgedRequestCount,
+        /**
+         * Number of hedged requests whose response was received before the one
+         * of the request they hedged. Only recorded in the request metrics.
+         */
+        HedgedRequestWinCount,
         /**
          * Number of retries of the underlying http client library in sending a
          * request to AWS.
@@ -107,6 +136,17 @@ public class AWSRequestMetrics {
          * excluding any retry.
          */
         HttpClientReceiveResponseTime,
+        /**
+         * Time taken by the SSL handshake of a new connection, including the
+         * verification of the host name. Only recorded in the request metrics.
+         */
+        HttpClientTlsHandshakeTime,
+        /**
+         * Number of SSL handshakes of new connections which resumed a cached
+         * TLS session instead of performing a full handshake. Only recorded in
+         * the request metrics.
+         */
+        HttpClientTlsSessionResumedCount,
 
         /**
          * Time taken for socket to read.
@@ -34,9 +34,10 @@ import com.amazonaws.metrics.RequestMetricCollector;
  * support of AWS SDK request metrics, this class is the full support of AWS SDK
  * request metrics including features such as properties and sub-events.
  * <p>
- * This class is instantiated instead of {@link AWSRequestMetrics} when request
- * metric collection is required during a particular service request/response
- * cycle.
+ * The SDK records the metrics of a request with
+ * {@link AWSRequestMetricsLightweightSupport} instead, which supports the same
+ * features without allocating maps and lists per request; this class is kept
+ * for code that instantiates it directly.
  */
 @NotThreadSafe
 public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
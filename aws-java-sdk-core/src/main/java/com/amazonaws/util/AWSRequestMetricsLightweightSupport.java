@@ -0,0 +1,275 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.annotation.NotThreadSafe;
+
+import com.amazonaws.metrics.MetricType;
+import com.amazonaws.metrics.RequestMetricCollector;
+
+/**
+ * A full support of AWS SDK request metrics, like
+ * {@link AWSRequestMetricsFullSupport}, that records the predefined
+ * {@link AWSRequestMetrics.Field}s into fixed slots indexed by the field
+ * ordinal: event start times, timings and counters are kept as primitive longs
+ * and properties in a flat array, so a request records its metrics with next
+ * to no allocation. Events and counters of any other {@link MetricType} are
+ * recorded by name, as {@link AWSRequestMetricsFullSupport} does.
+ * <p>
+ * This class is instantiated when request metric collection is required
+ * during a particular service request/response cycle; the measurements are
+ * only turned into {@link TimingInfo} instances when read, typically by the
+ * {@link RequestMetricCollector} at the end of the request.
+ */
+@NotThreadSafe
+public class AWSRequestMetricsLightweightSupport extends AWSRequestMetrics {
+    private static final int INITIAL_PROPERTIES = 8;
+
+    /* Latency Logger */
+    private static final Log latencyLogger = LogFactory.getLog("com.amazonaws.latency");
+    private static final Object KEY_VALUE_SEPARATOR = "=";
+    private static final Object COMMA_SEPARATOR = ", ";
+
+    private final TimingInfoLightweightSupport timings;
+
+    /* The start time of the field events being profiled, indexed by field ordinal. */
+    private final long[] eventStartTimesNano = new long[TimingInfoLightweightSupport.FIELDS.length];
+
+    /* The start time of other events being profiled, created when first needed. */
+    private Map<String, Long> otherEventStartTimesNano;
+
+    /* The properties, as pairs of key and value; the key is a Field or a String. */
+    private Object[] properties = new Object[INITIAL_PROPERTIES * 2];
+    private int propertiesLength;
+
+    /**
+     * This constructor should be used in the case when AWS SDK metrics
+     * collector is enabled.
+     */
+    public AWSRequestMetricsLightweightSupport() {
+        this(new TimingInfoLightweightSupport(Long.valueOf(System.currentTimeMillis()), System.nanoTime(), null));
+    }
+
+    private AWSRequestMetricsLightweightSupport(TimingInfoLightweightSupport timings) {
+        super(timings);
+        this.timings = timings;
+        Arrays.fill(eventStartTimesNano, TimingInfoLightweightSupport.UNSET);
+    }
+
+    /**
+     * Starts an event which will be timed, overwriting any start of the same
+     * event that wasn't ended.
+     *
+     * @see AWSRequestMetricsFullSupport#startEvent(String)
+     */
+    @Override
+    public void startEvent(String eventName) {
+        final Field field = TimingInfoLightweightSupport.fieldOf(eventName);
+        if (field == null) {
+            if (otherEventStartTimesNano == null) {
+                otherEventStartTimesNano = new HashMap<String, Long>();
+            }
+            otherEventStartTimesNano.put(eventName, System.nanoTime());
+        } else {
+            startEvent(field);
+        }
+    }
+
+    @Override
+    public void startEvent(MetricType f) {
+        if (f instanceof Field) {
+            eventStartTimesNano[((Field) f).ordinal()] = System.nanoTime();
+        } else {
+            startEvent(f.name());
+        }
+    }
+
+    /**
+     * Ends an event which was previously started, and records how much time
+     * the event took.
+     *
+     * @see AWSRequestMetricsFullSupport#endEvent(String)
+     */
+    @Override
+    public void endEvent(String eventName) {
+        final Field field = TimingInfoLightweightSupport.fieldOf(eventName);
+        if (field != null) {
+            endEvent(field);
+            return;
+        }
+        final Long startTimeNano = otherEventStartTimesNano == null ? null : otherEventStartTimesNano.get(eventName);
+        if (startTimeNano == null) {
+            warnEventNotStarted(eventName);
+            return;
+        }
+        timings.addSubMeasurement(eventName,
+                TimingInfo.unmodifiableTimingInfo(startTimeNano, Long.valueOf(System.nanoTime())));
+    }
+
+    @Override
+    public void endEvent(MetricType f) {
+        if (!(f instanceof Field)) {
+            endEvent(f.name());
+            return;
+        }
+        final int ordinal = ((Field) f).ordinal();
+        final long startTimeNano = eventStartTimesNano[ordinal];
+        if (startTimeNano == TimingInfoLightweightSupport.UNSET) {
+            warnEventNotStarted(f.name());
+            return;
+        }
+        timings.addSubMeasurement((Field) f, startTimeNano, System.nanoTime());
+        // Ending the event again without starting it is then reported, not recorded
+        eventStartTimesNano[ordinal] = TimingInfoLightweightSupport.UNSET;
+    }
+
+    @Override
+    public void incrementCounter(String event) {
+        timingInfo.incrementCounter(event);
+    }
+
+    @Override
+    public void incrementCounter(MetricType f) {
+        if (f instanceof Field) {
+            timings.incrementCounter((Field) f);
+        } else {
+            incrementCounter(f.name());
+        }
+    }
+
+    @Override
+    public void setCounter(String counterName, long count) {
+        timingInfo.setCounter(counterName, count);
+    }
+
+    @Override
+    public void setCounter(MetricType f, long count) {
+        if (f instanceof Field) {
+            timings.setCounter((Field) f, count);
+        } else {
+            setCounter(f.name(), count);
+        }
+    }
+
+    /**
+     * Adds a property. If you add the same property more than once, all values
+     * are kept in the order they were added.
+     */
+    @Override
+    public void addProperty(String propertyName, Object value) {
+        addPropertyOf(keyOf(propertyName), value);
+    }
+
+    @Override
+    public void addProperty(MetricType f, Object value) {
+        addPropertyOf(f instanceof Field ? f : keyOf(f.name()), value);
+    }
+
+    @Override
+    public List<Object> getProperty(String propertyName) {
+        return getPropertyOf(keyOf(propertyName));
+    }
+
+    @Override
+    public List<Object> getProperty(MetricType f) {
+        return getPropertyOf(f instanceof Field ? f : keyOf(f.name()));
+    }
+
+    @Override
+    public void log() {
+        if (latencyLogger.isInfoEnabled()) {
+            StringBuilder builder = new StringBuilder();
+
+            for (int i = 0; i < propertiesLength; i += 2) {
+                if (isFirstPropertyOf(i)) {
+                    keyValueFormat(properties[i], getPropertyOf(properties[i]), builder);
+                }
+            }
+
+            for (Entry<String, Number> entry : timingInfo.getAllCounters()
+                    .entrySet()) {
+                keyValueFormat(entry.getKey(), entry.getValue(), builder);
+            }
+            for (Entry<String, List<TimingInfo>> entry : timingInfo
+                    .getSubMeasurementsByName().entrySet()) {
+                keyValueFormat(entry.getKey(), entry.getValue(), builder);
+            }
+            latencyLogger.info(builder.toString());
+        }
+    }
+
+    /** Always returns true. */
+    @Override
+    public final boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Returns the key a property of the given name is kept under, so the same
+     * property added by field or by name is found either way.
+     */
+    private static Object keyOf(String propertyName) {
+        final Field field = TimingInfoLightweightSupport.fieldOf(propertyName);
+        return field == null ? propertyName : field;
+    }
+
+    private void addPropertyOf(Object key, Object value) {
+        if (propertiesLength == properties.length) {
+            properties = Arrays.copyOf(properties, properties.length * 2);
+        }
+        properties[propertiesLength++] = key;
+        properties[propertiesLength++] = value;
+    }
+
+    private List<Object> getPropertyOf(Object key) {
+        List<Object> values = null;
+        for (int i = 0; i < propertiesLength; i += 2) {
+            if (key.equals(properties[i])) {
+                if (values == null) {
+                    values = new ArrayList<Object>();
+                }
+                values.add(properties[i + 1]);
+            }
+        }
+        return values;
+    }
+
+    private boolean isFirstPropertyOf(int index) {
+        for (int i = 0; i < index; i += 2) {
+            if (properties[i].equals(properties[index])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void keyValueFormat(Object key, Object value, StringBuilder builder) {
+        builder.append(key).append(KEY_VALUE_SEPARATOR).append(value).append(COMMA_SEPARATOR);
+    }
+
+    private void warnEventNotStarted(String eventName) {
+        LogFactory.getLog(getClass()).warn
+            ("Trying to end an event which was never started: " + eventName);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A client side token bucket whose fill rate adapts to throttling by the
+ * service, by additive increase and multiplicative decrease (AIMD).
+ * <p>
+ * The limiter doesn't limit anything until the first throttled response. The
+ * fill rate then starts at a fraction of the measured send rate, is cut by the
+ * same fraction on each later throttling event, and grows back linearly with
+ * successful responses, so a client converges on the rate the service
+ * sustains instead of oscillating between bursts of throttled retries.
+ * Throttled responses to requests sent before the last decrease belong to the
+ * same throttling event, and don't decrease the rate again.
+ */
+@ThreadSafe
+public class AdaptiveRateLimiter {
+
+    /** The lowest fill rate, in requests per second. */
+    static final double MIN_FILL_RATE = 0.5;
+
+    /** The factor the send rate is multiplied by on throttling. */
+    static final double DECREASE_FACTOR = 0.7;
+
+    /**
+     * The fraction of the send rate at the last throttling event the fill rate
+     * grows by per second of successful responses, so recovering to that rate
+     * takes about 6 seconds whatever the rate is.
+     */
+    static final double INCREASE_FRACTION = 0.05;
+
+    private static final long MEASUREMENT_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private boolean enabled;
+    private double fillRate;
+    private double maxTokens;
+    private double tokens;
+    private long lastRefillNanos;
+    private double increasePerSecond;
+    private long lastDecreaseNanos;
+
+    private long windowStartNanos = System.nanoTime();
+    private int sentInWindow;
+    private double measuredRate;
+
+    /**
+     * Takes a token for sending a request, and returns how long the caller
+     * must wait before sending it; tokens are reserved in order, so callers
+     * queue up fairly rather than competing for the next token.
+     *
+     * @return The delay in nanoseconds before the request can be sent; 0 if
+     *         it can be sent right away.
+     */
+    public synchronized long acquire() {
+        final long now = System.nanoTime();
+        measureSend(now);
+        if (!enabled) {
+            return 0;
+        }
+        refill(now);
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / fillRate * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Records a successful response, which grows the fill rate.
+     */
+    public synchronized void onSuccess() {
+        if (!enabled) {
+            return;
+        }
+        // Don't grow the rate past what the client actually uses
+        if (fillRate < 2 * Math.max(measuredRate, MIN_FILL_RATE)) {
+            // fillRate successes per second grow the rate by increasePerSecond
+            setFillRate(fillRate + increasePerSecond / fillRate, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records a throttled response, which decreases the fill rate unless the
+     * request was sent before the last decrease.
+     *
+     * @param sentNanos
+     *            The {@link System#nanoTime()} the throttled request was sent
+     *            at.
+     */
+    public synchronized void onThrottle(long sentNanos) {
+        if (enabled && sentNanos - lastDecreaseNanos < 0) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final double sendRate = Math.max(currentSendRate(now), MIN_FILL_RATE);
+        final double rate = enabled ? Math.min(fillRate, sendRate) : sendRate;
+        if (!enabled) {
+            enabled = true;
+            tokens = 0;
+            lastRefillNanos = now;
+        }
+        increasePerSecond = Math.max(1.0, rate * INCREASE_FRACTION);
+        lastDecreaseNanos = now;
+        setFillRate(rate * DECREASE_FACTOR, now);
+    }
+
+    /**
+     * Returns the rate, in requests per second, the limiter currently allows;
+     * or -1 if it hasn't been throttled yet and doesn't limit the send rate.
+     */
+    public synchronized double getFillRate() {
+        return enabled ? fillRate : -1;
+    }
+
+    private void setFillRate(double rate, long now) {
+        refill(now);
+        fillRate = Math.max(rate, MIN_FILL_RATE);
+        // Allow bursts of up to one second worth of requests
+        maxTokens = Math.max(1.0, fillRate);
+        tokens = Math.min(tokens, maxTokens);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(maxTokens, tokens + (now - lastRefillNanos) / NANOS_PER_SECOND * fillRate);
+        lastRefillNanos = now;
+    }
+
+    private void measureSend(long now) {
+        sentInWindow++;
+        final long elapsed = now - windowStartNanos;
+        if (elapsed >= MEASUREMENT_WINDOW_NANOS) {
+            measuredRate = sentInWindow / (elapsed / NANOS_PER_SECOND);
+            sentInWindow = 0;
+            windowStartNanos = now;
+        }
+    }
+
+    /**
+     * Returns the send rate of the current measurement window, or of the last
+     * complete window while the current one is too short to be meaningful.
+     */
+    private double currentSendRate(long now) {
+        final long elapsed = now - windowStartNanos;
+        if (elapsed < MEASUREMENT_WINDOW_NANOS / 5 && measuredRate > 0) {
+            return measuredRate;
+        }
+        return sentInWindow / (Math.max(elapsed, 1) / NANOS_PER_SECOND);
+    }
+}
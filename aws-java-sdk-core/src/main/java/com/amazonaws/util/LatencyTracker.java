@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Keeps the most recent latencies of an operation, to estimate their
+ * percentiles.
+ * <p>
+ * Latencies are recorded into a ring buffer without locking, since every
+ * response records one; a percentile is computed from a sorted copy of the
+ * buffer when it is asked for.
+ */
+@ThreadSafe
+public class LatencyTracker {
+
+    /** The default number of latencies kept. */
+    public static final int DEFAULT_SAMPLE_SIZE = 256;
+
+    /**
+     * The number of latencies recorded before percentiles are estimated, so a
+     * handful of early samples don't stand for the whole distribution.
+     */
+    static final int MIN_SAMPLES = 20;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public LatencyTracker() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * @param sampleSize
+     *            The number of most recent latencies kept.
+     */
+    public LatencyTracker(int sampleSize) {
+        if (sampleSize < MIN_SAMPLES) {
+            throw new IllegalArgumentException("The sample size must be at least " + MIN_SAMPLES);
+        }
+        samples = new AtomicLongArray(sampleSize);
+    }
+
+    /**
+     * Records a latency, evicting the oldest one once the buffer is full.
+     *
+     * @param latencyNanos
+     *            The latency in nanoseconds.
+     */
+    public void record(long latencyNanos) {
+        final int slot = (int) (recorded.getAndIncrement() % samples.length());
+        samples.set(slot, latencyNanos);
+    }
+
+    /**
+     * Returns the given percentile of the recent latencies; or -1 if too few
+     * latencies have been recorded yet to estimate it.
+     *
+     * @param percentile
+     *            The percentile, between 0 exclusive and 100 inclusive.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be in (0, 100]: " + percentile);
+        }
+        final int count = (int) Math.min(recorded.get(), samples.length());
+        if (count < MIN_SAMPLES) {
+            return -1;
+        }
+        final long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -14,19 +14,27 @@
  */
 package com.amazonaws.util;
 
-import java.util.LinkedHashMap;
-import java.util.Map.Entry;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.amazonaws.ResponseMetadata;
+import com.amazonaws.annotation.ThreadSafe;
 
 /**
  * Cache of response metadata for recently executed requests for diagnostic
  * purposes. This cache has a max size and as entries are added, the oldest
  * entry is aged out once the max size has been reached.
+ * <p>
+ * Entries are kept in a ring buffer that is written without locking, since
+ * every response of a client adds an entry but the metadata is rarely read.
+ * Entries are keyed by the identity of the request, through a weak reference
+ * so the cache doesn't keep the requests reachable.
  */
+@ThreadSafe
 public class ResponseMetadataCache {
-    private final InternalCache internalCache;
-
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong nextIndex = new AtomicLong();
 
     /**
      * Creates a new cache that will contain, at most the specified number of
@@ -36,7 +44,7 @@ public class ResponseMetadataCache {
      *            The maximum size of this cache.
      */
     public ResponseMetadataCache(int maxEntries) {
-        internalCache = new InternalCache(maxEntries);
+        entries = new AtomicReferenceArray<Entry>(Math.max(maxEntries, 0));
     }
 
     /**
@@ -48,9 +56,10 @@ public class ResponseMetadataCache {
      * @param metadata
      *            The metadata for this entry.
      */
-    public synchronized void add(Object obj, ResponseMetadata metadata) {
-        if (obj == null) return;
-        internalCache.put(System.identityHashCode(obj), metadata);
+    public void add(Object obj, ResponseMetadata metadata) {
+        if (obj == null || entries.length() == 0) return;
+        final int slot = (int) (nextIndex.getAndIncrement() % entries.length());
+        entries.set(slot, new Entry(obj, metadata));
     }
 
     /**
@@ -63,32 +72,30 @@ public class ResponseMetadataCache {
      * @return The response metadata associated with the given object key,
      *         otherwise null if no metadata is associated with that object.
      */
-    public synchronized ResponseMetadata get(Object obj) {
-        // System.identityHashCode isn't guaranteed to be unique
-        // on all platforms, but should be reasonable enough to use
-        // for a few requests at a time.  We can always easily move
-        // to our own unique IDs if needed.
-        return internalCache.get(System.identityHashCode(obj));
+    public ResponseMetadata get(Object obj) {
+        if (obj == null) return null;
+        final int size = entries.length();
+        // Look from the newest entry back, in case the same request object
+        // was executed more than once
+        final long newest = nextIndex.get() - 1;
+        for (long i = newest; i > newest - size && i >= 0; i--) {
+            Entry entry = entries.get((int) (i % size));
+            if (entry != null && entry.get() == obj) {
+                return entry.metadata;
+            }
+        }
+        return null;
     }
 
-
     /**
-     * Simple implementation of LinkedHashMap that overrides the
-     * <code>removeEldestEntry</code> method to turn LinkedHashMap into a
-     * LRU(ish) cache that automatically evicts old entries.
+     * The metadata of a response, weakly referencing the request it's for.
      */
-    private static final class InternalCache extends LinkedHashMap<Integer, ResponseMetadata> {
-        private static final long serialVersionUID = 1L;
-        private int maxSize;
-
-        public InternalCache(int maxSize) {
-            super(maxSize);
-            this.maxSize = maxSize;
-        }
+    private static final class Entry extends WeakReference<Object> {
+        private final ResponseMetadata metadata;
 
-        @Override
-        protected boolean removeEldestEntry(Entry<Integer,ResponseMetadata> eldest) {
-            return size() > maxSize;
+        Entry(Object key, ResponseMetadata metadata) {
+            super(key);
+            this.metadata = metadata;
         }
     }
 }
@@ -18,7 +18,6 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -32,6 +31,46 @@ public class SdkHttpUtils {
 
     private static final String DEFAULT_ENCODING = "UTF-8";
 
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * The ASCII characters which aren't encoded in the names and values of
+     * form encoded parameters.
+     */
+    private static final boolean[] UNRESERVED = new boolean[0x80];
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['-'] = true;
+        UNRESERVED['_'] = true;
+        UNRESERVED['.'] = true;
+        UNRESERVED['*'] = true;
+    }
+
+    /**
+     * Per thread buffer the request parameters are encoded into, so that
+     * encoding large requests doesn't grow a new buffer every time.
+     */
+    private static final ThreadLocal<StringBuilder> PARAMETER_BUFFER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(1024);
+        }
+    };
+
+    /**
+     * Buffers grown beyond this capacity are released instead of being kept
+     * by their thread.
+     */
+    private static final int MAX_PARAMETER_BUFFER_CAPACITY = 64 * 1024;
+
     /**
      * Regex which matches any of the sequences that we need to fix up after
      * URLEncoder.encode().
@@ -162,17 +201,74 @@ public class SdkHttpUtils {
 
         if (requestParams.isEmpty()) return null;
 
-        final List<NameValuePair> nameValuePairs = new ArrayList<NameValuePair>();
+        final StringBuilder buffer = PARAMETER_BUFFER.get();
+        buffer.setLength(0);
 
         for (Entry<String, List<String>> entry : requestParams.entrySet()) {
             String parameterName = entry.getKey();
             for (String value : entry.getValue()) {
-                nameValuePairs
-                    .add(new BasicNameValuePair(parameterName, value));
+                if (buffer.length() > 0) {
+                    buffer.append('&');
+                }
+                appendFormEncoded(buffer, parameterName);
+                if (value != null) {
+                    buffer.append('=');
+                    appendFormEncoded(buffer, value);
+                }
+            }
+        }
+
+        final String encoded = buffer.toString();
+        if (buffer.capacity() > MAX_PARAMETER_BUFFER_CAPACITY) {
+            PARAMETER_BUFFER.remove();
+        }
+        return encoded;
+    }
+
+    /**
+     * Appends the given string to the given buffer encoded as an
+     * application/x-www-form-urlencoded name or value: the same encoding as
+     * {@code URLEncodedUtils.format} of HttpClient with UTF-8, without encoding
+     * the string to bytes first when it is plain ASCII, as parameter names and
+     * most values are.
+     */
+    private static void appendFormEncoded(StringBuilder buffer, String s) {
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                if (UNRESERVED[c]) {
+                    buffer.append(c);
+                } else if (c == ' ') {
+                    buffer.append('+');
+                } else {
+                    appendPercentEncoded(buffer, c);
+                }
+            } else if (c < 0x800) {
+                appendPercentEncoded(buffer, 0xC0 | (c >> 6));
+                appendPercentEncoded(buffer, 0x80 | (c & 0x3F));
+            } else if (c < Character.MIN_SURROGATE || c > Character.MAX_SURROGATE) {
+                appendPercentEncoded(buffer, 0xE0 | (c >> 12));
+                appendPercentEncoded(buffer, 0x80 | ((c >> 6) & 0x3F));
+                appendPercentEncoded(buffer, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                appendPercentEncoded(buffer, 0xF0 | (codePoint >> 18));
+                appendPercentEncoded(buffer, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendPercentEncoded(buffer, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendPercentEncoded(buffer, 0x80 | (codePoint & 0x3F));
+            } else {
+                // Unpaired surrogates are replaced with '?', as by the UTF-8 encoder
+                appendPercentEncoded(buffer, '?');
             }
         }
+    }
 
-        return URLEncodedUtils.format(nameValuePairs, DEFAULT_ENCODING);
+    private static void appendPercentEncoded(StringBuilder buffer, int b) {
+        buffer.append('%')
+              .append(HEX_DIGITS[(b >> 4) & 0xF])
+              .append(HEX_DIGITS[b & 0xF]);
     }
 
     /**
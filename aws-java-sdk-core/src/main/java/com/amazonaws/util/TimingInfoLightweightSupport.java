@@ -0,0 +1,243 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.annotation.NotThreadSafe;
+
+import com.amazonaws.util.AWSRequestMetrics.Field;
+
+/**
+ * A full support of timing info, like {@link TimingInfoFullSupport}, that
+ * keeps the counters and sub-measurements of the predefined
+ * {@link AWSRequestMetrics.Field}s in primitive arrays indexed by the field
+ * ordinal, so recording them allocates nothing. Measurements of any other name
+ * are delegated to a {@link TimingInfoFullSupport} created when first needed.
+ * <p>
+ * The {@link TimingInfo} instances, lists and maps returned by the accessors
+ * are built when asked for, which only happens when the metrics are collected
+ * at the end of a request.
+ */
+@NotThreadSafe
+class TimingInfoLightweightSupport extends TimingInfo {
+    /** Marks a counter or an event start time that isn't set. */
+    static final long UNSET = Long.MIN_VALUE;
+
+    static final Field[] FIELDS = Field.values();
+    private static final Map<String, Field> FIELDS_BY_NAME = new HashMap<String, Field>();
+
+    static {
+        for (Field field : FIELDS) {
+            FIELDS_BY_NAME.put(field.name(), field);
+        }
+    }
+
+    private static final int INITIAL_SUB_MEASUREMENTS = 16;
+
+    private final long[] counters = new long[FIELDS.length];
+
+    /* The sub-measurements of fields, as triples of field ordinal, start and end time. */
+    private long[] subMeasurements = new long[INITIAL_SUB_MEASUREMENTS * 3];
+    private int subMeasurementsLength;
+
+    /* The measurements whose name isn't a field. */
+    private TimingInfoFullSupport others;
+
+    /**
+     * @param startEpochTimeMilli start time since epoch in millisecond
+     * @param startTimeNano start time in nanosecond
+     * @param endTimeNano end time in nanosecond; or null if not known
+     */
+    TimingInfoLightweightSupport(Long startEpochTimeMilli, long startTimeNano, Long endTimeNano) {
+        super(startEpochTimeMilli, startTimeNano, endTimeNano);
+        Arrays.fill(counters, UNSET);
+    }
+
+    /**
+     * Returns the predefined field of the given name; or null if there is none.
+     */
+    static Field fieldOf(String name) {
+        return FIELDS_BY_NAME.get(name);
+    }
+
+    /**
+     * Records a sub-measurement of the given field.
+     */
+    void addSubMeasurement(Field field, long startTimeNano, long endTimeNano) {
+        if (subMeasurementsLength == subMeasurements.length) {
+            subMeasurements = Arrays.copyOf(subMeasurements, subMeasurements.length * 2);
+        }
+        subMeasurements[subMeasurementsLength++] = field.ordinal();
+        subMeasurements[subMeasurementsLength++] = startTimeNano;
+        subMeasurements[subMeasurementsLength++] = endTimeNano;
+    }
+
+    void setCounter(Field field, long count) {
+        counters[field.ordinal()] = count;
+    }
+
+    void incrementCounter(Field field) {
+        final int ordinal = field.ordinal();
+        counters[ordinal] = counters[ordinal] == UNSET ? 1 : counters[ordinal] + 1;
+    }
+
+    @Override
+    public void addSubMeasurement(String subMeasurementName, TimingInfo ti) {
+        final Field field = fieldOf(subMeasurementName);
+        if (field == null) {
+            others().addSubMeasurement(subMeasurementName, ti);
+        } else if (ti.isEndTimeKnown()) {
+            addSubMeasurement(field, ti.getStartTimeNano(), ti.getEndTimeNano());
+        } else {
+            LogFactory.getLog(getClass()).debug(
+                "Skip submeasurement timing info with no end time for "
+                + subMeasurementName);
+        }
+    }
+
+    @Override
+    public TimingInfo getSubMeasurement(String subMeasurementName) {
+        return getSubMeasurement(subMeasurementName, 0);
+    }
+
+    @Override
+    public TimingInfo getSubMeasurement(String subMesurementName, int index) {
+        final Field field = fieldOf(subMesurementName);
+        if (field == null) {
+            return others == null ? null : others.getSubMeasurement(subMesurementName, index);
+        }
+        if (index < 0) {
+            return null;
+        }
+        int remaining = index;
+        for (int i = 0; i < subMeasurementsLength; i += 3) {
+            if (subMeasurements[i] == field.ordinal() && remaining-- == 0) {
+                return subMeasurementAt(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public TimingInfo getLastSubMeasurement(String subMeasurementName) {
+        final Field field = fieldOf(subMeasurementName);
+        if (field == null) {
+            return others == null ? null : others.getLastSubMeasurement(subMeasurementName);
+        }
+        for (int i = subMeasurementsLength - 3; i >= 0; i -= 3) {
+            if (subMeasurements[i] == field.ordinal()) {
+                return subMeasurementAt(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<TimingInfo> getAllSubMeasurements(String subMeasurementName) {
+        final Field field = fieldOf(subMeasurementName);
+        if (field == null) {
+            return others == null ? null : others.getAllSubMeasurements(subMeasurementName);
+        }
+        List<TimingInfo> timings = null;
+        for (int i = 0; i < subMeasurementsLength; i += 3) {
+            if (subMeasurements[i] == field.ordinal()) {
+                if (timings == null) {
+                    timings = new ArrayList<TimingInfo>();
+                }
+                timings.add(subMeasurementAt(i));
+            }
+        }
+        return timings;
+    }
+
+    @Override
+    public Map<String, List<TimingInfo>> getSubMeasurementsByName() {
+        final Map<String, List<TimingInfo>> subMeasurementsByName = new HashMap<String, List<TimingInfo>>();
+        if (others != null) {
+            subMeasurementsByName.putAll(others.getSubMeasurementsByName());
+        }
+        for (int i = 0; i < subMeasurementsLength; i += 3) {
+            final String name = FIELDS[(int) subMeasurements[i]].name();
+            List<TimingInfo> timings = subMeasurementsByName.get(name);
+            if (timings == null) {
+                timings = new ArrayList<TimingInfo>();
+                subMeasurementsByName.put(name, timings);
+            }
+            timings.add(subMeasurementAt(i));
+        }
+        return subMeasurementsByName;
+    }
+
+    @Override
+    public Number getCounter(String key) {
+        final Field field = fieldOf(key);
+        if (field == null) {
+            return others == null ? null : others.getCounter(key);
+        }
+        final long count = counters[field.ordinal()];
+        return count == UNSET ? null : Long.valueOf(count);
+    }
+
+    @Override
+    public Map<String, Number> getAllCounters() {
+        final Map<String, Number> countersByName = new HashMap<String, Number>();
+        if (others != null) {
+            countersByName.putAll(others.getAllCounters());
+        }
+        for (int i = 0; i < counters.length; i++) {
+            if (counters[i] != UNSET) {
+                countersByName.put(FIELDS[i].name(), Long.valueOf(counters[i]));
+            }
+        }
+        return countersByName;
+    }
+
+    @Override
+    public void setCounter(String key, long count) {
+        final Field field = fieldOf(key);
+        if (field == null) {
+            others().setCounter(key, count);
+        } else {
+            setCounter(field, count);
+        }
+    }
+
+    @Override
+    public void incrementCounter(String key) {
+        final Field field = fieldOf(key);
+        if (field == null) {
+            others().incrementCounter(key);
+        } else {
+            incrementCounter(field);
+        }
+    }
+
+    private TimingInfo subMeasurementAt(int i) {
+        return TimingInfo.unmodifiableTimingInfo(subMeasurements[i + 1], Long.valueOf(subMeasurements[i + 2]));
+    }
+
+    private TimingInfoFullSupport others() {
+        if (others == null) {
+            others = new TimingInfoFullSupport(null, getStartTimeNano(), null);
+        }
+        return others;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class CachingDnsResolverTest {
+
+    private static final InetAddress[] ADDRESSES = addresses("10.0.0.1", "10.0.0.2", "10.0.0.3");
+
+    private final CountingResolver delegate = new CountingResolver();
+    private CachingDnsResolver resolver;
+
+    @After
+    public void tearDown() {
+        if (resolver != null) {
+            resolver.shutdown();
+        }
+    }
+
+    @Test
+    public void cachesAddresses() throws Exception {
+        resolver = new CachingDnsResolver(delegate, 60 * 1000, 1000);
+        resolver.resolve("s3.amazonaws.com");
+        resolver.resolve("s3.amazonaws.com");
+        resolver.resolve("s3.amazonaws.com");
+        assertEquals(1, delegate.count.get());
+    }
+
+    @Test
+    public void rotatesAddresses() throws Exception {
+        resolver = new CachingDnsResolver(delegate, 60 * 1000, 1000);
+        assertArrayEquals(addresses("10.0.0.1", "10.0.0.2", "10.0.0.3"), resolver.resolve("host"));
+        assertArrayEquals(addresses("10.0.0.2", "10.0.0.3", "10.0.0.1"), resolver.resolve("host"));
+        assertArrayEquals(addresses("10.0.0.3", "10.0.0.1", "10.0.0.2"), resolver.resolve("host"));
+        assertArrayEquals(addresses("10.0.0.1", "10.0.0.2", "10.0.0.3"), resolver.resolve("host"));
+    }
+
+    @Test
+    public void returnsFailedAddressesLast() throws Exception {
+        resolver = new CachingDnsResolver(delegate, 60 * 1000, 60 * 1000);
+        resolver.reportFailure(ADDRESSES[0]);
+        assertArrayEquals(addresses("10.0.0.2", "10.0.0.3", "10.0.0.1"), resolver.resolve("host"));
+        assertArrayEquals(addresses("10.0.0.2", "10.0.0.3", "10.0.0.1"), resolver.resolve("host"));
+        assertArrayEquals(addresses("10.0.0.3", "10.0.0.2", "10.0.0.1"), resolver.resolve("host"));
+    }
+
+    @Test
+    public void failurePenaltyExpires() throws Exception {
+        resolver = new CachingDnsResolver(delegate, 60 * 1000, 1);
+        resolver.reportFailure(ADDRESSES[0]);
+        Thread.sleep(10);
+        assertArrayEquals(addresses("10.0.0.1", "10.0.0.2", "10.0.0.3"), resolver.resolve("host"));
+    }
+
+    @Test
+    public void refreshesAddressesInBackground() throws Exception {
+        resolver = new CachingDnsResolver(delegate, 100, 1000);
+        resolver.resolve("host");
+        for (int i = 0; i < 100 && delegate.count.get() < 3; i++) {
+            Thread.sleep(20);
+            resolver.resolve("host");
+        }
+        assertTrue(delegate.count.get() >= 3);
+    }
+
+    @Test
+    public void usesExpiredAddressesIfUnresolvable() throws Exception {
+        resolver = new CachingDnsResolver(delegate, 1, 1000);
+        resolver.shutdown();
+        resolver.resolve("host");
+        delegate.fail = true;
+        Thread.sleep(10);
+        assertEquals(3, resolver.resolve("host").length);
+    }
+
+    @Test
+    public void unresolvableHost_IsNotResolvedAgainOnEveryCall() throws Exception {
+        resolver = new CachingDnsResolver(delegate, 1000, 1000);
+        resolver.shutdown();
+        resolver.resolve("host");
+        delegate.fail = true;
+        Thread.sleep(1100);
+        assertEquals(3, resolver.resolve("host").length);
+        assertEquals(3, resolver.resolve("host").length);
+        assertEquals(3, resolver.resolve("host").length);
+        assertEquals(2, delegate.count.get());
+    }
+
+    @Test(expected = UnknownHostException.class)
+    public void unresolvableHost() throws Exception {
+        resolver = new CachingDnsResolver(delegate, 60 * 1000, 1000);
+        delegate.fail = true;
+        resolver.resolve("host");
+    }
+
+    private static InetAddress[] addresses(String... ips) {
+        InetAddress[] addresses = new InetAddress[ips.length];
+        try {
+            for (int i = 0; i < ips.length; i++) {
+                addresses[i] = InetAddress.getByName(ips[i]);
+            }
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+        return addresses;
+    }
+
+    private static class CountingResolver implements DnsResolver {
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile boolean fail;
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            count.incrementAndGet();
+            if (fail) {
+                throw new UnknownHostException(host);
+            }
+            return ADDRESSES.clone();
+        }
+    }
+}
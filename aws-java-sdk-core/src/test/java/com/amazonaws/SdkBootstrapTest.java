@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws;
+
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Test;
+
+import com.amazonaws.handlers.HandlerChainFactoryTest;
+import com.amazonaws.internal.config.InternalConfig;
+import com.amazonaws.regions.RegionUtils;
+
+public class SdkBootstrapTest {
+
+    @Test
+    public void preloadsSharedState() {
+        SdkBootstrap.preload();
+        assertNotNull(InternalConfig.Factory.getInternalConfig());
+        assertNotNull(RegionUtils.getRegion("us-east-1"));
+    }
+
+    @Test
+    public void preloadsClientClasses() {
+        SdkBootstrap.preload(HandlerChainFactoryTest.class);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class HandlerChainFactoryTest {
+
+    private static final String RESOURCE = "/com/amazonaws/handlers/request.handler2s";
+
+    @Test
+    public void createsHandlersListedInResource() {
+        List<RequestHandler2> handlers = new HandlerChainFactory().newRequestHandler2Chain(RESOURCE);
+        assertEquals(1, handlers.size());
+        assertTrue(handlers.get(0) instanceof TestRequestHandler);
+    }
+
+    @Test
+    public void createsNewHandlersForEachChain() {
+        HandlerChainFactory factory = new HandlerChainFactory();
+        List<RequestHandler2> first = factory.newRequestHandler2Chain(RESOURCE);
+        List<RequestHandler2> second = factory.newRequestHandler2Chain(RESOURCE);
+        assertEquals(1, second.size());
+        assertNotSame(first.get(0), second.get(0));
+    }
+
+    @Test
+    public void missingResource() {
+        assertTrue(new HandlerChainFactory().newRequestHandlerChain(
+                "/com/amazonaws/handlers/request.handlers").isEmpty());
+    }
+
+    public static class TestRequestHandler extends RequestHandler2 {
+    }
+}
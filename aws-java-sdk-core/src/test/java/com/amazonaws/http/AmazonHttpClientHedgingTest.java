@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.StringUtils;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import utils.http.WireMockTestBase;
+
+public class AmazonHttpClientHedgingTest extends WireMockTestBase {
+
+    private static final String FAST_PATH = "/fast/";
+    private static final String SLOW_PATH = "/slow/";
+    private static final int SLOW_DELAY_MILLIS = 5000;
+
+    private AmazonHttpClient httpClient;
+
+    @After
+    public void tearDown() {
+        if (httpClient != null) {
+            httpClient.shutdown();
+        }
+    }
+
+    @Test(timeout = 20 * 1000)
+    public void slowAttempt_IsHedgedAndHedgeResponseIsUsed() throws Exception {
+        stubFor(get(urlEqualTo(FAST_PATH)).willReturn(aResponse().withStatus(200).withBody("fast")));
+        stubFor(get(urlEqualTo(SLOW_PATH)).inScenario("hedging")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(200).withBody("slow").withFixedDelay(SLOW_DELAY_MILLIS))
+                .willSetStateTo("hedged"));
+        stubFor(get(urlEqualTo(SLOW_PATH)).inScenario("hedging")
+                .whenScenarioStateIs("hedged")
+                .willReturn(aResponse().withStatus(200).withBody("hedged")));
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withHedgedRequestTypes(GetThingRequest.class));
+        warmUp(new GetThingRequest());
+
+        ExecutionContext context = new ExecutionContext(true);
+        long start = System.currentTimeMillis();
+        String result = execute(newRequest(SLOW_PATH, new GetThingRequest()), context);
+
+        assertEquals("hedged", result);
+        assertTrue(System.currentTimeMillis() - start < SLOW_DELAY_MILLIS);
+        assertEquals(1, counter(context, Field.HedgedRequestCount));
+        assertEquals(1, counter(context, Field.HedgedRequestWinCount));
+        verify(2, getRequestedFor(urlEqualTo(SLOW_PATH)));
+    }
+
+    @Test(timeout = 20 * 1000)
+    public void slowAttemptWithContent_HedgeSendsTheSameContent() throws Exception {
+        stubFor(post(urlEqualTo(FAST_PATH)).willReturn(aResponse().withStatus(200).withBody("fast")));
+        stubFor(post(urlEqualTo(SLOW_PATH)).inScenario("hedging")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(200).withBody("slow").withFixedDelay(SLOW_DELAY_MILLIS))
+                .willSetStateTo("hedged"));
+        stubFor(post(urlEqualTo(SLOW_PATH)).inScenario("hedging")
+                .whenScenarioStateIs("hedged")
+                .willReturn(aResponse().withStatus(200).withBody("hedged")));
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withHedgedRequestTypes(GetThingRequest.class));
+        for (int i = 0; i < 50; i++) {
+            execute(newPostRequest(FAST_PATH, "content"), new ExecutionContext());
+        }
+
+        ExecutionContext context = new ExecutionContext(true);
+        String result = execute(newPostRequest(SLOW_PATH, "content"), context);
+
+        assertEquals("hedged", result);
+        verify(2, postRequestedFor(urlEqualTo(SLOW_PATH)).withRequestBody(equalTo("content")));
+    }
+
+    @Test(timeout = 20 * 1000)
+    public void hedgeCompletes_RetryCapacityIsReleased() throws Exception {
+        stubFor(get(urlEqualTo(FAST_PATH)).willReturn(aResponse().withStatus(200).withBody("fast")));
+        stubFor(get(urlEqualTo(SLOW_PATH)).willReturn(aResponse().withStatus(200).withBody("slow").withFixedDelay(500)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withHedgedRequestTypes(GetThingRequest.class));
+        warmUp(new GetThingRequest());
+        ExecutionContext hedgedContext = new ExecutionContext(true);
+        execute(newRequest(SLOW_PATH, new GetThingRequest()), hedgedContext);
+        assertEquals(1, counter(hedgedContext, Field.HedgedRequestCount));
+
+        // Wait for the losing request to be aborted
+        Thread.sleep(1000);
+        ExecutionContext context = new ExecutionContext(true);
+        execute(newRequest(FAST_PATH, new GetThingRequest().withSdkHedgingEnabled(false)), context);
+
+        assertEquals(0, counter(context, Field.RetryCapacityConsumed));
+    }
+
+    @Test(timeout = 20 * 1000)
+    public void hedgingDisabledOnRequest_SlowAttemptIsNotHedged() throws Exception {
+        stubFor(get(urlEqualTo(FAST_PATH)).willReturn(aResponse().withStatus(200).withBody("fast")));
+        stubFor(get(urlEqualTo(SLOW_PATH)).willReturn(aResponse().withStatus(200).withBody("slow").withFixedDelay(500)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withHedgedRequestTypes(GetThingRequest.class));
+        warmUp(new GetThingRequest());
+
+        ExecutionContext context = new ExecutionContext(true);
+        String result = execute(newRequest(SLOW_PATH, new GetThingRequest().withSdkHedgingEnabled(false)), context);
+
+        assertEquals("slow", result);
+        assertNull(context.getAwsRequestMetrics().getTimingInfo().getCounter(Field.HedgedRequestCount.name()));
+        verify(1, getRequestedFor(urlEqualTo(SLOW_PATH)));
+    }
+
+    @Test(timeout = 20 * 1000)
+    public void hedgingEnabledOnRequest_SlowAttemptIsHedged() throws Exception {
+        stubFor(get(urlEqualTo(FAST_PATH)).willReturn(aResponse().withStatus(200).withBody("fast")));
+        stubFor(get(urlEqualTo(SLOW_PATH)).willReturn(aResponse().withStatus(200).withBody("slow").withFixedDelay(500)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration());
+        warmUp(new GetThingRequest().withSdkHedgingEnabled(true));
+
+        ExecutionContext context = new ExecutionContext(true);
+        execute(newRequest(SLOW_PATH, new GetThingRequest().withSdkHedgingEnabled(true)), context);
+
+        assertEquals(1, counter(context, Field.HedgedRequestCount));
+        verify(2, getRequestedFor(urlEqualTo(SLOW_PATH)));
+    }
+
+    @Test(timeout = 20 * 1000)
+    public void fewLatenciesRecorded_SlowAttemptIsNotHedged() throws Exception {
+        stubFor(get(urlEqualTo(SLOW_PATH)).willReturn(aResponse().withStatus(200).withBody("slow").withFixedDelay(500)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withHedgedRequestTypes(GetThingRequest.class));
+
+        ExecutionContext context = new ExecutionContext(true);
+        execute(newRequest(SLOW_PATH, new GetThingRequest()), context);
+
+        assertNull(context.getAwsRequestMetrics().getTimingInfo().getCounter(Field.HedgedRequestCount.name()));
+        verify(1, getRequestedFor(urlEqualTo(SLOW_PATH)));
+    }
+
+    /**
+     * Records enough fast latencies of the operation for it to be hedged.
+     */
+    private void warmUp(AmazonWebServiceRequest originalRequest) {
+        for (int i = 0; i < 50; i++) {
+            execute(newRequest(FAST_PATH, originalRequest), new ExecutionContext());
+        }
+    }
+
+    private String execute(Request<?> request, ExecutionContext context) {
+        return httpClient.execute(request, new ContentResponseHandler(), null, context).getAwsResponse();
+    }
+
+    private Request<?> newRequest(String resourcePath, AmazonWebServiceRequest originalRequest) {
+        Request<?> request = new DefaultRequest<String>(originalRequest, "mock");
+        request.setEndpoint(URI.create("http://localhost:" + mockServer.port() + resourcePath));
+        request.setHttpMethod(HttpMethodName.GET);
+        return request;
+    }
+
+    private Request<?> newPostRequest(String resourcePath, String content) {
+        Request<?> request = newRequest(resourcePath, new GetThingRequest());
+        request.setHttpMethod(HttpMethodName.POST);
+        request.addHeader("Content-Length", String.valueOf(content.length()));
+        request.setContent(new ByteArrayInputStream(content.getBytes(StringUtils.UTF8)));
+        return request;
+    }
+
+    private static long counter(ExecutionContext context, Field field) {
+        return context.getAwsRequestMetrics().getTimingInfo().getCounter(field.name()).longValue();
+    }
+
+    private static class GetThingRequest extends AmazonWebServiceRequest {
+    }
+
+    private static class ContentResponseHandler implements HttpResponseHandler<AmazonWebServiceResponse<String>> {
+        @Override
+        public AmazonWebServiceResponse<String> handle(HttpResponse response) throws Exception {
+            AmazonWebServiceResponse<String> awsResponse = new AmazonWebServiceResponse<String>();
+            awsResponse.setResult(IOUtils.toString(response.getContent()));
+            return awsResponse;
+        }
+
+        @Override
+        public boolean needsConnectionLeftOpen() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static com.amazonaws.http.AmazonHttpClient.HEADER_SDK_RETRY_INFO;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.Response;
+import com.amazonaws.http.exception.HttpRequestTimeoutException;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryPolicy;
+import com.amazonaws.util.IOUtils;
+
+import utils.http.WireMockTestBase;
+import utils.retry.AlwaysRetryCondition;
+import utils.retry.SimpleArrayBackoffStrategy;
+
+public class AmazonHttpClientNonBlockingTest extends WireMockTestBase {
+
+    private static final String RESOURCE_PATH = "/non-blocking/";
+
+    private ExecutorService executor;
+    private AmazonHttpClient httpClient;
+
+    @Before
+    public void setup() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        if (httpClient != null) {
+            httpClient.shutdown();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void successfulResponse_IsUnmarshalledAndPassedToCallback() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withBody("content")));
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withNonBlockingTransport(true));
+        RecordingCallback callback = new RecordingCallback();
+
+        Future<String> future = httpClient.executeAsync(newGetRequest(RESOURCE_PATH), new ContentResponseHandler(),
+                stubErrorHandler(), new ExecutionContext(), executor, callback);
+
+        assertEquals("content", future.get(10, TimeUnit.SECONDS));
+        assertEquals("content", callback.response.getAwsResponse());
+        assertNull(callback.exception);
+    }
+
+    @Test
+    public void failedRequest_IsRetriedWithBackoff() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(500)));
+        RetryPolicy retryPolicy = new RetryPolicy(new AlwaysRetryCondition(),
+                new SimpleArrayBackoffStrategy(new int[] { 0, 10, 20 }), 3, false);
+        httpClient = new AmazonHttpClient(new ClientConfiguration()
+                .withNonBlockingTransport(true)
+                .withRetryPolicy(retryPolicy));
+        RecordingCallback callback = new RecordingCallback();
+
+        Future<String> future = httpClient.executeAsync(newGetRequest(RESOURCE_PATH), new ContentResponseHandler(),
+                stubErrorHandler(), new ExecutionContext(), executor, callback);
+
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AmazonServiceException);
+            assertSame(expected.getCause(), callback.exception);
+        }
+        verify(1, getRequestedFor(urlEqualTo(RESOURCE_PATH)).withHeader(HEADER_SDK_RETRY_INFO, containing("0/0/")));
+        verify(1, getRequestedFor(urlEqualTo(RESOURCE_PATH)).withHeader(HEADER_SDK_RETRY_INFO, containing("1/0/")));
+        verify(1, getRequestedFor(urlEqualTo(RESOURCE_PATH)).withHeader(HEADER_SDK_RETRY_INFO, containing("2/10/")));
+        verify(1, getRequestedFor(urlEqualTo(RESOURCE_PATH)).withHeader(HEADER_SDK_RETRY_INFO, containing("3/20/")));
+    }
+
+    @Test
+    public void slowResponse_FailsWithRequestTimeout() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withFixedDelay(2000)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration()
+                .withNonBlockingTransport(true)
+                .withRequestTimeout(200)
+                .withRetryPolicy(PredefinedRetryPolicies.NO_RETRY_POLICY));
+
+        Future<String> future = httpClient.executeAsync(newGetRequest(RESOURCE_PATH), new ContentResponseHandler(),
+                stubErrorHandler(), new ExecutionContext(), executor, new RecordingCallback());
+
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AmazonClientException);
+            assertTrue(expected.getCause().getCause() instanceof HttpRequestTimeoutException);
+        }
+    }
+
+    @Test
+    public void clientShutdown_FailsPendingExecutions() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withFixedDelay(5000)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration()
+                .withNonBlockingTransport(true)
+                .withRetryPolicy(PredefinedRetryPolicies.NO_RETRY_POLICY));
+        RecordingCallback callback = new RecordingCallback();
+
+        Future<String> future = httpClient.executeAsync(newGetRequest(RESOURCE_PATH), new ContentResponseHandler(),
+                stubErrorHandler(), new ExecutionContext(), executor, callback);
+        Thread.sleep(200);
+        httpClient.shutdown();
+
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AmazonClientException);
+            assertTrue(expected.getCause().getMessage().contains("client has been shut down"));
+            assertSame(expected.getCause(), callback.exception);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void nonBlockingTransportNotEnabled_ThrowsException() throws Exception {
+        httpClient = new AmazonHttpClient(new ClientConfiguration());
+        httpClient.executeAsync(newGetRequest(RESOURCE_PATH), new ContentResponseHandler(), stubErrorHandler(),
+                new ExecutionContext(), executor, new RecordingCallback());
+    }
+
+    private static class ContentResponseHandler implements HttpResponseHandler<AmazonWebServiceResponse<String>> {
+        @Override
+        public AmazonWebServiceResponse<String> handle(HttpResponse response) throws Exception {
+            AmazonWebServiceResponse<String> awsResponse = new AmazonWebServiceResponse<String>();
+            awsResponse.setResult(IOUtils.toString(response.getContent()));
+            return awsResponse;
+        }
+
+        @Override
+        public boolean needsConnectionLeftOpen() {
+            return false;
+        }
+    }
+
+    private static class RecordingCallback implements ResponseCallback<String> {
+        private volatile Response<String> response;
+        private volatile Exception exception;
+
+        @Override
+        public void onResponse(Response<String> response) {
+            this.response = response;
+        }
+
+        @Override
+        public void onError(Exception exception) {
+            this.exception = exception;
+        }
+    }
+}
@@ -37,6 +37,10 @@ import org.apache.http.conn.scheme.SchemeRegistry;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.http.conn.ConnectionPoolWarmer;
+import com.amazonaws.http.settings.HttpClientSettings;
+
 public class IdleConnectionReaperTest {
     @Before
     public void init() {
@@ -77,6 +81,18 @@ public class IdleConnectionReaperTest {
         }
     }
 
+    @Test
+    public void connectionPoolWarmer_RequiresRegisteredManager() throws Exception {
+        HttpClientConnectionManager m = new TestClientConnectionManager();
+        HttpClientSettings settings = HttpClientSettings.adapt(new ClientConfiguration());
+        assertFalse(IdleConnectionReaper
+                .registerConnectionPoolWarmer(new ConnectionPoolWarmer(m, settings)));
+        assertTrue(IdleConnectionReaper.registerConnectionManager(m));
+        assertTrue(IdleConnectionReaper
+                .registerConnectionPoolWarmer(new ConnectionPoolWarmer(m, settings)));
+        assertTrue(IdleConnectionReaper.removeConnectionManager(m));
+    }
+
     private static class TestClientConnectionManager implements HttpClientConnectionManager {
         @Override
         public void releaseConnection(HttpClientConnection conn, Object newState, long validDuration, TimeUnit timeUnit) {}
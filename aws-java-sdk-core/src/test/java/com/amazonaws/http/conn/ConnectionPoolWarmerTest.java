@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.conn;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.Assert.assertEquals;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.http.AmazonHttpClient;
+import com.amazonaws.http.ExecutionContext;
+import com.amazonaws.http.IdleConnectionReaper;
+import com.amazonaws.http.apache.client.impl.ApacheConnectionManagerFactory;
+import com.amazonaws.http.response.DummyResponseHandler;
+import com.amazonaws.http.response.NullErrorResponseHandler;
+import com.amazonaws.http.settings.HttpClientSettings;
+
+import utils.http.WireMockTestBase;
+
+public class ConnectionPoolWarmerTest extends WireMockTestBase {
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @After
+    public void tearDown() {
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    public void warmUp_OpensConnections() throws Exception {
+        ConnectionPoolWarmer warmer = newWarmer(new ClientConfiguration());
+
+        assertEquals(3, warmer.warmUp(endpoint(), 3));
+        assertEquals(3, connectionManager.getStats(route()).getAvailable());
+
+        // Connections already open are reused
+        assertEquals(3, warmer.warmUp(endpoint(), 2));
+        assertEquals(5, warmer.warmUp(endpoint(), 5));
+        assertEquals(5, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    public void warmUp_IsCappedByMaxConnections() throws Exception {
+        ConnectionPoolWarmer warmer = newWarmer(new ClientConfiguration().withMaxConnections(2));
+        assertEquals(2, warmer.warmUp(endpoint(), 10));
+    }
+
+    @Test
+    public void keepWarm_ReopensClosedConnections() throws Exception {
+        ConnectionPoolWarmer warmer = newWarmer(new ClientConfiguration().withMinWarmConnections(2));
+        warmer.warmUp(endpoint(), 4);
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        assertEquals(0, connectionManager.getStats(route()).getAvailable());
+
+        warmer.keepWarm();
+        assertEquals(2, connectionManager.getStats(route()).getAvailable());
+    }
+
+    @Test
+    public void closeIdleConnections_KeepsMinWarmConnectionsOpen() throws Exception {
+        ConnectionPoolWarmer warmer = newWarmer(new ClientConfiguration().withMinWarmConnections(2));
+        warmer.warmUp(endpoint(), 4);
+
+        warmer.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        assertEquals(2, connectionManager.getStats(route()).getAvailable());
+        assertEquals(0, connectionManager.getStats(route()).getLeased());
+    }
+
+    @Test
+    public void noMinWarmConnections_CloseIdleConnectionsClosesAll() throws Exception {
+        ConnectionPoolWarmer warmer = newWarmer(new ClientConfiguration());
+        warmer.warmUp(endpoint(), 2);
+
+        warmer.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        assertEquals(0, connectionManager.getStats(route()).getAvailable());
+    }
+
+    @Test
+    public void noMinWarmConnections_KeepWarmDoesNothing() throws Exception {
+        ConnectionPoolWarmer warmer = newWarmer(new ClientConfiguration());
+        warmer.warmUp(endpoint(), 2);
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+
+        warmer.keepWarm();
+        assertEquals(0, connectionManager.getStats(route()).getAvailable());
+    }
+
+    @Test
+    public void proxyConfigured_NoConnectionIsWarmedUp() throws Exception {
+        ConnectionPoolWarmer warmer = newWarmer(new ClientConfiguration()
+                .withProxyHost("localhost").withProxyPort(mockServer.port()));
+        assertEquals(0, warmer.warmUp(endpoint(), 2));
+        assertEquals(0, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    public void requests_UseWarmConnections() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200).withBody("ok")));
+        AmazonHttpClient httpClient = new AmazonHttpClient(new ClientConfiguration());
+        try {
+            assertEquals(2, httpClient.warmUpConnections(endpoint(), 2));
+            httpClient.execute(newGetRequest("/"), new DummyResponseHandler().consumeContent(),
+                    new NullErrorResponseHandler(), new ExecutionContext());
+
+            List<HttpClientConnectionManager> managers = IdleConnectionReaper.getRegisteredConnectionManagers();
+            ConnPoolControl<?> pool = (ConnPoolControl<?>) managers.get(managers.size() - 1);
+            assertEquals(2, pool.getTotalStats().getAvailable());
+        } finally {
+            httpClient.shutdown();
+        }
+    }
+
+    private ConnectionPoolWarmer newWarmer(ClientConfiguration config) {
+        HttpClientSettings settings = HttpClientSettings.adapt(config);
+        connectionManager = (PoolingHttpClientConnectionManager) new ApacheConnectionManagerFactory().create(settings);
+        return new ConnectionPoolWarmer(connectionManager, settings);
+    }
+
+    private URI endpoint() {
+        return URI.create("http://localhost:" + mockServer.port());
+    }
+
+    private HttpRoute route() {
+        return new HttpRoute(new HttpHost("localhost", mockServer.port(), "http"));
+    }
+}
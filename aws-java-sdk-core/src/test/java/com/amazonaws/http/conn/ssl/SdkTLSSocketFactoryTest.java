@@ -14,9 +14,14 @@
  */
 package com.amazonaws.http.conn.ssl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -24,6 +29,7 @@ import java.util.Collections;
 import java.util.List;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
 
 import org.junit.Test;
 
@@ -108,6 +114,65 @@ public class SdkTLSSocketFactoryTest {
         });
     }
 
+    @Test
+    public void preferredCipherSuites() throws NoSuchAlgorithmException {
+        SdkTLSSocketFactory f = new SdkTLSSocketFactory(SSLContext.getDefault(), null,
+                TLSCipherSuites.AES_GCM_PREFERRED);
+        final List<String> enabled = new ArrayList<String>();
+        f.prepareSocket(new TestSSLSocket() {
+            @Override
+            public String[] getSupportedCipherSuites() {
+                return new String[]{"TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA256", "TLS_RSA_WITH_AES_128_CBC_SHA",
+                        "TLS_RSA_WITH_AES_128_GCM_SHA256", "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256"};
+            }
+            @Override
+            public String[] getEnabledCipherSuites() {
+                return new String[]{"TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA256", "TLS_RSA_WITH_AES_128_GCM_SHA256"};
+            }
+            @Override
+            public void setEnabledCipherSuites(String[] suites) {
+                enabled.addAll(Arrays.asList(suites));
+            }
+        });
+        assertEquals(Arrays.asList("TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256", "TLS_RSA_WITH_AES_128_GCM_SHA256",
+                "TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA256"), enabled);
+    }
+
+    @Test
+    public void noPreferredCipherSuites() throws NoSuchAlgorithmException {
+        SdkTLSSocketFactory f = new SdkTLSSocketFactory(SSLContext.getDefault(), null);
+        f.prepareSocket(new TestSSLSocket() {
+            @Override
+            public void setEnabledCipherSuites(String[] suites) {
+                fail();
+            }
+        });
+    }
+
+    @Test
+    public void resumedSession() {
+        final long handshakeStart = System.currentTimeMillis();
+        assertTrue(SdkTLSSocketFactory.isResumed(sessionCreatedAt(handshakeStart - 1000), handshakeStart));
+        assertFalse(SdkTLSSocketFactory.isResumed(sessionCreatedAt(handshakeStart), handshakeStart));
+        assertFalse(SdkTLSSocketFactory.isResumed(null, handshakeStart));
+    }
+
+    private SSLSession sessionCreatedAt(final long creationTime) {
+        return (SSLSession) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{SSLSession.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("getCreationTime".equals(method.getName())) {
+                            return creationTime;
+                        }
+                        if ("isValid".equals(method.getName())) {
+                            return true;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
     private String[] shuffle(String[] in) {
         List<String> list = new ArrayList<String>(Arrays.asList(in));
         Collections.shuffle(list);
@@ -21,6 +21,7 @@ package com.amazonaws.http.response;
 import com.amazonaws.AmazonWebServiceResponse;
 import com.amazonaws.http.HttpResponse;
 import com.amazonaws.http.HttpResponseHandler;
+import com.amazonaws.util.IOUtils;
 
 /**
  * ResponseHandler implementation to return an empty response
@@ -28,9 +29,13 @@ import com.amazonaws.http.HttpResponseHandler;
 public class DummyResponseHandler implements HttpResponseHandler<AmazonWebServiceResponse<String>> {
 
     private boolean needsConnectionLeftOpen = false;
+    private boolean consumeContent = false;
 
     @Override
     public AmazonWebServiceResponse<String> handle(HttpResponse response) throws Exception {
+        if (consumeContent && response.getContent() != null) {
+            IOUtils.toByteArray(response.getContent());
+        }
         return new AmazonWebServiceResponse<String>() {
         };
     }
@@ -48,4 +53,13 @@ public class DummyResponseHandler implements HttpResponseHandler<AmazonWebServic
         this.needsConnectionLeftOpen = true;
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Read the whole content before returning, like an unmarshaller would
+     * @return Object for method chaining
+     */
+    public DummyResponseHandler consumeContent() {
+        this.consumeContent = true;
+        return this;
+    }
+}
@@ -87,19 +87,8 @@ public class ClientExecutionAndRequestTimerTestUtils {
     }
 
     /**
-     * Assert response was buffered into memory to enforce the timeout on both connection
-     * established and reading of content
-     * 
-     * @param responseProxy
-     *            Must by a spied {@link HttpResponseProxy}
-     */
-    public static void assertResponseIsBuffered(HttpResponseProxy responseProxy) {
-        verify(responseProxy).setEntity(any(BufferedHttpEntity.class));
-    }
-
-    /**
-     * Assert response was NOT buffered into memory as should be the case when client execution and
-     * request timeouts are disabled or an operation is streaming and it's content must be left open
+     * Assert response was NOT buffered into memory. The timeouts cover the unmarshalling of the
+     * response, so it's parsed directly off the connection whether or not they are enabled
      * 
      * @param responseProxy
      *            Must by a spied {@link HttpResponseProxy}
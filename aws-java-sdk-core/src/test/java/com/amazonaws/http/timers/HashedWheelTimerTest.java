@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.timers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.amazonaws.http.timers.HashedWheelTimer.Timeout;
+
+public class HashedWheelTimerTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    @Test(timeout = 5000)
+    public void timeoutExpiresAfterDelay() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(TICK_MILLIS, 8);
+        CountDownLatch expired = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        Timeout timeout = timer.newTimeout(countDown(expired), 100);
+        expired.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("expired after " + elapsedMillis + "ms", elapsedMillis >= 100);
+        assertTrue(timeout.isDone());
+        assertFalse(timeout.isCancelled());
+    }
+
+    /**
+     * The delay spans several rotations of a wheel of 4 ticks.
+     */
+    @Test(timeout = 5000)
+    public void timeoutsLongerThanOneRotationExpireInOrder() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(TICK_MILLIS, 4);
+        final StringBuffer order = new StringBuffer();
+        final CountDownLatch expired = new CountDownLatch(3);
+
+        timer.newTimeout(append(order, "c", expired), 250);
+        timer.newTimeout(append(order, "a", expired), 50);
+        timer.newTimeout(append(order, "b", expired), 130);
+        expired.await();
+
+        assertEquals("abc", order.toString());
+        assertEquals(0, timer.getScheduledTimeoutCount());
+    }
+
+    @Test(timeout = 5000)
+    public void timeoutWithoutDelayExpiresAtNextTick() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(TICK_MILLIS, 8);
+        CountDownLatch expired = new CountDownLatch(1);
+
+        timer.newTimeout(countDown(expired), 0);
+
+        assertTrue(expired.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 5000)
+    public void canceledTimeoutsNeverRunAndAreRemoved() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(TICK_MILLIS, 8);
+        final AtomicInteger runs = new AtomicInteger();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        };
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(timer.newTimeout(task, 100 + i).cancel(false));
+        }
+        Timeout scheduledThenCanceled = timer.newTimeout(task, 200);
+        Thread.sleep(5 * TICK_MILLIS);
+        assertEquals(1, timer.getScheduledTimeoutCount());
+        assertTrue(scheduledThenCanceled.cancel(false));
+
+        Thread.sleep(5 * TICK_MILLIS);
+        assertEquals(0, timer.getScheduledTimeoutCount());
+        Thread.sleep(1500);
+        assertEquals(0, runs.get());
+    }
+
+    @Test(timeout = 5000)
+    public void expiredTimeoutCannotBeCanceled() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(TICK_MILLIS, 8);
+        CountDownLatch expired = new CountDownLatch(1);
+
+        Timeout timeout = timer.newTimeout(countDown(expired), 20);
+        expired.await();
+        timeout.get();
+
+        assertFalse(timeout.cancel(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveTickIsRejected() {
+        new HashedWheelTimer(0, 8);
+    }
+
+    private static Runnable countDown(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+    }
+
+    private static Runnable append(final StringBuffer order, final String value, final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                order.append(value);
+                latch.countDown();
+            }
+        };
+    }
+}
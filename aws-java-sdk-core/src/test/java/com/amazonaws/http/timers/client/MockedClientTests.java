@@ -16,7 +16,6 @@ package com.amazonaws.http.timers.client;
 
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertCanceledTasksRemoved;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertCoreThreadsShutDownAfterBeingIdle;
-import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertResponseIsBuffered;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertResponseWasNotBuffered;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertTimerNeverTriggered;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.createHttpResponseProxySpy;
@@ -60,7 +59,7 @@ public class MockedClientTests {
     }
 
     @Test
-    public void clientExecutionTimeoutEnabled_RequestCompletesWithinTimeout_TaskCanceledAndEntityBuffered()
+    public void clientExecutionTimeoutEnabled_RequestCompletesWithinTimeout_TaskCanceledAndEntityNotBuffered()
             throws Exception {
         ClientConfiguration config = new ClientConfiguration().withClientExecutionTimeout(CLIENT_EXECUTION_TIMEOUT)
                 .withMaxErrorRetry(0);
@@ -78,7 +77,7 @@ public class MockedClientTests {
             NullResponseHandler.assertIsUnmarshallingException(e);
         }
 
-        assertResponseIsBuffered(responseProxy);
+        assertResponseWasNotBuffered(responseProxy);
         ScheduledThreadPoolExecutor requestTimerExecutor = httpClient.getClientExecutionTimer().getExecutor();
         assertTimerNeverTriggered(requestTimerExecutor);
         assertCanceledTasksRemoved(requestTimerExecutor);
@@ -118,6 +118,22 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
         }
     }
 
+    @Test(timeout = TEST_TIMEOUT)
+    public void clientExecutionTimeoutEnabled_WithSharedTimeoutTimer_ThrowsClientExecutionTimeoutException()
+            throws IOException {
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withClientExecutionTimeout(CLIENT_EXECUTION_TIMEOUT)
+                .withSocketTimeout(LONGER_SOCKET_TIMEOUT).withMaxErrorRetry(0).withSharedTimeoutTimer(true));
+
+        try {
+            httpClient.execute(newGetRequest(), new NullResponseHandler(), new NullErrorResponseHandler(),
+                    new ExecutionContext());
+            fail("Exception expected");
+        } catch (AmazonClientException e) {
+            assertThat(e, instanceOf(ClientExecutionTimeoutException.class));
+            assertClientExecutionTimerExecutorNotCreated(httpClient.getClientExecutionTimer());
+        }
+    }
+
     @Test(timeout = TEST_TIMEOUT)
     public void clientExecutionTimeoutEnabled_WithShorterSocketTimeout_ThrowsSocketTimeoutException()
             throws IOException {
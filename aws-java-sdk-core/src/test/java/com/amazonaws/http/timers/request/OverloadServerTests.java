@@ -18,11 +18,14 @@ import com.amazonaws.AmazonClientException;
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.TestPreConditions;
 import com.amazonaws.http.AmazonHttpClient;
+import com.amazonaws.http.ExecutionContext;
 import com.amazonaws.http.OverloadedMockServerTestBase;
 import com.amazonaws.http.apache.client.impl.ApacheHttpClientFactory;
 import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
 import com.amazonaws.http.client.HttpClientFactory;
 import com.amazonaws.http.exception.HttpRequestTimeoutException;
+import com.amazonaws.http.response.DummyResponseHandler;
+import com.amazonaws.http.response.NullErrorResponseHandler;
 import com.amazonaws.http.server.MockServer;
 import com.amazonaws.http.server.MockServer.ServerBehavior;
 import com.amazonaws.http.settings.HttpClientSettings;
@@ -33,7 +36,6 @@ import java.io.IOException;
 
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertNumberOfRetries;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertNumberOfTasksTriggered;
-import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.execute;
 import static com.amazonaws.http.timers.TimeoutTestConstants.TEST_TIMEOUT;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertThat;
@@ -59,6 +61,10 @@ public class OverloadServerTests extends OverloadedMockServerTestBase {
         return MockServer.createMockServer(ServerBehavior.OVERLOADED);
     }
 
+    /**
+     * The response is unmarshalled directly off the connection, so the request timeout has to
+     * abort the slow response body while the response handler is reading it.
+     */
     @Test(timeout = TEST_TIMEOUT)
     public void requestTimeoutEnabled_HonorsRetryPolicy() throws IOException {
         int maxRetries = 2;
@@ -70,7 +76,8 @@ public class OverloadServerTests extends OverloadedMockServerTestBase {
         httpClient = new AmazonHttpClient(config, rawHttpClient, null);
 
         try {
-            execute(httpClient, newGetRequest());
+            httpClient.execute(newGetRequest(), new DummyResponseHandler().consumeContent(),
+                    new NullErrorResponseHandler(), new ExecutionContext());
             fail("Exception expected");
         } catch (AmazonClientException e) {
             /* the expected exception and number of requests. */
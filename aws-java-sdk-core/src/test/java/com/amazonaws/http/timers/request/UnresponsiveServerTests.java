@@ -86,6 +86,20 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
         }
     }
 
+    @Test(timeout = TEST_TIMEOUT)
+    public void requestTimeoutEnabled_WithSharedTimeoutTimer_ThrowsRequestTimeoutException() {
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withSocketTimeout(LONGER_SOCKET_TIMEOUT)
+                .withRequestTimeout(REQUEST_TIMEOUT).withMaxErrorRetry(0).withSharedTimeoutTimer(true));
+
+        try {
+            execute(httpClient, newGetRequest());
+            fail("Exception expected");
+        } catch (AmazonClientException e) {
+            assertThat(e.getCause(), instanceOf(HttpRequestTimeoutException.class));
+            assertRequestTimerExecutorNotCreated(httpClient.getHttpRequestTimer());
+        }
+    }
+
     @Test(timeout = TEST_TIMEOUT)
     public void requestTimeoutSetInRequestObject_WithShorterSocketTimeout_ThrowsRequestTimeoutException() {
         httpClient = new AmazonHttpClient(
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ConcurrentFIFOCacheTest {
+
+    @Test
+    public void test() {
+        ConcurrentFIFOCache<String, String> cache = new ConcurrentFIFOCache<String, String>(3);
+        assertTrue(cache.size() == 0);
+        cache.add("k1", "v1");
+        assertTrue(cache.size() == 1);
+        cache.add("k1", "v11");
+        assertTrue(cache.size() == 1);
+        cache.add("k2", "v2");
+        assertTrue(cache.size() == 2);
+        cache.add("k3", "v3");
+        assertTrue(cache.size() == 3);
+        assertEquals("v11", cache.get("k1"));
+        assertEquals("v2", cache.get("k2"));
+        assertEquals("v3", cache.get("k3"));
+        cache.add("k4", "v4");
+        assertTrue(cache.size() == 3);
+        assertNull(cache.get("k1"));
+        assertEquals("v4", cache.get("k4"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testZeroSize() {
+        new ConcurrentFIFOCache<Object, Object>(0);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalArgument() {
+        new ConcurrentFIFOCache<Object, Object>(-1);
+    }
+
+    @Test
+    public void testSingleEntry() {
+        ConcurrentFIFOCache<String, String> cache = new ConcurrentFIFOCache<String, String>(1);
+        cache.add("k1", "v1");
+        cache.add("k1", "v11");
+        assertTrue(cache.size() == 1);
+        assertEquals("v11", cache.get("k1"));
+
+        cache.add("k2", "v2");
+        assertTrue(cache.size() == 1);
+        assertEquals("v2", cache.get("k2"));
+        assertNull(cache.get("k1"));
+    }
+
+    @Test
+    public void testConcurrentAdds() throws Exception {
+        final ConcurrentFIFOCache<Integer, Integer> cache = new ConcurrentFIFOCache<Integer, Integer>(10);
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * 1000;
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 1000; i++) {
+                        cache.add(offset + i, i);
+                        cache.get(offset + i);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(cache.size() <= 10);
+    }
+}
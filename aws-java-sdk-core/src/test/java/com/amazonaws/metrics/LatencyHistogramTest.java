@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogram_ReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void smallValues_AreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 100; i > 0; i--) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+        assertEquals(100, histogram.getMax());
+    }
+
+    /**
+     * Tests that every value is reported within the relative error of the
+     * sub-buckets, and never below itself.
+     */
+    @Test
+    public void largeValues_AreWithinRelativeError() {
+        for (long value = 1; value < LatencyHistogram.MAX_TRACKABLE_VALUE; value = value * 3 + 7) {
+            long reported = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+            assertTrue(reported >= value);
+            assertTrue((reported - value) <= value / LatencyHistogram.SUB_BUCKET_COUNT);
+        }
+    }
+
+    @Test
+    public void bucketIndexes_AreContiguous() {
+        for (int index = 0; index < LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_VALUE); index++) {
+            long highest = LatencyHistogram.highestValueOf(index);
+            assertEquals(index, LatencyHistogram.indexOf(highest));
+            assertEquals(index + 1, LatencyHistogram.indexOf(highest + 1));
+        }
+    }
+
+    @Test
+    public void percentiles_AreOfTheRecordedDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(1000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(500000);
+        }
+        assertEquals(1000, histogram.getValueAtPercentile(50), 1000 / 64);
+        assertEquals(1000, histogram.getValueAtPercentile(99), 1000 / 64);
+        assertEquals(500000, histogram.getValueAtPercentile(99.9), 500000 / 64);
+        assertEquals(500000, histogram.getMax());
+    }
+
+    @Test
+    public void valuesOutOfRange_AreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPercentile_ThrowsException() {
+        new LatencyHistogram().getValueAtPercentile(101);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.AWSRequestMetricsLightweightSupport;
+import com.amazonaws.util.TimingInfo;
+
+public class RequestLatencyHistogramsTest {
+
+    private final RequestLatencyHistograms histograms = new RequestLatencyHistograms();
+
+    @After
+    public void tearDown() {
+        AwsSdkMetrics.disableLatencyHistograms();
+    }
+
+    @Test
+    public void latencies_AreRecordedPerServiceAndOperation() {
+        for (int i = 1; i <= 100; i++) {
+            histograms.collect(newRequest("AmazonS3", new GetThingRequest(), Field.HttpRequestTime, i));
+        }
+        histograms.collect(newRequest("AmazonS3", new PutThingRequest(), Field.HttpRequestTime, 500));
+        histograms.collect(newRequest("AmazonSQS", new GetThingRequest(), Field.ClientExecuteTime, 7));
+
+        assertEquals(3, histograms.getOperationLatencyHistograms().size());
+        LatencyHistogram getThing = histograms.getOperationLatencyHistograms("AmazonS3", "GetThing")
+                .getHistogram(Field.HttpRequestTime);
+        assertEquals(100, getThing.getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toMicros(99), getThing.getValueAtPercentile(99),
+                TimeUnit.MILLISECONDS.toMicros(99) / LatencyHistogram.SUB_BUCKET_COUNT);
+        assertEquals(1, histograms.getOperationLatencyHistograms("AmazonS3", "PutThing")
+                .getHistogram(Field.HttpRequestTime).getCount());
+        assertEquals(0, histograms.getOperationLatencyHistograms("AmazonSQS", "GetThing")
+                .getHistogram(Field.HttpRequestTime).getCount());
+        assertNull(histograms.getOperationLatencyHistograms("AmazonS3", "DeleteThing"));
+        assertNull(histograms.getOperationLatencyHistograms("AmazonS3", "GetThing").getHistogram(Field.RetryCount));
+    }
+
+    @Test
+    public void disabledMetrics_AreNotRecorded() {
+        Request<?> request = new DefaultRequest<Object>(new GetThingRequest(), "AmazonS3");
+        request.setAWSRequestMetrics(new AWSRequestMetrics());
+        histograms.collect(request);
+        assertTrue(histograms.getOperationLatencyHistograms().isEmpty());
+    }
+
+    @Test
+    public void reset_DiscardsLatencies() {
+        histograms.collect(newRequest("AmazonS3", new GetThingRequest(), Field.HttpRequestTime, 1));
+        histograms.reset();
+        assertTrue(histograms.getOperationLatencyHistograms().isEmpty());
+    }
+
+    @Test
+    public void metricAdmin_ReportsLatencyHistograms() {
+        MetricAdmin admin = new MetricAdmin();
+        assertEquals(0, admin.getLatencyHistograms().length);
+
+        admin.setLatencyHistogramsEnabled(true);
+        assertTrue(AwsSdkMetrics.isLatencyHistogramsEnabled());
+        AwsSdkMetrics.getLatencyHistograms().collect(
+                newRequest("AmazonS3", new GetThingRequest(), Field.HttpRequestTime, 2));
+        String[] lines = admin.getLatencyHistograms();
+        assertEquals(1, lines.length);
+        assertTrue(lines[0], lines[0].startsWith("AmazonS3 GetThing HttpRequestTime: count=1, p50=2.0"));
+
+        admin.resetLatencyHistograms();
+        assertEquals(0, admin.getLatencyHistograms().length);
+        admin.setLatencyHistogramsEnabled(false);
+        assertNull(AwsSdkMetrics.getLatencyHistograms());
+    }
+
+    private static Request<?> newRequest(String serviceName, AmazonWebServiceRequest originalRequest,
+            Field field, long millis) {
+        AWSRequestMetrics metrics = new AWSRequestMetricsLightweightSupport();
+        long start = System.nanoTime();
+        metrics.getTimingInfo().addSubMeasurement(field.name(),
+                TimingInfo.newTimingInfoFullSupport(start, start + TimeUnit.MILLISECONDS.toNanos(millis)));
+        Request<?> request = new DefaultRequest<Object>(originalRequest, serviceName);
+        request.setAWSRequestMetrics(metrics);
+        return request;
+    }
+
+    private static class GetThingRequest extends AmazonWebServiceRequest {
+    }
+
+    private static class PutThingRequest extends AmazonWebServiceRequest {
+    }
+}
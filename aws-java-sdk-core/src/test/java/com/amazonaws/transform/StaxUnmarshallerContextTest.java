@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.events.XMLEvent;
+
+import org.junit.Test;
+
+public class StaxUnmarshallerContextTest {
+
+    private static final String XML =
+            "<DescribeInstancesResponse>"
+            + "<reservationSet>"
+            + "<item><instanceId>i-1</instanceId>"
+            + "<grantee type=\"Group\"><uri>all</uri></grantee>"
+            + "</item>"
+            + "</reservationSet>"
+            + "</DescribeInstancesResponse>";
+
+    private static final String[] EXPRESSIONS = {
+            ".", "reservationSet", "reservationSet/item", "item", "item/instanceId",
+            "instanceId", "grantee", "grantee/@type", "@type", "grantee/uri", "uri",
+            "Item", "reservationSet/instanceId", "@uri"
+    };
+
+    private static StaxUnmarshallerContext createContext(String xml) throws Exception {
+        return new StaxUnmarshallerContext(XMLInputFactory.newInstance()
+                .createXMLEventReader(new StringReader(xml)));
+    }
+
+    /**
+     * Compiled expressions must match exactly the same positions as the
+     * string expressions they were compiled from.
+     */
+    @Test
+    public void compiledExpressionsMatchStringExpressions() throws Exception {
+        StaxUnmarshallerContext context = createContext(XML);
+        int matches = 0;
+        while (true) {
+            XMLEvent event = context.nextEvent();
+            if (event.isEndDocument()) break;
+
+            for (String expression : EXPRESSIONS) {
+                StaxPathExpression compiled = StaxPathExpression.compile(expression);
+                for (int depth = 0; depth <= 5; depth++) {
+                    boolean expected = context.testExpression(expression, depth);
+                    assertEquals(expression + " at " + depth, expected,
+                            context.testExpression(compiled, depth));
+                    if (expected) matches++;
+                }
+            }
+        }
+        assertTrue(matches > 0);
+    }
+
+    @Test
+    public void matchesElementsAndAttributes() throws Exception {
+        StaxUnmarshallerContext context = createContext(XML);
+        StaxPathExpression instanceId = StaxPathExpression.compile("item/instanceId");
+        StaxPathExpression type = StaxPathExpression.compile("grantee/@type");
+
+        boolean sawInstanceId = false;
+        boolean sawType = false;
+        while (true) {
+            XMLEvent event = context.nextEvent();
+            if (event.isEndDocument()) break;
+
+            if (context.testExpression(instanceId, 3)) {
+                assertEquals("i-1", context.readText());
+                sawInstanceId = true;
+            }
+            if (context.testExpression(type, 4)) {
+                assertEquals("Group", context.readText());
+                sawType = true;
+            }
+        }
+        assertTrue(sawInstanceId);
+        assertTrue(sawType);
+    }
+
+    @Test
+    public void trackingDepthBeyondInitialCapacity() throws Exception {
+        StringBuilder xml = new StringBuilder();
+        for (int i = 0; i < 40; i++) xml.append("<e").append(i).append('>');
+        for (int i = 39; i >= 0; i--) xml.append("</e").append(i).append('>');
+
+        StaxUnmarshallerContext context = createContext(xml.toString());
+        StaxPathExpression deepest = StaxPathExpression.compile("e38/e39");
+        boolean matched = false;
+        while (!context.nextEvent().isEndDocument()) {
+            matched |= context.testExpression(deepest, 39);
+        }
+        assertTrue(matched);
+        assertEquals(0, context.getCurrentDepth());
+        assertFalse(context.testExpression(deepest, 39));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.amazonaws.metrics.SimpleMetricType;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+
+public class AWSRequestMetricsLightweightSupportTest {
+
+    private final AWSRequestMetricsLightweightSupport metrics = new AWSRequestMetricsLightweightSupport();
+    private final TimingInfo timingInfo = metrics.getTimingInfo();
+
+    @Test
+    public void countersOfFields_AreReadByName() {
+        assertNull(timingInfo.getCounter(Field.RequestCount.name()));
+        metrics.incrementCounter(Field.RequestCount);
+        metrics.incrementCounter(Field.RequestCount.name());
+        metrics.setCounter(Field.RetryCapacityConsumed, 10);
+
+        assertEquals(2L, timingInfo.getCounter(Field.RequestCount.name()));
+        assertEquals(10L, timingInfo.getCounter(Field.RetryCapacityConsumed.name()));
+        assertEquals(2, timingInfo.getAllCounters().size());
+    }
+
+    @Test
+    public void eventsOfFields_AreRecordedInOrder() {
+        metrics.startEvent(Field.HttpRequestTime);
+        metrics.endEvent(Field.HttpRequestTime);
+        metrics.startEvent(Field.HttpRequestTime.name());
+        metrics.endEvent(Field.HttpRequestTime.name());
+
+        List<TimingInfo> timings = timingInfo.getAllSubMeasurements(Field.HttpRequestTime.name());
+        assertEquals(2, timings.size());
+        assertTrue(timings.get(0).getStartTimeNano() <= timings.get(1).getStartTimeNano());
+        assertTrue(timings.get(1).isEndTimeKnown());
+        assertEquals(timings.get(1).getStartTimeNano(),
+                timingInfo.getLastSubMeasurement(Field.HttpRequestTime.name()).getStartTimeNano());
+        assertNull(timingInfo.getSubMeasurement(Field.HttpRequestTime.name(), 2));
+        assertNull(timingInfo.getAllSubMeasurements(Field.ClientExecuteTime.name()));
+    }
+
+    @Test
+    public void eventNotStarted_IsNotRecorded() {
+        metrics.endEvent(Field.ResponseProcessingTime);
+        assertNull(timingInfo.getSubMeasurement(Field.ResponseProcessingTime.name()));
+    }
+
+    @Test
+    public void eventEndedTwice_IsRecordedOnce() {
+        metrics.startEvent(Field.HttpRequestTime);
+        metrics.endEvent(Field.HttpRequestTime);
+        metrics.endEvent(Field.HttpRequestTime);
+        assertEquals(1, timingInfo.getAllSubMeasurements(Field.HttpRequestTime.name()).size());
+    }
+
+    @Test
+    public void metricsOtherThanFields_AreRecordedByName() {
+        SimpleMetricType other = new SimpleMetricType() {
+            @Override
+            public String name() {
+                return "OtherTime";
+            }
+        };
+        metrics.startEvent(other);
+        metrics.endEvent(other);
+        metrics.incrementCounter("OtherCount");
+        metrics.addProperty(other, "value");
+
+        assertEquals(1, timingInfo.getAllSubMeasurements("OtherTime").size());
+        assertEquals(1L, timingInfo.getCounter("OtherCount"));
+        assertEquals(Arrays.<Object> asList("value"), metrics.getProperty("OtherTime"));
+        assertTrue(timingInfo.getSubMeasurementsByName().containsKey("OtherTime"));
+        assertTrue(timingInfo.getAllCounters().containsKey("OtherCount"));
+    }
+
+    @Test
+    public void propertiesOfFields_KeepAllValuesInOrder() {
+        assertNull(metrics.getProperty(Field.StatusCode));
+        metrics.addProperty(Field.StatusCode, 500);
+        metrics.addProperty(Field.ServiceName, "AmazonS3");
+        metrics.addProperty(Field.StatusCode.name(), 200);
+
+        assertEquals(Arrays.<Object> asList(500, 200), metrics.getProperty(Field.StatusCode));
+        assertEquals(Arrays.<Object> asList(500, 200), metrics.getProperty(Field.StatusCode.name()));
+        assertEquals(Arrays.<Object> asList("AmazonS3"), metrics.getProperty(Field.ServiceName));
+    }
+
+    @Test
+    public void manySubMeasurementsAndProperties_AreAllKept() {
+        for (int i = 0; i < 100; i++) {
+            metrics.startEvent(Field.HttpClientSendRequestTime);
+            metrics.endEvent(Field.HttpClientSendRequestTime);
+            metrics.addProperty(Field.AWSRequestID, i);
+        }
+        assertEquals(100, timingInfo.getAllSubMeasurements(Field.HttpClientSendRequestTime.name()).size());
+        assertEquals(100, metrics.getProperty(Field.AWSRequestID).size());
+        assertEquals(99, metrics.getProperty(Field.AWSRequestID).get(99));
+    }
+}
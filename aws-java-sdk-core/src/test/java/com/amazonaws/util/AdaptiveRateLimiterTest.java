@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdaptiveRateLimiterTest {
+
+    private static final double DELTA = 1e-9;
+
+    /**
+     * Tests that the limiter doesn't delay any request until it is throttled.
+     */
+    @Test
+    public void doesNotLimitBeforeFirstThrottle() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(0, limiter.acquire());
+            limiter.onSuccess();
+        }
+        assertEquals(-1, limiter.getFillRate(), DELTA);
+    }
+
+    /**
+     * Tests that the first throttle sets the fill rate below the send rate, and
+     * that requests sent faster than the fill rate are delayed.
+     */
+    @Test
+    public void throttleLimitsBelowSendRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        limiter.onThrottle(System.nanoTime());
+
+        double fillRate = limiter.getFillRate();
+        assertTrue(fillRate >= AdaptiveRateLimiter.MIN_FILL_RATE);
+        assertTrue(fillRate <= 100 / elapsedSeconds * AdaptiveRateLimiter.DECREASE_FACTOR);
+    }
+
+    /**
+     * Tests that requests sent faster than the fill rate reserve the next
+     * tokens in turn, each waiting one more token than the previous one.
+     */
+    @Test
+    public void requestsBeyondFillRateAreDelayedInOrder() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        limiter.onThrottle(System.nanoTime());
+        assertEquals(AdaptiveRateLimiter.MIN_FILL_RATE, limiter.getFillRate(), DELTA);
+
+        // The bucket starts empty, so the first request already waits
+        long tokenNanos = (long) (TimeUnit.SECONDS.toNanos(1) / AdaptiveRateLimiter.MIN_FILL_RATE);
+        long firstDelay = limiter.acquire();
+        long secondDelay = limiter.acquire();
+        assertTrue(firstDelay > tokenNanos / 2 && firstDelay <= tokenNanos);
+        assertTrue(secondDelay > firstDelay + tokenNanos / 2);
+    }
+
+    /**
+     * Tests that throttled responses to requests sent before the last decrease
+     * don't decrease the fill rate again.
+     */
+    @Test
+    public void throttleOfRequestSentBeforeLastDecreaseIsIgnored() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        long sentBeforeDecrease = System.nanoTime();
+        limiter.onSuccess();
+        limiter.onThrottle(System.nanoTime());
+        double fillRate = limiter.getFillRate();
+
+        limiter.onThrottle(sentBeforeDecrease);
+        assertEquals(fillRate, limiter.getFillRate(), DELTA);
+
+        limiter.onThrottle(System.nanoTime());
+        assertTrue(limiter.getFillRate() <= fillRate);
+    }
+
+    /**
+     * Tests that successful responses grow the fill rate back.
+     */
+    @Test
+    public void successesIncreaseFillRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        limiter.onThrottle(System.nanoTime());
+        double throttledRate = limiter.getFillRate();
+
+        limiter.onSuccess();
+        assertTrue(limiter.getFillRate() > throttledRate);
+    }
+
+    /**
+     * Tests that repeated throttling never decreases the fill rate below the
+     * minimum, so the client can always make progress.
+     */
+    @Test
+    public void fillRateNeverDropsBelowMinimum() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter();
+        for (int i = 0; i < 100; i++) {
+            limiter.onThrottle(System.nanoTime());
+        }
+        assertEquals(AdaptiveRateLimiter.MIN_FILL_RATE, limiter.getFillRate(), DELTA);
+    }
+}
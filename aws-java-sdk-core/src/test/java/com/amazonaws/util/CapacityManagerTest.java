@@ -15,6 +15,12 @@
 
 package com.amazonaws.util;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -69,4 +75,41 @@ public class CapacityManagerTest {
         Assert.assertEquals(mgr.consumedCapacity(), 0);
     }
 
+    /**
+     * Tests that capacity is never over-acquired, and is fully returned, when
+     * many threads acquire and release concurrently.
+     */
+    @Test
+    public void concurrentAcquireAndRelease() throws Exception {
+        final CapacityManager mgr = new CapacityManager(100);
+        final AtomicInteger overAcquired = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 16; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 10000; j++) {
+                        if (mgr.acquire(5)) {
+                            if (mgr.availableCapacity() < 0) {
+                                overAcquired.incrementAndGet();
+                            }
+                            mgr.release(5);
+                        }
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        Assert.assertEquals(0, overAcquired.get());
+        Assert.assertEquals(100, mgr.availableCapacity());
+        Assert.assertEquals(0, mgr.consumedCapacity());
+    }
+
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyTrackerTest {
+
+    /**
+     * Tests that no percentile is estimated until enough latencies have been
+     * recorded.
+     */
+    @Test
+    public void fewSamples_NoPercentile() {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 1; i < LatencyTracker.MIN_SAMPLES; i++) {
+            tracker.record(i);
+        }
+        assertEquals(-1, tracker.getPercentile(95));
+        tracker.record(LatencyTracker.MIN_SAMPLES);
+        assertEquals(19, tracker.getPercentile(95));
+    }
+
+    @Test
+    public void percentilesOfRecordedLatencies() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        // Recorded out of order
+        for (int i = 100; i > 0; i--) {
+            tracker.record(i);
+        }
+        assertEquals(1, tracker.getPercentile(0.5));
+        assertEquals(50, tracker.getPercentile(50));
+        assertEquals(95, tracker.getPercentile(95));
+        assertEquals(100, tracker.getPercentile(100));
+    }
+
+    /**
+     * Tests that the oldest latencies are evicted once the buffer is full.
+     */
+    @Test
+    public void oldestLatenciesAreEvicted() {
+        LatencyTracker tracker = new LatencyTracker(LatencyTracker.MIN_SAMPLES);
+        for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+            tracker.record(1000);
+        }
+        for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+            tracker.record(1);
+        }
+        assertEquals(1, tracker.getPercentile(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPercentile_ThrowsException() {
+        new LatencyTracker().getPercentile(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sampleSizeBelowMinimum_ThrowsException() {
+        new LatencyTracker(LatencyTracker.MIN_SAMPLES - 1);
+    }
+}
@@ -20,9 +20,17 @@ package com.amazonaws.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -78,6 +86,63 @@ public class ResponseMetadataCacheTest {
         assertNull(cache.get(key));
     }
 
+    /** Tests that the latest metadata is returned for a request executed twice. */
+    @Test
+    public void testReusedKey() {
+        ResponseMetadataCache cache = new ResponseMetadataCache(3);
+
+        AmazonWebServiceRequest key = new TestRequest();
+        ResponseMetadata metadata1 = newResponseMetadata();
+        ResponseMetadata metadata2 = newResponseMetadata();
+        cache.add(key, metadata1);
+        cache.add(new TestRequest(), newResponseMetadata());
+        cache.add(key, metadata2);
+
+        assertEquals(metadata2, cache.get(key));
+    }
+
+    /** Tests that entries added concurrently are all kept, up to the max size. */
+    @Test
+    public void testConcurrentAdds() throws Exception {
+        final int threads = 8;
+        final int entriesPerThread = 100;
+        final ResponseMetadataCache cache = new ResponseMetadataCache(threads * entriesPerThread);
+        final AmazonWebServiceRequest[][] keys = new AmazonWebServiceRequest[threads][entriesPerThread];
+        final ResponseMetadata[][] values = new ResponseMetadata[threads][entriesPerThread];
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int i = 0; i < entriesPerThread; i++) {
+                            keys[thread][i] = new TestRequest();
+                            values[thread][i] = newResponseMetadata();
+                            cache.add(keys[thread][i], values[thread][i]);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < entriesPerThread; i++) {
+                assertSame(values[t][i], cache.get(keys[t][i]));
+            }
+        }
+    }
+
     private class TestRequest extends AmazonWebServiceRequest {}
 
     private ResponseMetadata newResponseMetadata() {
@@ -18,8 +18,17 @@
  */
 package com.amazonaws.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.message.BasicNameValuePair;
 import org.junit.*;
 
+import com.amazonaws.DefaultRequest;
+
 public class SdkHttpUtilsTest {
     @Test
     public void testEncodeNull() {
@@ -130,4 +139,57 @@ public class SdkHttpUtilsTest {
         String resourcePath = "aws//java/sdk";
         Assert.assertEquals(SdkHttpUtils.appendUri(host, resourcePath, false), "foo.com/aws//java/sdk");
     }
+
+    @Test
+    public void testEncodeParametersNoParameters() {
+        Assert.assertNull(SdkHttpUtils.encodeParameters(new DefaultRequest<Void>("foo")));
+    }
+
+    @Test
+    public void testEncodeParameters() {
+        DefaultRequest<Void> request = new DefaultRequest<Void>("foo");
+        request.addParameter("Action", "DescribeInstances");
+        request.addParameter("Filter.1.Name", "tag:Name");
+        request.addParameter("Filter.1.Value.1", "a b+c");
+        request.addParameter("Filter.1.Value.2", "*-_.~/");
+        request.addParameter("Multi", "1");
+        request.addParameter("Multi", "2");
+        request.addParameter("Empty", "");
+        request.addParameter("Null", null);
+        Assert.assertEquals("Action=DescribeInstances&Filter.1.Name=tag%3AName&Filter.1.Value.1=a+b%2Bc"
+                + "&Filter.1.Value.2=*-_.%7E%2F&Multi=1&Multi=2&Empty=&Null",
+                SdkHttpUtils.encodeParameters(request));
+    }
+
+    @Test
+    public void testEncodeParametersMatchesHttpClient() {
+        DefaultRequest<Void> request = new DefaultRequest<Void>("foo");
+        request.addParameter("Key", "caf\u00e9 \u20ac \ud83d\ude00 \ud83d!\u0000\u007f");
+        request.addParameter("K\u00e9y", "=&%");
+        Assert.assertEquals(httpClientEncode(request.getParameters()), SdkHttpUtils.encodeParameters(request));
+    }
+
+    @Test
+    public void testEncodeLargeParameters() {
+        DefaultRequest<Void> request = new DefaultRequest<Void>("foo");
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            value.append('\u00e9');
+        }
+        request.addParameter("Key", value.toString());
+        Assert.assertEquals(httpClientEncode(request.getParameters()), SdkHttpUtils.encodeParameters(request));
+        request.getParameters().clear();
+        request.addParameter("Key", "Value");
+        Assert.assertEquals("Key=Value", SdkHttpUtils.encodeParameters(request));
+    }
+
+    private static String httpClientEncode(Map<String, List<String>> parameters) {
+        List<NameValuePair> pairs = new ArrayList<NameValuePair>();
+        for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+            for (String value : entry.getValue()) {
+                pairs.add(new BasicNameValuePair(entry.getKey(), value));
+            }
+        }
+        return URLEncodedUtils.format(pairs, "UTF-8");
+    }
 }
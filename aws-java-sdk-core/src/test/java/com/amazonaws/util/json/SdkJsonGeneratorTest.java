@@ -17,7 +17,9 @@ package com.amazonaws.util.json;
 import com.amazonaws.protocol.json.SdkJsonGenerator;
 import com.amazonaws.protocol.json.StructuredJsonGenerator;
 import com.amazonaws.util.Base64;
+import com.amazonaws.util.IOUtils;
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -25,9 +27,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Date;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -82,6 +86,55 @@ public class SdkJsonGeneratorTest {
         assertEquals(Base64.encodeAsString(data), node.get("binaryProp").textValue());
     }
 
+    @Test
+    public void simpleObject_WithBinaryDataFromPosition_WritesRemainingBytes() throws IOException {
+        byte[] data = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        ByteBuffer buffer = ByteBuffer.wrap(data, 2, 6).slice();
+        buffer.position(1);
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName("binaryProp").writeValue(buffer);
+        jsonGenerator.writeEndObject();
+        JsonNode node = toJsonNode();
+        assertEquals(Base64.encodeAsString(new byte[]{4, 5, 6, 7, 8}), node.get("binaryProp").textValue());
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    public void simpleObject_WithDirectBinaryData_WritesAsBase64() throws IOException {
+        byte[] data = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+        buffer.position(3);
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName("binaryProp").writeValue(buffer);
+        jsonGenerator.writeEndObject();
+        JsonNode node = toJsonNode();
+        assertEquals(Base64.encodeAsString(new byte[]{4, 5, 6, 7, 8, 9, 10}), node.get("binaryProp").textValue());
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    public void simpleObject_WithReadOnlyBinaryData_WritesAsBase64() throws IOException {
+        byte[] data = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName("binaryProp").writeValue(ByteBuffer.wrap(data).asReadOnlyBuffer());
+        jsonGenerator.writeEndObject();
+        JsonNode node = toJsonNode();
+        assertEquals(Base64.encodeAsString(data), node.get("binaryProp").textValue());
+    }
+
+    @Test
+    public void cborObject_WithDirectBinaryData_WritesSameBytesAsHeapBinaryData() {
+        byte[] data = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        StructuredJsonGenerator heapGenerator = new SdkJsonGenerator(new CBORFactory(), "application/x-amz-cbor-1.1");
+        heapGenerator.writeStartObject().writeFieldName("binaryProp").writeValue(ByteBuffer.wrap(data)).writeEndObject();
+        StructuredJsonGenerator directGenerator = new SdkJsonGenerator(new CBORFactory(), "application/x-amz-cbor-1.1");
+        directGenerator.writeStartObject().writeFieldName("binaryProp").writeValue(direct).writeEndObject();
+        assertArrayEquals(heapGenerator.getBytes(), directGenerator.getBytes());
+    }
+
     @Test
     public void simpleObject_WithServiceDate() throws IOException {
         Date date = new Date(123456);
@@ -136,6 +189,30 @@ public class SdkJsonGeneratorTest {
         assertEquals(3, node.size());
     }
 
+    @Test
+    public void contentStream_HasSameContentAsBytes() throws IOException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName("stringProp").writeValue("stringVal");
+        jsonGenerator.writeEndObject();
+        byte[] content = IOUtils.toByteArray(jsonGenerator.getContentStream());
+        assertEquals(content.length, jsonGenerator.getContentLength());
+        assertArrayEquals(jsonGenerator.getBytes(), content);
+        assertEquals("stringVal", MAPPER.readTree(content).get("stringProp").textValue());
+    }
+
+    @Test
+    public void contentStream_CanBeResetForRetries() throws IOException {
+        jsonGenerator.writeStartArray();
+        jsonGenerator.writeValue("valOne");
+        jsonGenerator.writeEndArray();
+        InputStream content = jsonGenerator.getContentStream();
+        assertTrue(content.markSupported());
+        content.mark(jsonGenerator.getContentLength());
+        byte[] firstRead = IOUtils.toByteArray(content);
+        content.reset();
+        assertArrayEquals(firstRead, IOUtils.toByteArray(content));
+    }
+
     private JsonNode toJsonNode() throws IOException {
         return MAPPER.readTree(jsonGenerator.getBytes());
     }
@@ -1310,7 +1310,12 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
                 metadata.setContentType(Mimetypes.getInstance().getMimetype(file));
             }
 
-            if (calculateMD5 && !skipMd5CheckStrategy.skipServerSideValidation(putObjectRequest)) {
+            // With single pass uploads, the MD5 of the file is calculated while
+            // it is sent and verified against the returned ETag, instead of
+            // being calculated here by reading the whole file beforehand
+            final boolean singlePass = clientOptions.isSinglePassUploadEnabled()
+                    && !skipMd5CheckStrategy.skipClientSideValidationPerRequest(putObjectRequest);
+            if (calculateMD5 && !singlePass && !skipMd5CheckStrategy.skipServerSideValidation(putObjectRequest)) {
                 try {
                     String contentMd5_b64 = Md5Utils.md5AsBase64(file);
                     metadata.setContentMD5(contentMd5_b64);
@@ -24,6 +24,7 @@ import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.metrics.RequestMetricCollector;
 import com.amazonaws.regions.Region;
 import com.amazonaws.services.kms.AWSKMSClient;
+import com.amazonaws.services.s3.internal.MultiBufferOutputStream;
 import com.amazonaws.services.s3.internal.MultiFileOutputStream;
 import com.amazonaws.services.s3.internal.PartCreationEvent;
 import com.amazonaws.services.s3.internal.S3Direct;
@@ -61,6 +62,7 @@ import com.amazonaws.util.VersionInfoUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -645,7 +647,8 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * Used to encrypt data first to disk with pipelined concurrent multi-part
      * uploads to S3. This method enables significant speed-up of encrypting and
      * uploading large payloads to Amazon S3 via pipelining and parallel uploads
-     * by consuming temporary disk space.
+     * by consuming temporary disk space, or a bounded amount of memory if
+     * part buffers are configured.
      * <p>
      * There are many ways you can customize the behavior of this method,
      * including
@@ -661,6 +664,10 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * completed parts</li>
      * <li>the configuration of your own {@link MultiFileOutputStream} for
      * custom pipeline behavior</li>
+     * <li>holding the ciphertext parts in a bounded number of in-memory
+     * buffers instead of temporary files, via
+     * {@link UploadObjectRequest#withPartBufferCount(int)}; the encryption
+     * then blocks while all the buffers hold parts being uploaded</li>
      * <li>the configuration of your own {@link UploadObjectObserver} for custom
      * multi-part upload behavior</li>
      * </ul>
@@ -677,9 +684,10 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * <li>Initialize a multi-part upload request to S3 by calling
      * {@link UploadObjectObserver#onUploadInitiation(UploadObjectRequest)}</li>
      * <li>A {@link MultiFileOutputStream} is constructed (or retrieved from the
-     * request) which serves as the pipeline for incremental (but serial)
-     * encryption to disk with concurrent multipart uploads to S3 whenever the
-     * parts on the disk are ready</li>
+     * request), or a {@link MultiBufferOutputStream} if part buffers are
+     * configured, which serves as the pipeline for incremental (but serial)
+     * encryption to disk or memory with concurrent multipart uploads to S3
+     * whenever the parts are ready</li>
      * <li>Initialize the <code>MultiFileOutputStream</code></li>
      * <li>Kicks off the pipeline for incremental encryption to disk with
      * pipelined concurrent multi-part uploads to S3</li>
@@ -715,15 +723,23 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
         // Initiate upload
         final String uploadId = observer.onUploadInitiation(req);
         final List<PartETag> partETags = new ArrayList<PartETag>();
-        MultiFileOutputStream mfos = req.getMultiFileOutputStream();
-        if (mfos == null)
-            mfos = new MultiFileOutputStream();
+        MultiFileOutputStream mfos = null;
         try {
-            // initialize the multi-file output stream
-            mfos.init(observer, req.getPartSize(), req.getDiskLimit());
+            final OutputStream os;
+            if (req.getPartBufferCount() > 0) {
+                // hold the ciphertext parts in memory instead of on disk
+                os = new MultiBufferOutputStream().init(observer,
+                        req.getPartSize(), req.getPartBufferCount());
+            } else {
+                mfos = req.getMultiFileOutputStream();
+                if (mfos == null)
+                    mfos = new MultiFileOutputStream();
+                // initialize the multi-file output stream
+                os = mfos.init(observer, req.getPartSize(), req.getDiskLimit());
+            }
             // Kicks off the encryption-upload pipeline;
-            // Note mfos is automatically closed upon method completion.
-            crypto.putLocalObjectSecurely(req, uploadId, mfos);
+            // Note os is automatically closed upon method completion.
+            crypto.putLocalObjectSecurely(req, uploadId, os);
             // block till all part have been uploaded
             for (Future<UploadPartResult> future: observer.getFutures()) {
                 UploadPartResult partResult = future.get();
@@ -742,7 +758,8 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
         } finally {
             if (defaultExecutorService)
                 es.shutdownNow();   // shut down the locally created thread pool
-            mfos.cleanup();       // delete left-over temp files
+            if (mfos != null)
+                mfos.cleanup();   // delete left-over temp files
         }
         // Complete upload
         return observer.onCompletion(partETags);
@@ -27,6 +27,8 @@ public class S3ClientOptions {
     public static final boolean DEFAULT_PAYLOAD_SIGNING_ENABLED = false;
     /** S3 accelerate is by default not enabled */
     public static final boolean DEFAULT_ACCELERATE_MODE_ENABLED = false;
+    /** The default setting for single pass uploads of files */
+    public static final boolean DEFAULT_SINGLE_PASS_UPLOAD_ENABLED = false;
 
     /*
      * TODO: make it final after we remove the deprecated setters.
@@ -35,6 +37,7 @@ public class S3ClientOptions {
     private boolean chunkedEncodingDisabled;
     private final boolean accelerateModeEnabled;
     private final boolean payloadSigningEnabled;
+    private final boolean singlePassUploadEnabled;
 
     /**
      * @return a new S3ClientOptions builder.
@@ -50,12 +53,13 @@ public class S3ClientOptions {
         private boolean chunkedEncodingDisabled = DEFAULT_CHUNKED_ENCODING_DISABLED;
         private boolean accelerateModeEnabled = DEFAULT_ACCELERATE_MODE_ENABLED;
         private boolean payloadSigningEnabled = DEFAULT_PAYLOAD_SIGNING_ENABLED;
+        private boolean singlePassUploadEnabled = DEFAULT_SINGLE_PASS_UPLOAD_ENABLED;
 
         private Builder() {}
 
         public S3ClientOptions build() {
             return new S3ClientOptions(pathStyleAccess, chunkedEncodingDisabled,
-                    accelerateModeEnabled, payloadSigningEnabled);
+                    accelerateModeEnabled, payloadSigningEnabled, singlePassUploadEnabled);
         }
         /**
          * <p>
@@ -146,6 +150,32 @@ public class S3ClientOptions {
             this.chunkedEncodingDisabled = true;
             return this;
         }
+
+        /**
+         * <p>
+         * Configures the client to skip calculating the Content-MD5 of a file before uploading it.
+         * </p>
+         * <p>
+         * By default the client reads the whole file to calculate its Content-MD5 before
+         * uploading it with PutObjectRequest. Setting this flag will result in the MD5 of the
+         * file being calculated while it is sent instead, and verified against the ETag returned
+         * by Amazon S3. The way the payload is signed is not affected.
+         * </p>
+         * <p>
+         * <b>Note:</b> Amazon S3 then can't reject a corrupted upload by itself; a mismatch is
+         * detected by the client once the object has been stored, and the upload fails with an
+         * AmazonClientException. Uploads involving SSE-C or SSE-KMS, whose ETag isn't the MD5 of
+         * the data, still calculate the Content-MD5 up front.
+         * </p>
+         *
+         * @param singlePassUploadEnabled
+         *            True to calculate the MD5 of an uploaded file while sending it
+         * @return this Builder instance that can be used for method chaining
+         */
+        public Builder setSinglePassUploadEnabled(boolean singlePassUploadEnabled) {
+            this.singlePassUploadEnabled = singlePassUploadEnabled;
+            return this;
+        }
     }
 
     /**
@@ -158,6 +188,7 @@ public class S3ClientOptions {
         this.chunkedEncodingDisabled = DEFAULT_CHUNKED_ENCODING_DISABLED;
         this.accelerateModeEnabled = DEFAULT_ACCELERATE_MODE_ENABLED;
         this.payloadSigningEnabled = DEFAULT_PAYLOAD_SIGNING_ENABLED;
+        this.singlePassUploadEnabled = DEFAULT_SINGLE_PASS_UPLOAD_ENABLED;
     }
 
     /**
@@ -170,14 +201,16 @@ public class S3ClientOptions {
         this.chunkedEncodingDisabled = other.chunkedEncodingDisabled;
         this.accelerateModeEnabled = other.accelerateModeEnabled;
         this.payloadSigningEnabled = other.payloadSigningEnabled;
+        this.singlePassUploadEnabled = other.singlePassUploadEnabled;
     }
 
     private S3ClientOptions(boolean pathStyleAccess, boolean chunkedEncodingDisabled, boolean accelerateModeEnabled,
-                            boolean payloadSigningEnabled) {
+                            boolean payloadSigningEnabled, boolean singlePassUploadEnabled) {
         this.pathStyleAccess = pathStyleAccess;
         this.chunkedEncodingDisabled = chunkedEncodingDisabled;
         this.accelerateModeEnabled = accelerateModeEnabled;
         this.payloadSigningEnabled = payloadSigningEnabled;
+        this.singlePassUploadEnabled = singlePassUploadEnabled;
     }
 
     /**
@@ -262,6 +295,21 @@ public class S3ClientOptions {
         return payloadSigningEnabled;
     }
 
+    /**
+     * <p>
+     * Returns whether the client skips calculating the Content-MD5 of a file before uploading it.
+     * </p>
+     * <p>
+     * The MD5 of the file is then calculated while it is sent and verified against the ETag
+     * returned by Amazon S3.
+     * </p>
+     *
+     * @return True if the MD5 of an uploaded file is calculated while sending it
+     */
+    public boolean isSinglePassUploadEnabled() {
+        return singlePassUploadEnabled;
+    }
+
     /**
      * @deprecated Use {@link S3ClientOptions#builder()} to build new
      *             S3ClientOptions instead.
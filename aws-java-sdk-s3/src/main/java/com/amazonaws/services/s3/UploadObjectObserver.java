@@ -14,6 +14,7 @@
  */
 package com.amazonaws.services.s3;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.concurrent.Future;
 import org.apache.commons.logging.LogFactory;
 
 import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.services.s3.internal.MultiBufferOutputStream;
 import com.amazonaws.services.s3.internal.MultiFileOutputStream;
 import com.amazonaws.services.s3.internal.PartCreationEvent;
 import com.amazonaws.services.s3.internal.S3DirectSpi;
@@ -119,11 +121,15 @@ public class UploadObjectObserver {
 
     /**
      * Notified from {@link MultiFileOutputStream#fos()} when a part ready for
-     * upload has been successfully created on disk. By default, this method
-     * performs the following:
+     * upload has been successfully created on disk, or from
+     * {@link MultiBufferOutputStream} when a part ready for upload has been
+     * successfully created in memory. By default, this method performs the
+     * following:
      * <ol>
      * <li>calls {@link #newUploadPartRequest(PartCreationEvent, File)} to
-     * create an upload-part request for the newly created ciphertext file</li>
+     * create an upload-part request for the newly created ciphertext file, or
+     * {@link #newUploadPartRequest(PartCreationEvent)} for the newly created
+     * ciphertext buffer</li>
      * <li>call {@link #appendUserAgent(AmazonWebServiceRequest, String)} to
      * append the necessary user agent string to the request</li>
      * <li>and finally submit a concurrent task, which calls the method
@@ -138,6 +144,10 @@ public class UploadObjectObserver {
      *            which is ready for multipart upload to S3.
      */
     public void onPartCreate(PartCreationEvent event) {
+        if (event.getPartBuffer() != null) {
+            onBufferedPartCreate(event);
+            return;
+        }
         final File part = event.getPart();
         final UploadPartRequest reqUploadPart =
             newUploadPartRequest(event, part);
@@ -164,6 +174,27 @@ public class UploadObjectObserver {
         }));
     }
 
+    /**
+     * Submits the upload of a ciphertext part held in memory, releasing its
+     * buffer once uploaded.
+     */
+    private void onBufferedPartCreate(PartCreationEvent event) {
+        final UploadPartRequest reqUploadPart = newUploadPartRequest(event);
+        final OnFileDelete bufferReleaseObserver = event.getFileDeleteObserver();
+        appendUserAgent(reqUploadPart, AmazonS3EncryptionClient.USER_AGENT);
+        futures.add(es.submit(new Callable<UploadPartResult>() {
+            @Override public UploadPartResult call() {
+                try {
+                    return uploadPart(reqUploadPart);
+                } finally {
+                    // the buffer can be reused for the next part
+                    if (bufferReleaseObserver != null)
+                        bufferReleaseObserver.onFileDelete(null);
+                }
+            }
+        }));
+    }
+
     /**
      * Notified from
      * {@link AmazonS3EncryptionClient#uploadObject(UploadObjectRequest)} when
@@ -226,6 +257,28 @@ public class UploadObjectObserver {
         return reqUploadPart;
     }
 
+    /**
+     * Creates and returns an upload-part request corresponding to a ciphertext
+     * buffer upon a part-creation event.
+     *
+     * @param event
+     *            the part-creation event of the ciphertext buffer.
+     */
+    protected UploadPartRequest newUploadPartRequest(PartCreationEvent event) {
+        final UploadPartRequest reqUploadPart = new UploadPartRequest()
+            .withBucketName(req.getBucketName())
+            .withInputStream(new ByteArrayInputStream(
+                    event.getPartBuffer(), 0, event.getPartBufferLength()))
+            .withKey(req.getKey())
+            .withPartNumber(event.getPartNumber())
+            .withPartSize(event.getPartBufferLength())
+            .withLastPart(event.isLastPart())
+            .withUploadId(uploadId)
+            .withObjectMetadata(req.getUploadPartMetadata())
+            ;
+        return reqUploadPart;
+    }
+
     /**
      * Uploads the ciphertext via the non-encrypting s3 client.
      * @param reqUploadPart part upload request
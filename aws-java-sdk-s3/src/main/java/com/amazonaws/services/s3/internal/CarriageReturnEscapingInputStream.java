@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.amazonaws.internal.SdkFilterInputStream;
+
+/**
+ * Input stream wrapper that replaces every carriage return (<code>\r</code>)
+ * byte of a UTF-8 encoded XML document with the equivalent character entity
+ * (<code>&amp;#013;</code>) as the document is read, so the SAX parser won't
+ * normalize it to a line feed.
+ * <p>
+ * The replacement is done on raw bytes through a fixed size buffer, which is
+ * safe since 0x0D never occurs inside a multi-byte UTF-8 sequence. Mark and
+ * reset are not supported.
+ */
+public class CarriageReturnEscapingInputStream extends SdkFilterInputStream {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte[] ESCAPED_CARRIAGE_RETURN = {'&', '#', '0', '1', '3', ';'};
+
+    private final byte[] buffer;
+    private final byte[] single = new byte[1];
+    private int position;
+    private int limit;
+
+    /**
+     * Index of the next byte of {@link #ESCAPED_CARRIAGE_RETURN} still to be
+     * returned, or -1 if no entity is being written out.
+     */
+    private int entityIndex = -1;
+
+    private boolean eof;
+
+    public CarriageReturnEscapingInputStream(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CarriageReturnEscapingInputStream(InputStream in, int bufferSize) {
+        super(in);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        abortIfNeeded();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) return 0;
+
+        int count = 0;
+        while (count < len) {
+            if (entityIndex >= 0) {
+                int n = Math.min(ESCAPED_CARRIAGE_RETURN.length - entityIndex, len - count);
+                System.arraycopy(ESCAPED_CARRIAGE_RETURN, entityIndex, b, off + count, n);
+                count += n;
+                entityIndex += n;
+                if (entityIndex == ESCAPED_CARRIAGE_RETURN.length) entityIndex = -1;
+            } else if (position < limit) {
+                int end = Math.min(limit, position + len - count);
+                int start = position;
+                while (position < end && buffer[position] != CARRIAGE_RETURN) {
+                    position++;
+                }
+                int n = position - start;
+                System.arraycopy(buffer, start, b, off + count, n);
+                count += n;
+                if (position < end) {
+                    // Skip over the carriage return and write the entity instead
+                    position++;
+                    entityIndex = 0;
+                }
+            } else if (count > 0 || !fill()) {
+                // Don't block for more data once some has been returned
+                break;
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    /**
+     * Refills the buffer from the wrapped stream; returns false at the end of
+     * the stream.
+     */
+    private boolean fill() throws IOException {
+        if (eof) return false;
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read == -1) {
+            eof = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipping has to go through the escaping so counts stay consistent
+        long skipped = 0;
+        byte[] discard = new byte[(int) Math.min(buffer.length, Math.max(n, 0))];
+        while (skipped < n) {
+            int read = read(discard, 0, (int) Math.min(discard.length, n - skipped));
+            if (read == -1) break;
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        abortIfNeeded();
+        int pending = (entityIndex >= 0) ? ESCAPED_CARRIAGE_RETURN.length - entityIndex : 0;
+        return pending + (limit - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+        // mark is not supported
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
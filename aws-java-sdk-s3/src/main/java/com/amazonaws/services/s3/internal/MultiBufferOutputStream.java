@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.amazonaws.AbortedException;
+import com.amazonaws.services.s3.OnFileDelete;
+import com.amazonaws.services.s3.UploadObjectObserver;
+
+/**
+ * Used to split an output stream into multiple in-memory part buffers for
+ * parallel uploads, as {@link MultiFileOutputStream} does with temporary
+ * files.
+ * <p>
+ * The buffers form a bounded ring: at most the given number of buffers are
+ * allocated, and a buffer is reused for a later part once the upload of its
+ * part has released it. Writes block while all the buffers hold parts that
+ * haven't been released yet.
+ */
+public class MultiBufferOutputStream extends OutputStream {
+    private UploadObjectObserver observer;
+    private int partSize;
+    private int bufferCount;
+
+    /** The buffers released by the uploads of their parts. */
+    private final BlockingQueue<byte[]> freeBuffers = new LinkedBlockingQueue<byte[]>();
+    private int buffersAllocated;
+
+    /** The buffer of the current part, and the number of bytes written to it. */
+    private byte[] buffer;
+    private int bufferBytesWritten;
+
+    private int partsCreated;
+    private long totalBytesWritten;
+    private boolean closed;
+
+    /**
+     * Used to initialized this stream. This method is an SPI (service provider
+     * interface) that is called from <code>AmazonS3EncryptionClient</code>.
+     * <p>
+     * Implementation of this method should never block.
+     *
+     * @param observer
+     *            the upload object observer
+     * @param partSize
+     *            part size for multi-part upload, which is the size of each
+     *            buffer
+     * @param bufferCount
+     *            the maximum number of buffers to be used for this multi-part
+     *            upload
+     *
+     * @return this object
+     */
+    public MultiBufferOutputStream init(UploadObjectObserver observer,
+            long partSize, int bufferCount) {
+        if (observer == null)
+            throw new IllegalArgumentException("Observer must be specified");
+        if (partSize <= 0 || partSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                "The part size of in-memory parts must be positive and less than 2 GB: partSize="
+                + partSize);
+        }
+        if (bufferCount < 2) {
+            throw new IllegalArgumentException(
+                "At least two buffers are needed: bufferCount=" + bufferCount);
+        }
+        this.observer = observer;
+        this.partSize = (int) partSize;
+        this.bufferCount = bufferCount;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This method would block as necessary if all the buffers are in use.
+     */
+    @Override
+    public void write(int b) throws IOException {
+        buffer()[bufferBytesWritten++] = (byte) b;
+        totalBytesWritten++;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This method would block as necessary if all the buffers are in use.
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            final byte[] buf = buffer();
+            final int n = Math.min(len, buf.length - bufferBytesWritten);
+            System.arraycopy(b, off, buf, bufferBytesWritten, n);
+            bufferBytesWritten += n;
+            totalBytesWritten += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Returns the buffer to be written to, handing the current buffer to the
+     * observer if it is full, and blocking if necessary until a buffer is
+     * released.
+     */
+    private byte[] buffer() throws IOException {
+        if (closed)
+            throw new IOException("Output stream is already closed");
+        if (buffer == null || bufferBytesWritten >= partSize) {
+            if (buffer != null)
+                createPart(false);
+            partsCreated++;
+            buffer = nextBuffer();
+            bufferBytesWritten = 0;
+        }
+        return buffer;
+    }
+
+    /**
+     * Notifies the observer about the part in the current buffer.
+     */
+    private void createPart(boolean isLastPart) {
+        final byte[] part = buffer;
+        buffer = null;
+        observer.onPartCreate(new PartCreationEvent(part, bufferBytesWritten,
+                partsCreated, isLastPart, new OnFileDelete() {
+                    @Override
+                    public void onFileDelete(FileDeletionEvent event) {
+                        freeBuffers.add(part);
+                    }
+                }));
+    }
+
+    /**
+     * Returns a released buffer, or a new one if fewer than the maximum number
+     * of buffers have been allocated, blocking otherwise until a buffer is
+     * released.
+     *
+     * @throws AbortedException
+     *             if the running thread is interrupted while waiting for a
+     *             buffer
+     */
+    private byte[] nextBuffer() {
+        final byte[] released = freeBuffers.poll();
+        if (released != null)
+            return released;
+        if (buffersAllocated < bufferCount) {
+            buffersAllocated++;
+            return new byte[partSize];
+        }
+        try {
+            return freeBuffers.take();
+        } catch (InterruptedException e) {
+            // don't want to re-interrupt so it won't cause SDK stream to be
+            // closed in case the thread is reused for a different request
+            throw new AbortedException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        if (buffer != null)
+            createPart(true);
+    }
+
+    /**
+     * @return the number of parts created so far.
+     */
+    public int getNumPartsCreated() {
+        return partsCreated;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    public long getTotalBytesWritten() {
+        return totalBytesWritten;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
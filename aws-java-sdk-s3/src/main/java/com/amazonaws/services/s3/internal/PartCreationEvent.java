@@ -20,6 +20,8 @@ import com.amazonaws.services.s3.OnFileDelete;
 
 public class PartCreationEvent {
     private final File part;
+    private final byte[] partBuffer;
+    private final int partBufferLength;
     private final int partNumber;
     private final boolean isLastPart;
     private final OnFileDelete fileDeleteObserver;
@@ -29,18 +31,54 @@ public class PartCreationEvent {
         if (part == null)
             throw new IllegalArgumentException("part must not be specified");
         this.part = part;
+        this.partBuffer = null;
+        this.partBufferLength = 0;
         this.partNumber = partNumber;
         this.isLastPart = isLastPart;
         this.fileDeleteObserver = fileDeleteObserver;
     }
 
+    PartCreationEvent(byte[] partBuffer, int partBufferLength, int partNumber,
+            boolean isLastPart, OnFileDelete bufferReleaseObserver) {
+        if (partBuffer == null)
+            throw new IllegalArgumentException("partBuffer must be specified");
+        this.part = null;
+        this.partBuffer = partBuffer;
+        this.partBufferLength = partBufferLength;
+        this.partNumber = partNumber;
+        this.isLastPart = isLastPart;
+        this.fileDeleteObserver = bufferReleaseObserver;
+    }
+
     /**
-     * Returns a non-null part (in the form of a file) for multi-part upload.
+     * Returns the part (in the form of a file) for multi-part upload; or null
+     * if the part is held in memory.
+     *
+     * @see #getPartBuffer()
      */
     public File getPart() {
         return part;
     }
 
+    /**
+     * Returns the buffer holding the part for multi-part upload in its first
+     * {@link #getPartBufferLength()} bytes; or null if the part is a file.
+     * The buffer is reused for a later part once the observer returned by
+     * {@link #getFileDeleteObserver()} is notified, so it must no longer be
+     * read from by then.
+     */
+    public byte[] getPartBuffer() {
+        return partBuffer;
+    }
+
+    /**
+     * Returns the length of the part held in {@link #getPartBuffer()}; or zero
+     * if the part is a file.
+     */
+    public int getPartBufferLength() {
+        return partBufferLength;
+    }
+
     public int getPartNumber() {
         return partNumber;
     }
@@ -50,7 +88,8 @@ public class PartCreationEvent {
     }
 
     /**
-     * Returns an observer for file deletion; or null if there is none.
+     * Returns an observer for file deletion, or for the release of the buffer
+     * of a part held in memory; or null if there is none.
      */
     public OnFileDelete getFileDeleteObserver() {
         return fileDeleteObserver;
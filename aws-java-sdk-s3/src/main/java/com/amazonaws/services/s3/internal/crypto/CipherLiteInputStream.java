@@ -19,6 +19,7 @@ import java.io.InputStream;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.ShortBufferException;
 
 import com.amazonaws.internal.SdkFilterInputStream;
 
@@ -31,6 +32,11 @@ import com.amazonaws.internal.SdkFilterInputStream;
 public class CipherLiteInputStream extends SdkFilterInputStream {
     private static final int MAX_RETRY = 1000;
     private static final int DEFAULT_IN_BUFFER_SIZE = 512;
+    /**
+     * The room, in bytes, the reusable output buffer has in addition to the
+     * input buffer for the padding, or the tag, the cipher may add.
+     */
+    private static final int OUT_BUFFER_HEADROOM = 64;
     private CipherLite cipherLite;
     /**
      * True if this input stream is currently involved in a multipart uploads;
@@ -49,6 +55,11 @@ public class CipherLiteInputStream extends SdkFilterInputStream {
     private boolean eof;
     private byte[] bufin;
     private byte[] bufout;
+    /**
+     * The output buffer the input buffer is processed into, reused from one
+     * chunk to the next; allocated on first use.
+     */
+    private byte[] reusableBufout;
     private int curr_pos;
     private int max_pos;
 
@@ -239,9 +250,32 @@ public class CipherLiteInputStream extends SdkFilterInputStream {
             }
             return -1;
         }
-        bufout = cipherLite.update(bufin, 0, len);
         curr_pos = 0;
-        return max_pos = (bufout == null ? 0 : bufout.length);
+        return max_pos = update(len);
+    }
+
+    /**
+     * Processes the given number of bytes of the input buffer into the
+     * reusable output buffer, or into a new output buffer if the cipher may
+     * output more than fits into the reusable one, such as when it buffers the
+     * input until the final processing.
+     *
+     * @return the length of the processed data in the output buffer
+     */
+    private int update(int len) {
+        if (reusableBufout == null)
+            reusableBufout = new byte[bufin.length + OUT_BUFFER_HEADROOM];
+        if (cipherLite.getOutputSize(len) <= reusableBufout.length) {
+            try {
+                int outLen = cipherLite.update(bufin, 0, len, reusableBufout, 0);
+                bufout = reusableBufout;
+                return outLen;
+            } catch (ShortBufferException e) {
+                // nothing has been processed, so process into a new buffer
+            }
+        }
+        bufout = cipherLite.update(bufin, 0, len);
+        return bufout == null ? 0 : bufout.length;
     }
 
     void renewCipherLite() {
@@ -20,6 +20,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
 
 /**
  * A AES/GCM specific {@link CipherLite} that support re-processing of input
@@ -184,6 +185,30 @@ final class GCMCipherLite extends CipherLite {
         return out;
     }
 
+    /**
+     * Same as {@link #update(byte[], int, int)}, but into the given output
+     * buffer. While a re-processing is in progress, the output of the
+     * auxiliary cipher is no longer than the input, and is copied into the
+     * given buffer.
+     */
+    @Override
+    int update(byte[] input, int inputOffset, int inputLen, byte[] output,
+            int outputOffset) throws ShortBufferException {
+        if (aux != null) {
+            if (output.length - outputOffset < inputLen)
+                throw new ShortBufferException();
+            byte[] out = update(input, inputOffset, inputLen);
+            if (out == null)
+                return 0;
+            System.arraycopy(out, 0, output, outputOffset, out.length);
+            return out.length;
+        }
+        int len = super.update(input, inputOffset, inputLen, output, outputOffset);
+        outputByteCount += checkMax(len);
+        invisiblyProcessed = len == 0 && inputLen > 0;
+        return len;
+    }
+
     /**
      * Returns the input delta but only if it will not result in exceeding the
      * limit of the maximum number of bytes that can be processed by AES/GCM.
@@ -407,7 +407,7 @@ class S3CryptoModuleAE extends S3CryptoModuleBase<MultipartUploadCryptoContext>
         wrapper.setObjectContent(new S3ObjectInputStream(
                 new CipherLiteInputStream(objectContent,
                     cekMaterial.getCipherLite(),
-                    DEFAULT_BUFFER_SIZE),
+                    cryptoConfig.getCipherBufferSize()),
                     objectContent.getHttpRequest()));
         return wrapper;
     }
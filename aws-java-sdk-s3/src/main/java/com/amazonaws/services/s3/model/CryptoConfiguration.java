@@ -32,6 +32,16 @@ public class CryptoConfiguration implements Cloneable,Serializable {
 
     private static final long serialVersionUID = -8646831898339939580L;
 
+    /**
+     * The default size, in bytes, of the data passed to the cipher at once.
+     */
+    public static final int DEFAULT_CIPHER_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * The size, in bytes, the cipher buffer size must be a multiple of.
+     */
+    static final int CIPHER_BUFFER_SIZE_UNIT = 512;
+
     private CryptoMode cryptoMode;
     private CryptoStorageMode storageMode;
     private Provider cryptoProvider;
@@ -48,6 +58,11 @@ public class CryptoConfiguration implements Cloneable,Serializable {
      * null if no explicit KMS region is specified.
      */
     private transient com.amazonaws.regions.Region awskmsRegion;
+    /**
+     * The size, in bytes, of the chunks of data read from the underlying
+     * stream and passed to the cipher at once when encrypting or decrypting.
+     */
+    private int cipherBufferSize = DEFAULT_CIPHER_BUFFER_SIZE;
 
     /**
      * Creates a new CryptoConfiguration object with default storage mode and
@@ -224,6 +239,47 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         return this;
     }
 
+    /**
+     * Returns the size, in bytes, of the chunks of data read from the
+     * underlying stream and passed to the cipher at once when encrypting or
+     * decrypting. Default is {@value #DEFAULT_CIPHER_BUFFER_SIZE}.
+     */
+    public int getCipherBufferSize() {
+        // zero if deserialized from a version without this property
+        return cipherBufferSize > 0 ? cipherBufferSize : DEFAULT_CIPHER_BUFFER_SIZE;
+    }
+
+    /**
+     * Sets the size, in bytes, of the chunks of data read from the underlying
+     * stream and passed to the cipher at once when encrypting or decrypting.
+     * Larger chunks make fewer calls to the cipher, which speeds up the
+     * encryption and decryption of large objects, at the cost of a buffer of
+     * this size per stream being encrypted or decrypted.
+     *
+     * @param cipherBufferSize
+     *            a positive multiple of 512 bytes.
+     */
+    public void setCipherBufferSize(int cipherBufferSize) {
+        if (cipherBufferSize <= 0
+                || cipherBufferSize % CIPHER_BUFFER_SIZE_UNIT != 0) {
+            throw new IllegalArgumentException("cipherBufferSize ("
+                    + cipherBufferSize + ") must be a positive multiple of "
+                    + CIPHER_BUFFER_SIZE_UNIT);
+        }
+        this.cipherBufferSize = cipherBufferSize;
+    }
+
+    /**
+     * Fluent API to set the size of the chunks of data passed to the cipher
+     * at once.
+     *
+     * @see #setCipherBufferSize(int)
+     */
+    public CryptoConfiguration withCipherBufferSize(int cipherBufferSize) {
+        setCipherBufferSize(cipherBufferSize);
+        return this;
+    }
+
     /**
      * Checks if the crypto mode is supported by the runtime.
      * 
@@ -282,6 +338,12 @@ public class CryptoConfiguration implements Cloneable,Serializable {
                 boolean ignoreMissingInstructionFile) {
             throw new UnsupportedOperationException();
         }
+        @Override public void setCipherBufferSize(int cipherBufferSize) {
+            throw new UnsupportedOperationException();
+        }
+        @Override public CryptoConfiguration withCipherBufferSize(int cipherBufferSize) {
+            throw new UnsupportedOperationException();
+        }
         @Override public void setKmsRegion(Regions kmsRegion) {
             throw new UnsupportedOperationException();
         }
@@ -310,6 +372,7 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         that.cryptoProvider = this.cryptoProvider;
         that.ignoreMissingInstructionFile = this.ignoreMissingInstructionFile;
         that.awskmsRegion = this.awskmsRegion;
+        that.cipherBufferSize = this.cipherBufferSize;
         return that;
     }
 
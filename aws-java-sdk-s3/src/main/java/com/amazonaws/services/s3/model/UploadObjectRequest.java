@@ -73,6 +73,13 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
      */
     private long diskLimit = Long.MAX_VALUE;
 
+    /**
+     * Number of in-memory buffers the ciphertext parts are held in instead of
+     * temporary files; or zero if the parts are written to temporary files.
+     * The default is zero.
+     */
+    private int partBufferCount;
+
     public UploadObjectRequest(String bucketName, String key, File file) {
         super(bucketName, key, file);
     }
@@ -127,6 +134,34 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
         return this;
     }
 
+    /**
+     * Returns the number of in-memory buffers of {@link #getPartSize()} bytes
+     * the ciphertext parts are held in until they are uploaded; or zero if the
+     * parts are written to temporary files on disk.
+     */
+    public int getPartBufferCount() {
+        return partBufferCount;
+    }
+
+    /**
+     * Configures the ciphertext parts to be held in at most the given number
+     * of in-memory buffers of {@link #getPartSize()} bytes until they are
+     * uploaded, rather than in temporary files on disk; or zero to use
+     * temporary files. The encryption blocks while all the buffers hold parts
+     * that are being uploaded, so the number of buffers bounds both the memory
+     * used and the number of parts uploaded at once. Must be zero or at least
+     * 2, and the part size must then be less than 2 GB.
+     *
+     * @return this object for method chaining purposes
+     */
+    public UploadObjectRequest withPartBufferCount(int partBufferCount) {
+        if (partBufferCount < 0 || partBufferCount == 1)
+            throw new IllegalArgumentException(
+                    "partBufferCount must be zero or at least 2");
+        this.partBufferCount = partBufferCount;
+        return this;
+    }
+
     /**
      * Returns a custom executor service for concurrent uploads; or null there
      * is no customization.
@@ -252,6 +287,7 @@ public class UploadObjectRequest extends AbstractPutObjectRequest implements
                     ? null
                     : new HashMap<String, String>(materialsDescription))
                 .withDiskLimit(getDiskLimit())
+                .withPartBufferCount(getPartBufferCount())
                 .withExecutorService(getExecutorService())
                 .withMultiFileOutputStream(getMultiFileOutputStream())
                 .withPartSize(getPartSize())
@@ -17,10 +17,14 @@ package com.amazonaws.services.s3.transfer;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.net.SocketException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
@@ -47,6 +51,7 @@ import com.amazonaws.services.s3.transfer.internal.AbstractTransfer;
 import com.amazonaws.services.s3.transfer.internal.DownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.DownloadMonitor;
 import com.amazonaws.services.s3.transfer.internal.DownloadPartCallable;
+import com.amazonaws.services.s3.transfer.internal.DownloadRangeCallable;
 import com.amazonaws.util.IOUtils;
 
 @SdkInternalApi
@@ -65,7 +70,10 @@ final class DownloadCallable implements Callable<File> {
     /** The thread pool in which parts are downloaded downloaded. */
     private final ExecutorService executor;
     private final List<Future<File>> futureFiles;
+    private final List<Future<Long>> futureRanges;
     private final boolean isDownloadParallel;
+    /** The size of each byte range for ranged parallel downloads; zero if not ranged. */
+    private final long downloadRangeSize;
     private Integer lastFullyMergedPartNumber;
 
     private long expectedFileLength;
@@ -76,7 +84,8 @@ final class DownloadCallable implements Callable<File> {
             long expectedFileLength, long timeout,
             ScheduledExecutorService timedExecutor,
             ExecutorService executor,
-            Integer lastFullyDownloadedPartNumber, boolean isDownloadParallel)
+            Integer lastFullyDownloadedPartNumber, boolean isDownloadParallel,
+            long downloadRangeSize)
     {
         if (s3 == null || latch == null || req == null || dstfile == null || download == null)
             throw new IllegalArgumentException();
@@ -92,8 +101,10 @@ final class DownloadCallable implements Callable<File> {
         this.timedExecutor = timedExecutor;
         this.executor = executor;
         this.futureFiles = new ArrayList<Future<File>>();
+        this.futureRanges = new ArrayList<Future<Long>>();
         this.lastFullyMergedPartNumber = lastFullyDownloadedPartNumber;
         this.isDownloadParallel = isDownloadParallel;
+        this.downloadRangeSize = downloadRangeSize;
     }
 
     /**
@@ -125,7 +136,10 @@ final class DownloadCallable implements Callable<File> {
 
             download.setState(TransferState.InProgress);
 
-            if (isDownloadParallel) {
+            if (downloadRangeSize > 0) {
+                downloadInRanges();
+                download.setState(TransferState.Completed);
+            } else if (isDownloadParallel) {
                 downloadInParallel(ServiceUtils.getPartCount(req, s3));
                 download.setState(TransferState.Completed);
             } else {
@@ -140,6 +154,9 @@ final class DownloadCallable implements Callable<File> {
             for (Future<File> f : futureFiles) {
                 f.cancel(true);
             }
+            for (Future<Long> f : futureRanges) {
+                f.cancel(true);
+            }
             // Downloads aren't allowed to move from canceled to failed
             if (download.getState() != TransferState.Canceled) {
                 download.setState(TransferState.Failed);
@@ -175,16 +192,7 @@ final class DownloadCallable implements Callable<File> {
         }
 
         for (int i = lastFullyMergedPartNumber + 1; i <= partCount; i++) {
-            GetObjectRequest getPartRequest = new GetObjectRequest(req.getBucketName(), req.getKey(),
-                    req.getVersionId()).withUnmodifiedSinceConstraint(req.getUnmodifiedSinceConstraint())
-                            .withModifiedSinceConstraint(req.getModifiedSinceConstraint())
-                            .withResponseHeaders(req.getResponseHeaders()).withSSECustomerKey(req.getSSECustomerKey())
-                            .withGeneralProgressListener(req.getGeneralProgressListener());
-
-            getPartRequest.setMatchingETagConstraints(req.getMatchingETagConstraints());
-            getPartRequest.setNonmatchingETagConstraints(req.getNonmatchingETagConstraints());
-            getPartRequest.setRequesterPays(req.isRequesterPays());
-
+            GetObjectRequest getPartRequest = createSubRequest();
             futureFiles.add(
                     executor.submit(new DownloadPartCallable(s3, getPartRequest.withPartNumber(i), dstfile.getName())));
         }
@@ -192,6 +200,104 @@ final class DownloadCallable implements Callable<File> {
         combineFiles();
     }
 
+    /**
+     * Downloads the object as fixed size byte ranges in parallel, each range
+     * being written directly into its position of the destination file. Byte
+     * ranges already written before a pause are skipped.
+     */
+    private void downloadInRanges() throws Exception {
+        final long objectLength = download.getObjectMetadata().getContentLength();
+        final long rangeCount = (objectLength + downloadRangeSize - 1) / downloadRangeSize;
+
+        Set<Long> completedRanges = new HashSet<Long>();
+        long[] completedRangeNumbers = download.getCompletedRangeNumbers();
+        if (resumeExistingDownload && completedRangeNumbers != null) {
+            for (long rangeNumber : completedRangeNumbers) {
+                completedRanges.add(rangeNumber);
+            }
+        }
+
+        File parentDirectory = dstfile.getParentFile();
+        if (parentDirectory != null && !parentDirectory.exists() && !parentDirectory.mkdirs()) {
+            throw new AmazonClientException("Unable to create directory in the path "
+                    + parentDirectory.getAbsolutePath());
+        }
+        if (!FileLocks.lock(dstfile)) {
+            throw new FileLockException("Fail to lock " + dstfile);
+        }
+
+        RandomAccessFile raf = null;
+        try {
+            if (!completedRanges.isEmpty() && dstfile.length() != objectLength) {
+                throw new AmazonClientException(
+                        "File " + dstfile.getAbsolutePath() + " has been modified since last pause.");
+            }
+            raf = new RandomAccessFile(dstfile, "rw");
+            if (completedRanges.isEmpty()) {
+                raf.setLength(0);
+            }
+            raf.setLength(objectLength);
+            FileChannel channel = raf.getChannel();
+
+            long completedBytes = 0;
+            for (long rangeNumber : completedRanges) {
+                completedBytes += rangeEnd(rangeNumber, objectLength) - rangeNumber * downloadRangeSize + 1;
+            }
+            if (completedBytes > 0) {
+                download.getProgress().updateProgress(completedBytes);
+            }
+
+            for (long rangeNumber = 0; rangeNumber < rangeCount; rangeNumber++) {
+                if (completedRanges.contains(rangeNumber)) {
+                    continue;
+                }
+                GetObjectRequest getRangeRequest = createSubRequest();
+                getRangeRequest.setRange(rangeNumber * downloadRangeSize, rangeEnd(rangeNumber, objectLength));
+                futureRanges.add(executor.submit(
+                        new DownloadRangeCallable(s3, getRangeRequest, channel, rangeNumber, download)));
+            }
+
+            for (Future<Long> f : futureRanges) {
+                f.get();
+            }
+            channel.force(false);
+        } finally {
+            IOUtils.closeQuietly(raf, LOG);
+            FileLocks.unlock(dstfile);
+        }
+    }
+
+    private long rangeEnd(long rangeNumber, long objectLength) {
+        return Math.min((rangeNumber + 1) * downloadRangeSize, objectLength) - 1;
+    }
+
+    /**
+     * Returns a new request for a part or byte range of the object, carrying
+     * over the constraints and options of the original request. Unless the
+     * original request has its own ETag constraints, each sub-request is
+     * constrained to the ETag of the object when the download started, so a
+     * concurrent overwrite can't produce a file mixing both versions.
+     */
+    private GetObjectRequest createSubRequest() {
+        GetObjectRequest subRequest = new GetObjectRequest(req.getBucketName(), req.getKey(),
+                req.getVersionId()).withUnmodifiedSinceConstraint(req.getUnmodifiedSinceConstraint())
+                        .withModifiedSinceConstraint(req.getModifiedSinceConstraint())
+                        .withResponseHeaders(req.getResponseHeaders()).withSSECustomerKey(req.getSSECustomerKey())
+                        .withGeneralProgressListener(req.getGeneralProgressListener());
+
+        subRequest.setMatchingETagConstraints(req.getMatchingETagConstraints());
+        subRequest.setNonmatchingETagConstraints(req.getNonmatchingETagConstraints());
+        subRequest.setRequesterPays(req.isRequesterPays());
+
+        List<String> matchingETags = subRequest.getMatchingETagConstraints();
+        if (downloadRangeSize > 0 && (matchingETags == null || matchingETags.isEmpty())
+                && download.getObjectMetadata().getETag() != null) {
+            subRequest.setMatchingETagConstraints(
+                    new ArrayList<String>(Collections.singletonList(download.getObjectMetadata().getETag())));
+        }
+        return subRequest;
+    }
+
     /**
      * Merges all the individual part Files into dstFile
      */
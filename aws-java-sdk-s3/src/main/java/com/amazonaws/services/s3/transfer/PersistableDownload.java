@@ -75,9 +75,30 @@ public final class PersistableDownload extends PersistableTransfer {
     @JsonProperty
     private final long lastModifiedTime;
 
+    /**
+     * For ranged parallel downloads, the size in bytes of each byte range;
+     * null for other downloads.
+     */
+    @JsonProperty
+    private final Long downloadRangeSize;
+
+    /**
+     * For ranged parallel downloads, the zero based numbers of the byte
+     * ranges that have been successfully written into the downloaded file.
+     */
+    @JsonProperty
+    private final long[] completedRangeNumbers;
+
 
     public PersistableDownload() {
-        this(null, null, null, null, null, false, null, null, 0L);
+        this(null, null, null, null, null, false, null, null, 0L, null, null);
+    }
+
+    public PersistableDownload(String bucketName, String key, String versionId, long[] range,
+            ResponseHeaderOverrides responseHeaders, boolean isRequesterPays, String file,
+            Integer lastFullyDownloadedPartNumber, long lastModifiedTime) {
+        this(bucketName, key, versionId, range, responseHeaders, isRequesterPays, file,
+                lastFullyDownloadedPartNumber, lastModifiedTime, null, null);
     }
 
     public PersistableDownload(
@@ -89,7 +110,9 @@ public final class PersistableDownload extends PersistableTransfer {
             @JsonProperty(value = "isRequesterPays") boolean isRequesterPays,
             @JsonProperty(value = "file") String file,
             @JsonProperty(value = "lastFullyDownloadedPartNumber") Integer lastFullyDownloadedPartNumber,
-            @JsonProperty(value = "lastModifiedTime") long lastModifiedTime) {
+            @JsonProperty(value = "lastModifiedTime") long lastModifiedTime,
+            @JsonProperty(value = "downloadRangeSize") Long downloadRangeSize,
+            @JsonProperty(value = "completedRangeNumbers") long[] completedRangeNumbers) {
         this.bucketName = bucketName;
         this.key = key;
         this.versionId = versionId;
@@ -99,6 +122,8 @@ public final class PersistableDownload extends PersistableTransfer {
         this.file = file;
         this.lastFullyDownloadedPartNumber = lastFullyDownloadedPartNumber;
         this.lastModifiedTime = lastModifiedTime;
+        this.downloadRangeSize = downloadRangeSize;
+        this.completedRangeNumbers = completedRangeNumbers == null ? null : completedRangeNumbers.clone();
     }
 
     /**
@@ -169,4 +194,21 @@ public final class PersistableDownload extends PersistableTransfer {
     Long getlastModifiedTime() {
         return lastModifiedTime;
     }
+
+    /**
+     * Returns the size in bytes of each byte range for ranged parallel
+     * downloads, or null if this isn't a ranged parallel download.
+     */
+    Long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
+    /**
+     * Returns the numbers of the byte ranges that were successfully written
+     * into the downloaded file, or null if this isn't a ranged parallel
+     * download.
+     */
+    long[] getCompletedRangeNumbers() {
+        return completedRangeNumbers == null ? null : completedRangeNumbers.clone();
+    }
 }
@@ -71,6 +71,7 @@ import com.amazonaws.services.s3.transfer.internal.DownloadMonitor;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileDownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileTransferMonitor;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileUploadImpl;
+import com.amazonaws.services.s3.transfer.internal.PartScheduler;
 import com.amazonaws.services.s3.transfer.internal.S3ProgressListener;
 import com.amazonaws.services.s3.transfer.internal.S3ProgressListenerChain;
 import com.amazonaws.services.s3.transfer.internal.TransferManagerUtils;
@@ -153,6 +154,12 @@ public class TransferManager {
      */
     private final ScheduledExecutorService timedThreadPool = new ScheduledThreadPoolExecutor(1, daemonThreadFactory);
 
+    /**
+     * Schedules the part uploads and part copies of all the transfers on the
+     * thread pool.
+     */
+    private final PartScheduler partScheduler;
+
     private static final Log log = LogFactory.getLog(TransferManager.class);
 
     private final boolean shutDownThreadPools;
@@ -286,6 +293,7 @@ public class TransferManager {
         this.executorService = executorService;
         this.configuration = new TransferManagerConfiguration();
         this.shutDownThreadPools = shutDownThreadPools;
+        this.partScheduler = new PartScheduler(this, executorService, timedThreadPool);
     }
 
 
@@ -613,14 +621,12 @@ public class TransferManager {
         UploadImpl upload = new UploadImpl(description, transferProgress,
                 listenerChain, stateListener);
         /**
-         * Since we use the same thread pool for uploading individual parts and
-         * complete multi part upload, there is a possibility that the tasks for
-         * complete multi-part upload will be added to end of queue in case of
-         * multiple parallel uploads submitted. This may result in a delay for
-         * processing the complete multi part upload request.
+         * The individual parts are queued in the part scheduler, which submits
+         * the complete multi part upload request to the thread pool once all
+         * the parts of the upload have been uploaded.
          */
         UploadCallable uploadCallable = new UploadCallable(this, executorService,
-                                                           upload, putObjectRequest, listenerChain, multipartUploadId,
+                                                           partScheduler, upload, putObjectRequest, listenerChain, multipartUploadId,
                                                            transferProgress);
         UploadMonitor watcher = UploadMonitor.create(this, upload, executorService,
                                                      uploadCallable, putObjectRequest, listenerChain);
@@ -794,7 +800,7 @@ public class TransferManager {
     public Download download(final GetObjectRequest getObjectRequest,
                              final File file, long timeoutMillis) {
         return doDownload(getObjectRequest, file, null, null, OVERWRITE_MODE,
-                timeoutMillis, null, 0L);
+                timeoutMillis, null, 0L, null, null);
     }
 
     /**
@@ -836,7 +842,7 @@ public class TransferManager {
     public Download download(final GetObjectRequest getObjectRequest,
             final File file, final S3ProgressListener progressListener) {
         return doDownload(getObjectRequest, file, null, progressListener,
-                OVERWRITE_MODE, 0, null, 0L);
+                OVERWRITE_MODE, 0, null, 0L, null, null);
     }
 
     /**
@@ -885,7 +891,7 @@ public class TransferManager {
                              final File file, final S3ProgressListener progressListener,
                              final long timeoutMillis) {
         return doDownload(getObjectRequest, file, null, progressListener,
-                OVERWRITE_MODE, timeoutMillis, null, 0L);
+                OVERWRITE_MODE, timeoutMillis, null, 0L, null, null);
     }
 
     /**
@@ -900,7 +906,9 @@ public class TransferManager {
             final boolean resumeExistingDownload,
             final long timeoutMillis,
             final Integer lastFullyDownloadedPart,
-            final long lastModifiedTimeRecordedDuringPause)
+            final long lastModifiedTimeRecordedDuringPause,
+            final Long persistedDownloadRangeSize,
+            final long[] completedRangeNumbers)
     {
         assertParameterNotNull(getObjectRequest,
                 "A valid GetObjectRequest must be provided to initiate download");
@@ -945,11 +953,25 @@ public class TransferManager {
         }
 
         final long origStartingByte = startingByte;
-        final boolean isDownloadParallel = TransferManagerUtils.isDownloadParallelizable(s3, getObjectRequest,
-                ServiceUtils.getPartCount(getObjectRequest, s3));
+        // A resumed download keeps the mode it was paused in: the same ranges if
+        // it was ranged, and no ranges otherwise, whatever the configuration says now
+        final long downloadRangeSize;
+        if (resumeExistingDownload) {
+            downloadRangeSize = (persistedDownloadRangeSize != null) ? persistedDownloadRangeSize : 0;
+        } else {
+            downloadRangeSize = configuration.getDownloadRangeSize();
+        }
+        final boolean isDownloadRanged = TransferManagerUtils.isRangedDownloadParallelizable(s3,
+                getObjectRequest, objectMetadata.getContentLength(), downloadRangeSize);
+        final boolean isDownloadParallel = isDownloadRanged
+                || TransferManagerUtils.isDownloadParallelizable(s3, getObjectRequest,
+                        ServiceUtils.getPartCount(getObjectRequest, s3));
         // We still pass the unfiltered listener chain into DownloadImpl
         final DownloadImpl download = new DownloadImpl(description, transferProgress, listenerChain, null,
                 stateListener, getObjectRequest, file, objectMetadata, isDownloadParallel);
+        if (isDownloadRanged) {
+            download.initRangedDownload(downloadRangeSize, completedRangeNumbers);
+        }
 
         long totalBytesToDownload = lastByte - startingByte + 1;
         transferProgress.setTotalBytesToTransfer(totalBytesToDownload);
@@ -996,7 +1018,8 @@ public class TransferManager {
             new DownloadCallable(s3, latch,
                 getObjectRequest, resumeExistingDownload, download, file,
                 origStartingByte, fileLength, timeoutMillis, timedThreadPool,
-                executorService, lastFullyDownloadedPart, isDownloadParallel));
+                executorService, lastFullyDownloadedPart, isDownloadParallel,
+                isDownloadRanged ? downloadRangeSize : 0L));
         download.setMonitor(new DownloadMonitor(download, future));
         latch.countDown();
         return download;
@@ -1112,7 +1135,7 @@ public class TransferManager {
                                             listener),
                             f,
                             transferListener, null, false, 0,
-                            null, 0L));
+                            null, 0L, null, null));
         }
 
         if ( downloads.isEmpty() ) {
@@ -1651,7 +1674,7 @@ public class TransferManager {
                 new TransferProgressUpdatingListener(transferProgress));
         CopyImpl copy = new CopyImpl(description, transferProgress,
                 listenerChain, stateChangeListener);
-        CopyCallable copyCallable = new CopyCallable(this, executorService, copy,
+        CopyCallable copyCallable = new CopyCallable(this, executorService, partScheduler, copy,
                                                      copyObjectRequest, metadata, listenerChain);
         CopyMonitor watcher = CopyMonitor.create(this, copy, executorService,
                                                  copyCallable, copyObjectRequest, listenerChain);
@@ -1724,7 +1747,9 @@ public class TransferManager {
         return doDownload(request, new File(persistableDownload.getFile()), null, null,
                 APPEND_MODE, 0,
                 persistableDownload.getLastFullyDownloadedPartNumber(),
-                persistableDownload.getlastModifiedTime());
+                persistableDownload.getlastModifiedTime(),
+                persistableDownload.getDownloadRangeSize(),
+                persistableDownload.getCompletedRangeNumbers());
     }
 
     /**
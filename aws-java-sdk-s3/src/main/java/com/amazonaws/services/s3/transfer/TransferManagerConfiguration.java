@@ -77,6 +77,45 @@ public class TransferManagerConfiguration {
      */
     private long multipartCopyPartSize = DEFAULT_MINIMUM_COPY_PART_SIZE;
 
+    /**
+     * The size in bytes of each byte range fetched by ranged parallel
+     * downloads, or zero (the default) to disable them. When enabled,
+     * downloads of objects larger than this size are split into byte ranges
+     * that are fetched concurrently and written directly into their position
+     * in the destination file, whether or not the object was uploaded in
+     * parts.
+     */
+    private long downloadRangeSize = 0;
+
+    /**
+     * The number of part buffers a multipart upload from an input stream reads
+     * the stream into, or zero (the default) to upload the parts of streams
+     * one at a time. When set, the parts of a stream are uploaded
+     * concurrently, at most this many at a time, and reading the stream waits
+     * for a part to be uploaded once all the buffers are in use.
+     */
+    private int streamUploadBufferCount = 0;
+
+    /**
+     * The maximum number of parts of a single transfer that are uploaded or
+     * copied at once, or zero (the default) for no limit other than
+     * {@link #maxConcurrentParts}.
+     */
+    private int maxInFlightPartsPerTransfer = 0;
+
+    /**
+     * The maximum number of parts of all the transfers that are uploaded or
+     * copied at once, or zero (the default) for the size of the
+     * TransferManager's thread pool.
+     */
+    private int maxConcurrentParts = 0;
+
+    /**
+     * The maximum rate, in bytes per second, at which parts of all the
+     * transfers are started, or zero (the default) for no limit.
+     */
+    private long maxPartBytesPerSecond = 0;
+
     /**
      * Returns the minimum part size for upload parts.
      * Decreasing the minimum part size causes
@@ -224,4 +263,159 @@ public class TransferManagerConfiguration {
     public void setMultipartUploadThreshold(int multipartUploadThreshold) {
         setMultipartUploadThreshold((long) multipartUploadThreshold);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the size in bytes of each byte range fetched by ranged parallel
+     * downloads, or zero if ranged parallel downloads are disabled.
+     *
+     * @return The size in bytes of each byte range of a ranged parallel
+     *         download.
+     */
+    public long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
+    /**
+     * Sets the size in bytes of each byte range fetched by ranged parallel
+     * downloads. Downloads of objects larger than this size are split into
+     * byte ranges that are fetched concurrently and written directly into
+     * their position in the destination file, without any temporary part
+     * files. Set to zero (the default) to disable ranged parallel downloads.
+     * <p>
+     * Ranged parallel downloads are not used for client side encrypted
+     * objects, or for requests that already specify a range or part number.
+     *
+     * @param downloadRangeSize
+     *            The size in bytes of each byte range, or zero to disable
+     *            ranged parallel downloads.
+     */
+    public void setDownloadRangeSize(long downloadRangeSize) {
+        if (downloadRangeSize < 0) {
+            throw new IllegalArgumentException("downloadRangeSize must not be negative");
+        }
+        this.downloadRangeSize = downloadRangeSize;
+    }
+
+    /**
+     * Returns the number of part buffers a multipart upload from an input
+     * stream reads the stream into, or zero if the parts of streams are
+     * uploaded one at a time.
+     *
+     * @return The number of part buffers of a parallel upload from an input
+     *         stream.
+     */
+    public int getStreamUploadBufferCount() {
+        return streamUploadBufferCount;
+    }
+
+    /**
+     * Sets the number of part buffers a multipart upload from an input stream
+     * reads the stream into. When set, the stream is read part after part
+     * into these buffers, and the parts are uploaded concurrently on the
+     * TransferManager's thread pool, at most this many at a time. Reading the
+     * stream waits for a part to be uploaded once all the buffers are in use,
+     * so each upload from a stream holds at most this many parts in memory.
+     * Set to zero (the default) to upload the parts of streams one at a time,
+     * directly from the stream.
+     * <p>
+     * Uploads through the encryption client, and uploads whose part size is
+     * too large to be buffered in an array, still upload one part at a time.
+     *
+     * @param streamUploadBufferCount
+     *            The number of part buffers, or zero to upload the parts of
+     *            streams one at a time.
+     */
+    public void setStreamUploadBufferCount(int streamUploadBufferCount) {
+        if (streamUploadBufferCount < 0) {
+            throw new IllegalArgumentException("streamUploadBufferCount must not be negative");
+        }
+        this.streamUploadBufferCount = streamUploadBufferCount;
+    }
+
+    /**
+     * Returns the maximum number of parts of a single transfer that are
+     * uploaded or copied at once, or zero if a transfer is only limited by
+     * the maximum number of parts of all the transfers.
+     *
+     * @return The maximum number of parts of a transfer in flight at once.
+     */
+    public int getMaxInFlightPartsPerTransfer() {
+        return maxInFlightPartsPerTransfer;
+    }
+
+    /**
+     * Sets the maximum number of parts of a single transfer that are uploaded
+     * or copied at once. The parts of the transfers are started in turn, one
+     * transfer after the other, so concurrent transfers share the thread pool
+     * whatever their number of parts; this limit further keeps a single
+     * transfer from using the whole thread pool. Set to zero (the default) for
+     * no limit other than {@link #setMaxConcurrentParts(int)}.
+     *
+     * @param maxInFlightPartsPerTransfer
+     *            The maximum number of parts of a transfer in flight at once,
+     *            or zero for no limit.
+     */
+    public void setMaxInFlightPartsPerTransfer(int maxInFlightPartsPerTransfer) {
+        if (maxInFlightPartsPerTransfer < 0) {
+            throw new IllegalArgumentException("maxInFlightPartsPerTransfer must not be negative");
+        }
+        this.maxInFlightPartsPerTransfer = maxInFlightPartsPerTransfer;
+    }
+
+    /**
+     * Returns the maximum number of parts of all the transfers that are
+     * uploaded or copied at once, or zero if it is the size of the
+     * TransferManager's thread pool.
+     *
+     * @return The maximum number of parts in flight at once.
+     */
+    public int getMaxConcurrentParts() {
+        return maxConcurrentParts;
+    }
+
+    /**
+     * Sets the maximum number of parts of all the transfers that are uploaded
+     * or copied at once. The other parts wait in the queue of their transfer
+     * rather than in the work queue of the thread pool. Set to zero (the
+     * default) to use the maximum size of the thread pool, or 10 if the
+     * thread pool isn't a {@link java.util.concurrent.ThreadPoolExecutor}.
+     *
+     * @param maxConcurrentParts
+     *            The maximum number of parts in flight at once, or zero for
+     *            the size of the thread pool.
+     */
+    public void setMaxConcurrentParts(int maxConcurrentParts) {
+        if (maxConcurrentParts < 0) {
+            throw new IllegalArgumentException("maxConcurrentParts must not be negative");
+        }
+        this.maxConcurrentParts = maxConcurrentParts;
+    }
+
+    /**
+     * Returns the maximum rate, in bytes per second, at which parts of all the
+     * transfers are started, or zero if there is no limit.
+     *
+     * @return The maximum rate in bytes per second at which parts are started.
+     */
+    public long getMaxPartBytesPerSecond() {
+        return maxPartBytesPerSecond;
+    }
+
+    /**
+     * Sets the maximum rate, in bytes per second, at which parts of all the
+     * transfers are started. Each part is started once the size of the parts
+     * started before it allows at this rate, so the multipart uploads and
+     * copies of the TransferManager don't transfer more than this rate on
+     * average. Set to zero (the default) for no limit.
+     *
+     * @param maxPartBytesPerSecond
+     *            The maximum rate in bytes per second at which parts are
+     *            started, or zero for no limit.
+     */
+    public void setMaxPartBytesPerSecond(long maxPartBytesPerSecond) {
+        if (maxPartBytesPerSecond < 0) {
+            throw new IllegalArgumentException("maxPartBytesPerSecond must not be negative");
+        }
+        this.maxPartBytesPerSecond = maxPartBytesPerSecond;
+    }
+}
@@ -71,6 +71,8 @@ public class CopyCallable implements Callable<CopyResult> {
     private final AmazonS3 s3;
     /** Thread pool used during multi-part copy is performed. */
     private final ExecutorService threadPool;
+    /** Queue the copy part requests are scheduled in. */
+    private final PartScheduler.PartQueue partQueue;
     /** A reference to the original copy request received. */
     private final CopyObjectRequest copyObjectRequest;
     /** Upload id to be used when sending copy part requests. */
@@ -94,12 +96,13 @@ public class CopyCallable implements Callable<CopyResult> {
     private final ProgressListenerChain listenerChain;
 
     public CopyCallable(TransferManager transferManager,
-            ExecutorService threadPool, CopyImpl copy,
+            ExecutorService threadPool, PartScheduler partScheduler, CopyImpl copy,
             CopyObjectRequest copyObjectRequest, ObjectMetadata metadata,
             ProgressListenerChain progressListenerChain) {
         this.s3 = transferManager.getAmazonS3Client();
         this.configuration = transferManager.getConfiguration();
         this.threadPool = threadPool;
+        this.partQueue = partScheduler.newQueue();
         this.copyObjectRequest = copyObjectRequest;
         this.metadata = metadata;
         this.listenerChain = progressListenerChain;
@@ -110,6 +113,13 @@ public class CopyCallable implements Callable<CopyResult> {
         return futures;
     }
 
+    /**
+     * Returns the queue the copy part requests are scheduled in.
+     */
+    PartScheduler.PartQueue getPartQueue() {
+        return partQueue;
+    }
+
     String getMultipartUploadId() {
         return multipartUploadId;
     }
@@ -205,8 +215,8 @@ public class CopyCallable implements Callable<CopyResult> {
     }
 
     /**
-     * Submits a callable for each part to be copied to our thread pool and
-     * records its corresponding Future.
+     * Schedules a callable for each part to be copied and records its
+     * corresponding Future.
      */
     private void copyPartsInParallel(CopyPartRequestFactory requestFactory) {
         while (requestFactory.hasMoreRequests()) {
@@ -214,7 +224,8 @@ public class CopyCallable implements Callable<CopyResult> {
                 throw new CancellationException(
                         "TransferManager has been shutdown");
             CopyPartRequest request = requestFactory.getNextCopyPartRequest();
-            futures.add(threadPool.submit(new CopyPartCallable(s3, request)));
+            futures.add(partQueue.submit(new CopyPartCallable(s3, request),
+                    request.getLastByte() - request.getFirstByte() + 1));
         }
     }
 
@@ -22,6 +22,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.event.ProgressEventType;
@@ -72,6 +73,16 @@ public class CopyMonitor implements Callable<CopyResult>, TransferMonitor {
         this.future = future;
     }
 
+    /**
+     * Sets the future of this monitor unless {@link #call()} has already
+     * replaced it with the future completing the multipart transfer.
+     */
+    private synchronized void setInitialFuture(Future<CopyResult> future) {
+        if (this.future == null) {
+            this.future = future;
+        }
+    }
+
     public synchronized boolean isDone() {
         return isCopyDone;
     }
@@ -106,7 +117,7 @@ public class CopyMonitor implements Callable<CopyResult>, TransferMonitor {
         CopyMonitor copyMonitor = new CopyMonitor(manager, transfer,
                 threadPool, multipartCopyCallable, copyObjectRequest,
                 progressListenerChain);
-        copyMonitor.setFuture(threadPool.submit(copyMonitor));
+        copyMonitor.setInitialFuture(threadPool.submit(copyMonitor));
         return copyMonitor;
     }
 
@@ -130,7 +141,10 @@ public class CopyMonitor implements Callable<CopyResult>, TransferMonitor {
 
             if (result == null) {
                 futures.addAll(multipartCopyCallable.getFutures());
-                setFuture(threadPool.submit(new CompleteMultipartCopy(multipartCopyCallable.getMultipartUploadId(), s3, origReq, futures, listener, this)));
+                FutureTask<CopyResult> completeTask = new FutureTask<CopyResult>(new CompleteMultipartCopy(
+                        multipartCopyCallable.getMultipartUploadId(), s3, origReq, futures, listener, this));
+                setFuture(completeTask);
+                multipartCopyCallable.getPartQueue().whenComplete(completeTask);
             } else {
                 copyComplete();
             }
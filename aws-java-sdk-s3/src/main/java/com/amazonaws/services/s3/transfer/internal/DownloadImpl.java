@@ -16,6 +16,8 @@ package com.amazonaws.services.s3.transfer.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.event.ProgressEventType;
@@ -41,6 +43,18 @@ public class DownloadImpl extends AbstractTransfer implements Download {
      */
     private Integer lastFullyDownloadedPartNumber;
 
+    /**
+     * For ranged parallel downloads, the size of each byte range; null
+     * otherwise.
+     */
+    private Long downloadRangeSize;
+
+    /**
+     * For ranged parallel downloads, the byte ranges that have been
+     * successfully written into the downloaded file.
+     */
+    private final SortedSet<Long> completedRangeNumbers = new TreeSet<Long>();
+
     private final GetObjectRequest getObjectRequest;
     private final File file;
     private final ObjectMetadata objectMetadata;
@@ -123,6 +137,67 @@ public class DownloadImpl extends AbstractTransfer implements Download {
         return lastFullyDownloadedPartNumber;
     }
 
+    /**
+     * Only for internal use.
+     * Marks this download as a ranged parallel download using the given range
+     * size, with the given byte ranges already written into the download file
+     * (when resuming), and notifies the listeners that a new
+     * persistableTransfer is available.
+     */
+    @SdkInternalApi
+    public void initRangedDownload(long downloadRangeSize, long[] completedRangeNumbers) {
+        synchronized (this) {
+            this.downloadRangeSize = downloadRangeSize;
+            this.completedRangeNumbers.clear();
+            if (completedRangeNumbers != null) {
+                for (long rangeNumber : completedRangeNumbers) {
+                    this.completedRangeNumbers.add(rangeNumber);
+                }
+            }
+        }
+
+        persistableDownload = captureDownloadState(getObjectRequest, file);
+        S3ProgressPublisher.publishTransferPersistable(progressListenerChain, persistableDownload);
+    }
+
+    /**
+     * Only for internal use.
+     * For ranged parallel downloads, records that the given byte range has
+     * been successfully written into the download file, then notifies the
+     * listeners that a new persistableTransfer is available. Ranges may
+     * complete in any order.
+     */
+    @SdkInternalApi
+    public void markRangeCompleted(long rangeNumber) {
+        synchronized (this) {
+            completedRangeNumbers.add(rangeNumber);
+        }
+
+        persistableDownload = captureDownloadState(getObjectRequest, file);
+        S3ProgressPublisher.publishTransferPersistable(progressListenerChain, persistableDownload);
+    }
+
+    /**
+     * For ranged parallel downloads, returns the numbers of the byte ranges
+     * that were successfully written into the download file.
+     * Returns null for other downloads.
+     */
+    public synchronized long[] getCompletedRangeNumbers() {
+        if (downloadRangeSize == null) {
+            return null;
+        }
+        long[] rangeNumbers = new long[completedRangeNumbers.size()];
+        int i = 0;
+        for (Long rangeNumber : completedRangeNumbers) {
+            rangeNumbers[i++] = rangeNumber;
+        }
+        return rangeNumbers;
+    }
+
+    private synchronized Long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
     /**
      * Cancels this download.
      *
@@ -180,7 +255,8 @@ public class DownloadImpl extends AbstractTransfer implements Download {
                     getObjectRequest.getVersionId(), getObjectRequest.getRange(),
                     getObjectRequest.getResponseHeaders(), getObjectRequest.isRequesterPays(),
                     file.getAbsolutePath(), getLastFullyDownloadedPartNumber(),
-                    getObjectMetadata().getLastModified().getTime());
+                    getObjectMetadata().getLastModified().getTime(),
+                    getDownloadRangeSize(), getCompletedRangeNumbers());
         }
         return null;
     }
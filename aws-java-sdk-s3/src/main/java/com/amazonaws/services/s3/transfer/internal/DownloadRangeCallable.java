@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.services.s3.transfer.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Callable;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+
+/**
+ * Helper class to get a byte range of an object from s3 and write it directly
+ * into its position of the destination file, through a {@link FileChannel}
+ * shared by all the ranges of the download.
+ */
+@SdkInternalApi
+public class DownloadRangeCallable implements Callable<Long> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AmazonS3 s3;
+    private final GetObjectRequest getRangeRequest;
+    private final FileChannel destination;
+    private final long rangeNumber;
+    private final DownloadImpl download;
+
+    /**
+     * @param getRangeRequest
+     *            The request for the byte range; the range must be set.
+     * @param destination
+     *            The channel of the destination file; the first byte of the
+     *            range is written at the position of the range start.
+     * @param rangeNumber
+     *            The zero based number of the byte range, recorded on the
+     *            download once the range has been written.
+     */
+    public DownloadRangeCallable(AmazonS3 s3, GetObjectRequest getRangeRequest,
+            FileChannel destination, long rangeNumber, DownloadImpl download) {
+        this.s3 = s3;
+        this.getRangeRequest = getRangeRequest;
+        this.destination = destination;
+        this.rangeNumber = rangeNumber;
+        this.download = download;
+    }
+
+    /**
+     * Returns the number of the byte range once it is written.
+     */
+    public Long call() throws Exception {
+        long[] range = getRangeRequest.getRange();
+        long position = range[0];
+        long expectedEnd = range[1] + 1;
+
+        S3Object s3Object = s3.getObject(getRangeRequest);
+        if (s3Object == null) {
+            throw new AmazonClientException(
+                    "There is no object in S3 satisfying this request. The getObject method returned null");
+        }
+
+        S3ObjectInputStream content = s3Object.getObjectContent();
+        boolean completed = false;
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = read(content, buffer)) > -1) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, bytesRead);
+                while (byteBuffer.hasRemaining()) {
+                    position += destination.write(byteBuffer, position);
+                }
+            }
+            if (position != expectedEnd) {
+                throw new AmazonClientException("Unable to download byte range " + range[0] + "-" + range[1]
+                        + ": expected " + (expectedEnd - range[0]) + " bytes but received "
+                        + (position - range[0]));
+            }
+            completed = true;
+        } catch (IOException e) {
+            throw new AmazonClientException(
+                    "Unable to store object contents to disk: " + e.getMessage(), e);
+        } finally {
+            if (completed) {
+                content.close();
+            } else {
+                content.abort();
+            }
+        }
+
+        download.markRangeCompleted(rangeNumber);
+        return rangeNumber;
+    }
+
+    /**
+     * Fills as much of the buffer as possible, so each positional write to
+     * the file is reasonably large.
+     */
+    private static int read(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = in.read(buffer, total, buffer.length - total);
+            if (read == -1) {
+                return total == 0 ? -1 : total;
+            }
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.transfer.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerConfiguration;
+
+/**
+ * Schedules the part uploads and part copies of all the transfers of a
+ * {@link TransferManager} on its thread pool.
+ * <p>
+ * The parts of each transfer are queued in the {@link PartQueue} of the
+ * transfer rather than in the work queue of the thread pool, and are handed to
+ * the thread pool in round-robin order across the transfers, so that a
+ * transfer with thousands of parts doesn't delay the parts of the transfers
+ * started after it. At most
+ * {@link TransferManagerConfiguration#getMaxInFlightPartsPerTransfer()} parts
+ * of a transfer and {@link TransferManagerConfiguration#getMaxConcurrentParts()}
+ * parts of all the transfers run at once, and parts are started no faster than
+ * {@link TransferManagerConfiguration#getMaxPartBytesPerSecond()} allows.
+ * <p>
+ * Once a part of a transfer fails, the parts of the transfer still queued are
+ * cancelled and the transfer is completed without waiting for the parts still
+ * running, so the failure is reported right away.
+ */
+public class PartScheduler {
+
+    /** The number of parts run at once by default when the pool size isn't known. */
+    private static final int DEFAULT_MAX_CONCURRENT_PARTS = 10;
+
+    private final TransferManager transferManager;
+    private final ExecutorService threadPool;
+    private final ScheduledExecutorService timedThreadPool;
+
+    /** The queues which have parts that can be started, in round-robin order. */
+    private final Deque<PartQueue> readyQueues = new ArrayDeque<PartQueue>();
+
+    /** The number of parts running, of all the transfers. */
+    private int partsInFlight;
+
+    /** The time, in nanoseconds, before which no part may be started. */
+    private long nextStartNanos = System.nanoTime();
+
+    /** Whether a dispatch is scheduled for when the byte rate allows one. */
+    private boolean dispatchScheduled;
+
+    private final Runnable dispatcher = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (PartScheduler.this) {
+                dispatchScheduled = false;
+            }
+            dispatch();
+        }
+    };
+
+    public PartScheduler(TransferManager transferManager, ExecutorService threadPool,
+            ScheduledExecutorService timedThreadPool) {
+        this.transferManager = transferManager;
+        this.threadPool = threadPool;
+        this.timedThreadPool = timedThreadPool;
+    }
+
+    /**
+     * Returns a new queue for the parts of a transfer.
+     */
+    public PartQueue newQueue() {
+        return new PartQueue();
+    }
+
+    /**
+     * Hands the next parts to the thread pool, as far as the limits allow.
+     */
+    private void dispatch() {
+        final List<ScheduledPart<?>> parts = new ArrayList<ScheduledPart<?>>();
+        final List<Runnable> completions = new ArrayList<Runnable>();
+        synchronized (this) {
+            final TransferManagerConfiguration configuration = transferManager.getConfiguration();
+            final int maxConcurrentParts = getMaxConcurrentParts(configuration);
+            final long maxBytesPerSecond = configuration.getMaxPartBytesPerSecond();
+
+            while (partsInFlight < maxConcurrentParts && !readyQueues.isEmpty()) {
+                long now = System.nanoTime();
+                if (maxBytesPerSecond > 0 && now < nextStartNanos) {
+                    scheduleDispatch(nextStartNanos - now);
+                    break;
+                }
+                PartQueue queue = readyQueues.removeFirst();
+                queue.ready = false;
+                ScheduledPart<?> part = queue.parts.pollFirst();
+                if (part == null) {
+                    continue;
+                }
+                if (!part.isDone()) {
+                    queue.partsInFlight++;
+                    partsInFlight++;
+                    if (maxBytesPerSecond > 0) {
+                        nextStartNanos = Math.max(nextStartNanos, now)
+                                + TimeUnit.SECONDS.toNanos(part.size) / maxBytesPerSecond;
+                    }
+                    parts.add(part);
+                }
+                // Cancelled parts, and parts already run by a waiting thread, are dropped
+                queue.makeReady(configuration);
+                addIfNotNull(completions, queue.takeCompletionIfDrained());
+            }
+        }
+        for (Runnable completion : completions) {
+            runCompletion(completion);
+        }
+        for (ScheduledPart<?> part : parts) {
+            try {
+                threadPool.execute(new PartRunner(part));
+            } catch (RejectedExecutionException e) {
+                part.fail(e);
+                partDone(part);
+            }
+        }
+    }
+
+    private void partDone(ScheduledPart<?> part) {
+        final Runnable completion;
+        synchronized (this) {
+            partsInFlight--;
+            part.queue.partsInFlight--;
+            part.queue.makeReady(transferManager.getConfiguration());
+            completion = part.queue.takeCompletionIfDrained();
+        }
+        runCompletion(completion);
+        dispatch();
+    }
+
+    private static void addIfNotNull(List<Runnable> completions, Runnable completion) {
+        if (completion != null) {
+            completions.add(completion);
+        }
+    }
+
+    /**
+     * Runs the given completion task of a transfer, if any, on the thread
+     * pool. Must be called without the scheduler lock held, since the thread
+     * pool may run the task on the calling thread, and the task may wait for
+     * parts whose completion needs the lock.
+     */
+    private void runCompletion(Runnable completion) {
+        if (completion == null) {
+            return;
+        }
+        try {
+            threadPool.execute(completion);
+        } catch (RejectedExecutionException e) {
+            if (completion instanceof Future) {
+                ((Future<?>) completion).cancel(false);
+            }
+        }
+    }
+
+    private void scheduleDispatch(long delayNanos) {
+        if (dispatchScheduled) {
+            return;
+        }
+        try {
+            timedThreadPool.schedule(dispatcher, delayNanos, TimeUnit.NANOSECONDS);
+            dispatchScheduled = true;
+        } catch (RejectedExecutionException e) {
+            // The TransferManager is shut down; the queued parts are never started
+        }
+    }
+
+    /**
+     * Returns the maximum number of parts run at once; by default, the size of
+     * the thread pool.
+     */
+    private int getMaxConcurrentParts(TransferManagerConfiguration configuration) {
+        int maxConcurrentParts = configuration.getMaxConcurrentParts();
+        if (maxConcurrentParts > 0) {
+            return maxConcurrentParts;
+        }
+        if (threadPool instanceof ThreadPoolExecutor) {
+            return Math.max(((ThreadPoolExecutor) threadPool).getMaximumPoolSize(), 1);
+        }
+        return DEFAULT_MAX_CONCURRENT_PARTS;
+    }
+
+    /**
+     * The queue of the parts of a transfer, followed by the task completing
+     * the transfer once all its parts have run.
+     */
+    public class PartQueue {
+        private final Deque<ScheduledPart<?>> parts = new ArrayDeque<ScheduledPart<?>>();
+        private int partsInFlight;
+        private boolean ready;
+        private boolean failed;
+        private Runnable completion;
+
+        private PartQueue() {
+        }
+
+        /**
+         * Queues the given part of the given size in bytes, and returns its
+         * future.
+         * <p>
+         * A thread waiting for the part may run it itself by calling
+         * {@link FutureTask#run()} on the returned future, which is then
+         * dropped from the queue. This keeps threads of the thread pool that
+         * wait for parts from waiting on parts queued behind them.
+         * <p>
+         * The part is cancelled right away if a part of this queue has failed.
+         */
+        public <T> FutureTask<T> submit(Callable<T> callable, long size) {
+            final ScheduledPart<T> part = new ScheduledPart<T>(callable, size, this);
+            synchronized (PartScheduler.this) {
+                if (failed) {
+                    part.cancel(false);
+                    return part;
+                }
+                parts.addLast(part);
+                makeReady(transferManager.getConfiguration());
+            }
+            dispatch();
+            return part;
+        }
+
+        /**
+         * Runs the given task on the thread pool once all the parts of this
+         * queue have run, or have been cancelled, or once a part has failed.
+         * No parts may be submitted afterwards.
+         */
+        public void whenComplete(Runnable completion) {
+            final Runnable drainedCompletion;
+            synchronized (PartScheduler.this) {
+                this.completion = completion;
+                drainedCompletion = takeCompletionIfDrained();
+            }
+            runCompletion(drainedCompletion);
+        }
+
+        /**
+         * Adds this queue to the ready queues if it has parts and its window
+         * isn't full. Must be called with the scheduler lock held.
+         */
+        private void makeReady(TransferManagerConfiguration configuration) {
+            int maxInFlight = configuration.getMaxInFlightPartsPerTransfer();
+            if (!ready && !parts.isEmpty() && (maxInFlight <= 0 || partsInFlight < maxInFlight)) {
+                ready = true;
+                readyQueues.addLast(this);
+            }
+        }
+
+        /**
+         * Cancels the parts still queued after a part has failed, and runs the
+         * completion task without waiting for the parts still running.
+         */
+        private void partFailed() {
+            final Runnable drainedCompletion;
+            synchronized (PartScheduler.this) {
+                if (failed) {
+                    return;
+                }
+                failed = true;
+                for (ScheduledPart<?> part : parts) {
+                    part.cancel(false);
+                }
+                parts.clear();
+                drainedCompletion = takeCompletionIfDrained();
+            }
+            runCompletion(drainedCompletion);
+        }
+
+        /**
+         * Returns the completion task, to be run once the lock is released, if
+         * all the parts have run or if a part has failed; or null otherwise.
+         * Must be called with the scheduler lock held.
+         */
+        private Runnable takeCompletionIfDrained() {
+            if (completion == null || (partsInFlight > 0 && !failed)) {
+                return null;
+            }
+            for (ScheduledPart<?> part : parts) {
+                if (!part.isDone()) {
+                    return null;
+                }
+            }
+            parts.clear();
+            final Runnable task = completion;
+            completion = null;
+            return task;
+        }
+    }
+
+    /**
+     * A part queued by a transfer.
+     */
+    private static final class ScheduledPart<T> extends FutureTask<T> {
+        private final long size;
+        private final PartQueue queue;
+
+        private ScheduledPart(Callable<T> callable, long size, PartQueue queue) {
+            super(callable);
+            this.size = size;
+            this.queue = queue;
+        }
+
+        private void fail(Throwable t) {
+            setException(t);
+        }
+
+        /**
+         * Called when the part fails, whichever thread ran it.
+         */
+        @Override
+        protected void setException(Throwable t) {
+            super.setException(t);
+            if (!isCancelled()) {
+                queue.partFailed();
+            }
+        }
+    }
+
+    /**
+     * Runs a part on the thread pool and dispatches the next parts once it
+     * has run.
+     */
+    private final class PartRunner implements Runnable {
+        private final ScheduledPart<?> part;
+
+        private PartRunner(ScheduledPart<?> part) {
+            this.part = part;
+        }
+
+        @Override
+        public void run() {
+            try {
+                part.run();
+            } finally {
+                partDone(part);
+            }
+        }
+    }
+}
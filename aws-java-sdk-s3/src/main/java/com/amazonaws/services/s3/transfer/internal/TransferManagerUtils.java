@@ -36,6 +36,9 @@ import com.amazonaws.util.ValidationUtils;
  */
 public class TransferManagerUtils {
 
+    /** The largest part size that fits in a part buffer. */
+    private static final long MAX_PART_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
     /**
      * Returns a new thread pool configured with the default settings.
      *
@@ -75,6 +78,31 @@ public class TransferManagerUtils {
         return (getRequestFile(putObjectRequest) != null);
     }
 
+    /**
+     * Returns true if the parts of the specified upload request, which reads
+     * from an input stream, can be read into part buffers and uploaded in
+     * parallel.
+     *
+     * @param putObjectRequest
+     *            The request to check.
+     * @param isUsingEncryption
+     *            True if the upload is an encrypted upload, otherwise false.
+     * @param configuration
+     *            Configuration settings controlling how transfer manager
+     *            processes requests.
+     * @param partSize
+     *            The size in bytes of each part of the upload.
+     *
+     * @return True if this request can use parallel part uploads from part
+     *         buffers.
+     */
+    public static boolean isStreamUploadParallelizable(final PutObjectRequest putObjectRequest,
+            final boolean isUsingEncryption, TransferManagerConfiguration configuration, long partSize) {
+        if (isUsingEncryption || putObjectRequest.getInputStream() == null) return false;
+
+        return configuration.getStreamUploadBufferCount() > 0 && partSize <= MAX_PART_BUFFER_SIZE;
+    }
+
     /**
      * Returns the size of the data in this request, otherwise -1 if the content
      * length is unknown.
@@ -210,4 +238,33 @@ public class TransferManagerUtils {
         }
         return true;
     }
+
+    /**
+     * Returns true if the specified download request can be split into byte
+     * ranges that are downloaded in parallel, regardless of how the object was
+     * uploaded.
+     *
+     * @param s3
+     *            The Amazon s3 client.
+     * @param getObjectRequest
+     *            The request to check.
+     * @param contentLength
+     *            The length in bytes of the object to download.
+     * @param downloadRangeSize
+     *            The configured size of each byte range, or zero if ranged
+     *            downloads are disabled.
+     *
+     * @return True if this request can use parallel ranged downloads.
+     */
+    public static boolean isRangedDownloadParallelizable(final AmazonS3 s3,
+            final GetObjectRequest getObjectRequest, long contentLength, long downloadRangeSize) {
+        ValidationUtils.assertNotNull(s3, "S3 client");
+        ValidationUtils.assertNotNull(getObjectRequest, "GetObjectRequest");
+
+        if (s3 instanceof AmazonS3Encryption || getObjectRequest.getRange() != null
+                || getObjectRequest.getPartNumber() != null) {
+            return false;
+        }
+        return downloadRangeSize > 0 && contentLength > downloadRangeSize;
+    }
 }
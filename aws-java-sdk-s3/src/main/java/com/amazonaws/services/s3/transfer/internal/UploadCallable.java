@@ -17,18 +17,23 @@ package com.amazonaws.services.s3.transfer.internal;
 import static com.amazonaws.event.SDKProgressPublisher.publishProgress;
 
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.event.ProgressEventType;
 import com.amazonaws.event.ProgressListenerChain;
 import com.amazonaws.services.s3.AmazonS3;
@@ -56,6 +61,7 @@ import com.amazonaws.services.s3.transfer.model.UploadResult;
 public class UploadCallable implements Callable<UploadResult> {
     private final AmazonS3 s3;
     private final ExecutorService threadPool;
+    private final PartScheduler.PartQueue partQueue;
     private final PutObjectRequest origReq;
     private String multipartUploadId;
     private final UploadImpl upload;
@@ -75,7 +81,7 @@ public class UploadCallable implements Callable<UploadResult> {
     private PersistableUpload persistableUpload;
 
     public UploadCallable(TransferManager transferManager,
-            ExecutorService threadPool, UploadImpl upload,
+            ExecutorService threadPool, PartScheduler partScheduler, UploadImpl upload,
             PutObjectRequest origReq,
             ProgressListenerChain progressListenerChain, String uploadId,
             TransferProgress transferProgress) {
@@ -83,6 +89,7 @@ public class UploadCallable implements Callable<UploadResult> {
         this.configuration = transferManager.getConfiguration();
 
         this.threadPool = threadPool;
+        this.partQueue = partScheduler.newQueue();
         this.origReq = origReq;
         this.listener = progressListenerChain;
         this.upload = upload;
@@ -102,6 +109,13 @@ public class UploadCallable implements Callable<UploadResult> {
         return eTagsToSkip;
     }
 
+    /**
+     * Returns the queue the parts of a parallel upload are scheduled in.
+     */
+    PartScheduler.PartQueue getPartQueue() {
+        return partQueue;
+    }
+
     String getMultipartUploadId() {
         return multipartUploadId;
     }
@@ -185,6 +199,10 @@ public class UploadCallable implements Callable<UploadResult> {
                 captureUploadStateIfPossible();
                 uploadPartsInParallel(requestFactory, multipartUploadId);
                 return null;
+            } else if (TransferManagerUtils.isStreamUploadParallelizable(origReq, isUsingEncryption,
+                    configuration, optimalPartSize)) {
+                uploadStreamPartsInParallel(requestFactory, optimalPartSize);
+                return null;
             } else {
                 return uploadPartsInSeries(requestFactory);
             }
@@ -273,7 +291,7 @@ public class UploadCallable implements Callable<UploadResult> {
     }
 
     /**
-     * Submits a callable for each part to upload to our thread pool and records its corresponding Future.
+     * Schedules a callable for each part to upload and records its corresponding Future.
      */
     private void uploadPartsInParallel(UploadPartRequestFactory requestFactory,
             String uploadId) {
@@ -290,7 +308,59 @@ public class UploadCallable implements Callable<UploadResult> {
                 transferProgress.updateProgress(summary.getSize());
                 continue;
             }
-            futures.add(threadPool.submit(new UploadPartCallable(s3, request)));
+            futures.add(partQueue.submit(new UploadPartCallable(s3, request), request.getPartSize()));
+        }
+    }
+
+    /**
+     * Reads the input stream of the request part after part into a bounded
+     * number of part buffers, and schedules a task uploading each part from
+     * its buffer, recording its corresponding Future. Once all the buffers are
+     * in use, waits for the oldest part to be uploaded before reading the next
+     * part into its buffer, uploading it in this thread if it hasn't been
+     * started yet.
+     */
+    private void uploadStreamPartsInParallel(UploadPartRequestFactory requestFactory,
+            long partSize) throws Exception {
+
+        final int bufferCount = configuration.getStreamUploadBufferCount();
+        final Deque<BufferedPart> partsInFlight = new ArrayDeque<BufferedPart>(bufferCount);
+
+        while (requestFactory.hasMoreRequests()) {
+            if (threadPool.isShutdown()) throw new CancellationException("TransferManager has been shutdown");
+            byte[] buffer;
+            if (partsInFlight.size() < bufferCount) {
+                buffer = new byte[(int) partSize];
+            } else {
+                BufferedPart oldest = partsInFlight.removeFirst();
+                // No-op if a thread of the pool has already started it
+                oldest.task.run();
+                try {
+                    oldest.task.get();
+                } catch (ExecutionException e) {
+                    throw new AmazonClientException(
+                            "Unable to complete multi-part upload. Individual part upload failed : "
+                                    + e.getCause().getMessage(), e.getCause());
+                }
+                buffer = oldest.buffer;
+            }
+            UploadPartRequest request = requestFactory.getNextBufferedUploadPartRequest(buffer);
+            FutureTask<PartETag> task = partQueue.submit(new UploadPartCallable(s3, request), request.getPartSize());
+            futures.add(task);
+            partsInFlight.addLast(new BufferedPart(task, buffer));
+        }
+    }
+
+    /**
+     * A part being uploaded from a part buffer of a stream upload.
+     */
+    private static final class BufferedPart {
+        private final FutureTask<PartETag> task;
+        private final byte[] buffer;
+
+        private BufferedPart(FutureTask<PartETag> task, byte[] buffer) {
+            this.task = task;
+            this.buffer = buffer;
         }
     }
 
@@ -23,6 +23,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.event.ProgressEventType;
@@ -74,6 +75,16 @@ public class UploadMonitor implements Callable<UploadResult>, TransferMonitor {
         this.future = future;
     }
 
+    /**
+     * Sets the future of this monitor unless {@link #call()} has already
+     * replaced it with the future completing the multipart transfer.
+     */
+    private synchronized void setInitialFuture(Future<UploadResult> future) {
+        if (this.future == null) {
+            this.future = future;
+        }
+    }
+
     private synchronized void cancelFuture() {
         future.cancel(true);
     }
@@ -117,7 +128,7 @@ public class UploadMonitor implements Callable<UploadResult>, TransferMonitor {
         UploadMonitor uploadMonitor = new UploadMonitor(manager, transfer,
                 threadPool, multipartUploadCallable, putObjectRequest,
                 progressListenerChain);
-        uploadMonitor.setFuture(threadPool.submit(uploadMonitor));
+        uploadMonitor.setInitialFuture(threadPool.submit(uploadMonitor));
         return uploadMonitor;
     }
 
@@ -139,16 +150,19 @@ public class UploadMonitor implements Callable<UploadResult>, TransferMonitor {
             UploadResult result = multipartUploadCallable.call();
 
             /**
-             * If the result is null, it is a mutli part parellel upload. So, an
-             * new task is submitted for initiating a complete multi part upload
-             * request.
+             * If the result is null, it is a mutli part parellel upload. So, a
+             * new task is scheduled for initiating a complete multi part upload
+             * request once all the parts have been uploaded.
              */
             if (result == null) {
                 futures.addAll(multipartUploadCallable.getFutures());
-                setFuture(threadPool.submit(new CompleteMultipartUpload(
-                        multipartUploadCallable.getMultipartUploadId(), s3,
-                        origReq, futures, multipartUploadCallable
-                                .getETags(), listener, this)));
+                FutureTask<UploadResult> completeTask = new FutureTask<UploadResult>(
+                        new CompleteMultipartUpload(
+                                multipartUploadCallable.getMultipartUploadId(), s3,
+                                origReq, futures, multipartUploadCallable
+                                        .getETags(), listener, this));
+                setFuture(completeTask);
+                multipartUploadCallable.getPartQueue().whenComplete(completeTask);
             } else {
                 uploadComplete();
             }
@@ -14,9 +14,13 @@
  */
 package com.amazonaws.services.s3.transfer.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.internal.ReleasableInputStream;
 import com.amazonaws.services.s3.internal.InputSubstream;
 import com.amazonaws.services.s3.model.PutObjectRequest;
@@ -74,11 +78,43 @@ public class UploadPartRequestFactory {
     }
 
     public synchronized UploadPartRequest getNextUploadPartRequest() {
+        return getNextUploadPartRequest(null);
+    }
+
+    /**
+     * Reads the next part of the input stream of the request into the given
+     * buffer, which must be at least as large as the part size, and returns
+     * the request uploading the part from the buffer. The buffer must not be
+     * reused until the part is uploaded.
+     */
+    public synchronized UploadPartRequest getNextBufferedUploadPartRequest(byte[] buffer) throws IOException {
+        int partSize = (int) Math.min(optimalPartSize, remainingBytes);
+        int read = 0;
+        while (read < partSize) {
+            int n = wrappedStream.read(buffer, read, partSize - read);
+            if (n == -1) {
+                throw new AmazonClientException("The input stream ended " + (remainingBytes - read)
+                        + " bytes before the content length of the upload");
+            }
+            read += n;
+        }
+        return getNextUploadPartRequest(new ByteArrayInputStream(buffer, 0, partSize));
+    }
+
+    private UploadPartRequest getNextUploadPartRequest(InputStream partStream) {
         long partSize = Math.min(optimalPartSize, remainingBytes);
         boolean isLastPart = (remainingBytes - partSize <= 0);
 
         UploadPartRequest req = null;
-        if (wrappedStream != null) {
+        if (partStream != null) {
+            req = new UploadPartRequest()
+                .withBucketName(bucketName)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withInputStream(partStream)
+                .withPartNumber(partNumber++)
+                .withPartSize(partSize);
+        } else if (wrappedStream != null) {
             req = new UploadPartRequest()
                 .withBucketName(bucketName)
                 .withKey(key)